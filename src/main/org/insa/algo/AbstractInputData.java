@@ -27,6 +27,9 @@ public abstract class AbstractInputData {
     // Arc filter.
     protected final ArcInspector arcInspector;
 
+    // Compiled version of the arc filter (retrieved on first use).
+    private CompiledArcInspector compiledArcInspector;
+
     /**
      * Create a new AbstractInputData instance for the given graph, mode and filter.
      * 
@@ -45,6 +48,27 @@ public abstract class AbstractInputData {
         return graph;
     }
 
+    /**
+     * @return Arc inspector associated with this input.
+     */
+    public ArcInspector getArcInspector() {
+        return arcInspector;
+    }
+
+    /**
+     * Retrieve the compiled version of the arc inspector of this input for its
+     * graph, which gives the costs and allowed arcs of the CSR graph by arc ID
+     * (see {@link CompiledArcInspector#get(Graph, ArcInspector)}).
+     * 
+     * @return Compiled arc inspector associated with this input.
+     */
+    public CompiledArcInspector getCompiledArcInspector() {
+        if (this.compiledArcInspector == null) {
+            this.compiledArcInspector = CompiledArcInspector.get(graph, arcInspector);
+        }
+        return this.compiledArcInspector;
+    }
+
     /**
      * Retrieve the cost associated with the given arc according to the underlying
      * arc inspector.
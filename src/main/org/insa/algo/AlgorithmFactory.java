@@ -7,10 +7,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.insa.algo.shortestpath.ALTAlgorithm;
 import org.insa.algo.shortestpath.AStarAlgorithm;
 import org.insa.algo.shortestpath.BellmanFordAlgorithm;
+import org.insa.algo.shortestpath.BidirectionalDijkstraAlgorithm;
+import org.insa.algo.shortestpath.CRPAlgorithm;
+import org.insa.algo.shortestpath.ContractionHierarchyAlgorithm;
 import org.insa.algo.shortestpath.DijkstraAlgorithm;
 import org.insa.algo.shortestpath.ShortestPathAlgorithm;
+import org.insa.algo.strongconnectivity.StronglyConnectedComponentsAlgorithm;
+import org.insa.algo.weakconnectivity.ParallelWeaklyConnectedComponentsAlgorithm;
+import org.insa.algo.weakconnectivity.UnionFindWeaklyConnectedComponentsAlgorithm;
 import org.insa.algo.weakconnectivity.WeaklyConnectedComponentsAlgorithm;
 
 /**
@@ -27,11 +34,25 @@ public class AlgorithmFactory {
         // Register weakly-connected components algorithm:
         registerAlgorithm(WeaklyConnectedComponentsAlgorithm.class, "WCC basic",
                 WeaklyConnectedComponentsAlgorithm.class);
+        registerAlgorithm(WeaklyConnectedComponentsAlgorithm.class, "WCC union-find",
+                UnionFindWeaklyConnectedComponentsAlgorithm.class);
+        registerAlgorithm(WeaklyConnectedComponentsAlgorithm.class, "WCC parallel",
+                ParallelWeaklyConnectedComponentsAlgorithm.class);
+
+        // Register strongly-connected components algorithm:
+        registerAlgorithm(StronglyConnectedComponentsAlgorithm.class, "SCC Tarjan",
+                StronglyConnectedComponentsAlgorithm.class);
 
         // Register shortest path algorithm:
         registerAlgorithm(ShortestPathAlgorithm.class, "Bellman-Ford", BellmanFordAlgorithm.class);
         registerAlgorithm(ShortestPathAlgorithm.class, "Dijkstra", DijkstraAlgorithm.class);
         registerAlgorithm(ShortestPathAlgorithm.class, "A*", AStarAlgorithm.class);
+        registerAlgorithm(ShortestPathAlgorithm.class, "Bidirectional Dijkstra",
+                BidirectionalDijkstraAlgorithm.class);
+        registerAlgorithm(ShortestPathAlgorithm.class, "ALT", ALTAlgorithm.class);
+        registerAlgorithm(ShortestPathAlgorithm.class, "Contraction Hierarchies",
+                ContractionHierarchyAlgorithm.class);
+        registerAlgorithm(ShortestPathAlgorithm.class, "CRP", CRPAlgorithm.class);
 
         // Register your algorithms here:
         // registerAlgorithm(CarPoolingAlgorithm.class, "My Awesome Algorithm",
@@ -12,6 +12,11 @@ import org.insa.graph.GraphStatistics;
 
 public class ArcInspectorFactory {
 
+    // Restrictions of roads that can be used by the filters below (created once
+    // instead of on each call to isAllowed).
+    private static final EnumSet<AccessRestriction> NOT_FORBIDDEN_OR_PRIVATE = EnumSet
+            .complementOf(EnumSet.of(AccessRestriction.FORBIDDEN, AccessRestriction.PRIVATE));
+
     /**
      * @return List of all arc filters in this factory.
      */
@@ -53,8 +58,7 @@ public class ArcInspectorFactory {
             @Override
             public boolean isAllowed(Arc arc) {
                 return arc.getRoadInformation().getAccessRestrictions()
-                        .isAllowedForAny(AccessMode.MOTORCAR, EnumSet.complementOf(EnumSet
-                                .of(AccessRestriction.FORBIDDEN, AccessRestriction.PRIVATE)));
+                        .isAllowedForAny(AccessMode.MOTORCAR, NOT_FORBIDDEN_OR_PRIVATE);
             }
 
             @Override
@@ -111,8 +115,7 @@ public class ArcInspectorFactory {
             @Override
             public boolean isAllowed(Arc arc) {
                 return arc.getRoadInformation().getAccessRestrictions()
-                        .isAllowedForAny(AccessMode.MOTORCAR, EnumSet.complementOf(EnumSet
-                                .of(AccessRestriction.FORBIDDEN, AccessRestriction.PRIVATE)));
+                        .isAllowedForAny(AccessMode.MOTORCAR, NOT_FORBIDDEN_OR_PRIVATE);
             }
 
             @Override
@@ -142,8 +145,7 @@ public class ArcInspectorFactory {
             @Override
             public boolean isAllowed(Arc arc) {
                 return arc.getRoadInformation().getAccessRestrictions()
-                        .isAllowedForAny(AccessMode.FOOT, EnumSet.complementOf(EnumSet
-                                .of(AccessRestriction.FORBIDDEN, AccessRestriction.PRIVATE)));
+                        .isAllowedForAny(AccessMode.FOOT, NOT_FORBIDDEN_OR_PRIVATE);
             }
 
             @Override
@@ -0,0 +1,111 @@
+package org.insa.algo;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+
+/**
+ * Arc inspector evaluated once for all the arcs of a graph.
+ *
+ * Calling an {@link ArcInspector} for each relaxed arc is costly (most
+ * inspectors go through the road information and access restrictions of the
+ * arc), so this class stores the result of {@link ArcInspector#isAllowed} and
+ * {@link ArcInspector#getCost} for each arc of the {@link CsrGraph} of a graph,
+ * indexed by arc ID. Since the inspector is called on each arc exactly once, it
+ * must only depend on the arc it inspects.
+ *
+ * Compiled inspectors are built once per graph and arc inspector (identified by
+ * {@link ArcInspector#toString()}) by {@link #get(Graph, ArcInspector)}, and
+ * kept with their graph (see
+ * {@link Graph#getDerivedData(Object, java.util.function.Function)}).
+ *
+ */
+public class CompiledArcInspector {
+
+    // Original arc inspector.
+    private final ArcInspector inspector;
+
+    // Allowed arcs, and cost of each allowed arc (indexed by arc ID).
+    private final BitSet allowed;
+    private final double[] costs;
+
+    /**
+     * Evaluate the given inspector on all the arcs of the given graph.
+     */
+    private CompiledArcInspector(Graph graph, ArcInspector inspector) {
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView(graph);
+        final int nbArcs = csr.getArcCount();
+        this.inspector = inspector;
+        this.allowed = new BitSet(nbArcs);
+        this.costs = new double[nbArcs];
+        for (int arcId = 0; arcId < nbArcs; ++arcId) {
+            if (inspector.isAllowed(arc.moveTo(arcId))) {
+                allowed.set(arcId);
+                costs[arcId] = inspector.getCost(arc);
+            }
+        }
+    }
+
+    /**
+     * Compile the given inspector for the given graph, without caching the
+     * result.
+     *
+     * Complexity: O(m) calls to the inspector.
+     *
+     * @param graph Graph whose arcs should be inspected.
+     * @param inspector Arc inspector to compile.
+     *
+     * @return A new compiled inspector.
+     */
+    public static CompiledArcInspector compile(Graph graph, ArcInspector inspector) {
+        return new CompiledArcInspector(graph, inspector);
+    }
+
+    /**
+     * Retrieve the compiled version of the given inspector for the given graph,
+     * compiling it if it has not been compiled yet.
+     *
+     * @param graph Graph whose arcs should be inspected.
+     * @param inspector Arc inspector to compile.
+     *
+     * @return The compiled inspector for the given graph and inspector.
+     */
+    public static CompiledArcInspector get(Graph graph, ArcInspector inspector) {
+        return graph.getDerivedData(
+                Arrays.asList(CompiledArcInspector.class, inspector.toString()),
+                g -> compile(g, inspector));
+    }
+
+    /**
+     * @return Arc inspector compiled by this object.
+     */
+    public ArcInspector getArcInspector() {
+        return inspector;
+    }
+
+    /**
+     * @param arc ID of an arc of the CSR graph.
+     *
+     * @return true if the given arc is allowed.
+     *
+     * @see ArcInspector#isAllowed(org.insa.graph.Arc)
+     */
+    public boolean isAllowed(int arc) {
+        return allowed.get(arc);
+    }
+
+    /**
+     * @param arc ID of an allowed arc of the CSR graph.
+     *
+     * @return Cost of the given arc, or 0 if the arc is not allowed.
+     *
+     * @see ArcInspector#getCost(org.insa.graph.Arc)
+     */
+    public double getCost(int arc) {
+        return costs[arc];
+    }
+
+}
@@ -0,0 +1,124 @@
+package org.insa.algo.isochrone;
+
+import java.util.Arrays;
+
+import org.insa.algo.AbstractAlgorithm;
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.algo.shortestpath.SearchWorkspace;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+/**
+ * Algorithm computing the nodes reachable from an origin within a cost budget,
+ * using a Dijkstra search that stops as soon as the lowest cost in the queue
+ * exceeds the budget.
+ *
+ */
+public class IsochroneAlgorithm extends AbstractAlgorithm<IsochroneObserver> {
+
+    // Workspace used for the searches (created on the first run if none is
+    // given).
+    private SearchWorkspace workspace;
+
+    public IsochroneAlgorithm(IsochroneData data) {
+        this(data, null);
+    }
+
+    /**
+     * Create a new isochrone algorithm that uses the given workspace.
+     *
+     * @param data Input data for the search.
+     * @param workspace Workspace bound to the graph of data, or null to use a
+     *        new workspace.
+     */
+    public IsochroneAlgorithm(IsochroneData data, SearchWorkspace workspace) {
+        super(data);
+        if (workspace != null && workspace.getGraph() != data.getGraph()) {
+            throw new IllegalArgumentException("The workspace is bound to another graph.");
+        }
+        this.workspace = workspace;
+    }
+
+    @Override
+    public IsochroneSolution run() {
+        return (IsochroneSolution) super.run();
+    }
+
+    @Override
+    public IsochroneData getInputData() {
+        return (IsochroneData) super.getInputData();
+    }
+
+    /**
+     * Notify all observers that the origin has been processed.
+     *
+     * @param node Origin.
+     */
+    public void notifyOriginProcessed(Node node) {
+        for (IsochroneObserver obs: getObservers()) {
+            obs.notifyOriginProcessed(node);
+        }
+    }
+
+    /**
+     * Notify all observers that a node has been marked.
+     *
+     * @param node Node that has been marked.
+     */
+    public void notifyNodeMarked(Node node) {
+        for (IsochroneObserver obs: getObservers()) {
+            obs.notifyNodeMarked(node);
+        }
+    }
+
+    @Override
+    protected IsochroneSolution doRun() {
+        final IsochroneData data = getInputData();
+        final Graph graph = data.getGraph();
+        final CsrGraph csr = graph.getCsrGraph();
+        final CompiledArcInspector inspector = data.getCompiledArcInspector();
+        final double budget = data.getBudget();
+
+        if (workspace == null) {
+            workspace = new SearchWorkspace(graph);
+        }
+        workspace.reset();
+        workspace.update(data.getOrigin().getId(), 0, SearchWorkspace.NO_ARC, 0);
+
+        notifyOriginProcessed(data.getOrigin());
+
+        int[] nodes = new int[64];
+        double[] costs = new double[64];
+        int size = 0;
+
+        while (workspace.getMinKey() <= budget) {
+            final int node = workspace.settleMin();
+            final double cost = workspace.getDistance(node);
+            notifyNodeMarked(graph.get(node));
+
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                costs = Arrays.copyOf(costs, 2 * size);
+            }
+            nodes[size] = node;
+            costs[size++] = cost;
+
+            for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                final int next = csr.getArcHead(arcId);
+                if (workspace.isSettled(next) || !inspector.isAllowed(arcId)) {
+                    continue;
+                }
+                final double newCost = cost + inspector.getCost(arcId);
+                if (newCost <= budget && workspace.getDistance(next) > newCost) {
+                    workspace.update(next, newCost, arcId, newCost);
+                }
+            }
+        }
+
+        return new IsochroneSolution(data, Status.OPTIMAL, Arrays.copyOf(nodes, size),
+                Arrays.copyOf(costs, size));
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.insa.algo.isochrone;
+
+import org.insa.algo.AbstractInputData;
+import org.insa.algo.ArcInspector;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+public class IsochroneData extends AbstractInputData {
+
+    // Origin of the isochrone.
+    private final Node origin;
+
+    // Maximum cost of the reached nodes.
+    private final double budget;
+
+    /**
+     * Construct a new instance of IsochroneData with the given parameters.
+     *
+     * @param graph Graph in which nodes should be reached.
+     * @param origin Origin node of the isochrone.
+     * @param budget Maximum cost (according to the arc inspector) of the paths
+     *        from the origin to the reached nodes.
+     * @param arcInspector Filter for arcs (used to allow only a specific set of
+     *        arcs in the graph to be used).
+     */
+    public IsochroneData(Graph graph, Node origin, double budget, ArcInspector arcInspector) {
+        super(graph, arcInspector);
+        if (budget < 0 || Double.isNaN(budget)) {
+            throw new IllegalArgumentException("The budget must be non-negative.");
+        }
+        this.origin = origin;
+        this.budget = budget;
+    }
+
+    /**
+     * @return Origin node of the isochrone.
+     */
+    public Node getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return Maximum cost of the paths from the origin to the reached nodes.
+     */
+    public double getBudget() {
+        return budget;
+    }
+
+    @Override
+    public String toString() {
+        return "Isochrone from #" + origin.getId() + " within " + budget + " ["
+                + this.arcInspector.toString().toLowerCase() + "]";
+    }
+}
@@ -0,0 +1,116 @@
+package org.insa.algo.isochrone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.insa.graph.Graph;
+import org.insa.graph.Point;
+
+/**
+ * Builder of a polygon enclosing the nodes of an {@link IsochroneSolution}, so
+ * that the isochrone can be drawn as a single overlay (see
+ * {@link org.insa.graphics.drawing.Drawing#drawPolygon(List, java.awt.Color)})
+ * instead of one point per node.
+ *
+ * The plane around the origin is split into angular sectors, and the polygon
+ * goes through the farthest reached node of each sector, in angular order. The
+ * resulting polygon is concave (it follows the shape of the isochrone much
+ * more closely than a convex hull), never self-intersecting, and is computed in
+ * linear time.
+ *
+ */
+public class IsochroneHull {
+
+    /**
+     * Default number of sectors, i.e. maximum number of vertices of the polygon.
+     */
+    public static final int DEFAULT_SECTOR_COUNT = 72;
+
+    /**
+     * Compute the polygon of the given isochrone with the default number of
+     * sectors.
+     *
+     * @param solution Isochrone to enclose.
+     *
+     * @return Vertices of the polygon (the last vertex is connected to the
+     *         first one).
+     */
+    public static List<Point> compute(IsochroneSolution solution) {
+        return compute(solution, DEFAULT_SECTOR_COUNT);
+    }
+
+    /**
+     * Compute the polygon of the given isochrone.
+     *
+     * @param solution Isochrone to enclose.
+     * @param nbSectors Number of angular sectors around the origin.
+     *
+     * @return Vertices of the polygon (the last vertex is connected to the
+     *         first one).
+     */
+    public static List<Point> compute(IsochroneSolution solution, int nbSectors) {
+        final Graph graph = solution.getInputData().getGraph();
+        final Point origin = solution.getInputData().getOrigin().getPoint();
+
+        // Longitudes are scaled so that angles are not distorted far from the
+        // equator.
+        final double scale = Math.cos(Math.toRadians(origin.getLatitude()));
+
+        // Farthest node of each sector (or -1) and its squared distance.
+        int[] farthest = new int[nbSectors];
+        double[] distance = new double[nbSectors];
+        for (int sector = 0; sector < nbSectors; ++sector) {
+            farthest[sector] = -1;
+        }
+        for (int node: solution.getNodes()) {
+            Point point = graph.get(node).getPoint();
+            double dx = (point.getLongitude() - origin.getLongitude()) * scale;
+            double dy = point.getLatitude() - origin.getLatitude();
+            if (dx == 0 && dy == 0) {
+                continue;
+            }
+            int sector = (int) ((Math.atan2(dy, dx) + Math.PI) / (2 * Math.PI) * nbSectors);
+            sector = Math.min(sector, nbSectors - 1);
+            double d = dx * dx + dy * dy;
+            if (farthest[sector] == -1 || d > distance[sector]) {
+                farthest[sector] = node;
+                distance[sector] = d;
+            }
+        }
+
+        // Largest run of empty sectors: if it covers half of the plane or more,
+        // the origin is not inside the polygon and is added between the sectors
+        // that surround this run.
+        int gapStart = -1, gapLength = 0;
+        for (int sector = 0; sector < nbSectors; ++sector) {
+            if (farthest[sector] != -1 || farthest[(sector + nbSectors - 1) % nbSectors] == -1) {
+                continue;
+            }
+            int length = 0;
+            while (length < nbSectors && farthest[(sector + length) % nbSectors] == -1) {
+                ++length;
+            }
+            if (length > gapLength) {
+                gapStart = sector;
+                gapLength = length;
+            }
+        }
+
+        List<Point> polygon = new ArrayList<>();
+        final int first = gapLength * 2 >= nbSectors ? (gapStart + gapLength) % nbSectors : 0;
+        if (gapLength * 2 >= nbSectors) {
+            polygon.add(origin);
+        }
+        for (int i = 0; i < nbSectors; ++i) {
+            int node = farthest[(first + i) % nbSectors];
+            if (node != -1) {
+                polygon.add(graph.get(node).getPoint());
+            }
+        }
+        if (polygon.isEmpty()) {
+            polygon.add(origin);
+        }
+        return polygon;
+    }
+
+}
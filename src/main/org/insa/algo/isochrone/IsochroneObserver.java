@@ -0,0 +1,22 @@
+package org.insa.algo.isochrone;
+
+import org.insa.graph.Node;
+
+public interface IsochroneObserver {
+
+    /**
+     * Notify the observer that the origin has been processed.
+     *
+     * @param node Origin.
+     */
+    public void notifyOriginProcessed(Node node);
+
+    /**
+     * Notify the observer that a node has been marked, i.e. it is reachable
+     * within the budget and its final cost has been set.
+     *
+     * @param node Node that has been marked.
+     */
+    public void notifyNodeMarked(Node node);
+
+}
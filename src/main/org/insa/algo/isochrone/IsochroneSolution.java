@@ -0,0 +1,81 @@
+package org.insa.algo.isochrone;
+
+import java.util.BitSet;
+
+import org.insa.algo.AbstractInputData.Mode;
+import org.insa.algo.AbstractSolution;
+
+public class IsochroneSolution extends AbstractSolution {
+
+    // IDs of the reached nodes, by increasing cost, and their costs.
+    private final int[] nodes;
+    private final double[] costs;
+
+    /**
+     * Create a new isochrone solution.
+     *
+     * @param data Original input data for this solution.
+     * @param status Status of the solution.
+     * @param nodes IDs of the reached nodes, by increasing cost.
+     * @param costs Costs of the reached nodes, in the same order.
+     */
+    public IsochroneSolution(IsochroneData data, Status status, int[] nodes, double[] costs) {
+        super(data, status);
+        this.nodes = nodes;
+        this.costs = costs;
+    }
+
+    @Override
+    public IsochroneData getInputData() {
+        return (IsochroneData) super.getInputData();
+    }
+
+    /**
+     * @return Number of nodes reached within the budget (including the origin).
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * @return IDs of the nodes reached within the budget, by increasing cost. The
+     *         returned array must not be modified.
+     */
+    public int[] getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return Costs of the reached nodes, in the same order as
+     *         {@link #getNodes()}. The returned array must not be modified.
+     */
+    public double[] getCosts() {
+        return costs;
+    }
+
+    /**
+     * @return A new bitset whose set bits are the IDs of the reached nodes.
+     */
+    public BitSet getReachedNodes() {
+        BitSet reached = new BitSet(getInputData().getGraph().size());
+        for (int node: nodes) {
+            reached.set(node);
+        }
+        return reached;
+    }
+
+    @Override
+    public String toString() {
+        String info = "Reached " + nodes.length + " nodes from node #"
+                + getInputData().getOrigin().getId();
+        if (getInputData().getMode() == Mode.LENGTH) {
+            info = String.format("%s within %.4f kilometers", info,
+                    getInputData().getBudget() / 1000.0);
+        }
+        else {
+            info = String.format("%s within %.4f minutes", info, getInputData().getBudget() / 60.0);
+        }
+        return info + " in " + getSolvingTime().getSeconds() + " seconds.";
+    }
+
+}
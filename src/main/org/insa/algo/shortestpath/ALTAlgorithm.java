@@ -0,0 +1,62 @@
+package org.insa.algo.shortestpath;
+
+import org.insa.graph.Node;
+
+/**
+ * A* algorithm using landmarks and the triangle inequality (ALT) to estimate
+ * the cost to the destination.
+ *
+ * The estimation is the maximum of the bound computed by
+ * {@link AStarAlgorithm} and the bound given by the landmarks (see
+ * {@link Landmarks#getLowerBound(int, int)}). Unless landmarks are given, the
+ * landmarks of the graph and arc inspector of the input data are retrieved
+ * using {@link Landmarks#get(org.insa.graph.Graph, org.insa.algo.ArcInspector)},
+ * so the first search for a given graph and arc inspector may be slow.
+ *
+ */
+public class ALTAlgorithm extends AStarAlgorithm {
+
+    // Landmarks used to estimate costs (retrieved on the first run if none are
+    // given), and ID of the destination.
+    private Landmarks landmarks;
+    private final int destination;
+
+    public ALTAlgorithm(ShortestPathData data) {
+        this(data, null, null);
+    }
+
+    /**
+     * Create a new ALT algorithm that uses the given workspace and landmarks.
+     *
+     * @param data Input data for the search.
+     * @param workspace Workspace bound to the graph of data, or null to use a
+     *        new workspace.
+     * @param landmarks Landmarks computed for the graph and arc inspector of
+     *        data, or null to use the landmarks from
+     *        {@link Landmarks#get(org.insa.graph.Graph, org.insa.algo.ArcInspector)}.
+     */
+    public ALTAlgorithm(ShortestPathData data, SearchWorkspace workspace, Landmarks landmarks) {
+        super(data, workspace);
+        if (landmarks != null && landmarks.getGraph() != data.getGraph()) {
+            throw new IllegalArgumentException("The landmarks are bound to another graph.");
+        }
+        this.landmarks = landmarks;
+        this.destination = data.getDestination().getId();
+    }
+
+    @Override
+    protected ShortestPathSolution doRun() {
+        if (landmarks == null) {
+            ShortestPathData data = getInputData();
+            landmarks = Landmarks.get(data.getGraph(), data.getArcInspector());
+        }
+        return super.doRun();
+    }
+
+    @Override
+    protected double estimateCostToDestination(Node node) {
+        return Math.max(super.estimateCostToDestination(node),
+                landmarks.getLowerBound(node.getId(), destination));
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.graph.Arc;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Path;
+
+/**
+ * Bidirectional version of Dijkstra's algorithm.
+ *
+ * A forward search is run from the origin and a backward search is run from
+ * the destination, using the incoming arcs of the graph (see
+ * {@link CsrGraph#getIncomingArcs()}). At each step, the search whose queue has
+ * the lowest key settles a node. The length of the best path found so far
+ * (through a node reached by both searches) is updated each time an arc is
+ * relaxed, and the algorithm stops as soon as the sum of the lowest keys of
+ * both queues is not lower than this length.
+ *
+ * Arcs are inspected in their original direction by both searches, so this
+ * algorithm returns paths with the same cost as {@link DijkstraAlgorithm} for
+ * any arc inspector.
+ *
+ */
+public class BidirectionalDijkstraAlgorithm extends ShortestPathAlgorithm {
+
+    // Workspaces of the forward and backward searches (created on the first run
+    // if none are given).
+    private SearchWorkspace forward, backward;
+
+    public BidirectionalDijkstraAlgorithm(ShortestPathData data) {
+        this(data, null, null);
+    }
+
+    /**
+     * Create a new bidirectional Dijkstra algorithm that uses the given
+     * workspaces.
+     *
+     * @param data Input data for the search.
+     * @param forward Workspace for the forward search, or null to use a new
+     *        workspace.
+     * @param backward Workspace for the backward search, or null to use a new
+     *        workspace. Must be different from forward.
+     */
+    public BidirectionalDijkstraAlgorithm(ShortestPathData data, SearchWorkspace forward,
+            SearchWorkspace backward) {
+        super(data);
+        if ((forward != null && forward.getGraph() != data.getGraph())
+                || (backward != null && backward.getGraph() != data.getGraph())) {
+            throw new IllegalArgumentException("The workspace is bound to another graph.");
+        }
+        if (forward != null && forward == backward) {
+            throw new IllegalArgumentException(
+                    "The forward and backward searches cannot share a workspace.");
+        }
+        this.forward = forward;
+        this.backward = backward;
+    }
+
+    @Override
+    protected ShortestPathSolution doRun() {
+        final ShortestPathData data = getInputData();
+        final Graph graph = data.getGraph();
+
+        final int origin = data.getOrigin().getId();
+        final int destination = data.getDestination().getId();
+
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.IncomingArcs incoming = csr.getIncomingArcs();
+        final CompiledArcInspector inspector = data.getCompiledArcInspector();
+
+        if (forward == null) {
+            forward = new SearchWorkspace(graph);
+        }
+        if (backward == null) {
+            backward = new SearchWorkspace(graph);
+        }
+        forward.reset();
+        backward.reset();
+
+        forward.update(origin, 0, SearchWorkspace.NO_ARC, 0);
+        backward.update(destination, 0, SearchWorkspace.NO_ARC, 0);
+
+        notifyOriginProcessed(data.getOrigin());
+
+        // Length of the best path found so far, and node where both searches meet
+        // on this path.
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        while (forward.getMinKey() + backward.getMinKey() < best) {
+
+            if (forward.getMinKey() <= backward.getMinKey()) {
+                int node = forward.settleMin();
+                double cost = forward.getDistance(node);
+                notifyNodeMarked(graph.get(node));
+
+                for (int arcId = csr.getFirstArc(node), lastArcId = csr.getFirstArc(node + 1);
+                        arcId < lastArcId; ++arcId) {
+                    int head = csr.getArcHead(arcId);
+                    if (forward.isSettled(head) || !inspector.isAllowed(arcId)) {
+                        continue;
+                    }
+                    notifyNodeReached(graph.get(head));
+
+                    double newCost = cost + inspector.getCost(arcId);
+                    if (forward.getDistance(head) > newCost) {
+                        forward.update(head, newCost, arcId, newCost);
+                    }
+                    double length = newCost + backward.getDistance(head);
+                    if (length < best) {
+                        best = length;
+                        meeting = head;
+                    }
+                }
+            }
+            else {
+                int node = backward.settleMin();
+                double cost = backward.getDistance(node);
+                notifyNodeMarked(graph.get(node));
+
+                for (int index = incoming.getFirst(node), lastIndex = incoming.getFirst(node + 1);
+                        index < lastIndex; ++index) {
+                    int tail = incoming.getTail(index), arcId = incoming.getArc(index);
+                    if (backward.isSettled(tail) || !inspector.isAllowed(arcId)) {
+                        continue;
+                    }
+                    notifyNodeReached(graph.get(tail));
+
+                    double newCost = cost + inspector.getCost(arcId);
+                    if (backward.getDistance(tail) > newCost) {
+                        backward.update(tail, newCost, arcId, newCost);
+                    }
+                    double length = newCost + forward.getDistance(tail);
+                    if (length < best) {
+                        best = length;
+                        meeting = tail;
+                    }
+                }
+            }
+        }
+
+        // Same behavior as Dijkstra when the origin is the destination, or when
+        // no path exists.
+        if (meeting == -1 || origin == destination) {
+            return new ShortestPathSolution(data, Status.INFEASIBLE);
+        }
+
+        notifyDestinationReached(data.getDestination());
+
+        // Forward part of the path (origin to meeting node), followed by the
+        // backward part (meeting node to destination).
+        Path head = forward.createPathTo(meeting);
+        ArrayList<Arc> arcs = new ArrayList<>(head.getArcs());
+        for (int node = meeting, arcId = backward.getParentArc(node);
+                arcId != SearchWorkspace.NO_ARC; arcId = backward.getParentArc(node)) {
+            arcs.add(backward.getArc(node, arcId));
+            node = csr.getArcHead(arcId);
+        }
+
+        return new ShortestPathSolution(data, Status.OPTIMAL, new Path(graph, arcs));
+    }
+
+}
@@ -0,0 +1,255 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.graph.Arc;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Path;
+
+/**
+ * Shortest-path algorithm using customizable route planning (CRP), i.e. a
+ * Dijkstra search on the overlay graphs of a {@link GraphPartition} whose costs
+ * are given by an {@link OverlayMetric}.
+ *
+ * Inside the cells of level 1 containing the origin or the destination, the
+ * search uses the arcs of the graph. Elsewhere, a node uses the overlay of the
+ * highest level at which its cell contains neither the origin nor the
+ * destination: the search goes from the entries of this cell directly to its
+ * exits, and only follows arcs that leave the cell. Arcs of the overlay are
+ * then unpacked into arcs of the graph by searches restricted to their cell.
+ *
+ * Unless a metric is given, the metric of the graph and arc inspector of the
+ * input data is retrieved using
+ * {@link OverlayMetric#get(Graph, org.insa.algo.ArcInspector)}.
+ *
+ */
+public class CRPAlgorithm extends ShortestPathAlgorithm {
+
+    // Metric (retrieved on the first run if none is given), workspace (created
+    // on the first run if none is given), and search used to unpack overlay
+    // arcs, which reuses the workspace (created on the first unpacking).
+    private OverlayMetric metric;
+    private SearchWorkspace workspace;
+    private OverlayMetric.CellSearch search;
+
+    public CRPAlgorithm(ShortestPathData data) {
+        this(data, null, null);
+    }
+
+    /**
+     * Create a new CRP algorithm that uses the given metric and workspace.
+     *
+     * @param data Input data for the search.
+     * @param metric Metric computed for the graph and arc inspector of data, or
+     *        null to use the metric from
+     *        {@link OverlayMetric#get(Graph, org.insa.algo.ArcInspector)}.
+     * @param workspace Workspace bound to the graph of data, or null to use a
+     *        new workspace.
+     */
+    public CRPAlgorithm(ShortestPathData data, OverlayMetric metric, SearchWorkspace workspace) {
+        super(data);
+        if ((metric != null && metric.getPartition().getGraph() != data.getGraph())
+                || (workspace != null && workspace.getGraph() != data.getGraph())) {
+            throw new IllegalArgumentException("The metric or workspace is bound to another graph.");
+        }
+        this.metric = metric;
+        this.workspace = workspace;
+    }
+
+    @Override
+    protected ShortestPathSolution doRun() {
+        final ShortestPathData data = getInputData();
+        final Graph graph = data.getGraph();
+        final CsrGraph csr = graph.getCsrGraph();
+        final CompiledArcInspector inspector = data.getCompiledArcInspector();
+
+        final int origin = data.getOrigin().getId();
+        final int destination = data.getDestination().getId();
+
+        if (metric == null) {
+            metric = OverlayMetric.get(graph, data.getArcInspector());
+        }
+        if (workspace == null) {
+            workspace = new SearchWorkspace(graph);
+        }
+        final GraphPartition partition = metric.getPartition();
+        final int nbLevels = partition.getLevelCount();
+
+        workspace.reset();
+        workspace.update(origin, 0, SearchWorkspace.NO_ARC, 0);
+
+        notifyOriginProcessed(data.getOrigin());
+
+        while (!workspace.isQueueEmpty() && !workspace.isSettled(destination)) {
+            final int node = workspace.settleMin();
+            final double cost = workspace.getDistance(node);
+
+            if (node == destination) {
+                notifyDestinationReached(data.getDestination());
+            }
+            notifyNodeMarked(graph.get(node));
+
+            final int level = getQueryLevel(partition, node, origin, destination);
+            final int cell = level > 0 ? partition.getCell(level, node) : -1;
+
+            // Arcs of the overlay of the cell.
+            if (level > 0 && partition.getEntryIndex(level, node) >= 0) {
+                final int entry = partition.getEntryIndex(level, node);
+                for (int exit = 0; exit < partition.getExitCount(level, cell); ++exit) {
+                    final int next = partition.getExit(level, cell, exit);
+                    final double newCost = cost + metric.getCost(level, cell, entry, exit);
+                    if (!workspace.isSettled(next) && workspace.getDistance(next) > newCost) {
+                        notifyNodeReached(graph.get(next));
+                        workspace.update(next, newCost, -2 - (entry * nbLevels + level - 1),
+                                newCost);
+                    }
+                }
+            }
+
+            // Arcs of the graph (only those leaving the cell if the overlay is
+            // used).
+            for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                final int next = csr.getArcHead(arcId);
+                if ((level > 0 && partition.getCell(level, next) == cell)
+                        || workspace.isSettled(next) || !inspector.isAllowed(arcId)) {
+                    continue;
+                }
+                notifyNodeReached(graph.get(next));
+                final double newCost = cost + inspector.getCost(arcId);
+                if (workspace.getDistance(next) > newCost) {
+                    workspace.update(next, newCost, arcId, newCost);
+                }
+            }
+        }
+
+        // Same behavior as Dijkstra when the origin is the destination, or when
+        // no path exists.
+        if (workspace.getParentArc(destination) == SearchWorkspace.NO_ARC) {
+            return new ShortestPathSolution(data, Status.INFEASIBLE);
+        }
+
+        // Nodes and parent arcs of the path in reverse order, read before the
+        // workspace is reused to unpack overlay arcs.
+        final int[] steps = collectSteps(workspace, csr, partition, destination, 0);
+
+        if (search == null) {
+            search = new OverlayMetric.CellSearch(metric, inspector, workspace);
+        }
+        ArrayList<Arc> arcs = new ArrayList<>();
+        for (int i = steps.length - 2; i >= 0; i -= 2) {
+            final int node = steps[i], parent = steps[i + 1];
+            if (parent >= 0) {
+                arcs.add(getArc(graph, csr, parent));
+            }
+            else {
+                final int code = -2 - parent, level = code % nbLevels + 1;
+                final int cell = partition.getCell(level, node);
+                unpack(search, graph, csr, level, cell,
+                        partition.getEntry(level, cell, code / nbLevels), node, arcs);
+            }
+        }
+
+        return new ShortestPathSolution(data, Status.OPTIMAL, new Path(graph, arcs));
+    }
+
+    /**
+     * @return Level of the overlay used by the search for the given node, i.e.
+     *         the highest level at which the cell of the node contains neither
+     *         the origin nor the destination, or 0 if the arcs of the graph
+     *         should be used.
+     */
+    private static int getQueryLevel(GraphPartition partition, int node, int origin,
+            int destination) {
+        for (int level = partition.getLevelCount(); level > 0; --level) {
+            final int cell = partition.getCell(level, node);
+            if (cell != partition.getCell(level, origin)
+                    && cell != partition.getCell(level, destination)) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Collect the nodes and parent arcs of the path to the given node, from the
+     * given node up to the origin of the last search of the workspace.
+     *
+     * Overlay arcs are stored as parent arcs of the form <code>-2 - code</code>
+     * where <code>code</code> identifies the level and entry of the arc: for
+     * the query, <code>code = entry * nbLevels + level - 1</code>; for a search
+     * in a cell, <code>code = entry</code> and the level is the sub-level of the
+     * search.
+     *
+     * @return Pairs of (node, parent arc), starting from the given node.
+     */
+    private static int[] collectSteps(SearchWorkspace workspace, CsrGraph csr,
+            GraphPartition partition, int node, int subLevel) {
+        final int nbLevels = partition.getLevelCount();
+        List<Integer> steps = new ArrayList<>();
+        for (int parent = workspace.getParentArc(node); parent != SearchWorkspace.NO_ARC;
+                parent = workspace.getParentArc(node)) {
+            steps.add(node);
+            steps.add(parent);
+            if (parent >= 0) {
+                node = csr.getArcTail(parent);
+            }
+            else if (subLevel > 0) {
+                node = partition.getEntry(subLevel, partition.getCell(subLevel, node), -2 - parent);
+            }
+            else {
+                final int code = -2 - parent, level = code % nbLevels + 1;
+                node = partition.getEntry(level, partition.getCell(level, node), code / nbLevels);
+            }
+        }
+        int[] result = new int[steps.size()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = steps.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Unpack the overlay arc from the given entry to the given exit of the given
+     * cell into arcs of the graph.
+     *
+     * @param search Search used to unpack arcs.
+     * @param graph Graph of the arcs.
+     * @param csr CSR representation of the graph.
+     * @param level Level of the cell.
+     * @param cell Cell of the overlay arc.
+     * @param entry Origin of the overlay arc.
+     * @param exit Destination of the overlay arc.
+     * @param arcs List to which arcs are appended.
+     */
+    private static void unpack(OverlayMetric.CellSearch search, Graph graph, CsrGraph csr,
+            int level, int cell, int entry, int exit, List<Arc> arcs) {
+        final GraphPartition partition = search.getPartition();
+        search.run(level, cell, entry, level - 1, exit);
+        final int[] steps = collectSteps(search.getWorkspace(), csr, partition, exit, level - 1);
+        for (int i = steps.length - 2; i >= 0; i -= 2) {
+            final int node = steps[i], parent = steps[i + 1];
+            if (parent >= 0) {
+                arcs.add(getArc(graph, csr, parent));
+            }
+            else {
+                final int subCell = partition.getCell(level - 1, node);
+                unpack(search, graph, csr, level - 1, subCell,
+                        partition.getEntry(level - 1, subCell, -2 - parent), node, arcs);
+            }
+        }
+    }
+
+    /**
+     * @return The arc of the graph corresponding to the given arc of its CSR
+     *         representation.
+     */
+    private static Arc getArc(Graph graph, CsrGraph csr, int arc) {
+        final int tail = csr.getArcTail(arc);
+        return graph.get(tail).getSuccessor(arc - csr.getFirstArc(tail));
+    }
+
+}
@@ -0,0 +1,723 @@
+package org.insa.algo.shortestpath;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.utils.RangeTask;
+import org.insa.graph.Arc;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+
+/**
+ * Contraction hierarchy of a graph for a given arc inspector.
+ *
+ * Nodes are contracted one after the other (see
+ * {@link #build(Graph, ArcInspector, ForkJoinPool)}): when a node is
+ * contracted, shortcut edges are added between its remaining neighbours for
+ * each shortest path going through it. The rank of a node is its position in
+ * the contraction order.
+ *
+ * The hierarchy is made of edges, each edge being either an original arc of
+ * the graph (allowed by the arc inspector) or a shortcut made of two edges.
+ * Each edge is stored as an upward edge of its tail if its head has a higher
+ * rank (see {@link #getUpwardFirst(int)}), or as a downward edge of its head
+ * otherwise (see {@link #getDownwardFirst(int)}), so that a shortest path can
+ * be found using a forward search on upward edges from the origin and a
+ * backward search on downward edges from the destination.
+ *
+ */
+public class ContractionHierarchy {
+
+    /**
+     * Value of {@link #getEdgeSecond(int)} for edges that correspond to an
+     * original arc of the graph.
+     */
+    public static final int ORIGINAL = -1;
+
+    // Maximum number of nodes settled by a witness search when contracting a
+    // node, and when computing the priority of a node.
+    private static final int WITNESS_SETTLED_LIMIT = 500;
+    private static final int PRIORITY_WITNESS_SETTLED_LIMIT = 50;
+
+    // Number of nodes processed by a single task.
+    private static final int CHUNK_SIZE = 256;
+
+    // Storage of the hierarchies built for each graph and arc inspector.
+    private static final PreprocessingStorage<ContractionHierarchy> STORAGE =
+            new PreprocessingStorage<>("ch",
+                    (dis, graph) -> new ContractionHierarchyReader(dis).readHierarchy(graph),
+                    (dos, hierarchy) -> new ContractionHierarchyWriter(dos)
+                            .writeHierarchy(hierarchy),
+                    ContractionHierarchy::getInspectorDescription);
+
+    // Graph and description of the arc inspector of this hierarchy.
+    private final Graph graph;
+    private final CsrGraph csr;
+    private final String inspector;
+
+    // Rank of each node.
+    private final int[] rank;
+
+    // Edges: origin, destination, cost, and either the original arc (first) and
+    // ORIGINAL (second), or the two edges of the shortcut.
+    private final int[] edgeTail, edgeHead;
+    private final double[] edgeWeight;
+    private final int[] edgeFirst, edgeSecond;
+
+    // Upward edges of each node (leaving the node), and downward edges of each
+    // node (entering the node).
+    private final int[] upFirst, upEdges;
+    private final int[] downFirst, downEdges;
+
+    /**
+     * Create a new contraction hierarchy with the given ranks and edges.
+     *
+     * @param graph Graph of the hierarchy.
+     * @param inspector Description of the arc inspector (see
+     *        {@link ArcInspector#toString()}).
+     * @param rank Rank of each node.
+     * @param edgeTail Origin of each edge.
+     * @param edgeHead Destination of each edge.
+     * @param edgeWeight Cost of each edge.
+     * @param edgeFirst ID of the original arc (in the CSR graph) of each edge, or
+     *        ID of the first edge for shortcuts.
+     * @param edgeSecond {@link #ORIGINAL}, or ID of the second edge for
+     *        shortcuts.
+     */
+    public ContractionHierarchy(Graph graph, String inspector, int[] rank, int[] edgeTail,
+            int[] edgeHead, double[] edgeWeight, int[] edgeFirst, int[] edgeSecond) {
+        this.graph = graph;
+        this.csr = graph.getCsrGraph();
+        this.inspector = inspector;
+        this.rank = rank;
+        this.edgeTail = edgeTail;
+        this.edgeHead = edgeHead;
+        this.edgeWeight = edgeWeight;
+        this.edgeFirst = edgeFirst;
+        this.edgeSecond = edgeSecond;
+
+        // Sort edges into upward and downward adjacency arrays.
+        final int nbNodes = rank.length;
+        upFirst = new int[nbNodes + 1];
+        downFirst = new int[nbNodes + 1];
+        for (int edge = 0; edge < edgeTail.length; ++edge) {
+            if (isUpward(edge)) {
+                ++upFirst[edgeTail[edge] + 1];
+            }
+            else {
+                ++downFirst[edgeHead[edge] + 1];
+            }
+        }
+        for (int node = 0; node < nbNodes; ++node) {
+            upFirst[node + 1] += upFirst[node];
+            downFirst[node + 1] += downFirst[node];
+        }
+        upEdges = new int[upFirst[nbNodes]];
+        downEdges = new int[downFirst[nbNodes]];
+        int[] nextUp = Arrays.copyOf(upFirst, nbNodes), nextDown = Arrays.copyOf(downFirst, nbNodes);
+        for (int edge = 0; edge < edgeTail.length; ++edge) {
+            if (isUpward(edge)) {
+                upEdges[nextUp[edgeTail[edge]]++] = edge;
+            }
+            else {
+                downEdges[nextDown[edgeHead[edge]]++] = edge;
+            }
+        }
+    }
+
+    /**
+     * @return true if the given edge goes from a node to a node with a higher
+     *         rank.
+     */
+    private boolean isUpward(int edge) {
+        return rank[edgeHead[edge]] > rank[edgeTail[edge]];
+    }
+
+    /**
+     * @return Graph of this hierarchy.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return Description of the arc inspector used to compute this hierarchy.
+     */
+    public String getInspectorDescription() {
+        return inspector;
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return Rank of the node in this hierarchy.
+     */
+    public int getRank(int node) {
+        return rank[node];
+    }
+
+    /**
+     * @return Number of edges (original arcs and shortcuts) in this hierarchy.
+     */
+    public int getEdgeCount() {
+        return edgeTail.length;
+    }
+
+    /**
+     * @param edge ID of the edge.
+     *
+     * @return ID of the origin of the edge.
+     */
+    public int getEdgeTail(int edge) {
+        return edgeTail[edge];
+    }
+
+    /**
+     * @param edge ID of the edge.
+     *
+     * @return ID of the destination of the edge.
+     */
+    public int getEdgeHead(int edge) {
+        return edgeHead[edge];
+    }
+
+    /**
+     * @param edge ID of the edge.
+     *
+     * @return Cost of the edge.
+     */
+    public double getEdgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    /**
+     * @param edge ID of the edge.
+     *
+     * @return ID of the original arc if the edge is not a shortcut, or ID of the
+     *         first edge of the shortcut.
+     */
+    public int getEdgeFirst(int edge) {
+        return edgeFirst[edge];
+    }
+
+    /**
+     * @param edge ID of the edge.
+     *
+     * @return {@link #ORIGINAL} if the edge is not a shortcut, or ID of the second
+     *         edge of the shortcut.
+     */
+    public int getEdgeSecond(int edge) {
+        return edgeSecond[edge];
+    }
+
+    /**
+     * Retrieve the index of the first upward edge of the given node, i.e. the
+     * first edge leaving the node towards a node with a higher rank. Upward edges
+     * of node <code>n</code> are at indices in
+     * <code>[getUpwardFirst(n), getUpwardFirst(n + 1))</code>.
+     *
+     * @param node ID of the node (can be equal to the number of nodes).
+     *
+     * @return Index of the first upward edge of the node.
+     */
+    public int getUpwardFirst(int node) {
+        return upFirst[node];
+    }
+
+    /**
+     * @param index Index of the upward edge.
+     *
+     * @return ID of the upward edge at the given index.
+     */
+    public int getUpwardEdge(int index) {
+        return upEdges[index];
+    }
+
+    /**
+     * Retrieve the index of the first downward edge of the given node, i.e. the
+     * first edge entering the node from a node with a higher rank. Downward edges
+     * of node <code>n</code> are at indices in
+     * <code>[getDownwardFirst(n), getDownwardFirst(n + 1))</code>.
+     *
+     * @param node ID of the node (can be equal to the number of nodes).
+     *
+     * @return Index of the first downward edge of the node.
+     */
+    public int getDownwardFirst(int node) {
+        return downFirst[node];
+    }
+
+    /**
+     * @param index Index of the downward edge.
+     *
+     * @return ID of the downward edge at the given index.
+     */
+    public int getDownwardEdge(int index) {
+        return downEdges[index];
+    }
+
+    /**
+     * Unpack the given edge into arcs of the graph, recursively replacing
+     * shortcuts by their two edges.
+     *
+     * @param edge ID of the edge to unpack.
+     * @param arcs List to which the arcs of the edge are appended, in order.
+     */
+    public void unpack(int edge, List<Arc> arcs) {
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = edge;
+        while (size > 0) {
+            edge = stack[--size];
+            if (edgeSecond[edge] == ORIGINAL) {
+                int tail = edgeTail[edge];
+                arcs.add(graph.get(tail).getSuccessor(edgeFirst[edge] - csr.getFirstArc(tail)));
+            }
+            else {
+                if (size + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * stack.length);
+                }
+                stack[size++] = edgeSecond[edge];
+                stack[size++] = edgeFirst[edge];
+            }
+        }
+    }
+
+    /**
+     * Build the contraction hierarchy of the given graph for the given arc
+     * inspector using the common fork-join pool.
+     *
+     * @param graph Graph for which the hierarchy should be built.
+     * @param inspector Arc inspector used to filter arcs and compute costs.
+     *
+     * @return The contraction hierarchy.
+     *
+     * @see #build(Graph, ArcInspector, ForkJoinPool)
+     */
+    public static ContractionHierarchy build(Graph graph, ArcInspector inspector) {
+        return build(graph, inspector, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build the contraction hierarchy of the given graph for the given arc
+     * inspector.
+     *
+     * Nodes are ordered by priority, the priority of a node being its edge
+     * difference (number of shortcuts that its contraction would add minus the
+     * number of its edges) plus its number of contracted neighbours. Shortcuts
+     * are only added when a witness search (a local Dijkstra search avoiding the
+     * contracted node, limited to a small number of settled nodes) does not find
+     * a path at least as short.
+     *
+     * Contraction is done in rounds: each round contracts all the nodes whose
+     * priority is lower than the priority of all their neighbours. These nodes
+     * are independent, so their witness searches are run in parallel using the
+     * given pool, as well as the updates of the priorities of their neighbours.
+     *
+     * @param graph Graph for which the hierarchy should be built.
+     * @param inspector Arc inspector used to filter arcs and compute costs.
+     * @param pool Pool used to run witness searches.
+     *
+     * @return The contraction hierarchy.
+     */
+    public static ContractionHierarchy build(Graph graph, ArcInspector inspector,
+            ForkJoinPool pool) {
+        return new Builder(graph, inspector, pool).build();
+    }
+
+    /**
+     * Retrieve the contraction hierarchy for the given graph and arc inspector.
+     *
+     * Hierarchies are kept with their graph for each arc inspector (identified
+     * by {@link ArcInspector#toString()}). If a storage directory has been set
+     * (see {@link #setStorageDirectory(File)}), hierarchies are read from this
+     * directory if available, or written to it once built.
+     *
+     * @param graph Graph of the hierarchy.
+     * @param inspector Arc inspector of the hierarchy.
+     *
+     * @return Contraction hierarchy for the given graph and arc inspector.
+     */
+    public static ContractionHierarchy get(Graph graph, ArcInspector inspector) {
+        return STORAGE.get(graph, inspector, () -> build(graph, inspector));
+    }
+
+    /**
+     * Set the directory where hierarchies are stored by
+     * {@link #get(Graph, ArcInspector)}, usually the directory of the map file.
+     *
+     * @param directory Directory where hierarchies are stored, or null to
+     *        disable storage.
+     */
+    public static void setStorageDirectory(File directory) {
+        STORAGE.setDirectory(directory);
+    }
+
+    /**
+     * Growable list of integers.
+     */
+    private static class IntList {
+
+        private int[] values = new int[4];
+        private int size = 0;
+
+        public void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        public void remove(int value) {
+            for (int i = 0; i < size; ++i) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+        public int get(int index) {
+            return values[index];
+        }
+
+        public int size() {
+            return size;
+        }
+
+    }
+
+    /**
+     * State of the witness searches of a thread.
+     */
+    private static class WitnessSearch {
+
+        // Workspace of the searches.
+        private final SearchWorkspace workspace;
+
+        // Stamp of the current targets of each node.
+        private final int[] target;
+        private int stamp = 0;
+
+        public WitnessSearch(Graph graph) {
+            this.workspace = new SearchWorkspace(graph);
+            this.target = new int[graph.size()];
+        }
+
+    }
+
+    /**
+     * Contraction of a graph.
+     */
+    private static class Builder {
+
+        private final Graph graph;
+        private final ArcInspector inspector;
+        private final ForkJoinPool pool;
+        private final int nbNodes;
+
+        // Edges created so far.
+        private int nbEdges = 0;
+        private int[] edgeTail = new int[16], edgeHead = new int[16];
+        private double[] edgeWeight = new double[16];
+        private int[] edgeFirst = new int[16], edgeSecond = new int[16];
+
+        // Edges leaving and entering each node. Once a node is contracted, these
+        // edges are removed from the lists of its neighbours, so the lists of a
+        // node only contain edges to remaining nodes, or to nodes with a higher
+        // rank once the node is contracted.
+        private final IntList[] out, in;
+
+        // Rank of each node (-1 if not contracted yet), priority and number of
+        // contracted neighbours.
+        private final int[] rank, priority, deleted;
+
+        // Nodes being contracted in the current round, which are ignored by
+        // witness searches.
+        private final boolean[] contracting;
+
+        // Shortcuts found for each node being contracted (pairs of edges).
+        private final IntList[] shortcuts;
+
+        // Witness search of each thread.
+        private final ThreadLocal<WitnessSearch> witnesses;
+
+        public Builder(Graph graph, ArcInspector inspector, ForkJoinPool pool) {
+            this.graph = graph;
+            this.inspector = inspector;
+            this.pool = pool;
+            this.nbNodes = graph.size();
+            this.out = new IntList[nbNodes];
+            this.in = new IntList[nbNodes];
+            for (int node = 0; node < nbNodes; ++node) {
+                out[node] = new IntList();
+                in[node] = new IntList();
+            }
+            this.rank = new int[nbNodes];
+            this.priority = new int[nbNodes];
+            this.deleted = new int[nbNodes];
+            this.contracting = new boolean[nbNodes];
+            this.shortcuts = new IntList[nbNodes];
+            this.witnesses = ThreadLocal.withInitial(() -> new WitnessSearch(graph));
+        }
+
+        public ContractionHierarchy build() {
+            final CsrGraph csr = graph.getCsrGraph();
+            final CsrGraph.ArcView arc = csr.createArcView(graph);
+
+            // Create an edge for each allowed arc (self-loops are useless).
+            for (int tail = 0; tail < nbNodes; ++tail) {
+                for (int arcId = csr.getFirstArc(tail); arcId < csr.getFirstArc(tail + 1); ++arcId) {
+                    int head = csr.getArcHead(arcId);
+                    if (head != tail && inspector.isAllowed(arc.moveTo(arcId))) {
+                        addEdge(tail, head, inspector.getCost(arc), arcId, ORIGINAL);
+                    }
+                }
+            }
+
+            // Initial priorities.
+            int[] remaining = new int[nbNodes];
+            for (int node = 0; node < nbNodes; ++node) {
+                remaining[node] = node;
+            }
+            int nbRemaining = nbNodes;
+            Arrays.fill(rank, -1);
+            forEach(remaining, nbRemaining, node -> priority[node] = computePriority(node));
+
+            int nextRank = 0;
+            int[] selected = new int[nbNodes];
+            boolean[] updated = new boolean[nbNodes];
+            int[] neighbours = new int[nbNodes];
+            while (nbRemaining > 0) {
+
+                // Select nodes whose priority is lower than their neighbours'.
+                int nbSelected = 0;
+                for (int i = 0; i < nbRemaining; ++i) {
+                    if (isLocalMinimum(remaining[i])) {
+                        selected[nbSelected++] = remaining[i];
+                        contracting[remaining[i]] = true;
+                    }
+                }
+
+                // Find shortcuts.
+                forEach(selected, nbSelected, node -> shortcuts[node] = findShortcuts(node, WITNESS_SETTLED_LIMIT));
+
+                // Contract nodes.
+                int nbNeighbours = 0;
+                for (int i = 0; i < nbSelected; ++i) {
+                    final int node = selected[i];
+                    IntList pairs = shortcuts[node];
+                    for (int j = 0; j < pairs.size(); j += 2) {
+                        int first = pairs.get(j), second = pairs.get(j + 1);
+                        addEdge(edgeTail[first], edgeHead[second],
+                                edgeWeight[first] + edgeWeight[second], first, second);
+                    }
+                    shortcuts[node] = null;
+
+                    for (int j = 0; j < in[node].size(); ++j) {
+                        int edge = in[node].get(j), tail = edgeTail[edge];
+                        out[tail].remove(edge);
+                        deleted[tail]++;
+                        if (!updated[tail]) {
+                            updated[tail] = true;
+                            neighbours[nbNeighbours++] = tail;
+                        }
+                    }
+                    for (int j = 0; j < out[node].size(); ++j) {
+                        int edge = out[node].get(j), head = edgeHead[edge];
+                        in[head].remove(edge);
+                        deleted[head]++;
+                        if (!updated[head]) {
+                            updated[head] = true;
+                            neighbours[nbNeighbours++] = head;
+                        }
+                    }
+
+                    rank[node] = nextRank++;
+                    contracting[node] = false;
+                }
+
+                // Update priorities of the neighbours of contracted nodes.
+                int nbUpdated = 0;
+                for (int i = 0; i < nbNeighbours; ++i) {
+                    updated[neighbours[i]] = false;
+                    if (rank[neighbours[i]] == -1) {
+                        neighbours[nbUpdated++] = neighbours[i];
+                    }
+                }
+                forEach(neighbours, nbUpdated, node -> priority[node] = computePriority(node));
+
+                // Remove contracted nodes.
+                int nbKept = 0;
+                for (int i = 0; i < nbRemaining; ++i) {
+                    if (rank[remaining[i]] == -1) {
+                        remaining[nbKept++] = remaining[i];
+                    }
+                }
+                nbRemaining = nbKept;
+            }
+
+            return new ContractionHierarchy(graph, inspector.toString(), rank,
+                    Arrays.copyOf(edgeTail, nbEdges), Arrays.copyOf(edgeHead, nbEdges),
+                    Arrays.copyOf(edgeWeight, nbEdges), Arrays.copyOf(edgeFirst, nbEdges),
+                    Arrays.copyOf(edgeSecond, nbEdges));
+        }
+
+        /**
+         * Run the given action on each of the given nodes using the pool.
+         */
+        private void forEach(int[] nodes, int nbNodes, IntConsumer action) {
+            pool.invoke(new RangeTask(0, nbNodes, CHUNK_SIZE, i -> action.accept(nodes[i])));
+        }
+
+        /**
+         * Add an edge between the given nodes, or update the existing edge
+         * between these nodes if the new edge is shorter.
+         */
+        private void addEdge(int tail, int head, double weight, int first, int second) {
+            IntList edges = out[tail];
+            for (int i = 0; i < edges.size(); ++i) {
+                int edge = edges.get(i);
+                if (edgeHead[edge] == head) {
+                    if (weight < edgeWeight[edge]) {
+                        edgeWeight[edge] = weight;
+                        edgeFirst[edge] = first;
+                        edgeSecond[edge] = second;
+                    }
+                    return;
+                }
+            }
+            if (nbEdges == edgeTail.length) {
+                int length = 2 * nbEdges;
+                edgeTail = Arrays.copyOf(edgeTail, length);
+                edgeHead = Arrays.copyOf(edgeHead, length);
+                edgeWeight = Arrays.copyOf(edgeWeight, length);
+                edgeFirst = Arrays.copyOf(edgeFirst, length);
+                edgeSecond = Arrays.copyOf(edgeSecond, length);
+            }
+            edgeTail[nbEdges] = tail;
+            edgeHead[nbEdges] = head;
+            edgeWeight[nbEdges] = weight;
+            edgeFirst[nbEdges] = first;
+            edgeSecond[nbEdges] = second;
+            out[tail].add(nbEdges);
+            in[head].add(nbEdges);
+            ++nbEdges;
+        }
+
+        /**
+         * @return true if the priority of the given node is lower than the
+         *         priority of all its neighbours (ties are broken using IDs).
+         */
+        private boolean isLocalMinimum(int node) {
+            for (int i = 0; i < in[node].size(); ++i) {
+                if (!isLower(node, edgeTail[in[node].get(i)])) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < out[node].size(); ++i) {
+                if (!isLower(node, edgeHead[out[node].get(i)])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isLower(int node, int other) {
+            return priority[node] < priority[other]
+                    || (priority[node] == priority[other] && node < other);
+        }
+
+        /**
+         * @return Priority of the given node.
+         */
+        private int computePriority(int node) {
+            return findShortcuts(node, PRIORITY_WITNESS_SETTLED_LIMIT).size() / 2 - in[node].size() - out[node].size()
+                    + deleted[node];
+        }
+
+        /**
+         * Find the shortcuts required to contract the given node.
+         *
+         * @param node Node to contract.
+         * @param limit Maximum number of nodes settled by witness searches.
+         *
+         * @return Pairs of edges (entering and leaving the node) for which a
+         *         shortcut is required.
+         */
+        private IntList findShortcuts(int node, int limit) {
+            final WitnessSearch witness = witnesses.get();
+            final SearchWorkspace workspace = witness.workspace;
+            final IntList pairs = new IntList();
+            final IntList ins = in[node], outs = out[node];
+            for (int i = 0; i < ins.size(); ++i) {
+                final int first = ins.get(i), source = edgeTail[first];
+
+                // Mark targets.
+                ++witness.stamp;
+                int nbTargets = 0;
+                double maxCost = Double.NEGATIVE_INFINITY;
+                for (int j = 0; j < outs.size(); ++j) {
+                    final int target = edgeHead[outs.get(j)];
+                    if (target != source && witness.target[target] != witness.stamp) {
+                        witness.target[target] = witness.stamp;
+                        ++nbTargets;
+                        maxCost = Math.max(maxCost, edgeWeight[first] + edgeWeight[outs.get(j)]);
+                    }
+                }
+                if (nbTargets == 0) {
+                    continue;
+                }
+
+                witnessSearch(witness, source, node, maxCost, nbTargets, limit);
+
+                for (int j = 0; j < outs.size(); ++j) {
+                    final int second = outs.get(j), target = edgeHead[second];
+                    if (target != source && workspace.getDistance(target) > edgeWeight[first]
+                            + edgeWeight[second]) {
+                        pairs.add(first);
+                        pairs.add(second);
+                    }
+                }
+            }
+            return pairs;
+        }
+
+        /**
+         * Run a search from the given source avoiding the given node and the
+         * nodes being contracted, until all the targets are settled, the given
+         * cost is reached or the given number of nodes is settled.
+         */
+        private void witnessSearch(WitnessSearch witness, int source, int avoid,
+                double maxCost, int nbTargets, int limit) {
+            final SearchWorkspace workspace = witness.workspace;
+            workspace.reset();
+            workspace.update(source, 0, SearchWorkspace.NO_ARC, 0);
+            for (int settled = 0; settled < limit && nbTargets > 0
+                    && !workspace.isQueueEmpty() && workspace.getMinKey() <= maxCost; ++settled) {
+                final int node = workspace.settleMin();
+                if (witness.target[node] == witness.stamp) {
+                    --nbTargets;
+                }
+                final double cost = workspace.getDistance(node);
+                final IntList edges = out[node];
+                for (int i = 0; i < edges.size(); ++i) {
+                    final int edge = edges.get(i), head = edgeHead[edge];
+                    if (head == avoid || contracting[head] || workspace.isSettled(head)) {
+                        continue;
+                    }
+                    double newCost = cost + edgeWeight[edge];
+                    if (workspace.getDistance(head) > newCost) {
+                        workspace.update(head, newCost, SearchWorkspace.NO_ARC, newCost);
+                    }
+                }
+            }
+        }
+
+    }
+
+}
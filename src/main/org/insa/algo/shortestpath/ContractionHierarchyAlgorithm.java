@@ -0,0 +1,201 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.Path;
+
+/**
+ * Shortest-path algorithm using a {@link ContractionHierarchy}.
+ *
+ * A forward search from the origin only follows upward edges, and a backward
+ * search from the destination only follows downward edges (in reverse). Each
+ * search stops once its lowest key is not lower than the best path found, and
+ * the edges of the best path are then unpacked into arcs of the graph.
+ *
+ * Unless a hierarchy is given, the hierarchy of the graph and arc inspector of
+ * the input data is retrieved using
+ * {@link ContractionHierarchy#get(Graph, org.insa.algo.ArcInspector)}, so the
+ * first search for a given graph and arc inspector may be slow.
+ *
+ */
+public class ContractionHierarchyAlgorithm extends ShortestPathAlgorithm {
+
+    // Hierarchy (retrieved on the first run if none is given) and workspaces of
+    // the forward and backward searches (created on the first run if none are
+    // given).
+    private ContractionHierarchy hierarchy;
+    private SearchWorkspace forward, backward;
+
+    public ContractionHierarchyAlgorithm(ShortestPathData data) {
+        this(data, null, null, null);
+    }
+
+    /**
+     * Create a new algorithm that uses the given hierarchy and workspaces.
+     *
+     * @param data Input data for the search.
+     * @param hierarchy Hierarchy built for the graph and arc inspector of data,
+     *        or null to use the hierarchy from
+     *        {@link ContractionHierarchy#get(Graph, org.insa.algo.ArcInspector)}.
+     * @param forward Workspace for the forward search, or null to use a new
+     *        workspace.
+     * @param backward Workspace for the backward search, or null to use a new
+     *        workspace. Must be different from forward.
+     */
+    public ContractionHierarchyAlgorithm(ShortestPathData data, ContractionHierarchy hierarchy,
+            SearchWorkspace forward, SearchWorkspace backward) {
+        super(data);
+        if ((hierarchy != null && hierarchy.getGraph() != data.getGraph())
+                || (forward != null && forward.getGraph() != data.getGraph())
+                || (backward != null && backward.getGraph() != data.getGraph())) {
+            throw new IllegalArgumentException("The hierarchy or workspace is bound to another graph.");
+        }
+        if (forward != null && forward == backward) {
+            throw new IllegalArgumentException(
+                    "The forward and backward searches cannot share a workspace.");
+        }
+        this.hierarchy = hierarchy;
+        this.forward = forward;
+        this.backward = backward;
+    }
+
+    @Override
+    protected ShortestPathSolution doRun() {
+        final ShortestPathData data = getInputData();
+        final Graph graph = data.getGraph();
+
+        final int origin = data.getOrigin().getId();
+        final int destination = data.getDestination().getId();
+
+        if (hierarchy == null) {
+            hierarchy = ContractionHierarchy.get(graph, data.getArcInspector());
+        }
+        if (forward == null) {
+            forward = new SearchWorkspace(graph);
+        }
+        if (backward == null) {
+            backward = new SearchWorkspace(graph);
+        }
+        forward.reset();
+        backward.reset();
+
+        forward.update(origin, 0, SearchWorkspace.NO_ARC, 0);
+        backward.update(destination, 0, SearchWorkspace.NO_ARC, 0);
+
+        notifyOriginProcessed(data.getOrigin());
+
+        // Length of the best path found so far, and node where both searches meet
+        // on this path.
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        while (true) {
+            final boolean forwardDone = forward.getMinKey() >= best;
+            final boolean backwardDone = backward.getMinKey() >= best;
+            if (forwardDone && backwardDone) {
+                break;
+            }
+            final boolean isForward = !forwardDone
+                    && (backwardDone || forward.getMinKey() <= backward.getMinKey());
+            final SearchWorkspace current = isForward ? forward : backward;
+            final SearchWorkspace other = isForward ? backward : forward;
+
+            final int node = current.settleMin();
+            final double cost = current.getDistance(node);
+            notifyNodeMarked(graph.get(node));
+
+            if (cost + other.getDistance(node) < best) {
+                best = cost + other.getDistance(node);
+                meeting = node;
+            }
+
+            // Stall-on-demand: the node is not relaxed if it can be reached with a
+            // lower cost through an edge from a higher node.
+            if (isStalled(current, node, cost, isForward)) {
+                continue;
+            }
+
+            final int first = isForward ? hierarchy.getUpwardFirst(node)
+                    : hierarchy.getDownwardFirst(node);
+            final int last = isForward ? hierarchy.getUpwardFirst(node + 1)
+                    : hierarchy.getDownwardFirst(node + 1);
+            for (int index = first; index < last; ++index) {
+                final int edge = isForward ? hierarchy.getUpwardEdge(index)
+                        : hierarchy.getDownwardEdge(index);
+                final int next = isForward ? hierarchy.getEdgeHead(edge)
+                        : hierarchy.getEdgeTail(edge);
+                if (current.isSettled(next)) {
+                    continue;
+                }
+                notifyNodeReached(graph.get(next));
+
+                double newCost = cost + hierarchy.getEdgeWeight(edge);
+                if (current.getDistance(next) > newCost) {
+                    current.update(next, newCost, edge, newCost);
+                }
+            }
+        }
+
+        // Same behavior as Dijkstra when the origin is the destination, or when
+        // no path exists.
+        if (meeting == -1 || origin == destination) {
+            return new ShortestPathSolution(data, Status.INFEASIBLE);
+        }
+
+        notifyDestinationReached(data.getDestination());
+
+        // Edges from the origin to the meeting node (in reverse order), and then
+        // from the meeting node to the destination.
+        ArrayList<Integer> edges = new ArrayList<>();
+        for (int node = meeting, edge = forward.getParentArc(node);
+                edge != SearchWorkspace.NO_ARC; edge = forward.getParentArc(node)) {
+            edges.add(edge);
+            node = hierarchy.getEdgeTail(edge);
+        }
+        ArrayList<Arc> arcs = new ArrayList<>();
+        for (int i = edges.size() - 1; i >= 0; --i) {
+            hierarchy.unpack(edges.get(i), arcs);
+        }
+        for (int node = meeting, edge = backward.getParentArc(node);
+                edge != SearchWorkspace.NO_ARC; edge = backward.getParentArc(node)) {
+            hierarchy.unpack(edge, arcs);
+            node = hierarchy.getEdgeHead(edge);
+        }
+
+        return new ShortestPathSolution(data, Status.OPTIMAL, new Path(graph, arcs));
+    }
+
+    /**
+     * Check if the given node can be reached with a lower cost than its current
+     * cost using an edge coming from a node with a higher rank (in the direction
+     * of the search), in which case the node cannot be on a shortest path found
+     * by the search and its edges do not need to be relaxed.
+     *
+     * @param workspace Workspace of the search.
+     * @param node Node to check.
+     * @param cost Cost of the node in the search.
+     * @param isForward true if the search is the forward search.
+     *
+     * @return true if the node is stalled.
+     */
+    private boolean isStalled(SearchWorkspace workspace, int node, double cost, boolean isForward) {
+        final int first = isForward ? hierarchy.getDownwardFirst(node)
+                : hierarchy.getUpwardFirst(node);
+        final int last = isForward ? hierarchy.getDownwardFirst(node + 1)
+                : hierarchy.getUpwardFirst(node + 1);
+        for (int index = first; index < last; ++index) {
+            final int edge = isForward ? hierarchy.getDownwardEdge(index)
+                    : hierarchy.getUpwardEdge(index);
+            final int previous = isForward ? hierarchy.getEdgeTail(edge)
+                    : hierarchy.getEdgeHead(edge);
+            if (workspace.getDistance(previous) + hierarchy.getEdgeWeight(edge) < cost) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.insa.algo.shortestpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.insa.graph.Graph;
+import org.insa.graph.io.BadFormatException;
+import org.insa.graph.io.BinaryReader;
+import org.insa.graph.io.MapMismatchException;
+
+/**
+ * Reader for {@link ContractionHierarchy} in binary format.
+ *
+ * The format is: magic number, version, map ID (fixed length), description of
+ * the arc inspector, fingerprint of the graph (see
+ * {@link org.insa.graph.CsrGraph#getFingerprint()}), number of nodes, rank of each node, number of edges, and
+ * for each edge its origin, destination, cost, first and second values (see
+ * {@link ContractionHierarchy#getEdgeFirst(int)} and
+ * {@link ContractionHierarchy#getEdgeSecond(int)}).
+ *
+ */
+public class ContractionHierarchyReader extends BinaryReader {
+
+    // Version and magic number targeted for this reader.
+    protected static final int VERSION = 2;
+    protected static final int MAGIC_NUMBER = 0x43483031;
+
+    // Length of the map ID field.
+    protected static final int MAP_ID_FIELD_LENGTH = 32;
+
+    /**
+     * Create a new ContractionHierarchyReader that reads from the given input
+     * stream.
+     *
+     * @param dis Input stream to read from.
+     */
+    public ContractionHierarchyReader(DataInputStream dis) {
+        super(MAGIC_NUMBER, VERSION, dis);
+    }
+
+    /**
+     * Read the contraction hierarchy of the given graph from the stream.
+     *
+     * The stream is not closed, it is owned by the caller.
+     *
+     * @param graph Graph of the hierarchy.
+     *
+     * @return The hierarchy read.
+     *
+     * @throws MapMismatchException if the hierarchy was built for another map,
+     *         or for another version or numbering of the map.
+     * @throws IOException When an exception occurs while reading the hierarchy.
+     */
+    public ContractionHierarchy readHierarchy(Graph graph) throws IOException {
+
+        // Read and check magic number and version.
+        checkMagicNumberOrThrow(dis.readInt());
+        checkVersionOrThrow(dis.readInt());
+
+        // Read map ID, arc inspector and fingerprint, and check against
+        // graph.
+        String mapId = readFixedLengthString(MAP_ID_FIELD_LENGTH, "UTF-8");
+        if (!mapId.equals(graph.getMapId())) {
+            throw new MapMismatchException(mapId, graph.getMapId());
+        }
+        String inspector = dis.readUTF();
+        long fingerprint = dis.readLong(), expected = graph.getCsrGraph().getFingerprint();
+        if (fingerprint != expected) {
+            throw new MapMismatchException(mapId + "#" + Long.toHexString(fingerprint),
+                    graph.getMapId() + "#" + Long.toHexString(expected));
+        }
+
+        // Read ranks.
+        final int nbNodes = dis.readInt();
+        if (nbNodes != graph.size()) {
+            throw new BadFormatException();
+        }
+        int[] rank = new int[nbNodes];
+        for (int node = 0; node < nbNodes; ++node) {
+            rank[node] = dis.readInt();
+        }
+
+        // Read edges.
+        final int nbEdges = dis.readInt();
+        if (nbEdges < 0) {
+            throw new BadFormatException();
+        }
+        int[] edgeTail = new int[nbEdges], edgeHead = new int[nbEdges];
+        double[] edgeWeight = new double[nbEdges];
+        int[] edgeFirst = new int[nbEdges], edgeSecond = new int[nbEdges];
+        for (int edge = 0; edge < nbEdges; ++edge) {
+            edgeTail[edge] = dis.readInt();
+            edgeHead[edge] = dis.readInt();
+            edgeWeight[edge] = dis.readDouble();
+            edgeFirst[edge] = dis.readInt();
+            edgeSecond[edge] = dis.readInt();
+            if (edgeTail[edge] < 0 || edgeTail[edge] >= nbNodes || edgeHead[edge] < 0
+                    || edgeHead[edge] >= nbNodes) {
+                throw new BadFormatException();
+            }
+        }
+
+        return new ContractionHierarchy(graph, inspector, rank, edgeTail, edgeHead,
+                edgeWeight, edgeFirst, edgeSecond);
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.insa.algo.shortestpath;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.insa.graph.io.BinaryWriter;
+
+/**
+ * Writer for {@link ContractionHierarchy} in binary format, see
+ * {@link ContractionHierarchyReader}.
+ *
+ */
+public class ContractionHierarchyWriter extends BinaryWriter {
+
+    /**
+     * Create a new ContractionHierarchyWriter that writes to the given output
+     * stream.
+     *
+     * @param dos Output stream to write to.
+     */
+    public ContractionHierarchyWriter(DataOutputStream dos) {
+        super(dos);
+    }
+
+    /**
+     * Write the given hierarchy to the stream and flush it.
+     *
+     * The stream is not closed, it is owned by the caller.
+     *
+     * @param hierarchy Hierarchy to write.
+     *
+     * @throws IOException When an exception occurs while writing the hierarchy.
+     */
+    public void writeHierarchy(ContractionHierarchy hierarchy) throws IOException {
+
+        // Write magic number and version.
+        dos.writeInt(ContractionHierarchyReader.MAGIC_NUMBER);
+        dos.writeInt(ContractionHierarchyReader.VERSION);
+
+        // Write map ID, arc inspector and fingerprint of the graph.
+        dos.write(Arrays.copyOf(hierarchy.getGraph().getMapId().getBytes("UTF-8"),
+                ContractionHierarchyReader.MAP_ID_FIELD_LENGTH));
+        dos.writeUTF(hierarchy.getInspectorDescription());
+        dos.writeLong(hierarchy.getGraph().getCsrGraph().getFingerprint());
+
+        // Write ranks.
+        final int nbNodes = hierarchy.getGraph().size();
+        dos.writeInt(nbNodes);
+        for (int node = 0; node < nbNodes; ++node) {
+            dos.writeInt(hierarchy.getRank(node));
+        }
+
+        // Write edges.
+        dos.writeInt(hierarchy.getEdgeCount());
+        for (int edge = 0; edge < hierarchy.getEdgeCount(); ++edge) {
+            dos.writeInt(hierarchy.getEdgeTail(edge));
+            dos.writeInt(hierarchy.getEdgeHead(edge));
+            dos.writeDouble(hierarchy.getEdgeWeight(edge));
+            dos.writeInt(hierarchy.getEdgeFirst(edge));
+            dos.writeInt(hierarchy.getEdgeSecond(edge));
+        }
+
+        dos.flush();
+    }
+
+}
@@ -1,150 +1,123 @@
 package org.insa.algo.shortestpath;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-
 import org.insa.algo.AbstractSolution.Status;
-import org.insa.algo.utils.BinaryHeap;
-import org.insa.algo.utils.ElementNotFoundException;
-import org.insa.graph.Arc;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.graph.CsrGraph;
 import org.insa.graph.Graph;
 import org.insa.graph.Node;
-import org.insa.graph.Path;
 
 public class DijkstraAlgorithm extends ShortestPathAlgorithm {
 
+	// Workspace used for the searches (created on the first run if none is given)
+	private SearchWorkspace workspace;
+
     public DijkstraAlgorithm(ShortestPathData data) {
+        this(data, null);
+    }
+
+    /**
+     * Create a new Dijkstra algorithm that uses the given workspace, which allows
+     * running many searches on the same graph without allocating per-node state
+     * for each of them.
+     *
+     * @param data Input data for the search.
+     * @param workspace Workspace bound to the graph of data, or null to use a
+     *        new workspace.
+     */
+    public DijkstraAlgorithm(ShortestPathData data, SearchWorkspace workspace) {
         super(data);
+        if (workspace != null && workspace.getGraph() != data.getGraph()) {
+            throw new IllegalArgumentException("The workspace is bound to another graph.");
+        }
+        this.workspace = workspace;
+    }
+
+    /**
+     * Estimate the cost from the given node to the destination. This estimation
+     * is added to the cost of the nodes when ordering them in the queue.
+     *
+     * @param node Node from which the cost should be estimated.
+     *
+     * @return Estimated cost to the destination, 0 for Dijkstra.
+     */
+    protected double estimateCostToDestination(Node node) {
+    	return 0;
     }
 
     @Override
     protected ShortestPathSolution doRun() {
-    	
+
     	// Retrieve the graph.
 		ShortestPathData data = getInputData();
 		Graph graph = data.getGraph();
-	    
-	    final int nbNodes = graph.size();
-	    
-	    // Initialize the heap
-	    BinaryHeap<Label> heap = new BinaryHeap<Label>();
-	    
-		// Initialize array of labels.
-		Label[] labels = new Label[nbNodes];
-		
-		//Initialize labels, but check if Nodes id are correct
-		for (int i=0; i<nbNodes ; i++) {
-			labels[i] = new Label();
-			labels[i].setNode(graph.get(i));
-			labels[i].setId(i);
-		}
-    	
+
+		final int origin = data.getOrigin().getId(), destination = data.getDestination().getId();
+
+	    // Compressed representation of the graph, and costs and allowed arcs of this
+	    // graph for the inspector, indexed by arc ID
+	    CsrGraph csr = graph.getCsrGraph();
+	    CompiledArcInspector inspector = data.getCompiledArcInspector();
+
+	    // Reset the workspace, which holds the distances, the parent arcs and the heap
+	    if (workspace == null)
+	    	workspace = new SearchWorkspace(graph);
+	    workspace.reset();
+
 		// Set source cost to zero and insert it on the heap
-		labels[data.getOrigin().getId()].setCost(0);
-		heap.insert(labels[data.getOrigin().getId()]);
-		
+		workspace.update(origin, 0, SearchWorkspace.NO_ARC,
+				estimateCostToDestination(data.getOrigin()));
+
 		notifyOriginProcessed(data.getOrigin());
-		
-		// Node currently being marked
-		Node currentNode;
-		
-		// Label currently marked
-		Label currentLabel;
-		
-		// Successor currently checked
-		Node nextNode;
-		
+
 		// We iterate while the heap is not empty AND the destination hasn't been reached
-		while(!heap.isEmpty() && !labels[data.getDestination().getId()].isMarked()) {
-			
-			// Getting the node with minimum cost from the heap
-			currentLabel = heap.deleteMin();
-			
-			currentNode = currentLabel.getNode();
-			
-			if (currentLabel.getId() == data.getDestination().getId()) {
+		while(!workspace.isQueueEmpty() && !workspace.isSettled(destination)) {
+
+			// Getting the node with minimum cost from the heap, and marking it
+			int currentNode = workspace.settleMin();
+			double currentCost = workspace.getDistance(currentNode);
+
+			if (currentNode == destination) {
 				notifyDestinationReached(data.getDestination());
 			}
-			
-			// Marking the node
-			currentLabel.mark();
-			notifyNodeMarked(currentNode);
-			
+
+			notifyNodeMarked(graph.get(currentNode));
+
 			// Iterating over the arcs of this node
-			for(Arc arc : currentNode) {
-				
-				
+			for(int arcId = csr.getFirstArc(currentNode),
+					lastArcId = csr.getFirstArc(currentNode + 1); arcId < lastArcId; ++arcId) {
+
+				int nextNode = csr.getArcHead(arcId);
+
+				// Marked nodes cannot be improved
+				if (workspace.isSettled(nextNode))
+					continue;
+
 				// Check if the arc is allowed or not, according to the inspector
 				// if not, go to next iteration
-				if(!data.isAllowed(arc))
+				if(!inspector.isAllowed(arcId))
 					continue;
-				
-				nextNode = arc.getDestination();
-				
-				// If the following node hasn't been marked...
-				//if(!labels[nextNode.getId()].isMarked()) {
-					
-				notifyNodeReached(nextNode);
-				
+
+				notifyNodeReached(graph.get(nextNode));
+
 				// If we found a cheaper path to this node... we update its cost and set his new father
-				if (labels[nextNode.getId()].getCost() >
-						currentLabel.getCost() + data.getCost(arc) ) {
-					
-					try {
-						heap.remove(labels[nextNode.getId()]);
-					}
-					catch (ElementNotFoundException ignored) {}
-					
-					labels[nextNode.getId()].setCost(
-							currentLabel.getCost() + data.getCost(arc));
-					labels[nextNode.getId()].setFather(currentNode);
-					
-					heap.insert(labels[nextNode.getId()]);
-					
+				double newCost = currentCost + inspector.getCost(arcId);
+				if (workspace.getDistance(nextNode) > newCost) {
+					workspace.update(nextNode, newCost, arcId,
+							newCost + estimateCostToDestination(graph.get(nextNode)));
 				}
-					
-					
-				
+
 			}
-			
+
 		}
-    	
-    	ShortestPathSolution solution = null;
-    	
+
     	// If destination has no predecessors, the solution is infeasible
-    	if (labels[data.getDestination().getId()].getFather() == null)
+    	if (workspace.getParentArc(destination) == SearchWorkspace.NO_ARC)
     		return new ShortestPathSolution(data, Status.INFEASIBLE);
-    	
-    	else
-    	{
-    		ArrayList<Node> nodes = new ArrayList<Node>();
-    		
-    		currentLabel = labels[data.getDestination().getId()];
-    		
-    		// Building the list of nodes forming the path
-    		while (currentLabel.getNode() != data.getOrigin() && currentLabel.getFather() != null) {
-    			nodes.add(currentLabel.getNode());
-    			currentLabel = labels[currentLabel.getFather().getId()];
-    		}
-    		
-    		// Adding the origin to the list
-    		nodes.add(currentLabel.getNode());
-    		
-    		// Inverting the list
-    		Collections.reverse(nodes);
-    		
-    		Path path = Path.createShortestPathFromNodes(graph, nodes);
-    		
-    		solution = new ShortestPathSolution(data, Status.OPTIMAL, path);
-    			
-    		
-    	}
-    		
-    	
-    	return solution;
-		
+
+    	// Building the path from the parent arcs, so that the arcs actually used
+    	// by the search are the ones in the path
+    	return new ShortestPathSolution(data, Status.OPTIMAL, workspace.createPathTo(destination));
+
     }
 
 }
@@ -0,0 +1,336 @@
+package org.insa.algo.shortestpath;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.algo.AbstractAlgorithm;
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.algo.utils.IntPriorityQueueFactory;
+import org.insa.algo.utils.RangeTask;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Path;
+
+/**
+ * Algorithm computing the costs (and optionally the paths) of the shortest
+ * paths from each source to each target of a {@link DistanceMatrixData}.
+ *
+ * By default, the algorithm runs one Dijkstra search per source, which stops
+ * as soon as all the targets have been settled. If a
+ * {@link ContractionHierarchy} is given, the algorithm uses the bucket-based
+ * many-to-many method instead: an upward backward search from each target
+ * stores its costs in buckets at the nodes it settles, and an upward forward
+ * search from each source scans the buckets of the nodes it settles. Paths are
+ * then unpacked with one {@link ContractionHierarchyAlgorithm} query per pair.
+ *
+ * In both cases, sources (and targets for buckets) are processed in parallel
+ * using a fork-join pool, each thread using its own workspaces, whose queues are
+ * created by an optional {@link IntPriorityQueueFactory}.
+ *
+ */
+public class DistanceMatrixAlgorithm extends AbstractAlgorithm<DistanceMatrixObserver> {
+
+    // Hierarchy used by the bucket method, or null, pool used to process
+    // sources and targets in parallel, and factory of the queue of the
+    // workspaces (or null).
+    private final ContractionHierarchy hierarchy;
+    private final ForkJoinPool pool;
+    private final IntPriorityQueueFactory queueFactory;
+
+    public DistanceMatrixAlgorithm(DistanceMatrixData data) {
+        this(data, null, null);
+    }
+
+    /**
+     * Create a new distance matrix algorithm using the default queue of
+     * {@link SearchWorkspace}.
+     *
+     * @param data Input data for the algorithm.
+     * @param hierarchy Hierarchy built for the graph and arc inspector of data to
+     *        use the bucket method, or null to run one Dijkstra search per
+     *        source.
+     * @param pool Pool used to process sources in parallel, or null to use the
+     *        common fork-join pool.
+     */
+    public DistanceMatrixAlgorithm(DistanceMatrixData data, ContractionHierarchy hierarchy,
+            ForkJoinPool pool) {
+        this(data, hierarchy, pool, null);
+    }
+
+    /**
+     * Create a new distance matrix algorithm.
+     *
+     * @param data Input data for the algorithm.
+     * @param hierarchy Hierarchy built for the graph and arc inspector of data to
+     *        use the bucket method, or null to run one Dijkstra search per
+     *        source.
+     * @param pool Pool used to process sources in parallel, or null to use the
+     *        common fork-join pool.
+     * @param queueFactory Factory of the queue of the workspaces used by the
+     *        searches, or null to use the default queue of
+     *        {@link SearchWorkspace}.
+     */
+    public DistanceMatrixAlgorithm(DistanceMatrixData data, ContractionHierarchy hierarchy,
+            ForkJoinPool pool, IntPriorityQueueFactory queueFactory) {
+        super(data);
+        if (hierarchy != null && (hierarchy.getGraph() != data.getGraph() || !hierarchy
+                .getInspectorDescription().equals(data.getArcInspector().toString()))) {
+            throw new IllegalArgumentException(
+                    "The hierarchy is bound to another graph or arc inspector.");
+        }
+        this.hierarchy = hierarchy;
+        this.pool = pool == null ? ForkJoinPool.commonPool() : pool;
+        this.queueFactory = queueFactory;
+    }
+
+    @Override
+    public DistanceMatrixSolution run() {
+        return (DistanceMatrixSolution) super.run();
+    }
+
+    @Override
+    public DistanceMatrixData getInputData() {
+        return (DistanceMatrixData) super.getInputData();
+    }
+
+    /**
+     * Notify all observers that a row of the matrix has been computed.
+     *
+     * @param row Index of the row in the sources.
+     * @param source Source of the row.
+     */
+    public void notifyRowComputed(int row, Node source) {
+        synchronized (observers) {
+            for (DistanceMatrixObserver obs: getObservers()) {
+                obs.notifyRowComputed(row, source);
+            }
+        }
+    }
+
+    @Override
+    protected DistanceMatrixSolution doRun() {
+        final DistanceMatrixData data = getInputData();
+        final int nbSources = data.getSources().size(), nbTargets = data.getTargets().size();
+
+        final double[][] costs = new double[nbSources][nbTargets];
+        final Path[][] paths = data.isComputePaths() ? new Path[nbSources][nbTargets] : null;
+
+        if (hierarchy == null) {
+            computeOneToMany(costs, paths);
+        }
+        else {
+            computeBuckets(costs, paths);
+        }
+
+        return new DistanceMatrixSolution(data, Status.OPTIMAL, costs, paths);
+    }
+
+    /**
+     * Fill the matrix using one Dijkstra search per source.
+     *
+     * @param costs Matrix of costs to fill.
+     * @param paths Matrix of paths to fill, or null.
+     */
+    private void computeOneToMany(final double[][] costs, final Path[][] paths) {
+        final DistanceMatrixData data = getInputData();
+        final Graph graph = data.getGraph();
+        final List<Node> sources = data.getSources(), targets = data.getTargets();
+
+        // Targets, and number of distinct targets (a node can appear several
+        // times).
+        final boolean[] isTarget = new boolean[graph.size()];
+        int nbDistinct = 0;
+        for (Node target: targets) {
+            if (!isTarget[target.getId()]) {
+                isTarget[target.getId()] = true;
+                ++nbDistinct;
+            }
+        }
+        final int nbDistinctTargets = nbDistinct;
+
+        final CsrGraph csr = graph.getCsrGraph();
+        final ThreadLocal<SearchWorkspace> workspaces = ThreadLocal
+                .withInitial(() -> new SearchWorkspace(graph, queueFactory));
+        final CompiledArcInspector inspector = data.getCompiledArcInspector();
+
+        pool.invoke(new RangeTask(0, sources.size(), 1, row -> {
+            final SearchWorkspace workspace = workspaces.get();
+
+            workspace.reset();
+            workspace.update(sources.get(row).getId(), 0, SearchWorkspace.NO_ARC, 0);
+
+            int remaining = nbDistinctTargets;
+            while (remaining > 0 && !workspace.isQueueEmpty()) {
+                final int node = workspace.settleMin();
+                final double cost = workspace.getDistance(node);
+                if (isTarget[node]) {
+                    --remaining;
+                }
+                for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                    final int next = csr.getArcHead(arcId);
+                    if (workspace.isSettled(next) || !inspector.isAllowed(arcId)) {
+                        continue;
+                    }
+                    final double newCost = cost + inspector.getCost(arcId);
+                    if (workspace.getDistance(next) > newCost) {
+                        workspace.update(next, newCost, arcId, newCost);
+                    }
+                }
+            }
+
+            for (int column = 0; column < targets.size(); ++column) {
+                final int target = targets.get(column).getId();
+                costs[row][column] = workspace.getDistance(target);
+                if (paths != null) {
+                    paths[row][column] = workspace.createPathTo(target);
+                }
+            }
+            notifyRowComputed(row, sources.get(row));
+        }));
+    }
+
+    /**
+     * Fill the matrix using the bucket-based many-to-many method on the
+     * hierarchy.
+     *
+     * @param costs Matrix of costs to fill.
+     * @param paths Matrix of paths to fill, or null.
+     */
+    private void computeBuckets(final double[][] costs, final Path[][] paths) {
+        final DistanceMatrixData data = getInputData();
+        final Graph graph = data.getGraph();
+        final List<Node> sources = data.getSources(), targets = data.getTargets();
+        final int nbTargets = targets.size();
+
+        final ThreadLocal<SearchWorkspace> workspaces = ThreadLocal
+                .withInitial(() -> new SearchWorkspace(graph, queueFactory));
+
+        // Nodes settled by the backward search of each target, and their costs.
+        final int[][] settledNodes = new int[nbTargets][];
+        final double[][] settledCosts = new double[nbTargets][];
+        pool.invoke(new RangeTask(0, nbTargets, 1, column -> {
+            final SearchWorkspace workspace = workspaces.get();
+            workspace.reset();
+            workspace.update(targets.get(column).getId(), 0, SearchWorkspace.NO_ARC, 0);
+            int[] nodes = new int[16];
+            double[] values = new double[16];
+            int size = 0;
+            while (!workspace.isQueueEmpty()) {
+                final int node = workspace.settleMin();
+                if (size == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, 2 * size);
+                    values = Arrays.copyOf(values, 2 * size);
+                }
+                nodes[size] = node;
+                values[size++] = workspace.getDistance(node);
+                relaxUpward(workspace, node, false);
+            }
+            settledNodes[column] = Arrays.copyOf(nodes, size);
+            settledCosts[column] = Arrays.copyOf(values, size);
+        }));
+
+        // Buckets of each node: targets whose backward search settled the node,
+        // and corresponding costs.
+        final int[] bucketFirst = new int[graph.size() + 1];
+        for (int[] nodes: settledNodes) {
+            for (int node: nodes) {
+                ++bucketFirst[node + 1];
+            }
+        }
+        for (int node = 0; node < graph.size(); ++node) {
+            bucketFirst[node + 1] += bucketFirst[node];
+        }
+        final int[] bucketTarget = new int[bucketFirst[graph.size()]];
+        final double[] bucketCost = new double[bucketTarget.length];
+        final int[] next = Arrays.copyOf(bucketFirst, graph.size());
+        for (int column = 0; column < nbTargets; ++column) {
+            for (int i = 0; i < settledNodes[column].length; ++i) {
+                final int index = next[settledNodes[column][i]]++;
+                bucketTarget[index] = column;
+                bucketCost[index] = settledCosts[column][i];
+            }
+        }
+
+        final ThreadLocal<SearchWorkspace> backwards = ThreadLocal
+                .withInitial(() -> new SearchWorkspace(graph, queueFactory));
+        pool.invoke(new RangeTask(0, sources.size(), 1, row -> {
+            final SearchWorkspace workspace = workspaces.get();
+            final double[] values = costs[row];
+            Arrays.fill(values, Double.POSITIVE_INFINITY);
+
+            workspace.reset();
+            workspace.update(sources.get(row).getId(), 0, SearchWorkspace.NO_ARC, 0);
+            while (!workspace.isQueueEmpty()) {
+                final int node = workspace.settleMin();
+                final double cost = workspace.getDistance(node);
+                for (int index = bucketFirst[node]; index < bucketFirst[node + 1]; ++index) {
+                    final int column = bucketTarget[index];
+                    values[column] = Math.min(values[column], cost + bucketCost[index]);
+                }
+                relaxUpward(workspace, node, true);
+            }
+
+            if (paths != null) {
+                for (int column = 0; column < nbTargets; ++column) {
+                    paths[row][column] = createPath(sources.get(row), targets.get(column),
+                            values[column], workspace, backwards.get());
+                }
+            }
+            notifyRowComputed(row, sources.get(row));
+        }));
+    }
+
+    /**
+     * Relax the edges of the hierarchy that go upward from the given settled
+     * node, in the direction of the search.
+     *
+     * @param workspace Workspace of the search.
+     * @param node Settled node.
+     * @param isForward true for a forward search, false for a backward search.
+     */
+    private void relaxUpward(SearchWorkspace workspace, int node, boolean isForward) {
+        final double cost = workspace.getDistance(node);
+        final int first = isForward ? hierarchy.getUpwardFirst(node)
+                : hierarchy.getDownwardFirst(node);
+        final int last = isForward ? hierarchy.getUpwardFirst(node + 1)
+                : hierarchy.getDownwardFirst(node + 1);
+        for (int index = first; index < last; ++index) {
+            final int edge = isForward ? hierarchy.getUpwardEdge(index)
+                    : hierarchy.getDownwardEdge(index);
+            final int next = isForward ? hierarchy.getEdgeHead(edge) : hierarchy.getEdgeTail(edge);
+            final double newCost = cost + hierarchy.getEdgeWeight(edge);
+            if (!workspace.isSettled(next) && workspace.getDistance(next) > newCost) {
+                workspace.update(next, newCost, edge, newCost);
+            }
+        }
+    }
+
+    /**
+     * Create the shortest path from the given source to the given target using a
+     * query on the hierarchy.
+     *
+     * @param source Origin of the path.
+     * @param target Destination of the path.
+     * @param cost Cost of the shortest path, positive infinity if there is none.
+     * @param forward Workspace for the forward search.
+     * @param backward Workspace for the backward search.
+     *
+     * @return The path, or null if there is none.
+     */
+    private Path createPath(Node source, Node target, double cost, SearchWorkspace forward,
+            SearchWorkspace backward) {
+        if (Double.isInfinite(cost)) {
+            return null;
+        }
+        if (source.getId() == target.getId()) {
+            return new Path(getInputData().getGraph(), source);
+        }
+        return new ContractionHierarchyAlgorithm(new ShortestPathData(getInputData().getGraph(),
+                source, target, getInputData().getArcInspector()), hierarchy, forward, backward)
+                        .run().getPath();
+    }
+
+}
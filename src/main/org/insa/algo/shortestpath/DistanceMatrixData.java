@@ -0,0 +1,81 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.insa.algo.AbstractInputData;
+import org.insa.algo.ArcInspector;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+public class DistanceMatrixData extends AbstractInputData {
+
+    // Sources (rows) and targets (columns) of the matrix.
+    private final List<Node> sources, targets;
+
+    // true if paths should be computed in addition to costs.
+    private final boolean computePaths;
+
+    /**
+     * Construct a new instance of DistanceMatrixData that only asks for the costs
+     * of the shortest paths.
+     *
+     * @param graph Graph in which paths should be looked for.
+     * @param sources Origins of the paths (rows of the matrix).
+     * @param targets Destinations of the paths (columns of the matrix).
+     * @param arcInspector Filter for arcs (used to allow only a specific set of
+     *        arcs in the graph to be used).
+     */
+    public DistanceMatrixData(Graph graph, List<Node> sources, List<Node> targets,
+            ArcInspector arcInspector) {
+        this(graph, sources, targets, arcInspector, false);
+    }
+
+    /**
+     * Construct a new instance of DistanceMatrixData with the given parameters.
+     *
+     * @param graph Graph in which paths should be looked for.
+     * @param sources Origins of the paths (rows of the matrix).
+     * @param targets Destinations of the paths (columns of the matrix).
+     * @param arcInspector Filter for arcs (used to allow only a specific set of
+     *        arcs in the graph to be used).
+     * @param computePaths true if the paths should be computed in addition to
+     *        their costs.
+     */
+    public DistanceMatrixData(Graph graph, List<Node> sources, List<Node> targets,
+            ArcInspector arcInspector, boolean computePaths) {
+        super(graph, arcInspector);
+        this.sources = Collections.unmodifiableList(new ArrayList<>(sources));
+        this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
+        this.computePaths = computePaths;
+    }
+
+    /**
+     * @return Origins of the paths, i.e. the rows of the matrix (unmodifiable).
+     */
+    public List<Node> getSources() {
+        return sources;
+    }
+
+    /**
+     * @return Destinations of the paths, i.e. the columns of the matrix
+     *         (unmodifiable).
+     */
+    public List<Node> getTargets() {
+        return targets;
+    }
+
+    /**
+     * @return true if the paths should be computed in addition to their costs.
+     */
+    public boolean isComputePaths() {
+        return computePaths;
+    }
+
+    @Override
+    public String toString() {
+        return "Distance matrix from " + sources.size() + " sources to " + targets.size()
+                + " targets [" + this.arcInspector.toString().toLowerCase() + "]";
+    }
+}
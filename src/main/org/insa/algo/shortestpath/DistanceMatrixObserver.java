@@ -0,0 +1,17 @@
+package org.insa.algo.shortestpath;
+
+import org.insa.graph.Node;
+
+public interface DistanceMatrixObserver {
+
+    /**
+     * Notify the observer that a row of the matrix has been computed. Rows may be
+     * computed in any order, and this method may be called from any thread (but
+     * not concurrently).
+     *
+     * @param row Index of the row in the sources.
+     * @param source Source of the row.
+     */
+    public void notifyRowComputed(int row, Node source);
+
+}
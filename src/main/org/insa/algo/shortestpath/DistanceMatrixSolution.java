@@ -0,0 +1,94 @@
+package org.insa.algo.shortestpath;
+
+import org.insa.algo.AbstractSolution;
+import org.insa.graph.Path;
+
+public class DistanceMatrixSolution extends AbstractSolution {
+
+    // Costs of the shortest paths, by source then by target.
+    private double[][] costs;
+
+    // Shortest paths, by source then by target (null if not computed).
+    private Path[][] paths;
+
+    /**
+     * Create a new distance matrix solution with the given status and no costs.
+     *
+     * @param data Original input data for this solution.
+     * @param status Status of the solution (UNKNOWN / INFEASIBLE).
+     */
+    public DistanceMatrixSolution(DistanceMatrixData data, Status status) {
+        super(data, status);
+    }
+
+    /**
+     * Create a new distance matrix solution.
+     *
+     * @param data Original input data for this solution.
+     * @param status Status of the solution (FEASIBLE / OPTIMAL).
+     * @param costs Costs of the shortest paths, by source then by target
+     *        (positive infinity if there is no path).
+     * @param paths Shortest paths, by source then by target (null if there is no
+     *        path), or null if paths have not been computed.
+     */
+    public DistanceMatrixSolution(DistanceMatrixData data, Status status, double[][] costs,
+            Path[][] paths) {
+        super(data, status);
+        this.costs = costs;
+        this.paths = paths;
+    }
+
+    @Override
+    public DistanceMatrixData getInputData() {
+        return (DistanceMatrixData) super.getInputData();
+    }
+
+    /**
+     * @return Costs of the shortest paths, by source then by target (positive
+     *         infinity if there is no path).
+     */
+    public double[][] getCosts() {
+        return costs;
+    }
+
+    /**
+     * @param row Index of the source.
+     * @param column Index of the target.
+     *
+     * @return Cost of the shortest path from the given source to the given
+     *         target, or positive infinity if there is no path.
+     */
+    public double getCost(int row, int column) {
+        return costs[row][column];
+    }
+
+    /**
+     * @param row Index of the source.
+     * @param column Index of the target.
+     *
+     * @return Shortest path from the given source to the given target, or null if
+     *         there is no path or paths have not been computed.
+     */
+    public Path getPath(int row, int column) {
+        return paths == null ? null : paths[row][column];
+    }
+
+    @Override
+    public String toString() {
+        if (costs == null) {
+            return "No distance matrix computed.";
+        }
+        int nbMissing = 0;
+        for (double[] row: costs) {
+            for (double cost: row) {
+                if (Double.isInfinite(cost)) {
+                    ++nbMissing;
+                }
+            }
+        }
+        return "Computed a " + getInputData().getSources().size() + "x"
+                + getInputData().getTargets().size() + " distance matrix (" + nbMissing
+                + " missing paths) in " + getSolvingTime().getSeconds() + " seconds.";
+    }
+
+}
@@ -0,0 +1,318 @@
+package org.insa.algo.shortestpath;
+
+import java.util.Arrays;
+
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+
+/**
+ * Multi-level partition of the nodes of a graph into cells, used by
+ * customizable route planning (see {@link OverlayMetric} and
+ * {@link CRPAlgorithm}).
+ *
+ * Nodes are split recursively in halves at the median of their longitude or
+ * latitude (whichever has the largest extent), until each part contains at
+ * most a given number of nodes. Each of these parts is a cell of level 1, and
+ * each cell of level <code>l + 1</code> is the union of
+ * {@value #CELLS_PER_CELL} cells of level <code>l</code>.
+ *
+ * For each level, an arc is a boundary arc if its origin and destination are
+ * in different cells. The destinations of boundary arcs are the entries of
+ * their cell, and their origins are the exits of their cell.
+ *
+ * A partition only depends on the graph (not on arc costs), so it is computed
+ * once per graph and shared by all the metrics.
+ *
+ */
+public class GraphPartition {
+
+    /**
+     * Default maximum number of nodes in a cell of level 1.
+     */
+    public static final int DEFAULT_CELL_SIZE = 128;
+
+    /**
+     * Number of cells of level l contained in a cell of level l + 1.
+     */
+    public static final int CELLS_PER_CELL = 8;
+
+    // Number of bits of cell IDs for each level.
+    private static final int LEVEL_BITS = 3;
+
+    // Graph of this partition.
+    private final Graph graph;
+
+    // Number of levels, and number of bits of the cell IDs of level 1.
+    private final int nbLevels, nbBits;
+
+    // Cell of level 1 of each node.
+    private final int[] leaf;
+
+    // Entries and exits of each cell, for each level (index 0 is level 1).
+    private final int[][] firstEntry, entries, firstExit, exits;
+
+    // Index of each node in the entries and exits of its cell (or -1), for each
+    // level.
+    private final int[][] entryIndex, exitIndex;
+
+    /**
+     * Create a new partition with the given cells of level 1.
+     *
+     * @param graph Graph of the partition.
+     * @param leaf Cell of level 1 of each node.
+     * @param nbBits Number of bits of the cell IDs of level 1.
+     */
+    private GraphPartition(Graph graph, int[] leaf, int nbBits) {
+        final CsrGraph csr = graph.getCsrGraph();
+        final int nbNodes = graph.size();
+
+        this.graph = graph;
+        this.leaf = leaf;
+        this.nbBits = nbBits;
+        this.nbLevels = Math.max(1, (nbBits + LEVEL_BITS - 1) / LEVEL_BITS);
+
+        this.firstEntry = new int[nbLevels][];
+        this.entries = new int[nbLevels][];
+        this.firstExit = new int[nbLevels][];
+        this.exits = new int[nbLevels][];
+        this.entryIndex = new int[nbLevels][];
+        this.exitIndex = new int[nbLevels][];
+
+        for (int level = 1; level <= nbLevels; ++level) {
+            final int l = level - 1, nbCells = getCellCount(level);
+
+            // Find entries and exits.
+            boolean[] isEntry = new boolean[nbNodes], isExit = new boolean[nbNodes];
+            for (int tail = 0; tail < nbNodes; ++tail) {
+                for (int arc = csr.getFirstArc(tail); arc < csr.getFirstArc(tail + 1); ++arc) {
+                    int head = csr.getArcHead(arc);
+                    if (getCell(level, tail) != getCell(level, head)) {
+                        isExit[tail] = true;
+                        isEntry[head] = true;
+                    }
+                }
+            }
+
+            firstEntry[l] = new int[nbCells + 1];
+            firstExit[l] = new int[nbCells + 1];
+            for (int node = 0; node < nbNodes; ++node) {
+                if (isEntry[node]) {
+                    ++firstEntry[l][getCell(level, node) + 1];
+                }
+                if (isExit[node]) {
+                    ++firstExit[l][getCell(level, node) + 1];
+                }
+            }
+            for (int cell = 0; cell < nbCells; ++cell) {
+                firstEntry[l][cell + 1] += firstEntry[l][cell];
+                firstExit[l][cell + 1] += firstExit[l][cell];
+            }
+
+            entries[l] = new int[firstEntry[l][nbCells]];
+            exits[l] = new int[firstExit[l][nbCells]];
+            entryIndex[l] = new int[nbNodes];
+            exitIndex[l] = new int[nbNodes];
+            int[] nextEntry = Arrays.copyOf(firstEntry[l], nbCells);
+            int[] nextExit = Arrays.copyOf(firstExit[l], nbCells);
+            for (int node = 0; node < nbNodes; ++node) {
+                int cell = getCell(level, node);
+                entryIndex[l][node] = -1;
+                exitIndex[l][node] = -1;
+                if (isEntry[node]) {
+                    entryIndex[l][node] = nextEntry[cell] - firstEntry[l][cell];
+                    entries[l][nextEntry[cell]++] = node;
+                }
+                if (isExit[node]) {
+                    exitIndex[l][node] = nextExit[cell] - firstExit[l][cell];
+                    exits[l][nextExit[cell]++] = node;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Graph of this partition.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return Number of levels of this partition.
+     */
+    public int getLevelCount() {
+        return nbLevels;
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     *
+     * @return Number of cells of the given level.
+     */
+    public int getCellCount(int level) {
+        return 1 << Math.max(0, nbBits - LEVEL_BITS * (level - 1));
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param node ID of the node.
+     *
+     * @return Cell of the given level containing the given node.
+     */
+    public int getCell(int level, int node) {
+        return leaf[node] >>> (LEVEL_BITS * (level - 1));
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param cell Cell of the given level.
+     *
+     * @return Number of entries of the given cell.
+     */
+    public int getEntryCount(int level, int cell) {
+        return firstEntry[level - 1][cell + 1] - firstEntry[level - 1][cell];
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param cell Cell of the given level.
+     * @param index Index of the entry in the cell.
+     *
+     * @return ID of the entry at the given index in the given cell.
+     */
+    public int getEntry(int level, int cell, int index) {
+        return entries[level - 1][firstEntry[level - 1][cell] + index];
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param cell Cell of the given level.
+     *
+     * @return Number of exits of the given cell.
+     */
+    public int getExitCount(int level, int cell) {
+        return firstExit[level - 1][cell + 1] - firstExit[level - 1][cell];
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param cell Cell of the given level.
+     * @param index Index of the exit in the cell.
+     *
+     * @return ID of the exit at the given index in the given cell.
+     */
+    public int getExit(int level, int cell, int index) {
+        return exits[level - 1][firstExit[level - 1][cell] + index];
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param node ID of the node.
+     *
+     * @return Index of the node in the entries of its cell of the given level, or
+     *         -1 if the node is not an entry.
+     */
+    public int getEntryIndex(int level, int node) {
+        return entryIndex[level - 1][node];
+    }
+
+    /**
+     * @param level Level, between 1 and {@link #getLevelCount()}.
+     * @param node ID of the node.
+     *
+     * @return Index of the node in the exits of its cell of the given level, or -1
+     *         if the node is not an exit.
+     */
+    public int getExitIndex(int level, int node) {
+        return exitIndex[level - 1][node];
+    }
+
+    /**
+     * Compute a partition of the given graph.
+     *
+     * @param graph Graph to partition.
+     * @param cellSize Maximum number of nodes in a cell of level 1.
+     *
+     * @return The partition of the graph.
+     */
+    public static GraphPartition compute(Graph graph, int cellSize) {
+        final CsrGraph csr = graph.getCsrGraph();
+        final int nbNodes = graph.size();
+
+        int nbBits = 0;
+        while ((long) cellSize << nbBits < nbNodes) {
+            ++nbBits;
+        }
+
+        int[] order = new int[nbNodes];
+        for (int node = 0; node < nbNodes; ++node) {
+            order[node] = node;
+        }
+        int[] leaf = new int[nbNodes];
+        split(csr, order, 0, nbNodes, nbBits, 0, leaf, new long[nbNodes]);
+
+        return new GraphPartition(graph, leaf, nbBits);
+    }
+
+    /**
+     * Split the given range of nodes in halves recursively.
+     *
+     * @param csr Graph of the nodes.
+     * @param order Nodes to split.
+     * @param from First index of the range (inclusive).
+     * @param to Last index of the range (exclusive).
+     * @param depth Remaining number of splits.
+     * @param prefix Cell ID prefix of the nodes in the range.
+     * @param leaf Array of cells of level 1 to fill.
+     * @param keys Temporary array used for sorting.
+     */
+    private static void split(CsrGraph csr, int[] order, int from, int to, int depth, int prefix,
+            int[] leaf, long[] keys) {
+        if (depth == 0) {
+            for (int i = from; i < to; ++i) {
+                leaf[order[i]] = prefix;
+            }
+            return;
+        }
+
+        // Sort nodes along the dimension with the largest extent.
+        float minLon = Float.POSITIVE_INFINITY, maxLon = Float.NEGATIVE_INFINITY;
+        float minLat = Float.POSITIVE_INFINITY, maxLat = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; ++i) {
+            minLon = Math.min(minLon, csr.getLongitude(order[i]));
+            maxLon = Math.max(maxLon, csr.getLongitude(order[i]));
+            minLat = Math.min(minLat, csr.getLatitude(order[i]));
+            maxLat = Math.max(maxLat, csr.getLatitude(order[i]));
+        }
+        final boolean byLongitude = maxLon - minLon >= maxLat - minLat;
+        for (int i = from; i < to; ++i) {
+            float value = byLongitude ? csr.getLongitude(order[i]) : csr.getLatitude(order[i]);
+            int bits = Float.floatToIntBits(Float.isNaN(value) ? 0 : value);
+            // Make the order of integers match the order of floats.
+            bits ^= (bits >> 31) & 0x7fffffff;
+            keys[i] = ((long) bits << 32) | order[i];
+        }
+        Arrays.sort(keys, from, to);
+        for (int i = from; i < to; ++i) {
+            order[i] = (int) keys[i];
+        }
+
+        final int middle = (from + to) >>> 1;
+        split(csr, order, from, middle, depth - 1, prefix << 1, leaf, keys);
+        split(csr, order, middle, to, depth - 1, (prefix << 1) | 1, leaf, keys);
+    }
+
+    /**
+     * Retrieve the partition of the given graph, computing it with the default
+     * cell size if it has not been computed yet. The partition is kept with the
+     * graph (see {@link Graph#getDerivedData(Object, java.util.function.Function)}).
+     *
+     * @param graph Graph of the partition.
+     *
+     * @return The partition of the graph.
+     */
+    public static GraphPartition get(Graph graph) {
+        return graph.getDerivedData(GraphPartition.class, g -> compute(g, DEFAULT_CELL_SIZE));
+    }
+
+}
@@ -0,0 +1,434 @@
+package org.insa.algo.shortestpath;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+
+/**
+ * Landmarks used by the ALT algorithm (A*, landmarks and triangle inequality).
+ *
+ * For each landmark <code>L</code>, the distance from <code>L</code> to every
+ * node and from every node to <code>L</code> is stored, for a given arc
+ * inspector. Using the triangle inequality, these distances give a lower bound
+ * on the distance between any two nodes (see {@link #getLowerBound(int, int)}).
+ *
+ * Distances are stored as floats to limit the memory used (8 bytes per node
+ * and landmark). The bounds computed from these distances are lowered to
+ * account for the rounding, so that they never overestimate actual distances.
+ *
+ */
+public class Landmarks {
+
+    /**
+     * Strategy used to select landmarks.
+     */
+    public enum Selection {
+
+        /**
+         * Each landmark is the node farthest from the landmarks already selected.
+         */
+        FARTHEST,
+
+        /**
+         * Each landmark is selected in the part of a shortest-path tree (from a
+         * random root) whose nodes have the worst lower bounds with the landmarks
+         * already selected (Goldberg & Werneck "avoid" strategy).
+         */
+        AVOID
+
+    }
+
+    /**
+     * Default number of landmarks.
+     */
+    public static final int DEFAULT_NUMBER_OF_LANDMARKS = 16;
+
+    // Relative error of the distances due to the float representation (twice
+    // the unit roundoff of floats).
+    private static final double FLOAT_ERROR = 0x1p-23;
+
+    // Seed of the random generator used by the selection strategies.
+    private static final long SEED = 0x5eed;
+
+    // Storage of the landmarks computed for each graph and arc inspector.
+    private static final PreprocessingStorage<Landmarks> STORAGE = new PreprocessingStorage<>(
+            "landmarks", (dis, graph) -> new LandmarksReader(dis).readLandmarks(graph),
+            (dos, landmarks) -> new LandmarksWriter(dos).writeLandmarks(landmarks),
+            Landmarks::getInspectorDescription);
+
+    // Graph and description of the arc inspector of these landmarks.
+    private final Graph graph;
+    private final String inspector;
+
+    // ID of the landmarks.
+    private final int[] landmarks;
+
+    // Distance from each landmark to each node and from each node to each
+    // landmark (positive infinity for unreachable nodes).
+    private final float[][] fromLandmark, toLandmark;
+
+    /**
+     * Create new landmarks with the given distances.
+     *
+     * @param graph Graph of the landmarks.
+     * @param inspector Description of the arc inspector (see
+     *        {@link ArcInspector#toString()}).
+     * @param landmarks IDs of the landmarks.
+     * @param fromLandmark Distance from each landmark to each node.
+     * @param toLandmark Distance from each node to each landmark.
+     */
+    public Landmarks(Graph graph, String inspector, int[] landmarks, float[][] fromLandmark,
+            float[][] toLandmark) {
+        this.graph = graph;
+        this.inspector = inspector;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * @return Graph of these landmarks.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return Description of the arc inspector used to compute these landmarks.
+     */
+    public String getInspectorDescription() {
+        return inspector;
+    }
+
+    /**
+     * @return Number of landmarks.
+     */
+    public int size() {
+        return landmarks.length;
+    }
+
+    /**
+     * @param index Index of the landmark.
+     *
+     * @return ID of the landmark at the given index.
+     */
+    public int getLandmark(int index) {
+        return landmarks[index];
+    }
+
+    /**
+     * @param index Index of the landmark.
+     * @param node ID of the node.
+     *
+     * @return Distance from the landmark at the given index to the given node.
+     */
+    public float getDistanceFromLandmark(int index, int node) {
+        return fromLandmark[index][node];
+    }
+
+    /**
+     * @param index Index of the landmark.
+     * @param node ID of the node.
+     *
+     * @return Distance from the given node to the landmark at the given index.
+     */
+    public float getDistanceToLandmark(int index, int node) {
+        return toLandmark[index][node];
+    }
+
+    /**
+     * Compute a lower bound of the distance from the given node to the given
+     * target, which is the maximum of the triangle-inequality bounds
+     * <code>d(L, t) - d(L, v)</code> and <code>d(v, L) - d(t, L)</code> over all
+     * landmarks <code>L</code>.
+     *
+     * @param node ID of the node.
+     * @param target ID of the target.
+     *
+     * @return Lower bound of the distance from node to target, or positive
+     *         infinity if the target is known to be unreachable from the node.
+     */
+    public double getLowerBound(int node, int target) {
+        double bound = 0;
+        for (int i = 0; i < landmarks.length; ++i) {
+            final float[] from = fromLandmark[i], to = toLandmark[i];
+            bound = Math.max(bound, difference(from[target], from[node]));
+            bound = Math.max(bound, difference(to[node], to[target]));
+        }
+        return bound;
+    }
+
+    /**
+     * Compute a lower bound of <code>a - b</code> from their float approximations.
+     *
+     * @return Lower bound of a - b, 0 if a or b is infinite, or positive infinity
+     *         if only a is infinite.
+     */
+    private static double difference(float a, float b) {
+        if (a == Float.POSITIVE_INFINITY) {
+            return b == Float.POSITIVE_INFINITY ? 0 : Double.POSITIVE_INFINITY;
+        }
+        if (b == Float.POSITIVE_INFINITY) {
+            return 0;
+        }
+        return (double) a - (double) b - ((double) a + (double) b) * FLOAT_ERROR;
+    }
+
+    /**
+     * Compute landmarks for the given graph and arc inspector.
+     *
+     * @param graph Graph for which landmarks should be computed.
+     * @param inspector Arc inspector used to filter arcs and compute costs.
+     * @param count Number of landmarks to select.
+     * @param selection Strategy used to select landmarks.
+     *
+     * @return The computed landmarks, which may contain less than count landmarks
+     *         if the graph is too small.
+     */
+    public static Landmarks compute(Graph graph, ArcInspector inspector, int count,
+            Selection selection) {
+        final int nbNodes = graph.size();
+        count = Math.min(count, nbNodes);
+
+        final LandmarkSearch search = new LandmarkSearch(graph, inspector);
+        final Random random = new Random(SEED);
+
+        int[] landmarks = new int[count];
+        float[][] fromLandmark = new float[count][], toLandmark = new float[count][];
+
+        // Distance to the closest landmark, used by the farthest strategy.
+        double[] minDistance = new double[nbNodes];
+        Arrays.fill(minDistance, Double.POSITIVE_INFINITY);
+
+        int nbLandmarks = 0;
+        while (nbLandmarks < count) {
+            Landmarks current = new Landmarks(graph, inspector.toString(),
+                    Arrays.copyOf(landmarks, nbLandmarks),
+                    Arrays.copyOf(fromLandmark, nbLandmarks),
+                    Arrays.copyOf(toLandmark, nbLandmarks));
+            int landmark = -1;
+            if (selection == Selection.AVOID) {
+                landmark = search.selectAvoid(random.nextInt(nbNodes), current);
+            }
+            if (landmark == -1) {
+                landmark = selectFarthest(nbLandmarks == 0 ? null : minDistance,
+                        nbLandmarks == 0 ? search.distancesFrom(random.nextInt(nbNodes)) : null);
+            }
+            if (landmark == -1) {
+                break;
+            }
+
+            landmarks[nbLandmarks] = landmark;
+            fromLandmark[nbLandmarks] = search.distancesFrom(landmark);
+            toLandmark[nbLandmarks] = search.distancesTo(landmark);
+            for (int node = 0; node < nbNodes; ++node) {
+                minDistance[node] = Math.min(minDistance[node],
+                        fromLandmark[nbLandmarks][node] + (double) toLandmark[nbLandmarks][node]);
+            }
+            ++nbLandmarks;
+        }
+
+        return new Landmarks(graph, inspector.toString(), Arrays.copyOf(landmarks, nbLandmarks),
+                Arrays.copyOf(fromLandmark, nbLandmarks), Arrays.copyOf(toLandmark, nbLandmarks));
+    }
+
+    /**
+     * Select the node with the greatest finite distance.
+     *
+     * @param minDistance Distance of each node to the closest landmark (round
+     *        trip), or null.
+     * @param distances Distances to use if minDistance is null.
+     *
+     * @return ID of the selected node, or -1 if all nodes have a zero or infinite
+     *         distance.
+     */
+    private static int selectFarthest(double[] minDistance, float[] distances) {
+        int best = -1;
+        double bestDistance = 0;
+        int nbNodes = minDistance != null ? minDistance.length : distances.length;
+        for (int node = 0; node < nbNodes; ++node) {
+            double distance = minDistance != null ? minDistance[node] : distances[node];
+            if (distance > bestDistance && distance != Double.POSITIVE_INFINITY) {
+                best = node;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Retrieve the landmarks for the given graph and arc inspector, using the
+     * default number of landmarks and the {@link Selection#AVOID} strategy.
+     *
+     * Landmarks are kept with their graph for each arc inspector (identified by
+     * {@link ArcInspector#toString()}). If a storage directory has been set (see
+     * {@link #setStorageDirectory(File)}), landmarks are read from this directory
+     * if available, or written to it once computed.
+     *
+     * @param graph Graph of the landmarks.
+     * @param inspector Arc inspector of the landmarks.
+     *
+     * @return Landmarks for the given graph and arc inspector.
+     */
+    public static Landmarks get(Graph graph, ArcInspector inspector) {
+        return STORAGE.get(graph, inspector,
+                () -> compute(graph, inspector, DEFAULT_NUMBER_OF_LANDMARKS, Selection.AVOID));
+    }
+
+    /**
+     * Set the directory where landmarks are stored by {@link #get(Graph,
+     * ArcInspector)}.
+     *
+     * @param directory Directory where landmarks are stored, or null to disable
+     *        storage.
+     */
+    public static void setStorageDirectory(File directory) {
+        STORAGE.setDirectory(directory);
+    }
+
+    /**
+     * One-to-all searches used to compute landmark distances.
+     */
+    private static class LandmarkSearch {
+
+        private final CsrGraph csr;
+        private final CsrGraph.IncomingArcs incoming;
+        private final CompiledArcInspector inspector;
+        private final SearchWorkspace workspace;
+
+        // Nodes in the order they were settled by the last search.
+        private final int[] order;
+        private int nbSettled;
+
+        public LandmarkSearch(Graph graph, ArcInspector inspector) {
+            this.csr = graph.getCsrGraph();
+            this.incoming = csr.getIncomingArcs();
+            this.inspector = CompiledArcInspector.get(graph, inspector);
+            this.workspace = new SearchWorkspace(graph);
+            this.order = new int[graph.size()];
+        }
+
+        /**
+         * @return Distance from the given source to each node.
+         */
+        public float[] distancesFrom(int source) {
+            run(source, false);
+            return collect();
+        }
+
+        /**
+         * @return Distance from each node to the given target.
+         */
+        public float[] distancesTo(int target) {
+            run(target, true);
+            return collect();
+        }
+
+        /**
+         * Select a landmark using the avoid strategy.
+         *
+         * @param root Root of the shortest-path tree.
+         * @param current Landmarks already selected.
+         *
+         * @return ID of the selected landmark, or -1 if no landmark was found.
+         */
+        public int selectAvoid(int root, Landmarks current) {
+            run(root, false);
+
+            // Size of the subtree of each node (sum of the differences between
+            // the distance from the root and the lower bound), 0 for subtrees
+            // containing a landmark, and child with the largest subtree.
+            final int nbNodes = order.length;
+            double[] size = new double[nbNodes];
+            boolean[] hasLandmark = new boolean[nbNodes];
+            int[] bestChild = new int[nbNodes];
+            Arrays.fill(bestChild, -1);
+            for (int i = 0; i < current.size(); ++i) {
+                hasLandmark[current.getLandmark(i)] = true;
+            }
+
+            for (int i = nbSettled - 1; i >= 0; --i) {
+                int node = order[i];
+                if (hasLandmark[node]) {
+                    size[node] = 0;
+                }
+                else {
+                    size[node] += Math.max(0, workspace.getDistance(node)
+                            - current.getLowerBound(root, node));
+                }
+                int parentArc = workspace.getParentArc(node);
+                if (parentArc != SearchWorkspace.NO_ARC) {
+                    int parent = csr.getArcTail(parentArc);
+                    hasLandmark[parent] |= hasLandmark[node];
+                    size[parent] += size[node];
+                    if (bestChild[parent] == -1 || size[node] > size[bestChild[parent]]) {
+                        bestChild[parent] = node;
+                    }
+                }
+            }
+            // Descend from the node with the largest subtree (landmark subtrees
+            // have a zero size, so the root is selected only for the first
+            // landmark) to a leaf, following the largest subtrees.
+            int node = -1;
+            for (int i = 0; i < nbSettled; ++i) {
+                if (size[order[i]] > 0 && (node == -1 || size[order[i]] > size[node])) {
+                    node = order[i];
+                }
+            }
+            if (node == -1) {
+                return -1;
+            }
+            while (bestChild[node] != -1 && size[bestChild[node]] > 0) {
+                node = bestChild[node];
+            }
+            return node;
+        }
+
+        /**
+         * Run a one-to-all search from (or to, if backward is true) the given
+         * source.
+         */
+        private void run(int source, boolean backward) {
+            workspace.reset();
+            workspace.update(source, 0, SearchWorkspace.NO_ARC, 0);
+            nbSettled = 0;
+            while (!workspace.isQueueEmpty()) {
+                int node = workspace.settleMin();
+                double cost = workspace.getDistance(node);
+                order[nbSettled++] = node;
+
+                int first = backward ? incoming.getFirst(node) : csr.getFirstArc(node);
+                int last = backward ? incoming.getFirst(node + 1) : csr.getFirstArc(node + 1);
+                for (int i = first; i < last; ++i) {
+                    int arcId = backward ? incoming.getArc(i) : i;
+                    int next = backward ? incoming.getTail(i) : csr.getArcHead(i);
+                    if (workspace.isSettled(next) || !inspector.isAllowed(arcId)) {
+                        continue;
+                    }
+                    double newCost = cost + inspector.getCost(arcId);
+                    if (workspace.getDistance(next) > newCost) {
+                        workspace.update(next, newCost, arcId, newCost);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return Distances of the last search.
+         */
+        private float[] collect() {
+            float[] distances = new float[order.length];
+            for (int node = 0; node < distances.length; ++node) {
+                distances[node] = (float) workspace.getDistance(node);
+            }
+            return distances;
+        }
+
+    }
+
+}
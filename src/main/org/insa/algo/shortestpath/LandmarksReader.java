@@ -0,0 +1,97 @@
+package org.insa.algo.shortestpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.insa.graph.Graph;
+import org.insa.graph.io.BadFormatException;
+import org.insa.graph.io.BinaryReader;
+import org.insa.graph.io.MapMismatchException;
+
+/**
+ * Reader for {@link Landmarks} in binary format.
+ *
+ * The format is: magic number, version, map ID (fixed length), description of
+ * the arc inspector, fingerprint of the graph (see
+ * {@link org.insa.graph.CsrGraph#getFingerprint()}), number of nodes, number of
+ * landmarks, IDs of the landmarks, and then for each landmark the distances from the landmark to
+ * each node followed by the distances from each node to the landmark.
+ *
+ */
+public class LandmarksReader extends BinaryReader {
+
+    // Version and magic number targeted for this reader.
+    protected static final int VERSION = 2;
+    protected static final int MAGIC_NUMBER = 0x414c5431;
+
+    // Length of the map ID field.
+    protected static final int MAP_ID_FIELD_LENGTH = 32;
+
+    /**
+     * Create a new LandmarksReader that reads from the given input stream.
+     *
+     * @param dis Input stream to read from.
+     */
+    public LandmarksReader(DataInputStream dis) {
+        super(MAGIC_NUMBER, VERSION, dis);
+    }
+
+    /**
+     * Read landmarks for the given graph from the stream.
+     *
+     * The stream is not closed, it is owned by the caller.
+     *
+     * @param graph Graph of the landmarks.
+     *
+     * @return The landmarks read.
+     *
+     * @throws MapMismatchException if the landmarks were computed for another
+     *         map, or for another version or numbering of the map.
+     * @throws IOException When an exception occurs while reading the landmarks.
+     */
+    public Landmarks readLandmarks(Graph graph) throws IOException {
+
+        // Read and check magic number and version.
+        checkMagicNumberOrThrow(dis.readInt());
+        checkVersionOrThrow(dis.readInt());
+
+        // Read map ID, arc inspector and fingerprint, and check against
+        // graph.
+        String mapId = readFixedLengthString(MAP_ID_FIELD_LENGTH, "UTF-8");
+        if (!mapId.equals(graph.getMapId())) {
+            throw new MapMismatchException(mapId, graph.getMapId());
+        }
+        String inspector = dis.readUTF();
+        long fingerprint = dis.readLong(), expected = graph.getCsrGraph().getFingerprint();
+        if (fingerprint != expected) {
+            throw new MapMismatchException(mapId + "#" + Long.toHexString(fingerprint),
+                    graph.getMapId() + "#" + Long.toHexString(expected));
+        }
+
+        final int nbNodes = dis.readInt(), nbLandmarks = dis.readInt();
+        if (nbNodes != graph.size() || nbLandmarks < 0) {
+            throw new BadFormatException();
+        }
+        int[] landmarks = new int[nbLandmarks];
+        for (int i = 0; i < nbLandmarks; ++i) {
+            landmarks[i] = dis.readInt();
+            if (landmarks[i] < 0 || landmarks[i] >= nbNodes) {
+                throw new BadFormatException();
+            }
+        }
+
+        float[][] fromLandmark = new float[nbLandmarks][nbNodes];
+        float[][] toLandmark = new float[nbLandmarks][nbNodes];
+        for (int i = 0; i < nbLandmarks; ++i) {
+            for (int node = 0; node < nbNodes; ++node) {
+                fromLandmark[i][node] = dis.readFloat();
+            }
+            for (int node = 0; node < nbNodes; ++node) {
+                toLandmark[i][node] = dis.readFloat();
+            }
+        }
+
+        return new Landmarks(graph, inspector, landmarks, fromLandmark, toLandmark);
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.insa.algo.shortestpath;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.insa.graph.io.BinaryWriter;
+
+/**
+ * Writer for {@link Landmarks} in binary format, see {@link LandmarksReader}.
+ *
+ */
+public class LandmarksWriter extends BinaryWriter {
+
+    /**
+     * Create a new LandmarksWriter that writes to the given output stream.
+     *
+     * @param dos Output stream to write to.
+     */
+    public LandmarksWriter(DataOutputStream dos) {
+        super(dos);
+    }
+
+    /**
+     * Write the given landmarks to the stream and flush it.
+     *
+     * The stream is not closed, it is owned by the caller.
+     *
+     * @param landmarks Landmarks to write.
+     *
+     * @throws IOException When an exception occurs while writing the landmarks.
+     */
+    public void writeLandmarks(Landmarks landmarks) throws IOException {
+
+        // Write magic number and version.
+        dos.writeInt(LandmarksReader.MAGIC_NUMBER);
+        dos.writeInt(LandmarksReader.VERSION);
+
+        // Write map ID, arc inspector and fingerprint of the graph.
+        dos.write(Arrays.copyOf(landmarks.getGraph().getMapId().getBytes("UTF-8"),
+                LandmarksReader.MAP_ID_FIELD_LENGTH));
+        dos.writeUTF(landmarks.getInspectorDescription());
+        dos.writeLong(landmarks.getGraph().getCsrGraph().getFingerprint());
+
+        // Write number of nodes and landmarks, then landmarks.
+        final int nbNodes = landmarks.getGraph().size();
+        dos.writeInt(nbNodes);
+        dos.writeInt(landmarks.size());
+        for (int i = 0; i < landmarks.size(); ++i) {
+            dos.writeInt(landmarks.getLandmark(i));
+        }
+
+        // Write distances.
+        for (int i = 0; i < landmarks.size(); ++i) {
+            for (int node = 0; node < nbNodes; ++node) {
+                dos.writeFloat(landmarks.getDistanceFromLandmark(i, node));
+            }
+            for (int node = 0; node < nbNodes; ++node) {
+                dos.writeFloat(landmarks.getDistanceToLandmark(i, node));
+            }
+        }
+
+        dos.flush();
+    }
+
+}
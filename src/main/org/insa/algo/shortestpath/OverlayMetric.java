@@ -0,0 +1,266 @@
+package org.insa.algo.shortestpath;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.CompiledArcInspector;
+import org.insa.algo.utils.RangeTask;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+
+/**
+ * Costs of the overlay graphs of a {@link GraphPartition} for a given arc
+ * inspector.
+ *
+ * For each cell of each level, an overlay metric stores the cost of the
+ * shortest path from each entry to each exit of the cell that stays inside the
+ * cell (positive infinity if there is no such path). Computing these costs
+ * ("customization") is much faster than a full preprocessing since each cell
+ * is processed independently, using the costs of the level below for levels
+ * above 1, and cells of a same level are processed in parallel.
+ *
+ */
+public class OverlayMetric {
+
+    // Partition and description of the arc inspector of this metric.
+    private final GraphPartition partition;
+    private final String inspector;
+
+    // Offset of the costs of each cell, and costs, for each level (index 0 is
+    // level 1). Costs of a cell are stored by entry, then by exit.
+    private final int[][] cellOffset;
+    private final double[][] costs;
+
+    /**
+     * Create a new metric with no costs for the given partition.
+     *
+     * @param partition Partition of the metric.
+     * @param inspector Description of the arc inspector.
+     */
+    private OverlayMetric(GraphPartition partition, String inspector) {
+        this.partition = partition;
+        this.inspector = inspector;
+
+        final int nbLevels = partition.getLevelCount();
+        this.cellOffset = new int[nbLevels][];
+        this.costs = new double[nbLevels][];
+        for (int level = 1; level <= nbLevels; ++level) {
+            final int nbCells = partition.getCellCount(level);
+            int[] offsets = new int[nbCells + 1];
+            for (int cell = 0; cell < nbCells; ++cell) {
+                offsets[cell + 1] = offsets[cell]
+                        + partition.getEntryCount(level, cell) * partition.getExitCount(level, cell);
+            }
+            this.cellOffset[level - 1] = offsets;
+            this.costs[level - 1] = new double[offsets[nbCells]];
+        }
+    }
+
+    /**
+     * @return Partition of this metric.
+     */
+    public GraphPartition getPartition() {
+        return partition;
+    }
+
+    /**
+     * @return Description of the arc inspector used to compute this metric.
+     */
+    public String getInspectorDescription() {
+        return inspector;
+    }
+
+    /**
+     * @param level Level of the cell.
+     * @param cell Cell.
+     * @param entry Index of the entry in the cell.
+     * @param exit Index of the exit in the cell.
+     *
+     * @return Cost of the shortest path from the given entry to the given exit
+     *         inside the given cell, or positive infinity if there is none.
+     */
+    public double getCost(int level, int cell, int entry, int exit) {
+        return costs[level - 1][cellOffset[level - 1][cell]
+                + entry * partition.getExitCount(level, cell) + exit];
+    }
+
+    /**
+     * Compute the costs of the given partition for the given arc inspector using
+     * the common fork-join pool.
+     *
+     * @param partition Partition for which costs should be computed.
+     * @param inspector Arc inspector used to filter arcs and compute costs.
+     *
+     * @return The metric.
+     */
+    public static OverlayMetric customize(GraphPartition partition, ArcInspector inspector) {
+        return customize(partition, inspector, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the costs of the given partition for the given arc inspector.
+     *
+     * @param partition Partition for which costs should be computed.
+     * @param inspector Arc inspector used to filter arcs and compute costs.
+     * @param pool Pool used to process the cells of each level in parallel.
+     *
+     * @return The metric.
+     */
+    public static OverlayMetric customize(GraphPartition partition, ArcInspector inspector,
+            ForkJoinPool pool) {
+        final OverlayMetric metric = new OverlayMetric(partition, inspector.toString());
+        final ThreadLocal<CellSearch> searches = ThreadLocal
+                .withInitial(() -> new CellSearch(metric, inspector));
+        for (int level = 1; level <= partition.getLevelCount(); ++level) {
+            final int current = level;
+            pool.invoke(new RangeTask(0, partition.getCellCount(level), 1,
+                    cell -> searches.get().customize(current, cell)));
+        }
+        return metric;
+    }
+
+    /**
+     * Retrieve the metric for the given graph and arc inspector, computing the
+     * partition of the graph (see {@link GraphPartition#get(Graph)}) and the
+     * metric if required.
+     *
+     * Metrics are kept with their graph for each arc inspector (identified by
+     * {@link ArcInspector#toString()}), see
+     * {@link Graph#getDerivedData(Object, java.util.function.Function)}.
+     *
+     * @param graph Graph of the metric.
+     * @param inspector Arc inspector of the metric.
+     *
+     * @return The metric for the given graph and arc inspector.
+     */
+    public static OverlayMetric get(Graph graph, ArcInspector inspector) {
+        return graph.getDerivedData(Arrays.asList(OverlayMetric.class, inspector.toString()),
+                g -> customize(GraphPartition.get(g), inspector));
+    }
+
+    /**
+     * Search restricted to a cell, used to customize cells and to unpack overlay
+     * arcs.
+     */
+    static class CellSearch {
+
+        private final OverlayMetric metric;
+        private final GraphPartition partition;
+        private final CompiledArcInspector inspector;
+        private final CsrGraph csr;
+        private final SearchWorkspace workspace;
+
+        public CellSearch(OverlayMetric metric, ArcInspector inspector) {
+            this(metric, CompiledArcInspector.get(metric.getPartition().getGraph(), inspector),
+                    new SearchWorkspace(metric.getPartition().getGraph()));
+        }
+
+        /**
+         * Create a search that uses the given workspace, which is reset by each
+         * search (e.g. the workspace of a query whose path has been read).
+         *
+         * @param metric Metric of the search.
+         * @param inspector Compiled arc inspector of the metric.
+         * @param workspace Workspace bound to the graph of the metric.
+         */
+        public CellSearch(OverlayMetric metric, CompiledArcInspector inspector,
+                SearchWorkspace workspace) {
+            this.metric = metric;
+            this.partition = metric.getPartition();
+            this.inspector = inspector;
+            this.csr = partition.getGraph().getCsrGraph();
+            this.workspace = workspace;
+        }
+
+        /**
+         * @return Partition of the metric of this search.
+         */
+        public GraphPartition getPartition() {
+            return partition;
+        }
+
+        /**
+         * @return Workspace of the last search.
+         */
+        public SearchWorkspace getWorkspace() {
+            return workspace;
+        }
+
+        /**
+         * Compute the costs of the given cell.
+         */
+        public void customize(int level, int cell) {
+            final int nbEntries = partition.getEntryCount(level, cell);
+            final int nbExits = partition.getExitCount(level, cell);
+            final double[] costs = metric.costs[level - 1];
+            final int offset = metric.cellOffset[level - 1][cell];
+            for (int entry = 0; entry < nbEntries; ++entry) {
+                run(level, cell, partition.getEntry(level, cell, entry), level - 1, -1);
+                for (int exit = 0; exit < nbExits; ++exit) {
+                    costs[offset + entry * nbExits + exit] = workspace
+                            .getDistance(partition.getExit(level, cell, exit));
+                }
+            }
+        }
+
+        /**
+         * Run a search from the given source that stays inside the given cell,
+         * using the overlay of the given sub-level (0 for the original graph).
+         *
+         * Parent arcs of nodes reached using the overlay are set to
+         * <code>-2 - entry</code>, where <code>entry</code> is the index of the
+         * origin in the entries of its cell of the sub-level.
+         *
+         * @param level Level of the cell.
+         * @param cell Cell in which the search should stay.
+         * @param source Origin of the search.
+         * @param subLevel Level of the overlay to use.
+         * @param target Node at which the search can stop, or -1 to search the
+         *        whole cell.
+         */
+        public void run(int level, int cell, int source, int subLevel, int target) {
+            workspace.reset();
+            workspace.update(source, 0, SearchWorkspace.NO_ARC, 0);
+            while (!workspace.isQueueEmpty()) {
+                final int node = workspace.settleMin();
+                if (node == target) {
+                    break;
+                }
+                final double cost = workspace.getDistance(node);
+
+                // Overlay arcs of the cell of the sub-level.
+                if (subLevel > 0 && partition.getEntryIndex(subLevel, node) >= 0) {
+                    final int subCell = partition.getCell(subLevel, node);
+                    final int entry = partition.getEntryIndex(subLevel, node);
+                    for (int exit = 0; exit < partition.getExitCount(subLevel, subCell); ++exit) {
+                        final int next = partition.getExit(subLevel, subCell, exit);
+                        final double newCost = cost
+                                + metric.getCost(subLevel, subCell, entry, exit);
+                        if (!workspace.isSettled(next) && workspace.getDistance(next) > newCost) {
+                            workspace.update(next, newCost, -2 - entry, newCost);
+                        }
+                    }
+                }
+
+                // Arcs leaving the cell of the sub-level, but not the cell.
+                for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                    final int next = csr.getArcHead(arcId);
+                    if (partition.getCell(level, next) != cell
+                            || (subLevel > 0 && partition.getCell(subLevel, next) == partition
+                                    .getCell(subLevel, node))
+                            || workspace.isSettled(next)
+                            || !inspector.isAllowed(arcId)) {
+                        continue;
+                    }
+                    final double newCost = cost + inspector.getCost(arcId);
+                    if (workspace.getDistance(next) > newCost) {
+                        workspace.update(next, newCost, arcId, newCost);
+                    }
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,150 @@
+package org.insa.algo.shortestpath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.insa.algo.ArcInspector;
+import org.insa.graph.Graph;
+
+/**
+ * Cache and file storage of the preprocessing of an algorithm (e.g.
+ * {@link Landmarks} or {@link ContractionHierarchy}), computed for a graph and
+ * an arc inspector.
+ *
+ * Preprocessed data is kept with its graph (see
+ * {@link Graph#getDerivedData(Object, Function)}), so it is released with the
+ * graph and it is computed outside of any global lock. If a storage directory
+ * is set, data is read from a file of this directory when available, or
+ * written to it once computed.
+ *
+ * @param <T> Type of the preprocessed data.
+ */
+final class PreprocessingStorage<T> {
+
+    /**
+     * Reader of preprocessed data, which must check that the data matches the
+     * graph.
+     */
+    interface Reader<T> {
+        T read(DataInputStream dis, Graph graph) throws IOException;
+    }
+
+    /**
+     * Writer of preprocessed data.
+     */
+    interface Writer<T> {
+        void write(DataOutputStream dos, T data) throws IOException;
+    }
+
+    // Extension of the files, also used to identify the data of the graphs.
+    private final String extension;
+
+    // Reader and writer of the data, and description of the arc inspector of
+    // some data.
+    private final Reader<T> reader;
+    private final Writer<T> writer;
+    private final Function<T, String> inspectorDescription;
+
+    // Directory where data is stored, or null.
+    private volatile File directory = null;
+
+    /**
+     * Create a new storage for some preprocessed data.
+     *
+     * @param extension Extension of the files.
+     * @param reader Reader of the files.
+     * @param writer Writer of the files.
+     * @param inspectorDescription Description of the arc inspector of some data
+     *        (used to detect collisions of file names).
+     */
+    PreprocessingStorage(String extension, Reader<T> reader, Writer<T> writer,
+            Function<T, String> inspectorDescription) {
+        this.extension = extension;
+        this.reader = reader;
+        this.writer = writer;
+        this.inspectorDescription = inspectorDescription;
+    }
+
+    /**
+     * @param directory Directory where data is stored, or null to disable
+     *        storage.
+     */
+    void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param graph Graph of the data.
+     * @param inspector Description of the arc inspector.
+     *
+     * @return Name of the file used to store data for the given graph and
+     *         inspector.
+     */
+    String getFileName(Graph graph, String inspector) {
+        // Renumbered graphs have the same map ID but different node IDs.
+        String mapId = graph.getNodeMapping() == null ? graph.getMapId()
+                : graph.getMapId() + "-" + graph.getNodeMapping().getName();
+        return mapId.replaceAll("[^A-Za-z0-9_-]", "_") + "-"
+                + Integer.toHexString(inspector.hashCode()) + "." + extension;
+    }
+
+    /**
+     * Retrieve the data for the given graph and arc inspector (identified by
+     * {@link ArcInspector#toString()}), reading or computing it on the first
+     * call.
+     *
+     * @param graph Graph of the data.
+     * @param inspector Arc inspector of the data.
+     * @param compute Computation of the data if it cannot be read.
+     *
+     * @return Data for the given graph and arc inspector.
+     */
+    T get(Graph graph, ArcInspector inspector, Supplier<T> compute) {
+        final String description = inspector.toString();
+        return graph.getDerivedData(Arrays.asList(extension, description),
+                g -> load(g, description, compute));
+    }
+
+    /**
+     * Read the data for the given graph and inspector from the storage
+     * directory, or compute it and write it to the storage directory.
+     */
+    private T load(Graph graph, String description, Supplier<T> compute) {
+        final File dir = directory;
+        final File file = dir == null ? null : new File(dir, getFileName(graph, description));
+        T result = null;
+        if (file != null && file.canRead()) {
+            try (DataInputStream dis = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file)))) {
+                result = reader.read(dis, graph);
+            }
+            catch (IOException e) {
+                // Invalid or outdated file, data is computed again.
+                result = null;
+            }
+        }
+        if (result == null || !inspectorDescription.apply(result).equals(description)) {
+            result = compute.get();
+            if (file != null) {
+                try (DataOutputStream dos = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(file)))) {
+                    writer.write(dos, result);
+                }
+                catch (IOException e) {
+                    // Data is still usable even if it cannot be stored.
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,260 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.insa.algo.utils.IntDoubleHeap;
+import org.insa.algo.utils.IntPriorityQueue;
+import org.insa.algo.utils.IntPriorityQueueFactory;
+import org.insa.graph.Arc;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Path;
+
+/**
+ * Reusable state of a shortest-path search on a given graph.
+ *
+ * A workspace holds, for each node of its graph, the distance from the origin,
+ * the (CSR) ID of the arc used to reach the node and the state of the node, in
+ * primitive arrays, together with a priority queue of node IDs. These arrays
+ * are allocated once when the workspace is created and are reset in O(1) at
+ * the beginning of each search using an epoch counter: values of a node are
+ * only valid if the node has been visited during the current epoch. A node is
+ * settled if it has been visited and is no longer in the queue.
+ *
+ * The queue is an {@link IntDoubleHeap} unless a queue or a queue factory is
+ * given when the workspace is created (e.g. a monotone
+ * {@link org.insa.algo.utils.RadixHeap} for Dijkstra). The queue used by a
+ * deployment is selected without modifying the algorithms:
+ * <ul>
+ * <li>single queries take a workspace (e.g.
+ * {@link DijkstraAlgorithm#DijkstraAlgorithm(ShortestPathData, SearchWorkspace)}),
+ * and create one with the default queue otherwise (e.g. when created by
+ * {@link org.insa.algo.AlgorithmFactory});</li>
+ * <li>{@link ShortestPathBatchExecutor} and {@link DistanceMatrixAlgorithm},
+ * which create one workspace per thread, take a queue factory.</li>
+ * </ul>
+ *
+ * Using the same workspace for multiple searches on the same graph (e.g. with
+ * {@link DijkstraAlgorithm#DijkstraAlgorithm(ShortestPathData, SearchWorkspace)})
+ * avoids allocating per-node objects for each search.
+ *
+ * A workspace can only be used by one search at a time.
+ *
+ */
+public class SearchWorkspace {
+
+    /**
+     * Value used in place of an arc ID for nodes without parent arc.
+     */
+    public static final int NO_ARC = -1;
+
+    // Graph of this workspace and its CSR representation.
+    private final Graph graph;
+    private final CsrGraph csr;
+
+    // Current epoch.
+    private int epoch;
+
+    // Distance, parent arc and last epoch at which each node was visited.
+    private final double[] dist;
+    private final int[] parentArc;
+    private final int[] visitedEpoch;
+
+    // Queue of node IDs.
+    private final IntPriorityQueue queue;
+
+    /**
+     * Create a new workspace for the given graph, using an
+     * {@link IntDoubleHeap}.
+     *
+     * @param graph Graph on which searches will be performed.
+     */
+    public SearchWorkspace(Graph graph) {
+        this(graph, (IntPriorityQueue) null);
+    }
+
+    /**
+     * Create a new workspace for the given graph, using a queue created by the
+     * given factory.
+     *
+     * @param graph Graph on which searches will be performed.
+     * @param factory Factory of the queue, or null to use an {@link IntDoubleHeap}.
+     */
+    public SearchWorkspace(Graph graph, IntPriorityQueueFactory factory) {
+        this(graph, factory == null ? null : factory.create(graph.size()));
+    }
+
+    /**
+     * Create a new workspace for the given graph, using the given queue.
+     *
+     * @param graph Graph on which searches will be performed.
+     * @param queue Empty queue with a capacity of at least the number of nodes of
+     *        the graph, or null to use an {@link IntDoubleHeap}. The queue must
+     *        not be used by anything else.
+     */
+    public SearchWorkspace(Graph graph, IntPriorityQueue queue) {
+        final int nbNodes = graph.size();
+        if (queue != null && queue.getCapacity() < nbNodes) {
+            throw new IllegalArgumentException("The capacity of the queue is too small.");
+        }
+        this.graph = graph;
+        this.csr = graph.getCsrGraph();
+        this.epoch = 0;
+        this.dist = new double[nbNodes];
+        this.parentArc = new int[nbNodes];
+        this.visitedEpoch = new int[nbNodes];
+        this.queue = queue == null ? new IntDoubleHeap(nbNodes) : queue;
+    }
+
+    /**
+     * @return Graph of this workspace.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Reset this workspace for a new search: all nodes become unvisited and the
+     * priority queue is emptied.
+     *
+     * Complexity: O(1) (amortized), plus the size of the queue.
+     */
+    public void reset() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visitedEpoch, 0);
+            epoch = 0;
+        }
+        ++epoch;
+        queue.clear();
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return true if the node has been visited (reached) during the current
+     *         search.
+     */
+    public boolean isVisited(int node) {
+        return visitedEpoch[node] == epoch;
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return true if the node has been settled (removed from the queue) during
+     *         the current search.
+     */
+    public boolean isSettled(int node) {
+        return isVisited(node) && !queue.contains(node);
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return Current distance of the node, or positive infinity if the node has
+     *         not been visited.
+     */
+    public double getDistance(int node) {
+        return isVisited(node) ? dist[node] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return ID of the arc used to reach the node, or {@link #NO_ARC} if the
+     *         node has not been visited or has no parent arc.
+     */
+    public int getParentArc(int node) {
+        return isVisited(node) ? parentArc[node] : NO_ARC;
+    }
+
+    /**
+     * Update the distance and parent arc of the given node, and insert it into
+     * the queue (or move it in the queue) with the given key. This method should
+     * only be called with a distance lower than the current distance of the node,
+     * and never for a settled node.
+     *
+     * @param node ID of the node.
+     * @param distance New distance of the node.
+     * @param arc ID of the arc used to reach the node, or {@link #NO_ARC}.
+     * @param key New key of the node in the queue (e.g. the distance, or the
+     *        distance plus an estimation of the remaining distance). The key must
+     *        not be greater than the previous key of the node.
+     */
+    public void update(int node, double distance, int arc, double key) {
+        dist[node] = distance;
+        parentArc[node] = arc;
+        if (!isVisited(node)) {
+            visitedEpoch[node] = epoch;
+            queue.insert(node, key);
+        }
+        else {
+            queue.decreaseKey(node, key);
+        }
+    }
+
+    /**
+     * @return true if the queue of this workspace is empty.
+     */
+    public boolean isQueueEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * @return The lowest key in the queue, or positive infinity if the queue is
+     *         empty.
+     */
+    public double getMinKey() {
+        return queue.isEmpty() ? Double.POSITIVE_INFINITY : queue.getMinKey();
+    }
+
+    /**
+     * Remove the node with the lowest key from the queue, and mark it as settled.
+     * The queue must not be empty.
+     *
+     * @return ID of the removed node.
+     */
+    public int settleMin() {
+        return queue.deleteMin();
+    }
+
+    /**
+     * Create the path from the origin of the current search to the given node,
+     * following parent arcs.
+     *
+     * @param node ID of the node.
+     *
+     * @return Path to the given node, or null if the node has not been visited.
+     */
+    public Path createPathTo(int node) {
+        if (!isVisited(node)) {
+            return null;
+        }
+        ArrayList<Arc> arcs = new ArrayList<>();
+        for (int arc = parentArc[node]; arc != NO_ARC; arc = parentArc[node]) {
+            node = csr.getArcTail(arc);
+            arcs.add(getArc(node, arc));
+        }
+        if (arcs.isEmpty()) {
+            return new Path(graph, graph.get(node));
+        }
+        Collections.reverse(arcs);
+        return new Path(graph, arcs);
+    }
+
+    /**
+     * Retrieve the {@link Arc} of the graph corresponding to the given CSR arc.
+     *
+     * @param tail ID of the origin of the arc.
+     * @param arc ID of the arc.
+     *
+     * @return The arc of the graph with the given ID.
+     */
+    protected Arc getArc(int tail, int arc) {
+        return graph.get(tail).getSuccessor(arc - csr.getFirstArc(tail));
+    }
+
+}
@@ -1,16 +1,49 @@
 package org.insa.algo.shortestpath;
 
 import org.insa.algo.AbstractAlgorithm;
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.strongconnectivity.ConnectivityIndex;
 import org.insa.graph.Node;
 
 public abstract class ShortestPathAlgorithm extends AbstractAlgorithm<ShortestPathObserver> {
 
+    // true if the query is checked against a connectivity index before running.
+    private boolean feasibilityCheck = false;
+
     protected ShortestPathAlgorithm(ShortestPathData data) {
         super(data);
     }
 
+    /**
+     * Enable or disable the feasibility check of this algorithm (disabled by
+     * default). When enabled, {@link #run()} first checks the origin and the
+     * destination against the {@link ConnectivityIndex} of the graph and arc
+     * inspector (built on first use), and returns an infeasible solution without
+     * running the algorithm nor notifying observers if the destination cannot be
+     * reached.
+     *
+     * @param enabled true to enable the check, false to disable it.
+     */
+    public void setFeasibilityCheck(boolean enabled) {
+        feasibilityCheck = enabled;
+    }
+
+    /**
+     * @return true if the feasibility check of this algorithm is enabled.
+     *
+     * @see #setFeasibilityCheck(boolean)
+     */
+    public boolean isFeasibilityCheckEnabled() {
+        return feasibilityCheck;
+    }
+
     @Override
     public ShortestPathSolution run() {
+        ShortestPathData data = getInputData();
+        if (feasibilityCheck && !ConnectivityIndex.get(data.getGraph(), data.getArcInspector())
+                .mayReach(data.getOrigin(), data.getDestination())) {
+            return new ShortestPathSolution(data, Status.INFEASIBLE);
+        }
         return (ShortestPathSolution) super.run();
     }
 
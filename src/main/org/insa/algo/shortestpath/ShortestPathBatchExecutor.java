@@ -0,0 +1,222 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.utils.IntPriorityQueueFactory;
+import org.insa.graph.Graph;
+import org.insa.graph.NodePair;
+
+/**
+ * Executor running batches of shortest-path queries on a same graph with a
+ * pool of worker threads.
+ *
+ * Each worker owns its own {@link SearchWorkspace}, whose queue is created by
+ * an optional {@link IntPriorityQueueFactory}, and repeatedly takes the next
+ * pair of the batch, so workers never share mutable state. The graph itself is
+ * only read (see the thread-safety note of {@link Graph}). Solutions are given
+ * to an optional callback, either in the order of the batch or as soon as they
+ * are computed, and the callback is never called concurrently.
+ *
+ */
+public class ShortestPathBatchExecutor {
+
+    /**
+     * Factory creating the algorithm used for a query, given the input data of
+     * the query and the workspace of the worker.
+     */
+    public interface AlgorithmSupplier {
+
+        /**
+         * @param data Input data of the query.
+         * @param workspace Workspace of the worker running the query.
+         *
+         * @return A new algorithm for the given query.
+         */
+        public ShortestPathAlgorithm create(ShortestPathData data, SearchWorkspace workspace);
+
+    }
+
+    /**
+     * Callback receiving the solutions of a batch.
+     */
+    public interface Callback {
+
+        /**
+         * Notify that the solution of a query has been computed.
+         *
+         * @param index Index of the query in the batch.
+         * @param pair Pair of nodes of the query.
+         * @param solution Solution of the query.
+         */
+        public void notifySolution(int index, NodePair pair, ShortestPathSolution solution);
+
+    }
+
+    // Graph and arc inspector of the queries.
+    private final Graph graph;
+    private final ArcInspector inspector;
+
+    // Number of worker threads, algorithm used for the queries, and factory of
+    // the queue of the workspaces (or null).
+    private final int nbThreads;
+    private final AlgorithmSupplier algorithm;
+    private final IntPriorityQueueFactory queueFactory;
+
+    /**
+     * Create a new executor running Dijkstra queries with one worker per
+     * available processor.
+     *
+     * @param graph Graph of the queries.
+     * @param inspector Arc inspector of the queries.
+     */
+    public ShortestPathBatchExecutor(Graph graph, ArcInspector inspector) {
+        this(graph, inspector, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * Create a new executor whose workers use the default queue of
+     * {@link SearchWorkspace}.
+     *
+     * @param graph Graph of the queries.
+     * @param inspector Arc inspector of the queries.
+     * @param nbThreads Number of worker threads.
+     * @param algorithm Factory of the algorithm used for the queries (e.g.
+     *        <code>DijkstraAlgorithm::new</code>), or null to use Dijkstra.
+     */
+    public ShortestPathBatchExecutor(Graph graph, ArcInspector inspector, int nbThreads,
+            AlgorithmSupplier algorithm) {
+        this(graph, inspector, nbThreads, algorithm, null);
+    }
+
+    /**
+     * Create a new executor.
+     *
+     * @param graph Graph of the queries.
+     * @param inspector Arc inspector of the queries.
+     * @param nbThreads Number of worker threads.
+     * @param algorithm Factory of the algorithm used for the queries (e.g.
+     *        <code>DijkstraAlgorithm::new</code>), or null to use Dijkstra.
+     * @param queueFactory Factory of the queue of the workspace of each worker
+     *        (e.g. <code>capacity -&gt; new DaryHeap(capacity, 4)</code>), or null
+     *        to use the default queue of {@link SearchWorkspace}.
+     */
+    public ShortestPathBatchExecutor(Graph graph, ArcInspector inspector, int nbThreads,
+            AlgorithmSupplier algorithm, IntPriorityQueueFactory queueFactory) {
+        if (nbThreads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        this.graph = graph;
+        this.inspector = inspector;
+        this.nbThreads = nbThreads;
+        this.algorithm = algorithm == null ? DijkstraAlgorithm::new : algorithm;
+        this.queueFactory = queueFactory;
+    }
+
+    /**
+     * @return Graph of the queries of this executor.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return Number of worker threads of this executor.
+     */
+    public int getThreadCount() {
+        return nbThreads;
+    }
+
+    /**
+     * Run the given batch of queries, without callback.
+     *
+     * @param pairs Pairs of nodes of the queries.
+     *
+     * @return Solutions of the queries, in the order of the batch.
+     *
+     * @throws InterruptedException if the current thread is interrupted while
+     *         waiting for the workers.
+     */
+    public List<ShortestPathSolution> execute(List<NodePair> pairs) throws InterruptedException {
+        return execute(pairs, null, true);
+    }
+
+    /**
+     * Run the given batch of queries.
+     *
+     * @param pairs Pairs of nodes of the queries.
+     * @param callback Callback receiving each solution, or null.
+     * @param ordered true if the callback should receive solutions in the order
+     *        of the batch, false if it should receive them as soon as they are
+     *        computed.
+     *
+     * @return Solutions of the queries, in the order of the batch.
+     *
+     * @throws InterruptedException if the current thread is interrupted while
+     *         waiting for the workers.
+     */
+    public List<ShortestPathSolution> execute(final List<NodePair> pairs, final Callback callback,
+            final boolean ordered) throws InterruptedException {
+        final ShortestPathSolution[] solutions = new ShortestPathSolution[pairs.size()];
+
+        // Index of the next query to run, and of the next solution to give to the
+        // callback (ordered mode only).
+        final AtomicInteger nextQuery = new AtomicInteger();
+        final int[] nextSolution = { 0 };
+
+        final ExecutorService pool = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < nbThreads; ++i) {
+                workers.add(pool.submit(() -> {
+                    final SearchWorkspace workspace = new SearchWorkspace(graph, queueFactory);
+                    int index;
+                    while ((index = nextQuery.getAndIncrement()) < pairs.size()) {
+                        final NodePair pair = pairs.get(index);
+                        final ShortestPathSolution solution = algorithm
+                                .create(new ShortestPathData(graph, pair.getStartNode(),
+                                        pair.getEndNode(), inspector), workspace)
+                                .run();
+                        synchronized (solutions) {
+                            solutions[index] = solution;
+                            if (callback != null && !ordered) {
+                                callback.notifySolution(index, pair, solution);
+                            }
+                            while (callback != null && ordered
+                                    && nextSolution[0] < solutions.length
+                                    && solutions[nextSolution[0]] != null) {
+                                callback.notifySolution(nextSolution[0],
+                                        pairs.get(nextSolution[0]), solutions[nextSolution[0]]);
+                                ++nextSolution[0];
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker: workers) {
+                worker.get();
+            }
+        }
+        catch (ExecutionException e) {
+            // Stop the other workers as soon as possible.
+            nextQuery.set(pairs.size());
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+
+        return Arrays.asList(solutions);
+    }
+
+}
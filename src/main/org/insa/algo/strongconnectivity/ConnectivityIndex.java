@@ -0,0 +1,229 @@
+package org.insa.algo.strongconnectivity;
+
+import java.util.Arrays;
+
+import org.insa.algo.ArcInspector;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+/**
+ * Index answering in <i>O(1)</i> whether a node may reach another one using
+ * the arcs allowed by an arc inspector.
+ *
+ * The index stores the strongly-connected component of each node, and two
+ * interval labels for each component of the condensation DAG: for each
+ * labeling, each component has a rank following a post-order of a depth-first
+ * search of the DAG (the first one being the order of the components computed
+ * by {@link StronglyConnectedComponentsAlgorithm}), and the lowest rank of the
+ * components it reaches. If a component reaches another one, the interval of
+ * the second one is contained in the interval of the first one, so a query
+ * whose intervals are not nested is certainly infeasible. Nodes of the same
+ * component always reach each other, and other queries may or may not be
+ * feasible.
+ *
+ * Indexes are built once per graph and arc inspector by
+ * {@link #get(Graph, ArcInspector)}, and kept with their graph.
+ *
+ */
+public class ConnectivityIndex {
+
+    // Description of the arc inspector of this index.
+    private final String inspectorDescription;
+
+    // Component of each node.
+    private final int[] components;
+
+    // Lowest rank reached by each component (the rank of a component being its
+    // ID) for the first labeling, and rank and lowest rank reached for the
+    // second one.
+    private final int[] low, rank2, low2;
+
+    /**
+     * Build the index of the given graph, using the components found by
+     * {@link StronglyConnectedComponentsAlgorithm}.
+     */
+    private ConnectivityIndex(Graph graph, ArcInspector inspector) {
+        final StronglyConnectedComponentsData data = new StronglyConnectedComponentsData(graph,
+                inspector);
+        final StronglyConnectedComponentsSolution solution = new StronglyConnectedComponentsAlgorithm(
+                data).run();
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView(graph);
+        final int nbNodes = graph.size();
+        final int nbComponents = solution.getComponentCount();
+
+        this.inspectorDescription = inspector.toString();
+        this.components = new int[nbNodes];
+        for (int node = 0; node < nbNodes; ++node) {
+            components[node] = solution.getComponent(node);
+        }
+
+        // Arcs of the condensation DAG (possibly with duplicates), in CSR form.
+        final int[] first = new int[nbComponents + 1];
+        for (int node = 0; node < nbNodes; ++node) {
+            for (int a = csr.getFirstArc(node); a < csr.getFirstArc(node + 1); ++a) {
+                if (components[csr.getArcHead(a)] != components[node]
+                        && data.isAllowed(arc.moveTo(a))) {
+                    ++first[components[node] + 1];
+                }
+            }
+        }
+        for (int c = 0; c < nbComponents; ++c) {
+            first[c + 1] += first[c];
+        }
+        final int[] heads = new int[first[nbComponents]];
+        final int[] next = new int[nbComponents];
+        System.arraycopy(first, 0, next, 0, nbComponents);
+        for (int node = 0; node < nbNodes; ++node) {
+            for (int a = csr.getFirstArc(node); a < csr.getFirstArc(node + 1); ++a) {
+                if (components[csr.getArcHead(a)] != components[node]
+                        && data.isAllowed(arc.moveTo(a))) {
+                    heads[next[components[node]]++] = components[csr.getArcHead(a)];
+                }
+            }
+        }
+
+        // First labeling: successors of a component have lower IDs, so they are
+        // processed first.
+        this.low = new int[nbComponents];
+        for (int c = 0; c < nbComponents; ++c) {
+            low[c] = c;
+            for (int i = first[c]; i < first[c + 1]; ++i) {
+                low[c] = Math.min(low[c], low[heads[i]]);
+            }
+        }
+
+        // Second labeling: iterative depth-first search starting from the highest
+        // IDs and following arcs in reverse order, to get a different post-order.
+        this.rank2 = new int[nbComponents];
+        this.low2 = new int[nbComponents];
+        Arrays.fill(rank2, -1);
+        // The array next is no longer needed, and is used as the stack.
+        final int[] stack = next;
+        final int[] cursor = new int[nbComponents];
+        int nbRanked = 0;
+        for (int root = nbComponents - 1; root >= 0; --root) {
+            if (rank2[root] != -1) {
+                continue;
+            }
+            int stackSize = 0;
+            stack[stackSize] = root;
+            cursor[stackSize++] = first[root + 1];
+            rank2[root] = Integer.MAX_VALUE;
+            while (stackSize > 0) {
+                final int c = stack[stackSize - 1];
+                if (cursor[stackSize - 1] > first[c]) {
+                    final int successor = heads[--cursor[stackSize - 1]];
+                    if (rank2[successor] == -1) {
+                        rank2[successor] = Integer.MAX_VALUE;
+                        stack[stackSize] = successor;
+                        cursor[stackSize++] = first[successor + 1];
+                    }
+                    continue;
+                }
+                // All the successors are ranked (the graph is acyclic).
+                --stackSize;
+                rank2[c] = nbRanked++;
+                low2[c] = rank2[c];
+                for (int i = first[c]; i < first[c + 1]; ++i) {
+                    low2[c] = Math.min(low2[c], low2[heads[i]]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Build a new index for the given graph and arc inspector, without caching
+     * it.
+     *
+     * @param graph Graph of the index.
+     * @param inspector Arc inspector of the index.
+     *
+     * @return A new index.
+     */
+    public static ConnectivityIndex build(Graph graph, ArcInspector inspector) {
+        return new ConnectivityIndex(graph, inspector);
+    }
+
+    /**
+     * Retrieve the index of the given graph and arc inspector, building it if it
+     * has not been built yet.
+     *
+     * Indexes are kept with their graph for each arc inspector (identified by
+     * {@link ArcInspector#toString()}), see
+     * {@link Graph#getDerivedData(Object, java.util.function.Function)}.
+     *
+     * @param graph Graph of the index.
+     * @param inspector Arc inspector of the index.
+     *
+     * @return The index for the given graph and inspector.
+     */
+    public static ConnectivityIndex get(Graph graph, ArcInspector inspector) {
+        return graph.getDerivedData(Arrays.asList(ConnectivityIndex.class, inspector.toString()),
+                g -> build(g, inspector));
+    }
+
+    /**
+     * @return Description of the arc inspector of this index.
+     */
+    public String getInspectorDescription() {
+        return inspectorDescription;
+    }
+
+    /**
+     * @return Number of strongly-connected components.
+     */
+    public int getComponentCount() {
+        return low.length;
+    }
+
+    /**
+     * @param node ID of a node.
+     *
+     * @return ID of the strongly-connected component of the given node.
+     */
+    public int getComponent(int node) {
+        return components[node];
+    }
+
+    /**
+     * @param origin ID of the first node.
+     * @param destination ID of the second node.
+     *
+     * @return true if the two nodes are in the same strongly-connected
+     *         component, i.e. each of them reaches the other one.
+     */
+    public boolean isStronglyConnected(int origin, int destination) {
+        return components[origin] == components[destination];
+    }
+
+    /**
+     * Check if the given origin may reach the given destination. If this method
+     * returns false, there is no path from the origin to the destination. If it
+     * returns true, there is such a path if the two nodes are in the same
+     * component, and there may be one otherwise.
+     *
+     * @param origin ID of the origin.
+     * @param destination ID of the destination.
+     *
+     * @return false if the destination cannot be reached from the origin.
+     */
+    public boolean mayReach(int origin, int destination) {
+        final int o = components[origin], d = components[destination];
+        return o == d || (d < o && low[o] <= low[d] && rank2[d] < rank2[o] && low2[o] <= low2[d]);
+    }
+
+    /**
+     * @param origin Origin.
+     * @param destination Destination.
+     *
+     * @return false if the destination cannot be reached from the origin.
+     *
+     * @see #mayReach(int, int)
+     */
+    public boolean mayReach(Node origin, Node destination) {
+        return mayReach(origin.getId(), destination.getId());
+    }
+
+}
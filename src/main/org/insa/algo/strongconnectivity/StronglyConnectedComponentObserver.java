@@ -0,0 +1,17 @@
+package org.insa.algo.strongconnectivity;
+
+import java.util.ArrayList;
+
+import org.insa.graph.Node;
+
+public interface StronglyConnectedComponentObserver {
+
+    /**
+     * Notify that the algorithm has computed a new component.
+     * 
+     * @param component ID of the component.
+     * @param nodes List of nodes in the component.
+     */
+    public void notifyNewComponent(int component, ArrayList<Node> nodes);
+
+}
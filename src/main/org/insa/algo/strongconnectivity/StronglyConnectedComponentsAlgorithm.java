@@ -0,0 +1,154 @@
+package org.insa.algo.strongconnectivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.insa.algo.AbstractAlgorithm;
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+/**
+ * Strongly-connected components algorithm (Tarjan), using only the arcs allowed
+ * by the input data.
+ *
+ * The depth-first search is iterative: the call stack is replaced by arrays
+ * holding, for each node being explored, the next arc to follow, so the
+ * algorithm does not overflow the stack on large graphs. Apart from the
+ * solution, it allocates six <code>int</code> arrays of the size of the graph.
+ *
+ * Components are numbered in the order in which they are completed, which is
+ * a reverse topological order of the condensation of the graph: if an allowed
+ * arc goes from component <code>i</code> to component <code>j != i</code>, then
+ * <code>i &gt; j</code>.
+ *
+ */
+public class StronglyConnectedComponentsAlgorithm
+        extends AbstractAlgorithm<StronglyConnectedComponentObserver> {
+
+    // Value of index and component for nodes that have not been reached.
+    private static final int NONE = -1;
+
+    /**
+     * @param data Input data for this algorithm.
+     */
+    public StronglyConnectedComponentsAlgorithm(StronglyConnectedComponentsData data) {
+        super(data);
+    }
+
+    @Override
+    public StronglyConnectedComponentsSolution run() {
+        return (StronglyConnectedComponentsSolution) super.run();
+    }
+
+    @Override
+    public StronglyConnectedComponentsData getInputData() {
+        return (StronglyConnectedComponentsData) super.getInputData();
+    }
+
+    /**
+     * Notify all observers that the algorithm has computed a new component.
+     *
+     * @param component ID of the component.
+     * @param nodes List of nodes in the component.
+     */
+    protected void notifyNewComponent(int component, ArrayList<Node> nodes) {
+        for (StronglyConnectedComponentObserver obs: getObservers()) {
+            obs.notifyNewComponent(component, nodes);
+        }
+    }
+
+    @Override
+    protected StronglyConnectedComponentsSolution doRun() {
+        final StronglyConnectedComponentsData data = getInputData();
+        final Graph graph = data.getGraph();
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView(graph);
+        final int nbNodes = graph.size();
+
+        // Discovery index and lowest reachable index of each node, and component
+        // of each node (NONE for nodes that are still on the stack).
+        final int[] index = new int[nbNodes];
+        final int[] low = new int[nbNodes];
+        final int[] component = new int[nbNodes];
+        Arrays.fill(index, NONE);
+        Arrays.fill(component, NONE);
+
+        // Stack of nodes whose component is not known yet.
+        final int[] stack = new int[nbNodes];
+        int stackSize = 0;
+
+        // Nodes being explored by the depth-first search, and next arc to follow
+        // for each of them (in place of the call stack of a recursive version).
+        final int[] callNodes = new int[nbNodes];
+        final int[] callArcs = new int[nbNodes];
+        int callSize = 0;
+
+        int nbVisited = 0, nbComponents = 0;
+        for (int origin = 0; origin < nbNodes; ++origin) {
+            if (index[origin] != NONE) {
+                continue;
+            }
+
+            index[origin] = low[origin] = nbVisited++;
+            stack[stackSize++] = origin;
+            callNodes[callSize] = origin;
+            callArcs[callSize++] = csr.getFirstArc(origin);
+
+            while (callSize > 0) {
+                final int node = callNodes[callSize - 1];
+                final int arcId = callArcs[callSize - 1];
+
+                if (arcId < csr.getFirstArc(node + 1)) {
+                    callArcs[callSize - 1] = arcId + 1;
+                    if (!data.isAllowed(arc.moveTo(arcId))) {
+                        continue;
+                    }
+                    final int next = csr.getArcHead(arcId);
+                    if (index[next] == NONE) {
+                        // Explore the successor.
+                        index[next] = low[next] = nbVisited++;
+                        stack[stackSize++] = next;
+                        callNodes[callSize] = next;
+                        callArcs[callSize++] = csr.getFirstArc(next);
+                    }
+                    else if (component[next] == NONE) {
+                        // The successor is on the stack.
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+
+                // All the successors of the node have been explored.
+                --callSize;
+                if (low[node] == index[node]) {
+                    // The node is the root of a component, which contains the
+                    // nodes above it on the stack.
+                    final boolean notify = !getObservers().isEmpty();
+                    final ArrayList<Node> nodes = notify ? new ArrayList<Node>() : null;
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        component[member] = nbComponents;
+                        if (notify) {
+                            nodes.add(graph.get(member));
+                        }
+                    } while (member != node);
+                    if (notify) {
+                        notifyNewComponent(nbComponents, nodes);
+                    }
+                    ++nbComponents;
+                }
+                if (callSize > 0) {
+                    final int parent = callNodes[callSize - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+
+        return new StronglyConnectedComponentsSolution(data, Status.OPTIMAL, component,
+                nbComponents);
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.insa.algo.strongconnectivity;
+
+import org.insa.algo.AbstractInputData;
+import org.insa.algo.ArcInspector;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+
+public class StronglyConnectedComponentsData extends AbstractInputData {
+
+    /**
+     * Create input data using all the arcs of the graph.
+     * 
+     * @param graph Graph for which components should be retrieved.
+     */
+    public StronglyConnectedComponentsData(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * @param graph Graph for which components should be retrieved.
+     * @param arcInspector Filter for the arcs of the graph, or null to use all
+     *        the arcs.
+     */
+    public StronglyConnectedComponentsData(Graph graph, ArcInspector arcInspector) {
+        super(graph, arcInspector);
+    }
+
+    @Override
+    public boolean isAllowed(Arc arc) {
+        return getArcInspector() == null || super.isAllowed(arc);
+    }
+
+    @Override
+    public String toString() {
+        return "Strongly-connected components"
+                + (getArcInspector() == null ? "" : ", " + getArcInspector().toString()) + ".";
+    }
+
+}
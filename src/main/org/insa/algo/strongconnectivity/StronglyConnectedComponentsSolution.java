@@ -0,0 +1,207 @@
+package org.insa.algo.strongconnectivity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.insa.algo.AbstractSolution;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.GraphStatistics;
+import org.insa.graph.GraphStatistics.BoundingBox;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+
+public class StronglyConnectedComponentsSolution extends AbstractSolution {
+
+    // Component of each node, and number of components.
+    private final int[] components;
+    private final int nbComponents;
+
+    // Size of each component.
+    private final int[] sizes;
+
+    protected StronglyConnectedComponentsSolution(StronglyConnectedComponentsData data,
+            Status status, int[] components, int nbComponents) {
+        super(data, status);
+        this.components = components;
+        this.nbComponents = nbComponents;
+        this.sizes = new int[nbComponents];
+        for (int component: components) {
+            ++sizes[component];
+        }
+    }
+
+    @Override
+    public StronglyConnectedComponentsData getInputData() {
+        return (StronglyConnectedComponentsData) super.getInputData();
+    }
+
+    /**
+     * @return Number of components.
+     */
+    public int getComponentCount() {
+        return nbComponents;
+    }
+
+    /**
+     * Components are numbered in reverse topological order (see
+     * {@link StronglyConnectedComponentsAlgorithm}).
+     *
+     * @param node ID of a node of the graph.
+     *
+     * @return ID of the component of the given node.
+     */
+    public int getComponent(int node) {
+        return components[node];
+    }
+
+    /**
+     * @param node Node of the graph.
+     *
+     * @return ID of the component of the given node.
+     */
+    public int getComponent(Node node) {
+        return components[node.getId()];
+    }
+
+    /**
+     * @param component ID of a component.
+     *
+     * @return Number of nodes in the given component.
+     */
+    public int getComponentSize(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * @return ID of the component with the most nodes.
+     */
+    public int getLargestComponent() {
+        int largest = 0;
+        for (int component = 1; component < nbComponents; ++component) {
+            if (sizes[component] > sizes[largest]) {
+                largest = component;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * @param component ID of a component.
+     *
+     * @return Nodes of the given component, sorted by ID.
+     */
+    public ArrayList<Node> getComponentNodes(int component) {
+        Graph graph = getInputData().getGraph();
+        ArrayList<Node> nodes = new ArrayList<Node>(sizes[component]);
+        for (int i = 0; i < components.length; ++i) {
+            if (components[i] == component) {
+                nodes.add(graph.get(i));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Create a new graph containing only the nodes of the given component, and
+     * the arcs of the original graph between these nodes (including arcs that
+     * are not allowed by the arc inspector of the input data).
+     *
+     * Nodes are renumbered from 0: the node with ID <code>i</code> in the new
+     * graph corresponds to the <code>i</code>-th node returned by
+     * {@link #getComponentNodes(int)}. Since node IDs differ, the new graph has
+     * its own map ID (the original one with a suffix).
+     *
+     * @param component ID of a component.
+     *
+     * @return A new graph containing only the given component.
+     */
+    public Graph extractComponent(int component) {
+        final Graph graph = getInputData().getGraph();
+        final ArrayList<Node> originalNodes = getComponentNodes(component);
+
+        // New ID of each node of the component.
+        final int[] newIds = new int[components.length];
+        final List<Node> nodes = new ArrayList<Node>(originalNodes.size());
+        float minLongitude = Float.POSITIVE_INFINITY, minLatitude = Float.POSITIVE_INFINITY;
+        float maxLongitude = Float.NEGATIVE_INFINITY, maxLatitude = Float.NEGATIVE_INFINITY;
+        for (Node node: originalNodes) {
+            Point point = node.getPoint();
+            newIds[node.getId()] = nodes.size();
+            nodes.add(new Node(nodes.size(), point));
+            minLongitude = Math.min(minLongitude, point.getLongitude());
+            minLatitude = Math.min(minLatitude, point.getLatitude());
+            maxLongitude = Math.max(maxLongitude, point.getLongitude());
+            maxLatitude = Math.max(maxLatitude, point.getLatitude());
+        }
+
+        // Link nodes once per road: two-way roads are created with both their arcs
+        // from their endpoint with the lowest ID (or once every two arcs for
+        // loops).
+        int nbOneWayRoads = 0, nbTwoWaysRoads = 0;
+        float maximumLength = 0;
+        for (Node node: originalNodes) {
+            boolean skipLoop = false;
+            for (Arc arc: node) {
+                final Node destination = arc.getDestination();
+                if (components[destination.getId()] != component) {
+                    continue;
+                }
+                if (!arc.getRoadInformation().isOneWay()) {
+                    if (destination.getId() == node.getId()) {
+                        skipLoop = !skipLoop;
+                        if (!skipLoop) {
+                            continue;
+                        }
+                    }
+                    else if (destination.getId() < node.getId()) {
+                        continue;
+                    }
+                    ++nbTwoWaysRoads;
+                }
+                else {
+                    ++nbOneWayRoads;
+                }
+                maximumLength = Math.max(maximumLength, arc.getLength());
+                Node.linkNodes(nodes.get(newIds[node.getId()]),
+                        nodes.get(newIds[destination.getId()]), arc.getLength(),
+                        arc.getRoadInformation(), new ArrayList<Point>(arc.getPoints()));
+            }
+        }
+
+        final GraphStatistics statistics = graph.getGraphInformation();
+        return new Graph(graph.getMapId() + "-scc" + component, graph.getMapName(), nodes,
+                new GraphStatistics(
+                        new BoundingBox(new Point(minLongitude, maxLatitude),
+                                new Point(maxLongitude, minLatitude)),
+                        nbOneWayRoads, nbTwoWaysRoads,
+                        statistics == null ? GraphStatistics.NO_MAXIMUM_SPEED
+                                : statistics.getMaximumSpeed(),
+                        maximumLength));
+    }
+
+    /**
+     * Create a new graph containing only the largest component (see
+     * {@link #extractComponent(int)}). Routing inside this graph with the arc
+     * inspector of the input data always succeeds.
+     *
+     * @return A new graph containing only the largest component.
+     */
+    public Graph extractLargestComponent() {
+        return extractComponent(getLargestComponent());
+    }
+
+    @Override
+    public String toString() {
+        int nIsolated = 0;
+        for (int size: sizes) {
+            if (size == 1) {
+                nIsolated += 1;
+            }
+        }
+        return "Found " + nbComponents + " components (largest with "
+                + (nbComponents == 0 ? 0 : sizes[getLargestComponent()]) + " nodes, " + nIsolated
+                + " isolated nodes) in " + getSolvingTime().getSeconds() + " seconds.";
+    }
+
+}
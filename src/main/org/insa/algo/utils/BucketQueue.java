@@ -0,0 +1,189 @@
+package org.insa.algo.utils;
+
+import java.util.Arrays;
+
+/**
+ * Monotone bucket queue (Dial's algorithm) on fixed-point keys.
+ *
+ * Keys are converted to integers by multiplying them by a scale and rounding
+ * them, and each integer key has its own bucket in a circular array. The
+ * integer keys of the elements in the queue must therefore span less than the
+ * number of buckets, which is the case for Dijkstra's algorithm if the number
+ * of buckets is greater than the largest (integer) cost of an arc. All
+ * operations run in <i>O(1)</i> except {@link #findMin()} and
+ * {@link #deleteMin()}, which scan the buckets up to the next non-empty one.
+ *
+ * The queue is monotone: keys lower than the key of the last removed element
+ * are handled as if they were equal to it. Elements with the same integer key
+ * are removed in any order.
+ *
+ */
+public class BucketQueue implements IntPriorityQueue {
+
+    // Value of bucket for elements that are not in the queue.
+    private static final int NONE = -1;
+
+    // Scale of the keys.
+    private final double scale;
+
+    // Key and integer key of each element.
+    private final double[] keys;
+    private final long[] values;
+
+    // Bucket of each element (or NONE), and links of the bucket lists.
+    private final int[] bucket, next, previous;
+
+    // First element of each bucket (or NONE).
+    private final int[] first;
+
+    // Integer key of the current bucket and upper bound of the integer keys in
+    // the queue, integer key of the last removed element, and number of
+    // elements.
+    private long current, upper, last;
+    private int size;
+
+    /**
+     * Create a new empty bucket queue.
+     *
+     * @param capacity Capacity of the queue, i.e. elements must be in
+     *        <code>[0, capacity)</code>.
+     * @param scale Factor applied to keys before rounding them to integers.
+     * @param nbBuckets Number of buckets, i.e. maximum difference (exclusive)
+     *        between the integer keys of two elements in the queue.
+     */
+    public BucketQueue(int capacity, double scale, int nbBuckets) {
+        this.scale = scale;
+        this.keys = new double[capacity];
+        this.values = new long[capacity];
+        this.bucket = new int[capacity];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.first = new int[nbBuckets];
+        Arrays.fill(this.bucket, NONE);
+        Arrays.fill(this.first, NONE);
+        this.current = 0;
+        this.upper = 0;
+        this.last = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Set the key of the given element and add it to the corresponding bucket.
+     */
+    private void place(int x, double key) {
+        final long value = Math.max(last, Math.round(key * scale));
+        final long newCurrent = size == 0 ? value : Math.min(current, value);
+        final long newUpper = size == 0 ? value : Math.max(upper, value);
+        if (newUpper - newCurrent >= first.length) {
+            throw new IllegalArgumentException(
+                    "Key " + key + " is out of the range of the buckets of the queue.");
+        }
+        current = newCurrent;
+        upper = newUpper;
+        keys[x] = key;
+        values[x] = value;
+
+        int b = (int) (value % first.length);
+        bucket[x] = b;
+        previous[x] = NONE;
+        next[x] = first[b];
+        if (first[b] != NONE) {
+            previous[first[b]] = x;
+        }
+        first[b] = x;
+    }
+
+    /**
+     * Remove the given element from its bucket.
+     */
+    private void unlink(int x) {
+        if (previous[x] != NONE) {
+            next[previous[x]] = next[x];
+        }
+        else {
+            first[bucket[x]] = next[x];
+        }
+        if (next[x] != NONE) {
+            previous[next[x]] = previous[x];
+        }
+        bucket[x] = NONE;
+    }
+
+    @Override
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int x) {
+        return bucket[x] != NONE;
+    }
+
+    @Override
+    public void insert(int x, double key) {
+        place(x, key);
+        ++size;
+    }
+
+    @Override
+    public void decreaseKey(int x, double key) throws ElementNotFoundException {
+        if (bucket[x] == NONE) {
+            throw new ElementNotFoundException(x);
+        }
+        unlink(x);
+        place(x, key);
+    }
+
+    @Override
+    public int findMin() throws EmptyPriorityQueueException {
+        if (size == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        while (first[(int) (current % first.length)] == NONE) {
+            ++current;
+        }
+        return first[(int) (current % first.length)];
+    }
+
+    @Override
+    public double getMinKey() throws EmptyPriorityQueueException {
+        return keys[findMin()];
+    }
+
+    @Override
+    public int deleteMin() throws EmptyPriorityQueueException {
+        int min = findMin();
+        unlink(min);
+        --size;
+        last = values[min];
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        // All the elements are in the buckets following the current one.
+        for (int i = 0; i < first.length && size > 0; ++i) {
+            final int b = (int) ((current + i) % first.length);
+            for (int x = first[b]; x != NONE; x = next[x]) {
+                bucket[x] = NONE;
+                --size;
+            }
+            first[b] = NONE;
+        }
+        current = 0;
+        upper = 0;
+        last = 0;
+        size = 0;
+    }
+
+}
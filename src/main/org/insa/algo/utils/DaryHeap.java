@@ -0,0 +1,179 @@
+package org.insa.algo.utils;
+
+import java.util.Arrays;
+
+/**
+ * d-ary heap of integer elements with primitive <code>double</code> keys.
+ *
+ * This is a generalization of {@link IntDoubleHeap} where each node of the heap
+ * has <code>d</code> children instead of 2. The heap is shallower, so
+ * {@link #insert(int, double)} and {@link #decreaseKey(int, double)} run in
+ * <i>O(log<sub>d</sub> n)</i>, while {@link #deleteMin()} compares the
+ * <code>d</code> children of each level in <i>O(d log<sub>d</sub> n)</i>.
+ * Since these children are contiguous in memory, 4-ary or 8-ary heaps are
+ * usually faster than binary heaps on large graphs, where Dijkstra's algorithm
+ * performs more decrease-key than extract-min operations.
+ *
+ */
+public class DaryHeap implements IntPriorityQueue {
+
+    // Number of children of each node of the heap.
+    private final int arity;
+
+    // Position of each element in the heap, or -1.
+    private final int[] heapIndex;
+
+    // Heap of elements, and corresponding keys.
+    private final int[] heapNodes;
+    private final double[] heapKeys;
+    private int heapSize;
+
+    /**
+     * Create a new empty heap.
+     *
+     * @param capacity Capacity of the heap, i.e. elements must be in
+     *        <code>[0, capacity)</code>.
+     * @param arity Number of children of each node of the heap (at least 2).
+     */
+    public DaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity of a heap must be at least 2.");
+        }
+        this.arity = arity;
+        this.heapIndex = new int[capacity];
+        this.heapNodes = new int[capacity];
+        this.heapKeys = new double[capacity];
+        this.heapSize = 0;
+        Arrays.fill(this.heapIndex, -1);
+    }
+
+    /**
+     * @return Number of children of each node of this heap.
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    public int getCapacity() {
+        return heapIndex.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    @Override
+    public int size() {
+        return heapSize;
+    }
+
+    @Override
+    public boolean contains(int x) {
+        return heapIndex[x] != -1;
+    }
+
+    @Override
+    public void insert(int x, double key) {
+        percolateUp(heapSize++, x, key);
+    }
+
+    @Override
+    public void decreaseKey(int x, double key) throws ElementNotFoundException {
+        if (heapIndex[x] == -1) {
+            throw new ElementNotFoundException(x);
+        }
+        percolateUp(heapIndex[x], x, key);
+    }
+
+    @Override
+    public int findMin() throws EmptyPriorityQueueException {
+        if (heapSize == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        return heapNodes[0];
+    }
+
+    @Override
+    public double getMinKey() throws EmptyPriorityQueueException {
+        if (heapSize == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        return heapKeys[0];
+    }
+
+    @Override
+    public int deleteMin() throws EmptyPriorityQueueException {
+        int min = findMin();
+        heapIndex[min] = -1;
+        --heapSize;
+        if (heapSize > 0) {
+            percolateDown(0, heapNodes[heapSize], heapKeys[heapSize]);
+        }
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < heapSize; ++i) {
+            heapIndex[heapNodes[i]] = -1;
+        }
+        heapSize = 0;
+    }
+
+    /**
+     * Move the given element up in the heap, starting at the given index.
+     *
+     * @param index Index at which the percolate begins.
+     * @param x Element to move.
+     * @param key Key of the element.
+     */
+    private void percolateUp(int index, int x, double key) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+            setHeap(index, heapNodes[parent], heapKeys[parent]);
+            index = parent;
+        }
+        setHeap(index, x, key);
+    }
+
+    /**
+     * Move the given element down in the heap, starting at the given index.
+     *
+     * @param index Index at which the percolate begins.
+     * @param x Element to move.
+     * @param key Key of the element.
+     */
+    private void percolateDown(int index, int x, double key) {
+        for (int first = arity * index + 1; first < heapSize; first = arity * index + 1) {
+            // Find the child with the smallest key.
+            final int end = Math.min(first + arity, heapSize);
+            int child = first;
+            for (int i = first + 1; i < end; ++i) {
+                if (heapKeys[i] < heapKeys[child]) {
+                    child = i;
+                }
+            }
+            if (heapKeys[child] >= key) {
+                break;
+            }
+            setHeap(index, heapNodes[child], heapKeys[child]);
+            index = child;
+        }
+        setHeap(index, x, key);
+    }
+
+    /**
+     * Set the given element at the given index in the heap.
+     */
+    private void setHeap(int index, int x, double key) {
+        heapNodes[index] = x;
+        heapKeys[index] = key;
+        heapIndex[x] = index;
+    }
+
+}
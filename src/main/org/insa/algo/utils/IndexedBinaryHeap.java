@@ -0,0 +1,225 @@
+package org.insa.algo.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Implements a binary heap that keeps track of the position of each of its
+ * elements, allowing {@link #remove(Comparable)} and
+ * {@link #decreaseKey(Comparable)} in <i>O(log n)</i> instead of the linear scan
+ * performed by {@link BinaryHeap}.
+ *
+ * Elements are located using their equals / hashCode methods, so an element
+ * (or two equal elements) cannot be inserted twice into the same heap.
+ *
+ * This heap is meant for label-based algorithms working on {@link Comparable}
+ * objects. The algorithms of {@link org.insa.algo.shortestpath} work on node
+ * IDs with the primitive queues of
+ * {@link org.insa.algo.shortestpath.SearchWorkspace} instead.
+ *
+ */
+public class IndexedBinaryHeap<E extends Comparable<E>> implements PriorityQueue<E> {
+
+    // The heap array.
+    private final ArrayList<E> array;
+
+    // Position of each element inside the heap array.
+    private final HashMap<E, Integer> positions;
+
+    /**
+     * Construct a new empty indexed binary heap.
+     */
+    public IndexedBinaryHeap() {
+        this.array = new ArrayList<E>();
+        this.positions = new HashMap<E, Integer>();
+    }
+
+    /**
+     * Construct a copy of the given heap.
+     *
+     * @param heap Indexed binary heap to copy.
+     */
+    public IndexedBinaryHeap(IndexedBinaryHeap<E> heap) {
+        this.array = new ArrayList<E>(heap.array);
+        this.positions = new HashMap<E, Integer>(heap.positions);
+    }
+
+    /**
+     * Set an element at the given index and update its position.
+     *
+     * @param index Index at which the element should be set.
+     * @param value Element to set.
+     */
+    private void arraySet(int index, E value) {
+        if (index == this.array.size()) {
+            this.array.add(value);
+        }
+        else {
+            this.array.set(index, value);
+        }
+        this.positions.put(value, index);
+    }
+
+    /**
+     * @return Index of the parent of the given index.
+     */
+    private int index_parent(int index) {
+        return (index - 1) / 2;
+    }
+
+    /**
+     * @return Index of the left child of the given index.
+     */
+    private int index_left(int index) {
+        return index * 2 + 1;
+    }
+
+    /**
+     * Internal method to percolate up in the heap.
+     *
+     * @param index Index at which the percolate begins.
+     */
+    private void percolateUp(int index) {
+        E x = this.array.get(index);
+
+        for (; index > 0
+                && x.compareTo(this.array.get(index_parent(index))) < 0; index = index_parent(
+                        index)) {
+            this.arraySet(index, this.array.get(index_parent(index)));
+        }
+
+        this.arraySet(index, x);
+    }
+
+    /**
+     * Internal method to percolate down in the heap.
+     *
+     * @param index Index at which the percolate begins.
+     */
+    private void percolateDown(int index) {
+        final int size = this.array.size();
+        E x = this.array.get(index);
+
+        for (int child = index_left(index); child < size; child = index_left(index)) {
+            if (child + 1 < size
+                    && this.array.get(child + 1).compareTo(this.array.get(child)) < 0) {
+                child = child + 1;
+            }
+            if (this.array.get(child).compareTo(x) >= 0) {
+                break;
+            }
+            this.arraySet(index, this.array.get(child));
+            index = child;
+        }
+
+        this.arraySet(index, x);
+    }
+
+    /**
+     * Retrieve the index of the given element in the heap array.
+     *
+     * @param x Element to look for.
+     *
+     * @return Index of the element.
+     *
+     * @throws ElementNotFoundException if the element is not in this heap.
+     */
+    private int indexOfOrThrow(E x) throws ElementNotFoundException {
+        Integer index = this.positions.get(x);
+        if (index == null) {
+            throw new ElementNotFoundException(x);
+        }
+        return index;
+    }
+
+    /**
+     * Remove and return the last element of the heap array.
+     *
+     * @return The last element of the heap array.
+     */
+    private E removeLast() {
+        E last = this.array.remove(this.array.size() - 1);
+        this.positions.remove(last);
+        return last;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.array.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.array.size();
+    }
+
+    /**
+     * Check if the given element is currently in this heap.
+     *
+     * <p>
+     * <b>Complexity:</b> <i>O(1)</i>
+     * </p>
+     *
+     * @param x Item to look for.
+     *
+     * @return true if the item is in this heap, false otherwise.
+     */
+    public boolean contains(E x) {
+        return this.positions.containsKey(x);
+    }
+
+    @Override
+    public void insert(E x) {
+        int index = this.array.size();
+        this.arraySet(index, x);
+        this.percolateUp(index);
+    }
+
+    /**
+     * Restore the heap order after the key of the given element has been
+     * decreased (i.e., the element now compares lower than before).
+     *
+     * <p>
+     * <b>Complexity:</b> <i>O(log n)</i>
+     * </p>
+     *
+     * @param x Item whose key has been decreased.
+     *
+     * @throws ElementNotFoundException if the item is not in this heap.
+     */
+    public void decreaseKey(E x) throws ElementNotFoundException {
+        this.percolateUp(indexOfOrThrow(x));
+    }
+
+    @Override
+    public void remove(E x) throws ElementNotFoundException {
+        int index = indexOfOrThrow(x);
+        this.positions.remove(x);
+        E lastItem = this.removeLast();
+        if (index < this.array.size()) {
+            this.arraySet(index, lastItem);
+            this.percolateUp(index);
+            this.percolateDown(this.positions.get(lastItem));
+        }
+    }
+
+    @Override
+    public E findMin() throws EmptyPriorityQueueException {
+        if (isEmpty())
+            throw new EmptyPriorityQueueException();
+        return this.array.get(0);
+    }
+
+    @Override
+    public E deleteMin() throws EmptyPriorityQueueException {
+        E minItem = findMin();
+        this.positions.remove(minItem);
+        E lastItem = this.removeLast();
+        if (!this.array.isEmpty()) {
+            this.arraySet(0, lastItem);
+            this.percolateDown(0);
+        }
+        return minItem;
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.insa.algo.utils;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of integer elements with primitive <code>double</code> keys.
+ *
+ * Elements and keys are stored in parallel arrays, together with the position
+ * of each element in the heap, so {@link #insert(int, double)},
+ * {@link #decreaseKey(int, double)} and {@link #deleteMin()} run in
+ * <i>O(log n)</i> without allocating any object and without calling any
+ * comparison method. Unlike {@link RadixHeap} or {@link BucketQueue}, keys can
+ * be any (non-NaN) value and the queue is not monotone.
+ *
+ * This is the default queue of
+ * {@link org.insa.algo.shortestpath.SearchWorkspace}.
+ *
+ */
+public class IntDoubleHeap implements IntPriorityQueue {
+
+    // Position of each element in the heap, or -1.
+    private final int[] heapIndex;
+
+    // Binary heap of elements, and corresponding keys.
+    private final int[] heapNodes;
+    private final double[] heapKeys;
+    private int heapSize;
+
+    /**
+     * Create a new empty heap.
+     *
+     * @param capacity Capacity of the heap, i.e. elements must be in
+     *        <code>[0, capacity)</code>.
+     */
+    public IntDoubleHeap(int capacity) {
+        this.heapIndex = new int[capacity];
+        this.heapNodes = new int[capacity];
+        this.heapKeys = new double[capacity];
+        this.heapSize = 0;
+        Arrays.fill(this.heapIndex, -1);
+    }
+
+    @Override
+    public int getCapacity() {
+        return heapIndex.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    @Override
+    public int size() {
+        return heapSize;
+    }
+
+    @Override
+    public boolean contains(int x) {
+        return heapIndex[x] != -1;
+    }
+
+    /**
+     * @param x Element of the heap.
+     *
+     * @return Current key of the given element.
+     *
+     * @throws ElementNotFoundException if the element is not in the heap.
+     */
+    public double getKey(int x) throws ElementNotFoundException {
+        if (heapIndex[x] == -1) {
+            throw new ElementNotFoundException(x);
+        }
+        return heapKeys[heapIndex[x]];
+    }
+
+    @Override
+    public void insert(int x, double key) {
+        percolateUp(heapSize++, x, key);
+    }
+
+    @Override
+    public void decreaseKey(int x, double key) throws ElementNotFoundException {
+        if (heapIndex[x] == -1) {
+            throw new ElementNotFoundException(x);
+        }
+        percolateUp(heapIndex[x], x, key);
+    }
+
+    @Override
+    public int findMin() throws EmptyPriorityQueueException {
+        if (heapSize == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        return heapNodes[0];
+    }
+
+    @Override
+    public double getMinKey() throws EmptyPriorityQueueException {
+        if (heapSize == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        return heapKeys[0];
+    }
+
+    @Override
+    public int deleteMin() throws EmptyPriorityQueueException {
+        int min = findMin();
+        heapIndex[min] = -1;
+        --heapSize;
+        if (heapSize > 0) {
+            percolateDown(0, heapNodes[heapSize], heapKeys[heapSize]);
+        }
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < heapSize; ++i) {
+            heapIndex[heapNodes[i]] = -1;
+        }
+        heapSize = 0;
+    }
+
+    /**
+     * Move the given element up in the heap, starting at the given index.
+     *
+     * @param index Index at which the percolate begins.
+     * @param x Element to move.
+     * @param key Key of the element.
+     */
+    private void percolateUp(int index, int x, double key) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+            setHeap(index, heapNodes[parent], heapKeys[parent]);
+            index = parent;
+        }
+        setHeap(index, x, key);
+    }
+
+    /**
+     * Move the given element down in the heap, starting at the given index.
+     *
+     * @param index Index at which the percolate begins.
+     * @param x Element to move.
+     * @param key Key of the element.
+     */
+    private void percolateDown(int index, int x, double key) {
+        for (int child = 2 * index + 1; child < heapSize; child = 2 * index + 1) {
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                ++child;
+            }
+            if (heapKeys[child] >= key) {
+                break;
+            }
+            setHeap(index, heapNodes[child], heapKeys[child]);
+            index = child;
+        }
+        setHeap(index, x, key);
+    }
+
+    /**
+     * Set the given element at the given index in the heap.
+     */
+    private void setHeap(int index, int x, double key) {
+        heapNodes[index] = x;
+        heapKeys[index] = key;
+        heapIndex[x] = index;
+    }
+
+}
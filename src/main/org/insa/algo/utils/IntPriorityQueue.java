@@ -0,0 +1,117 @@
+package org.insa.algo.utils;
+
+/**
+ * Interface representing a priority queue of integer elements (typically node
+ * IDs) in a fixed range <code>[0, capacity)</code>, each element having a
+ * <code>double</code> key.
+ *
+ * Unlike {@link PriorityQueue}, keys are stored by the queue itself, so no
+ * object is allocated per element and no comparison method is called.
+ *
+ * Some implementations (e.g. {@link RadixHeap} or {@link BucketQueue}) are
+ * monotone: the key of an inserted element must not be lower than the key of
+ * the last element removed, which is the case for the keys of Dijkstra's
+ * algorithm (and A* with a consistent estimate).
+ *
+ */
+public interface IntPriorityQueue {
+
+    /**
+     * @return Capacity of the queue, i.e. elements must be in
+     *         <code>[0, capacity)</code>.
+     */
+    public int getCapacity();
+
+    /**
+     * Check if the priority queue is empty.
+     *
+     * <p>
+     * <b>Complexity:</b> <i>O(1)</i>
+     * </p>
+     *
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty();
+
+    /**
+     * Get the number of elements in this queue.
+     *
+     * <p>
+     * <b>Complexity:</b> <i>O(1)</i>
+     * </p>
+     *
+     * @return Current size (number of elements) of this queue.
+     */
+    public int size();
+
+    /**
+     * Check if the given element is in this queue.
+     *
+     * <p>
+     * <b>Complexity:</b> <i>O(1)</i>
+     * </p>
+     *
+     * @param x Element to check.
+     *
+     * @return true if the element is in the queue.
+     */
+    public boolean contains(int x);
+
+    /**
+     * Insert the given element into the queue with the given key. The element
+     * must not already be in the queue.
+     *
+     * @param x Element to insert.
+     * @param key Key of the element.
+     */
+    public void insert(int x, double key);
+
+    /**
+     * Decrease the key of the given element. The new key must not be greater
+     * than the current key of the element.
+     *
+     * @param x Element whose key should be decreased.
+     * @param key New key of the element.
+     *
+     * @throws ElementNotFoundException if the element is not in the queue.
+     */
+    public void decreaseKey(int x, double key) throws ElementNotFoundException;
+
+    /**
+     * Retrieve (but not remove) the element with the smallest key in the queue.
+     *
+     * @return The element with the smallest key.
+     *
+     * @throws EmptyPriorityQueueException if this queue is empty.
+     */
+    public int findMin() throws EmptyPriorityQueueException;
+
+    /**
+     * Retrieve the smallest key in the queue.
+     *
+     * @return The key of the element returned by {@link #findMin()}.
+     *
+     * @throws EmptyPriorityQueueException if this queue is empty.
+     */
+    public double getMinKey() throws EmptyPriorityQueueException;
+
+    /**
+     * Remove and return the element with the smallest key in the queue.
+     *
+     * @return The element with the smallest key.
+     *
+     * @throws EmptyPriorityQueueException if this queue is empty.
+     */
+    public int deleteMin() throws EmptyPriorityQueueException;
+
+    /**
+     * Remove all the elements from this queue.
+     *
+     * <p>
+     * <b>Complexity:</b> <i>O(n)</i> where n is the size of the queue (not its
+     * capacity).
+     * </p>
+     */
+    public void clear();
+
+}
@@ -0,0 +1,22 @@
+package org.insa.algo.utils;
+
+/**
+ * Factory creating {@link IntPriorityQueue} instances, used to select the queue
+ * implementation of algorithms without modifying them (e.g.
+ * <code>IntDoubleHeap::new</code> or
+ * <code>capacity -&gt; new DaryHeap(capacity, 4)</code>).
+ *
+ */
+public interface IntPriorityQueueFactory {
+
+    /**
+     * Create a new empty queue.
+     *
+     * @param capacity Capacity of the queue, i.e. elements must be in
+     *        <code>[0, capacity)</code>.
+     *
+     * @return A new empty queue with the given capacity.
+     */
+    public IntPriorityQueue create(int capacity);
+
+}
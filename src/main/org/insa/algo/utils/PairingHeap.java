@@ -0,0 +1,198 @@
+package org.insa.algo.utils;
+
+/**
+ * Pairing heap of integer elements with primitive <code>double</code> keys.
+ *
+ * The heap is a multi-way tree stored in arrays (first child, next sibling and
+ * previous node of each element), so no object is allocated. Inserting an
+ * element or decreasing its key only links a tree to the root in <i>O(1)</i>,
+ * while {@link #deleteMin()} merges the children of the root in two passes, in
+ * <i>O(log n)</i> amortized time. This makes pairing heaps efficient when
+ * decrease-key operations are frequent.
+ *
+ */
+public class PairingHeap implements IntPriorityQueue {
+
+    // Value used for missing links.
+    private static final int NONE = -1;
+
+    // Key of each element.
+    private final double[] keys;
+
+    // First child, next sibling and previous node (parent for a first child,
+    // previous sibling otherwise) of each element.
+    private final int[] child, sibling, previous;
+
+    // true for elements in the heap.
+    private final boolean[] contained;
+
+    // Buffer used when merging subtrees.
+    private final int[] buffer;
+
+    // Root of the heap (or NONE), and number of elements.
+    private int root;
+    private int size;
+
+    /**
+     * Create a new empty pairing heap.
+     *
+     * @param capacity Capacity of the heap, i.e. elements must be in
+     *        <code>[0, capacity)</code>.
+     */
+    public PairingHeap(int capacity) {
+        this.keys = new double[capacity];
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.previous = new int[capacity];
+        this.contained = new boolean[capacity];
+        this.buffer = new int[capacity];
+        this.root = NONE;
+        this.size = 0;
+    }
+
+    /**
+     * Link two trees, the root with the larger key becoming the first child of
+     * the other one.
+     *
+     * @return Root of the resulting tree.
+     */
+    private int link(int a, int b) {
+        if (keys[b] < keys[a]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        sibling[b] = child[a];
+        if (child[a] != NONE) {
+            previous[child[a]] = b;
+        }
+        previous[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    /**
+     * Remove the subtree rooted at the given element from its parent.
+     */
+    private void cut(int x) {
+        if (child[previous[x]] == x) {
+            child[previous[x]] = sibling[x];
+        }
+        else {
+            sibling[previous[x]] = sibling[x];
+        }
+        if (sibling[x] != NONE) {
+            previous[sibling[x]] = previous[x];
+        }
+        sibling[x] = NONE;
+        previous[x] = NONE;
+    }
+
+    @Override
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int x) {
+        return contained[x];
+    }
+
+    @Override
+    public void insert(int x, double key) {
+        keys[x] = key;
+        child[x] = NONE;
+        sibling[x] = NONE;
+        previous[x] = NONE;
+        contained[x] = true;
+        root = root == NONE ? x : link(root, x);
+        ++size;
+    }
+
+    @Override
+    public void decreaseKey(int x, double key) throws ElementNotFoundException {
+        if (!contained[x]) {
+            throw new ElementNotFoundException(x);
+        }
+        keys[x] = key;
+        if (x != root) {
+            cut(x);
+            root = link(root, x);
+        }
+    }
+
+    @Override
+    public int findMin() throws EmptyPriorityQueueException {
+        if (size == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        return root;
+    }
+
+    @Override
+    public double getMinKey() throws EmptyPriorityQueueException {
+        return keys[findMin()];
+    }
+
+    @Override
+    public int deleteMin() throws EmptyPriorityQueueException {
+        final int min = findMin();
+        contained[min] = false;
+        --size;
+
+        // Detach the children of the root.
+        int nbTrees = 0;
+        for (int x = child[min], next; x != NONE; x = next) {
+            next = sibling[x];
+            sibling[x] = NONE;
+            previous[x] = NONE;
+            buffer[nbTrees++] = x;
+        }
+        child[min] = NONE;
+
+        // First pass: link the trees by pairs, from left to right.
+        int nbPairs = 0;
+        for (int i = 0; i + 1 < nbTrees; i += 2) {
+            buffer[nbPairs++] = link(buffer[i], buffer[i + 1]);
+        }
+        if (nbTrees % 2 == 1) {
+            buffer[nbPairs++] = buffer[nbTrees - 1];
+        }
+
+        // Second pass: link the resulting trees from right to left.
+        root = nbPairs == 0 ? NONE : buffer[nbPairs - 1];
+        for (int i = nbPairs - 2; i >= 0; --i) {
+            root = link(buffer[i], root);
+        }
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        if (root != NONE) {
+            // Traverse the tree using the buffer as a stack.
+            int top = 0;
+            buffer[top++] = root;
+            while (top > 0) {
+                final int x = buffer[--top];
+                contained[x] = false;
+                for (int c = child[x]; c != NONE; c = sibling[c]) {
+                    buffer[top++] = c;
+                }
+            }
+        }
+        root = NONE;
+        size = 0;
+    }
+
+}
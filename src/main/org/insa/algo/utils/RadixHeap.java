@@ -0,0 +1,211 @@
+package org.insa.algo.utils;
+
+import java.util.Arrays;
+
+/**
+ * Monotone radix heap on fixed-point keys.
+ *
+ * Keys are converted to integers by multiplying them by a scale and rounding
+ * them (e.g. a scale of 1000 for lengths in meters read from a map with
+ * millimeter precision), and must not be negative. Elements are stored in 65
+ * buckets: bucket 0 contains the elements whose integer key is equal to the
+ * key of the last removed element, and bucket <code>i</code> the elements
+ * whose integer key first differs from it at bit <code>i - 1</code>. When
+ * bucket 0 is empty, the first non-empty bucket is redistributed around its
+ * minimum, so each element is moved at most 64 times and all operations run in
+ * <i>O(1)</i> amortized time except {@link #deleteMin()} in <i>O(log C)</i>,
+ * where C is the largest integer key.
+ *
+ * The queue is monotone: keys lower than the key of the last removed element
+ * are handled as if they were equal to it. Elements with the same integer key
+ * are removed in any order, so the scale should be chosen such that distinct
+ * keys have distinct integer keys when the exact order matters.
+ *
+ */
+public class RadixHeap implements IntPriorityQueue {
+
+    // Number of buckets.
+    private static final int NB_BUCKETS = Long.SIZE + 1;
+
+    // Value of bucket for elements that are not in the queue.
+    private static final int NONE = -1;
+
+    // Scale of the keys.
+    private final double scale;
+
+    // Key and integer key of each element.
+    private final double[] keys;
+    private final long[] values;
+
+    // Bucket of each element (or NONE), and links of the bucket lists.
+    private final int[] bucket, next, previous;
+
+    // First element of each bucket (or NONE).
+    private final int[] first;
+
+    // Integer key of the last removed element, and number of elements.
+    private long last;
+    private int size;
+
+    /**
+     * Create a new empty radix heap.
+     *
+     * @param capacity Capacity of the heap, i.e. elements must be in
+     *        <code>[0, capacity)</code>.
+     * @param scale Factor applied to keys before rounding them to integers.
+     */
+    public RadixHeap(int capacity, double scale) {
+        this.scale = scale;
+        this.keys = new double[capacity];
+        this.values = new long[capacity];
+        this.bucket = new int[capacity];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.first = new int[NB_BUCKETS];
+        Arrays.fill(this.bucket, NONE);
+        Arrays.fill(this.first, NONE);
+        this.last = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return Bucket corresponding to the given integer key.
+     */
+    private int getBucket(long value) {
+        return value == last ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value ^ last);
+    }
+
+    /**
+     * Add the given element at the front of the given bucket.
+     */
+    private void link(int x, int b) {
+        bucket[x] = b;
+        previous[x] = NONE;
+        next[x] = first[b];
+        if (first[b] != NONE) {
+            previous[first[b]] = x;
+        }
+        first[b] = x;
+    }
+
+    /**
+     * Remove the given element from its bucket.
+     */
+    private void unlink(int x) {
+        if (previous[x] != NONE) {
+            next[previous[x]] = next[x];
+        }
+        else {
+            first[bucket[x]] = next[x];
+        }
+        if (next[x] != NONE) {
+            previous[next[x]] = previous[x];
+        }
+        bucket[x] = NONE;
+    }
+
+    /**
+     * Set the key of the given element and add it to the corresponding bucket.
+     */
+    private void place(int x, double key) {
+        keys[x] = key;
+        values[x] = Math.max(last, Math.round(key * scale));
+        link(x, getBucket(values[x]));
+    }
+
+    /**
+     * Ensure that bucket 0 is not empty by redistributing the first non-empty
+     * bucket if required.
+     */
+    private void refill() {
+        if (size == 0) {
+            throw new EmptyPriorityQueueException();
+        }
+        if (first[0] != NONE) {
+            return;
+        }
+        int b = 1;
+        while (first[b] == NONE) {
+            ++b;
+        }
+        long min = Long.MAX_VALUE;
+        for (int x = first[b]; x != NONE; x = next[x]) {
+            min = Math.min(min, values[x]);
+        }
+        last = min;
+        int x = first[b];
+        first[b] = NONE;
+        while (x != NONE) {
+            int following = next[x];
+            link(x, getBucket(values[x]));
+            x = following;
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int x) {
+        return bucket[x] != NONE;
+    }
+
+    @Override
+    public void insert(int x, double key) {
+        place(x, key);
+        ++size;
+    }
+
+    @Override
+    public void decreaseKey(int x, double key) throws ElementNotFoundException {
+        if (bucket[x] == NONE) {
+            throw new ElementNotFoundException(x);
+        }
+        unlink(x);
+        place(x, key);
+    }
+
+    @Override
+    public int findMin() throws EmptyPriorityQueueException {
+        refill();
+        return first[0];
+    }
+
+    @Override
+    public double getMinKey() throws EmptyPriorityQueueException {
+        return keys[findMin()];
+    }
+
+    @Override
+    public int deleteMin() throws EmptyPriorityQueueException {
+        int min = findMin();
+        unlink(min);
+        --size;
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        for (int b = 0; b < NB_BUCKETS; ++b) {
+            for (int x = first[b]; x != NONE; x = next[x]) {
+                bucket[x] = NONE;
+            }
+            first[b] = NONE;
+        }
+        last = 0;
+        size = 0;
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.insa.algo.utils;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Task that runs an action on each index of a range, splitting the range in
+ * halves until it contains at most a given number of indices.
+ *
+ */
+public class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    // Range [first, last) and maximum number of indices processed sequentially.
+    private final int first, last, grain;
+
+    // Action to run for each index.
+    private final IntConsumer action;
+
+    /**
+     * Create a new task for the given range.
+     *
+     * @param first First index of the range (inclusive).
+     * @param last Last index of the range (exclusive).
+     * @param grain Maximum number of indices processed sequentially.
+     * @param action Action to run for each index.
+     */
+    public RangeTask(int first, int last, int grain, IntConsumer action) {
+        this.first = first;
+        this.last = last;
+        this.grain = grain;
+        this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+        if (last - first <= grain) {
+            for (int i = first; i < last; ++i) {
+                action.accept(i);
+            }
+        }
+        else {
+            int middle = (first + last) >>> 1;
+            invokeAll(new RangeTask(first, middle, grain, action),
+                    new RangeTask(middle, last, grain, action));
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.insa.algo.weakconnectivity;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.utils.RangeTask;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+/**
+ * Parallel weakly-connected components algorithm based on a lock-free
+ * disjoint-set forest.
+ *
+ * The range of node IDs is split into chunks processed by a fork-join pool.
+ * Each arc merges the trees of its two nodes by hooking the root with the
+ * highest ID below the other one using a compare-and-set, and retrying if
+ * another thread has modified the root in the meantime. Since roots are only
+ * hooked below lower IDs, no cycle can be created and the root of each
+ * component is its lowest node ID whatever the order of the operations. Paths
+ * are halved during searches, also with compare-and-set.
+ *
+ * Components are ordered by their lowest node ID, and nodes are ordered by ID
+ * inside each component, so the solution is identical to the one of
+ * {@link UnionFindWeaklyConnectedComponentsAlgorithm}. Observers are notified
+ * once all the components have been computed.
+ *
+ */
+public class ParallelWeaklyConnectedComponentsAlgorithm
+        extends WeaklyConnectedComponentsAlgorithm {
+
+    // Number of nodes processed sequentially by a task.
+    private static final int CHUNK_SIZE = 1024;
+
+    // Pool running the tasks.
+    private final ForkJoinPool pool;
+
+    // Parent of each node (roots are their own parent).
+    private AtomicIntegerArray parent;
+
+    /**
+     * Create a new algorithm using the common fork-join pool.
+     *
+     * @param data Input data for this algorithm.
+     */
+    public ParallelWeaklyConnectedComponentsAlgorithm(WeaklyConnectedComponentsData data) {
+        this(data, null);
+    }
+
+    /**
+     * @param data Input data for this algorithm.
+     * @param pool Pool used to run the algorithm, or null to use the common
+     *        pool.
+     */
+    public ParallelWeaklyConnectedComponentsAlgorithm(WeaklyConnectedComponentsData data,
+            ForkJoinPool pool) {
+        super(data);
+        this.pool = pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    /**
+     * Find the root of the tree containing the given node, halving the path on
+     * the way.
+     *
+     * @param node ID of the node.
+     *
+     * @return ID of the root of the node.
+     */
+    private int find(int node) {
+        while (true) {
+            int p = parent.get(node);
+            if (p == node) {
+                return node;
+            }
+            int gp = parent.get(p);
+            if (p != gp) {
+                // Skip the parent, which may fail if another thread did it.
+                parent.compareAndSet(node, p, gp);
+            }
+            node = gp;
+        }
+    }
+
+    /**
+     * Merge the trees containing the two given nodes, hooking the root with the
+     * highest ID below the other one.
+     *
+     * @param a ID of the first node.
+     * @param b ID of the second node.
+     */
+    private void union(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return;
+            }
+            if (a < b) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            if (parent.compareAndSet(a, a, b)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected WeaklyConnectedComponentsSolution doRun() {
+        final Graph graph = getInputData().getGraph();
+        final CsrGraph csr = graph.getCsrGraph();
+        final int nbNodes = graph.size();
+
+        parent = new AtomicIntegerArray(nbNodes);
+        pool.invoke(new RangeTask(0, nbNodes, CHUNK_SIZE, node -> parent.set(node, node)));
+        pool.invoke(new RangeTask(0, nbNodes, CHUNK_SIZE, node -> {
+            for (int arc = csr.getFirstArc(node); arc < csr.getFirstArc(node + 1); ++arc) {
+                union(node, csr.getArcHead(arc));
+            }
+        }));
+
+        // Label each node with its root, i.e. the lowest ID of its component.
+        final int[] labels = new int[nbNodes];
+        pool.invoke(new RangeTask(0, nbNodes, CHUNK_SIZE, node -> labels[node] = find(node)));
+        parent = null;
+
+        // Roots come first in their component, so their label can be replaced by
+        // the index of the component.
+        ArrayList<ArrayList<Node>> components = new ArrayList<ArrayList<Node>>();
+        for (int i = 0; i < nbNodes; ++i) {
+            if (labels[i] == i) {
+                labels[i] = -(components.size() + 1);
+                components.add(new ArrayList<Node>());
+            }
+            int root = labels[i] < 0 ? i : labels[i];
+            components.get(-labels[root] - 1).add(graph.get(i));
+        }
+
+        notifyComponents(components);
+
+        return new WeaklyConnectedComponentsSolution(getInputData(), Status.OPTIMAL, components);
+    }
+
+}
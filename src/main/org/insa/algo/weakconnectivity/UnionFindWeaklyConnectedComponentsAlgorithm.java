@@ -0,0 +1,128 @@
+package org.insa.algo.weakconnectivity;
+
+import java.util.ArrayList;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+
+/**
+ * Weakly-connected components algorithm based on a disjoint-set forest (union
+ * by rank and path compression) built directly from the arcs of the graph.
+ *
+ * Unlike {@link WeaklyConnectedComponentsAlgorithm}, no undirected copy of the
+ * graph is created: the only structure allocated is an <code>int</code> array
+ * holding the parent of each node, where roots store their rank (and later the
+ * index of their component) as a negative value.
+ *
+ * Components are ordered by their lowest node ID, and nodes are ordered by ID
+ * inside each component. Observers are notified once all the components have
+ * been computed.
+ *
+ */
+public class UnionFindWeaklyConnectedComponentsAlgorithm
+        extends WeaklyConnectedComponentsAlgorithm {
+
+    // Value of parent for roots whose component has not been created yet.
+    private static final int NO_COMPONENT = Integer.MIN_VALUE;
+
+    // Parent of each node, or -(rank + 1) for roots.
+    private int[] parent;
+
+    /**
+     * @param data Input data for this algorithm.
+     */
+    public UnionFindWeaklyConnectedComponentsAlgorithm(WeaklyConnectedComponentsData data) {
+        super(data);
+    }
+
+    /**
+     * Find the root of the tree containing the given node, and attach all the
+     * nodes on the way directly to this root.
+     *
+     * @param node ID of the node.
+     *
+     * @return ID of the root of the node.
+     */
+    private int find(int node) {
+        int root = node;
+        while (parent[root] >= 0) {
+            root = parent[root];
+        }
+        while (node != root) {
+            int next = parent[node];
+            parent[node] = root;
+            node = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merge the trees containing the two given nodes, attaching the tree with
+     * the lowest rank to the other one.
+     *
+     * @param a ID of the first node.
+     * @param b ID of the second node.
+     */
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) {
+            return;
+        }
+        // Ranks are stored as -(rank + 1), so a greater value is a lower rank.
+        if (parent[a] > parent[b]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        if (parent[a] == parent[b]) {
+            --parent[a];
+        }
+        parent[b] = a;
+    }
+
+    @Override
+    protected WeaklyConnectedComponentsSolution doRun() {
+        Graph graph = getInputData().getGraph();
+        final int nbNodes = graph.size();
+
+        parent = new int[nbNodes];
+        for (int i = 0; i < nbNodes; ++i) {
+            parent[i] = -1;
+        }
+        for (Node node: graph) {
+            for (Arc arc: node) {
+                union(node.getId(), arc.getDestination().getId());
+            }
+        }
+
+        // Attach all nodes directly to their root. Ranks are no longer needed,
+        // so roots are then used to store the index of their component.
+        for (int i = 0; i < nbNodes; ++i) {
+            find(i);
+        }
+        for (int i = 0; i < nbNodes; ++i) {
+            if (parent[i] < 0) {
+                parent[i] = NO_COMPONENT;
+            }
+        }
+
+        ArrayList<ArrayList<Node>> components = new ArrayList<ArrayList<Node>>();
+        for (int i = 0; i < nbNodes; ++i) {
+            int root = parent[i] < 0 ? i : parent[i];
+            if (parent[root] == NO_COMPONENT) {
+                parent[root] = -(components.size() + 1);
+                components.add(new ArrayList<Node>());
+            }
+            components.get(-parent[root] - 1).add(graph.get(i));
+        }
+        parent = null;
+
+        notifyComponents(components);
+
+        return new WeaklyConnectedComponentsSolution(getInputData(), Status.OPTIMAL, components);
+    }
+
+}
@@ -66,6 +66,23 @@ public class WeaklyConnectedComponentsAlgorithm
         }
     }
 
+    /**
+     * Notify all observers of the given components, which have been computed
+     * without notifying them, as if they had been computed one at a time.
+     * 
+     * @param components Components to notify, with their first node as starting
+     *        node.
+     */
+    protected void notifyComponents(ArrayList<ArrayList<Node>> components) {
+        for (ArrayList<Node> component: components) {
+            notifyStartComponent(component.get(0));
+            for (Node node: component) {
+                notifyNewNodeInComponent(node);
+            }
+            notifyEndComponent(component);
+        }
+    }
+
     /**
      * @return An adjacency list for the undirected graph equivalent to the stored
      *         graph.
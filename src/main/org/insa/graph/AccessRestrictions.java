@@ -1,5 +1,6 @@
 package org.insa.graph;
 
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.EnumSet;
 
@@ -9,6 +10,11 @@ import java.util.EnumSet;
  * This class maps transport modes to their restriction and provide interface
  * based on EnumSet to query restrictions.
  * 
+ * Restrictions are packed in a single long value, using the layout of binary
+ * map files: 4 bits per mode, each holding the code of the restriction for this
+ * mode (see {@link #AccessRestrictions(long)}). Queries only extract and compare
+ * these bits, and never allocate.
+ * 
  * To each transport is associated at most one restriction per road (no
  * restriction corresponds to {@link AccessRestriction#UNKNOWN} but a road can
  * have different restrictions for different modes.
@@ -65,17 +71,52 @@ public class AccessRestrictions {
 
     }
 
-    // Map mode -> restriction
-    private final EnumMap<AccessMode, AccessRestriction> restrictions;
+    // Position of the 4-bit code of each mode (indexed by the ordinal of the mode)
+    // in the packed value.
+    private static final int[] SHIFTS = { 0, 4, 8, 12, 16, 20, 24, 28 };
+
+    // Restriction corresponding to each code, all codes above 6 being unknown.
+    private static final AccessRestriction[] RESTRICTIONS = new AccessRestriction[16];
+
+    // Code of each restriction (indexed by the ordinal of the restriction).
+    private static final int[] CODES = new int[AccessRestriction.values().length];
+
+    // Code used for unknown restrictions.
+    private static final int UNKNOWN_CODE = 0xf;
+
+    // Packed value with unknown restrictions for all modes.
+    private static final long ALL_UNKNOWN;
+
+    static {
+        // The order of values inside this array is VERY IMPORTANT: it corresponds to
+        // the codes used in binary map files (i.e. FORBIDDEN is 0, PRIVATE is 2).
+        final AccessRestriction[] restrictions = new AccessRestriction[] {
+                AccessRestriction.FORBIDDEN, AccessRestriction.ALLOWED, AccessRestriction.PRIVATE,
+                AccessRestriction.DESTINATION, AccessRestriction.DELIVERY,
+                AccessRestriction.CUSTOMERS, AccessRestriction.FORESTRY };
+        Arrays.fill(RESTRICTIONS, AccessRestriction.UNKNOWN);
+        for (int code = 0; code < restrictions.length; ++code) {
+            RESTRICTIONS[code] = restrictions[code];
+            CODES[restrictions[code].ordinal()] = code;
+        }
+        CODES[AccessRestriction.UNKNOWN.ordinal()] = UNKNOWN_CODE;
+
+        long allUnknown = 0;
+        for (int shift: SHIFTS) {
+            allUnknown |= (long) UNKNOWN_CODE << shift;
+        }
+        ALL_UNKNOWN = allUnknown;
+    }
+
+    // Packed restrictions, with UNKNOWN_CODE for unknown restrictions and 0 in
+    // higher bits.
+    private final long access;
 
     /**
      * Create new AccessRestrictions instances with unknown restrictions.
      */
     public AccessRestrictions() {
-        this.restrictions = new EnumMap<>(AccessMode.class);
-        for (AccessMode mode: AccessMode.values()) {
-            this.restrictions.put(mode, AccessRestriction.UNKNOWN);
-        }
+        this.access = ALL_UNKNOWN;
     }
 
     /**
@@ -85,7 +126,43 @@ public class AccessRestrictions {
      * AccessRestrictions.
      */
     public AccessRestrictions(EnumMap<AccessMode, AccessRestriction> restrictions) {
-        this.restrictions = restrictions;
+        long access = 0;
+        for (AccessMode mode: AccessMode.values()) {
+            AccessRestriction restriction = restrictions.get(mode);
+            access |= (long) (restriction == null ? UNKNOWN_CODE : CODES[restriction.ordinal()])
+                    << SHIFTS[mode.ordinal()];
+        }
+        this.access = access;
+    }
+
+    /**
+     * Create a new AccessRestrictions instances from the given packed value, as
+     * stored in binary map files.
+     * 
+     * The value contains a 4-bit code for each mode: from the lowest bits, FOOT,
+     * BICYCLE, SMALL_MOTORCYCLE, AGRICULTURAL, MOTORCYCLE, MOTORCAR, HEAVY_GOODS
+     * and PUBLIC_TRANSPORT (higher bits are ignored). Codes 0 to 6 correspond to
+     * FORBIDDEN, ALLOWED, PRIVATE, DESTINATION, DELIVERY, CUSTOMERS and FORESTRY,
+     * other codes to UNKNOWN. See
+     * https://github.com/Holt59/OSM2Graph/blob/master/src/main/org/laas/osm2graph/model/AccessData.java
+     * for more information.
+     * 
+     * @param access Packed restrictions.
+     */
+    public AccessRestrictions(long access) {
+        long normalized = 0;
+        for (int shift: SHIFTS) {
+            int code = (int) (access >>> shift) & 0xf;
+            normalized |= (long) CODES[RESTRICTIONS[code].ordinal()] << shift;
+        }
+        this.access = normalized;
+    }
+
+    /**
+     * @return Code of the restriction of the given mode.
+     */
+    private int getCode(AccessMode mode) {
+        return (int) (access >>> SHIFTS[mode.ordinal()]) & 0xf;
     }
 
     /**
@@ -96,7 +173,7 @@ public class AccessRestrictions {
      * @return Restriction for the given mode.
      */
     public AccessRestriction getRestrictionFor(AccessMode mode) {
-        return restrictions.getOrDefault(mode, AccessRestriction.UNKNOWN);
+        return RESTRICTIONS[getCode(mode)];
     }
 
     /**
@@ -110,7 +187,7 @@ public class AccessRestrictions {
      * restrictions.
      */
     public boolean isAllowedForAny(AccessMode mode, EnumSet<AccessRestriction> restrictions) {
-        return restrictions.contains(getRestrictionFor(mode));
+        return restrictions.contains(RESTRICTIONS[getCode(mode)]);
     }
 
     /**
@@ -124,7 +201,7 @@ public class AccessRestrictions {
      * restriction.
      */
     public boolean isAllowedFor(AccessMode mode, AccessRestriction restriction) {
-        return getRestrictionFor(mode).equals(restriction);
+        return getCode(mode) == CODES[restriction.ordinal()];
     }
 
     /**
@@ -139,10 +216,27 @@ public class AccessRestrictions {
      */
     public boolean areAllAllowedForAny(EnumSet<AccessMode> modes,
             EnumSet<AccessRestriction> restrictions) {
-        boolean allowed = true;
         for (AccessMode mode: modes) {
-            allowed = allowed && isAllowedForAny(mode, restrictions);
+            if (!isAllowedForAny(mode, restrictions)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(access);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AccessRestrictions)) {
+            return false;
         }
-        return allowed;
+        return access == ((AccessRestrictions) other).access;
     }
 }
@@ -25,6 +25,13 @@ class ArcBackward extends Arc {
         this.originalArc = originalArc;
     }
 
+    /**
+     * @return The arc this arc is the reverse of.
+     */
+    Arc getOriginalArc() {
+        return this.originalArc;
+    }
+
     @Override
     public Node getOrigin() {
         return this.originalArc.getDestination();
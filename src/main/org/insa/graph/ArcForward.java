@@ -62,6 +62,9 @@ class ArcForward extends Arc {
 
     @Override
     public List<Point> getPoints() {
+        if (points instanceof EncodedPoints) {
+            return ((EncodedPoints) points).decode();
+        }
         return Collections.unmodifiableList(points);
     }
 
@@ -0,0 +1,265 @@
+package org.insa.graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Geometry of the arcs of a {@link CsrGraph}.
+ *
+ * A {@link CsrGraph} only holds routing data. This class holds the remaining
+ * information required to rebuild the corresponding {@link Graph}:
+ * <ul>
+ * <li>the points of each arc, stored in flat arrays: the points of arc
+ * <code>a</code> are the points with indices in
+ * <code>[getFirstPoint(a), getFirstPoint(a + 1))</code>;</li>
+ * <li>for each arc of a two-way road that is the reverse of another arc, the
+ * ID of this other arc. Such arcs share the geometry of the arc they reverse
+ * and have no points of their own.</li>
+ * </ul>
+ *
+ */
+public final class CsrGeometry {
+
+    /**
+     * Value used in place of an arc ID for arcs that are not the reverse of
+     * another arc.
+     */
+    public static final int NO_ARC = -1;
+
+    /**
+     * Extract the geometry of the given graph. Arcs are indexed as in the CSR
+     * representation of the graph (see {@link Graph#getCsrGraph()}).
+     *
+     * Complexity: O(n + m + number of points).
+     *
+     * @param graph Graph to extract the geometry from.
+     *
+     * @return A new geometry for the arcs of the given graph.
+     */
+    public static CsrGeometry fromGraph(Graph graph) {
+        final int nbArcs = graph.getCsrGraph().getArcCount();
+
+        // Arc -> ID.
+        IdentityHashMap<Arc, Integer> arcIds = new IdentityHashMap<>(nbArcs);
+        for (Node node: graph) {
+            for (Arc arc: node) {
+                arcIds.put(arc, arcIds.size());
+            }
+        }
+
+        int[] reverseOf = new int[nbArcs];
+        int[] firstPoint = new int[nbArcs + 1];
+        ArrayList<Point> points = new ArrayList<>();
+        int arcId = 0;
+        for (Node node: graph) {
+            for (Arc arc: node) {
+                Integer original = null;
+                if (arc instanceof ArcBackward) {
+                    original = arcIds.get(((ArcBackward) arc).getOriginalArc());
+                }
+                firstPoint[arcId] = points.size();
+                if (original == null) {
+                    // Arcs whose original arc is not in the graph (e.g. in a
+                    // transpose graph) get their own geometry.
+                    reverseOf[arcId] = NO_ARC;
+                    points.addAll(arc.getPoints());
+                }
+                else {
+                    reverseOf[arcId] = original;
+                }
+                ++arcId;
+            }
+        }
+        firstPoint[nbArcs] = points.size();
+
+        float[] longitudes = new float[points.size()], latitudes = new float[points.size()];
+        for (int i = 0; i < longitudes.length; ++i) {
+            longitudes[i] = points.get(i).getLongitude();
+            latitudes[i] = points.get(i).getLatitude();
+        }
+
+        return new CsrGeometry(reverseOf, firstPoint, longitudes, latitudes);
+    }
+
+    // For each arc, ID of the arc it is the reverse of, or NO_ARC.
+    private final int[] reverseOf;
+
+    // Index of the first point of each arc (size is number of arcs + 1).
+    private final int[] firstPoint;
+
+    // Position of the points.
+    private final float[] longitudes, latitudes;
+
+    /**
+     * Create a new geometry using the given arrays. The arrays are not copied and
+     * must not be modified afterwards.
+     *
+     * @param reverseOf For each arc, ID of the arc it is the reverse of, or
+     *        {@link #NO_ARC}.
+     * @param firstPoint Index of the first point of each arc, with an extra last
+     *        value equal to the number of points.
+     * @param longitudes Longitude of each point.
+     * @param latitudes Latitude of each point.
+     */
+    public CsrGeometry(int[] reverseOf, int[] firstPoint, float[] longitudes,
+            float[] latitudes) {
+        if (firstPoint.length != reverseOf.length + 1) {
+            throw new IllegalArgumentException("Inconsistent number of arcs.");
+        }
+        if (longitudes.length != firstPoint[reverseOf.length]
+                || latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Inconsistent number of points.");
+        }
+        this.reverseOf = reverseOf;
+        this.firstPoint = firstPoint;
+        this.longitudes = longitudes;
+        this.latitudes = latitudes;
+    }
+
+    /**
+     * @return Number of arcs.
+     */
+    public int getArcCount() {
+        return reverseOf.length;
+    }
+
+    /**
+     * @return Total number of points.
+     */
+    public int getPointCount() {
+        return longitudes.length;
+    }
+
+    /**
+     * @param arc ID of the arc.
+     *
+     * @return ID of the arc the given arc is the reverse of, or {@link #NO_ARC}.
+     */
+    public int getReverseOf(int arc) {
+        return reverseOf[arc];
+    }
+
+    /**
+     * Retrieve the index of the first point of the given arc. This method accepts
+     * <code>arc == getArcCount()</code>.
+     *
+     * @param arc ID of the arc.
+     *
+     * @return Index of the first point of the arc.
+     */
+    public int getFirstPoint(int arc) {
+        return firstPoint[arc];
+    }
+
+    /**
+     * @param point Index of the point.
+     *
+     * @return Longitude of the point (in degrees).
+     */
+    public float getLongitude(int point) {
+        return longitudes[point];
+    }
+
+    /**
+     * @param point Index of the point.
+     *
+     * @return Latitude of the point (in degrees).
+     */
+    public float getLatitude(int point) {
+        return latitudes[point];
+    }
+
+    /**
+     * Rebuild the graph corresponding to the given CSR graph and this geometry.
+     * The CSR graph is attached to the returned graph, so that
+     * {@link Graph#getCsrGraph()} does not need to compute it.
+     *
+     * The points of the arcs are not created: arcs of the returned graph read
+     * them from this geometry when {@link Arc#getPoints()} is called.
+     *
+     * @param csr CSR graph whose arcs are described by this geometry.
+     *
+     * @return A new graph with the nodes and arcs of the given CSR graph.
+     *
+     * @throws IllegalArgumentException if this geometry does not match the given
+     *         CSR graph.
+     */
+    public Graph toGraph(CsrGraph csr) {
+        final int nbNodes = csr.size(), nbArcs = csr.getArcCount();
+        if (nbArcs != getArcCount()) {
+            throw new IllegalArgumentException("Inconsistent number of arcs.");
+        }
+
+        ArrayList<Node> nodes = new ArrayList<>(nbNodes);
+        for (int node = 0; node < nbNodes; ++node) {
+            float longitude = csr.getLongitude(node), latitude = csr.getLatitude(node);
+            nodes.add(new Node(node, Float.isNaN(longitude) || Float.isNaN(latitude) ? null
+                    : new Point(longitude, latitude)));
+        }
+
+        // Create forward arcs first since reverse arcs wrap them.
+        Arc[] arcs = new Arc[nbArcs];
+        for (Node origin: nodes) {
+            for (int arc = csr.getFirstArc(origin.getId()), lastArc = csr
+                    .getFirstArc(origin.getId() + 1); arc < lastArc; ++arc) {
+                if (reverseOf[arc] != NO_ARC) {
+                    continue;
+                }
+                arcs[arc] = new ArcForward(origin, nodes.get(csr.getArcHead(arc)),
+                        csr.getArcLength(arc), csr.getRoadInformation(arc),
+                        new ArcPoints(firstPoint[arc], firstPoint[arc + 1]));
+            }
+        }
+        for (int arc = 0; arc < nbArcs; ++arc) {
+            if (reverseOf[arc] != NO_ARC) {
+                if (!(arcs[reverseOf[arc]] instanceof ArcForward)) {
+                    throw new IllegalArgumentException("Arc " + arc
+                            + " is the reverse of an arc that is itself a reverse arc.");
+                }
+                arcs[arc] = new ArcBackward(arcs[reverseOf[arc]]);
+            }
+        }
+
+        // Add successors in CSR order.
+        for (Node node: nodes) {
+            for (int arc = csr.getFirstArc(node.getId()), lastArc = csr
+                    .getFirstArc(node.getId() + 1); arc < lastArc; ++arc) {
+                node.addSuccessor(arcs[arc]);
+            }
+        }
+
+        return new Graph(csr.getMapId(), csr.getMapName(), nodes, csr.getGraphInformation(),
+                csr);
+    }
+
+    /**
+     * Read-only list of the points of an arc, read from the arrays of the
+     * geometry. Points are created on each access.
+     */
+    private final class ArcPoints extends AbstractList<Point> {
+
+        // Indices of the points of the arc, [first, last).
+        private final int first, last;
+
+        private ArcPoints(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        public Point get(int index) {
+            if (index < 0 || index >= last - first) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return new Point(longitudes[first + index], latitudes[first + index]);
+        }
+
+        @Override
+        public int size() {
+            return last - first;
+        }
+
+    }
+
+}
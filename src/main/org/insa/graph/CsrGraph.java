@@ -0,0 +1,586 @@
+package org.insa.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Compressed-sparse-row (CSR) representation of a graph.
+ *
+ * This class holds the same routing data as a {@link Graph} but stores it in
+ * flat primitive arrays instead of {@link Node} and {@link Arc} objects:
+ * <ul>
+ * <li>the arcs leaving node <code>n</code> are the arcs with IDs in
+ * <code>[getFirstArc(n), getFirstArc(n + 1))</code>;</li>
+ * <li>for each arc, the head (destination) node, the length and the index of
+ * the road information (descriptor) are stored in parallel arrays.</li>
+ * </ul>
+ *
+ * Arcs of a node are stored in the same order as the successors of the
+ * corresponding node in the {@link Graph} (when the CSR graph is created from
+ * a graph using {@link #fromGraph(Graph)}, or when both are read from the same
+ * file), so the arc with ID <code>getFirstArc(n) + k</code> corresponds to the
+ * k-th successor of node <code>n</code>.
+ *
+ * Road geometry (segments) is not stored in this representation, use the
+ * corresponding {@link Graph} when geometry is required.
+ *
+ */
+public final class CsrGraph {
+
+    /**
+     * Create a CSR graph mirroring the given graph.
+     *
+     * Road information instances shared by multiple arcs in the graph are
+     * stored only once in the CSR graph.
+     *
+     * Complexity: O(n + m).
+     *
+     * @param graph Graph to convert.
+     *
+     * @return A new CSR graph with the same nodes and arcs as the given graph.
+     */
+    public static CsrGraph fromGraph(Graph graph) {
+        final int nbNodes = graph.size();
+
+        int nbArcs = 0;
+        for (Node node: graph) {
+            nbArcs += node.getNumberOfSuccessors();
+        }
+
+        float[] longitudes = new float[nbNodes], latitudes = new float[nbNodes];
+        int[] firstArc = new int[nbNodes + 1];
+        int[] arcHead = new int[nbArcs];
+        float[] arcLength = new float[nbArcs];
+        int[] arcDescriptor = new int[nbArcs];
+
+        IdentityHashMap<RoadInformation, Integer> descriptorIds = new IdentityHashMap<>();
+        List<RoadInformation> descriptors = new ArrayList<>();
+
+        int arc = 0;
+        for (Node node: graph) {
+            final int id = node.getId();
+            Point point = node.getPoint();
+            longitudes[id] = point == null ? Float.NaN : point.getLongitude();
+            latitudes[id] = point == null ? Float.NaN : point.getLatitude();
+            firstArc[id] = arc;
+            for (Arc successor: node) {
+                Integer descriptor = descriptorIds.get(successor.getRoadInformation());
+                if (descriptor == null) {
+                    descriptor = descriptors.size();
+                    descriptorIds.put(successor.getRoadInformation(), descriptor);
+                    descriptors.add(successor.getRoadInformation());
+                }
+                arcHead[arc] = successor.getDestination().getId();
+                arcLength[arc] = successor.getLength();
+                arcDescriptor[arc] = descriptor;
+                ++arc;
+            }
+        }
+        firstArc[nbNodes] = arc;
+
+        return new CsrGraph(graph.getMapId(), graph.getMapName(), longitudes, latitudes,
+                firstArc, arcHead, arcLength, arcDescriptor,
+                descriptors.toArray(new RoadInformation[descriptors.size()]),
+                graph.getGraphInformation());
+    }
+
+    // Initial value of fingerprints (64-bit FNV offset basis).
+    private static final long FINGERPRINT_BASIS = 0xcbf29ce484222325L;
+
+    // Map identifier and name.
+    private final String mapId, mapName;
+
+    // Position of the nodes (indexed by node ID).
+    private final float[] longitudes, latitudes;
+
+    // Index of the first arc of each node (size is number of nodes + 1).
+    private final int[] firstArc;
+
+    // Head node, length (in meters) and descriptor of each arc (indexed by arc
+    // ID).
+    private final int[] arcHead;
+    private final float[] arcLength;
+    private final int[] arcDescriptor;
+
+    // Distinct road information of this graph.
+    private final RoadInformation[] descriptors;
+
+    // Graph information of this graph.
+    private final GraphStatistics graphStatistics;
+
+    // Incoming arcs of the nodes (lazily created).
+    private IncomingArcs incomingArcs;
+
+    /**
+     * Create a new CSR graph using the given arrays. The arrays are not copied
+     * and must not be modified afterwards.
+     *
+     * @param mapId ID of the map corresponding to this graph.
+     * @param mapName Name of the map corresponding to this graph.
+     * @param longitudes Longitude of each node.
+     * @param latitudes Latitude of each node.
+     * @param firstArc Index of the first arc of each node, with an extra last
+     *        value equal to the number of arcs.
+     * @param arcHead Destination node of each arc.
+     * @param arcLength Length of each arc (in meters).
+     * @param arcDescriptor Index of the road information of each arc in
+     *        descriptors.
+     * @param descriptors Road information referenced by arcDescriptor.
+     * @param graphStatistics Information for this graph.
+     */
+    public CsrGraph(String mapId, String mapName, float[] longitudes, float[] latitudes,
+            int[] firstArc, int[] arcHead, float[] arcLength, int[] arcDescriptor,
+            RoadInformation[] descriptors, GraphStatistics graphStatistics) {
+        if (firstArc.length != longitudes.length + 1 || latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Inconsistent number of nodes.");
+        }
+        final int nbArcs = firstArc[longitudes.length];
+        if (arcHead.length != nbArcs || arcLength.length != nbArcs
+                || arcDescriptor.length != nbArcs) {
+            throw new IllegalArgumentException("Inconsistent number of arcs.");
+        }
+        this.mapId = mapId;
+        this.mapName = mapName;
+        this.longitudes = longitudes;
+        this.latitudes = latitudes;
+        this.firstArc = firstArc;
+        this.arcHead = arcHead;
+        this.arcLength = arcLength;
+        this.arcDescriptor = arcDescriptor;
+        this.descriptors = descriptors;
+        this.graphStatistics = graphStatistics;
+    }
+
+    /**
+     * @return ID of the map associated with this graph.
+     */
+    public String getMapId() {
+        return mapId;
+    }
+
+    /**
+     * @return Name of the map associated with this graph.
+     */
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * @return The GraphStatistics instance associated with this graph.
+     */
+    public GraphStatistics getGraphInformation() {
+        return graphStatistics;
+    }
+
+    /**
+     * @return Number of nodes in this graph.
+     */
+    public int size() {
+        return longitudes.length;
+    }
+
+    /**
+     * @return Number of arcs in this graph.
+     */
+    public int getArcCount() {
+        return arcHead.length;
+    }
+
+    /**
+     * Retrieve the ID of the first arc leaving the given node. The arcs leaving
+     * node <code>node</code> have IDs from <code>getFirstArc(node)</code>
+     * (inclusive) to <code>getFirstArc(node + 1)</code> (exclusive), so this
+     * method accepts <code>node == size()</code>.
+     *
+     * @param node ID of the node.
+     *
+     * @return ID of the first arc leaving the given node.
+     */
+    public int getFirstArc(int node) {
+        return firstArc[node];
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return Number of arcs leaving the given node.
+     */
+    public int getNumberOfSuccessors(int node) {
+        return firstArc[node + 1] - firstArc[node];
+    }
+
+    /**
+     * Find the origin (tail) of the given arc.
+     *
+     * Complexity: O(log n).
+     *
+     * @param arc ID of the arc.
+     *
+     * @return ID of the origin node of the arc.
+     */
+    public int getArcTail(int arc) {
+        // Find the last node whose first arc is lower or equal to arc, skipping
+        // nodes without successors.
+        int index = Arrays.binarySearch(firstArc, arc);
+        if (index < 0) {
+            return -index - 2;
+        }
+        while (index + 1 < firstArc.length && firstArc[index + 1] == arc) {
+            ++index;
+        }
+        return index;
+    }
+
+    /**
+     * @param arc ID of the arc.
+     *
+     * @return ID of the destination (head) node of the arc.
+     */
+    public int getArcHead(int arc) {
+        return arcHead[arc];
+    }
+
+    /**
+     * @param arc ID of the arc.
+     *
+     * @return Length of the arc, in meters.
+     */
+    public float getArcLength(int arc) {
+        return arcLength[arc];
+    }
+
+    /**
+     * @param arc ID of the arc.
+     *
+     * @return Index of the road information of the arc.
+     *
+     * @see #getDescriptor(int)
+     */
+    public int getArcDescriptor(int arc) {
+        return arcDescriptor[arc];
+    }
+
+    /**
+     * @param arc ID of the arc.
+     *
+     * @return Road information of the arc.
+     */
+    public RoadInformation getRoadInformation(int arc) {
+        return descriptors[arcDescriptor[arc]];
+    }
+
+    /**
+     * @return Number of distinct road information in this graph.
+     */
+    public int getDescriptorCount() {
+        return descriptors.length;
+    }
+
+    /**
+     * @param descriptor Index of the road information.
+     *
+     * @return Road information with the given index.
+     */
+    public RoadInformation getDescriptor(int descriptor) {
+        return descriptors[descriptor];
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return Longitude of the node (in degrees).
+     */
+    public float getLongitude(int node) {
+        return longitudes[node];
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return Latitude of the node (in degrees).
+     */
+    public float getLatitude(int node) {
+        return latitudes[node];
+    }
+
+    /**
+     * @param node ID of the node.
+     *
+     * @return A new point corresponding to the position of the given node.
+     */
+    public Point getPoint(int node) {
+        return new Point(longitudes[node], latitudes[node]);
+    }
+
+    /**
+     * Compute a fingerprint of the arcs of this graph: their origin, head,
+     * length and road information. Data computed for a graph and stored in a
+     * file (e.g. preprocessing of an algorithm) can use this fingerprint to
+     * check that it is loaded for the same graph, since map ID and number of
+     * nodes are not enough to detect an updated map or a renumbered graph.
+     *
+     * The fingerprint only depends on the content of the arrays (not on hash
+     * codes of objects), so it is the same for all the graphs read from the same
+     * file with the same node numbering.
+     *
+     * Complexity: O(n + m).
+     *
+     * @return Fingerprint of the arcs of this graph.
+     */
+    public long getFingerprint() {
+        final long[] descriptorFingerprints = new long[descriptors.length];
+        for (int i = 0; i < descriptors.length; ++i) {
+            final RoadInformation info = descriptors[i];
+            long fingerprint = mix(FINGERPRINT_BASIS, info.getType().ordinal());
+            fingerprint = mix(fingerprint, info.isOneWay() ? 1 : 0);
+            fingerprint = mix(fingerprint, info.getMaximumSpeed());
+            if (info.getAccessRestrictions() != null) {
+                for (AccessRestrictions.AccessMode mode: AccessRestrictions.AccessMode.values()) {
+                    fingerprint = mix(fingerprint,
+                            info.getAccessRestrictions().getRestrictionFor(mode).ordinal());
+                }
+            }
+            descriptorFingerprints[i] = mix(fingerprint,
+                    info.getName() == null ? 0 : info.getName().hashCode());
+        }
+
+        long fingerprint = mix(mix(FINGERPRINT_BASIS, size()), getArcCount());
+        for (int node = 0; node <= size(); ++node) {
+            fingerprint = mix(fingerprint, firstArc[node]);
+        }
+        for (int arc = 0; arc < arcHead.length; ++arc) {
+            fingerprint = mix(fingerprint, arcHead[arc]);
+            fingerprint = mix(fingerprint, Float.floatToIntBits(arcLength[arc]));
+            fingerprint = mix(fingerprint, descriptorFingerprints[arcDescriptor[arc]]);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @return Fingerprint combining the given fingerprint and value (FNV-1a step
+     *         on the whole value, with an extra shift to mix high bits).
+     */
+    private static long mix(long fingerprint, long value) {
+        final long hash = (fingerprint ^ value) * 0x100000001b3L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Retrieve the incoming arcs of the nodes of this graph, i.e. the reverse
+     * adjacency of this graph. The incoming arcs are created on the first call
+     * and cached for subsequent calls.
+     *
+     * Complexity: O(n + m) for the first call, O(1) afterwards.
+     *
+     * @return Incoming arcs of the nodes of this graph.
+     */
+    public synchronized IncomingArcs getIncomingArcs() {
+        if (this.incomingArcs == null) {
+            this.incomingArcs = new IncomingArcs();
+        }
+        return this.incomingArcs;
+    }
+
+    /**
+     * Reverse adjacency of a {@link CsrGraph}.
+     *
+     * The arcs entering node <code>n</code> are stored at indices in
+     * <code>[getFirst(n), getFirst(n + 1))</code>. For each index, the ID of the
+     * corresponding arc (in the {@link CsrGraph}) and its origin are stored, so
+     * that the original arcs can be inspected, e.g. using an
+     * {@link ArcView}.
+     *
+     */
+    public final class IncomingArcs {
+
+        // Index of the first incoming arc of each node (size is number of nodes
+        // + 1).
+        private final int[] first;
+
+        // ID and origin of each incoming arc.
+        private final int[] arcs, tails;
+
+        private IncomingArcs() {
+            final int nbNodes = size(), nbArcs = getArcCount();
+            first = new int[nbNodes + 1];
+            arcs = new int[nbArcs];
+            tails = new int[nbArcs];
+
+            // Count incoming arcs, then compute positions.
+            for (int arc = 0; arc < nbArcs; ++arc) {
+                ++first[arcHead[arc] + 1];
+            }
+            for (int node = 0; node < nbNodes; ++node) {
+                first[node + 1] += first[node];
+            }
+
+            int[] next = Arrays.copyOf(first, nbNodes);
+            for (int tail = 0; tail < nbNodes; ++tail) {
+                for (int arc = firstArc[tail]; arc < firstArc[tail + 1]; ++arc) {
+                    int index = next[arcHead[arc]]++;
+                    arcs[index] = arc;
+                    tails[index] = tail;
+                }
+            }
+        }
+
+        /**
+         * Retrieve the index of the first arc entering the given node. This
+         * method accepts <code>node == size()</code>.
+         *
+         * @param node ID of the node.
+         *
+         * @return Index of the first arc entering the given node.
+         */
+        public int getFirst(int node) {
+            return first[node];
+        }
+
+        /**
+         * @param index Index of the incoming arc.
+         *
+         * @return ID of the incoming arc in the CSR graph.
+         */
+        public int getArc(int index) {
+            return arcs[index];
+        }
+
+        /**
+         * @param index Index of the incoming arc.
+         *
+         * @return ID of the origin (tail) of the incoming arc.
+         */
+        public int getTail(int index) {
+            return tails[index];
+        }
+
+    }
+
+    /**
+     * Create a new arc view for this graph. An arc view is an {@link Arc} whose
+     * attributes are read from this graph and that can be moved from one arc to
+     * another, so that algorithms relying on {@link Arc} instances (e.g. arc
+     * inspectors) can be applied on a CSR graph without creating an object for
+     * each arc.
+     *
+     * The origin and destination of the returned view are new detached nodes
+     * (without successors), use {@link #createArcView(Graph)} when the arcs are
+     * inspected by code that may compare nodes or read their successors.
+     *
+     * @return A new arc view, initially positioned on the first arc.
+     */
+    public ArcView createArcView() {
+        return new ArcView(null);
+    }
+
+    /**
+     * Create a new arc view for this graph whose origin and destination are the
+     * nodes of the given graph.
+     *
+     * @param graph Graph represented by this CSR graph.
+     *
+     * @return A new arc view, initially positioned on the first arc.
+     *
+     * @throws IllegalArgumentException if the given graph does not have the same
+     *         number of nodes as this graph.
+     *
+     * @see #createArcView()
+     */
+    public ArcView createArcView(Graph graph) {
+        if (graph.size() != size()) {
+            throw new IllegalArgumentException("Graph does not match this CSR graph.");
+        }
+        return new ArcView(graph);
+    }
+
+    /**
+     * Mutable view of a single arc of a {@link CsrGraph}.
+     *
+     * Views are not thread-safe, each thread should create its own view using
+     * {@link CsrGraph#createArcView()}.
+     *
+     */
+    public final class ArcView extends Arc {
+
+        // Graph whose nodes are returned, or null for detached nodes.
+        private final Graph graph;
+
+        // Current arc.
+        private int arc;
+
+        private ArcView(Graph graph) {
+            this.graph = graph;
+            this.arc = 0;
+        }
+
+        /**
+         * Move this view to the given arc.
+         *
+         * @param arc ID of the arc.
+         *
+         * @return This view.
+         */
+        public ArcView moveTo(int arc) {
+            this.arc = arc;
+            return this;
+        }
+
+        /**
+         * @return ID of the arc this view is positioned on.
+         */
+        public int getId() {
+            return arc;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * If this view was not created for a {@link Graph}, the returned node is
+         * a new detached node (without successors), use
+         * {@link CsrGraph#getArcTail(int)} to retrieve the ID of the origin.
+         */
+        @Override
+        public Node getOrigin() {
+            int tail = getArcTail(arc);
+            return graph != null ? graph.get(tail) : new Node(tail, getPoint(tail));
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * If this view was not created for a {@link Graph}, the returned node is
+         * a new detached node (without successors), use
+         * {@link CsrGraph#getArcHead(int)} to retrieve the ID of the destination.
+         */
+        @Override
+        public Node getDestination() {
+            int head = arcHead[arc];
+            return graph != null ? graph.get(head) : new Node(head, getPoint(head));
+        }
+
+        @Override
+        public float getLength() {
+            return arcLength[arc];
+        }
+
+        @Override
+        public RoadInformation getRoadInformation() {
+            return descriptors[arcDescriptor[arc]];
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * Since CSR graphs do not store road geometry, the returned list only
+         * contains the position of the origin and the destination of the arc.
+         */
+        @Override
+        public List<Point> getPoints() {
+            return Arrays.asList(getPoint(getArcTail(arc)), getPoint(arcHead[arc]));
+        }
+
+    }
+
+}
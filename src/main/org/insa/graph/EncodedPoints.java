@@ -0,0 +1,123 @@
+package org.insa.graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * List of points of an arc kept in the encoded form of the binary graph files,
+ * i.e. as the position of the two extremities and a sequence of
+ * (longitude, latitude) deltas, and only decoded when needed.
+ *
+ * The deltas are read from a shared <code>short</code> array, so an instance
+ * only holds a reference to this array and a few fields, instead of a list of
+ * {@link Point}. Decoded points are never cached: each call to
+ * {@link #decode()} creates new points.
+ *
+ * Accessing the list by index decodes all the points before the requested
+ * one. Use {@link #decode()} or iterate over the list when multiple points are
+ * needed.
+ *
+ */
+public final class EncodedPoints extends AbstractList<Point> {
+
+    // Scale of the deltas (number of units per degree).
+    private static final float DELTA_SCALE = 2.0e5f;
+
+    // First and last points (before reversal).
+    private final Point first, last;
+
+    // Deltas (longitude, latitude) between consecutive points, starting at
+    // offset.
+    private final short[] deltas;
+    private final int offset;
+
+    // Number of intermediate points.
+    private final int count;
+
+    // true if this list is reversed.
+    private final boolean reversed;
+
+    /**
+     * Create a new list of encoded points.
+     *
+     * The array is not copied and must not be modified afterwards.
+     *
+     * @param first First point of the list.
+     * @param last Last point of the list.
+     * @param deltas Array containing the deltas between consecutive points, as
+     *        (longitude, latitude) pairs expressed in 1/200000 of degrees.
+     * @param offset Index of the first delta in the array.
+     * @param count Number of intermediate points, i.e. number of delta pairs.
+     */
+    public EncodedPoints(Point first, Point last, short[] deltas, int offset, int count) {
+        this(first, last, deltas, offset, count, false);
+    }
+
+    private EncodedPoints(Point first, Point last, short[] deltas, int offset, int count,
+            boolean reversed) {
+        this.first = first;
+        this.last = last;
+        this.deltas = deltas;
+        this.offset = offset;
+        this.count = count;
+        this.reversed = reversed;
+    }
+
+    /**
+     * @return A view of this list in reverse order.
+     */
+    public EncodedPoints reverse() {
+        return new EncodedPoints(first, last, deltas, offset, count, !reversed);
+    }
+
+    /**
+     * Decode the points of this list.
+     *
+     * @return A new unmodifiable list containing the decoded points.
+     */
+    public List<Point> decode() {
+        ArrayList<Point> points = new ArrayList<>(count + 2);
+        Point lastPoint = first;
+        points.add(lastPoint);
+        for (int i = offset, end = offset + 2 * count; i < end; i += 2) {
+            float dlon = deltas[i] / DELTA_SCALE;
+            float dlat = deltas[i + 1] / DELTA_SCALE;
+            lastPoint = new Point(lastPoint.getLongitude() + dlon,
+                    lastPoint.getLatitude() + dlat);
+            points.add(lastPoint);
+        }
+        points.add(last);
+        if (reversed) {
+            Collections.reverse(points);
+        }
+        return Collections.unmodifiableList(points);
+    }
+
+    @Override
+    public Point get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return decode().get(index);
+    }
+
+    @Override
+    public int size() {
+        return count + 2;
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return decode().iterator();
+    }
+
+    @Override
+    public ListIterator<Point> listIterator(int index) {
+        return decode().listIterator(index);
+    }
+
+}
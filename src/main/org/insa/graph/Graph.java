@@ -2,8 +2,13 @@ package org.insa.graph;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
 
 /**
  * Main graph class.
@@ -11,6 +16,14 @@ import java.util.List;
  * This class acts as a object-oriented adjacency list for a graph, i.e. it
  * holds a list of nodes and each node holds a list of its successors.
  *
+ * Once created (e.g. by a {@link org.insa.graph.io.GraphReader}), a graph is
+ * never modified, so it can be read by many threads at the same time: nodes,
+ * arcs and road information are immutable, and the only lazily created state
+ * (see {@link #getCsrGraph()}, {@link CsrGraph#getIncomingArcs()} and
+ * {@link #getDerivedData(Object, Function)}) is created under a lock. Mutable
+ * state used to explore the graph (e.g. {@link CsrGraph.ArcView} or search
+ * workspaces) must not be shared between threads.
+ *
  */
 public final class Graph implements Iterable<Node> {
 
@@ -26,6 +39,17 @@ public final class Graph implements Iterable<Node> {
     // Graph information of this graph.
     private final GraphStatistics graphStatistics;
 
+    // Compressed-sparse-row representation of this graph (lazily created).
+    private CsrGraph csrGraph;
+
+    // Mapping between node IDs and IDs in the map file (null if nodes are in
+    // file order).
+    private final NodeMapping nodeMapping;
+
+    // Data derived from this graph (see getDerivedData), created by tasks run
+    // at most once per key.
+    private final Map<Object, FutureTask<?>> derivedData = new HashMap<>();
+
     /**
      * Create a new graph with the given ID, name, nodes and information.
      * 
@@ -35,10 +59,32 @@ public final class Graph implements Iterable<Node> {
      * @param graphStatistics Information for this graph.
      */
     public Graph(String mapId, String mapName, List<Node> nodes, GraphStatistics graphStatistics) {
+        this(mapId, mapName, nodes, graphStatistics, null, null);
+    }
+
+    /**
+     * Create a new graph with the given ID, name, nodes and information, whose
+     * CSR representation is already known.
+     * 
+     * @param mapId ID of the map corresponding to this graph.
+     * @param mapName Name of the map corresponding to this graph.
+     * @param nodes List of nodes for this graph.
+     * @param graphStatistics Information for this graph.
+     * @param csrGraph CSR representation of this graph.
+     */
+    Graph(String mapId, String mapName, List<Node> nodes, GraphStatistics graphStatistics,
+            CsrGraph csrGraph) {
+        this(mapId, mapName, nodes, graphStatistics, csrGraph, null);
+    }
+
+    private Graph(String mapId, String mapName, List<Node> nodes,
+            GraphStatistics graphStatistics, CsrGraph csrGraph, NodeMapping nodeMapping) {
         this.mapId = mapId;
         this.mapName = mapName;
         this.nodes = Collections.unmodifiableList(nodes);
         this.graphStatistics = graphStatistics;
+        this.csrGraph = csrGraph;
+        this.nodeMapping = nodeMapping;
     }
 
     /**
@@ -87,6 +133,157 @@ public final class Graph implements Iterable<Node> {
         return mapName;
     }
 
+    /**
+     * @return Mapping between the IDs of the nodes of this graph and their IDs in
+     *         the map file, or null if the nodes of this graph have not been
+     *         renumbered.
+     * 
+     * @see #renumber(NodeMapping)
+     */
+    public NodeMapping getNodeMapping() {
+        return nodeMapping;
+    }
+
+    /**
+     * Retrieve the external ID of the given node, i.e. its ID in the map file.
+     * External IDs are used in files referring to nodes of the map (e.g. path
+     * files), and are equal to node IDs unless the graph has been renumbered.
+     * 
+     * @param id ID of a node of this graph.
+     * 
+     * @return External ID of the given node.
+     */
+    public int getExternalId(int id) {
+        return nodeMapping == null ? id : nodeMapping.getExternalId(id);
+    }
+
+    /**
+     * Fetch the node with the given external ID (see {@link #getExternalId(int)}).
+     * 
+     * Complexity: O(1).
+     * 
+     * @param externalId External ID of the node to fetch.
+     * 
+     * @return Node with the given external ID.
+     */
+    public Node getByExternalId(int externalId) {
+        return get(nodeMapping == null ? externalId : nodeMapping.getId(externalId));
+    }
+
+    /**
+     * Retrieve the compressed-sparse-row representation of this graph. The CSR
+     * graph is created on the first call and cached for subsequent calls.
+     * 
+     * @return CSR representation of this graph.
+     * 
+     * @see CsrGraph#fromGraph(Graph)
+     */
+    public synchronized CsrGraph getCsrGraph() {
+        if (this.csrGraph == null) {
+            this.csrGraph = CsrGraph.fromGraph(this);
+        }
+        return this.csrGraph;
+    }
+
+    /**
+     * Retrieve data derived from this graph (e.g. the preprocessing of an
+     * algorithm), computing it on the first call for the given key. Derived data
+     * belongs to this graph: it is released with the graph, and is not shared
+     * with other graphs of the same map (e.g. renumbered graphs).
+     * 
+     * The computation is run outside of any lock, so data for other keys can be
+     * retrieved meanwhile, and concurrent calls with the same key wait for the
+     * result of the first call instead of computing it again. If the computation
+     * fails, the exception is thrown to all waiting callers and the next call
+     * computes the data again.
+     * 
+     * @param key Key identifying the data, compared using {@link Object#equals}.
+     * @param compute Function computing the data from this graph.
+     * 
+     * @return Data derived from this graph for the given key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getDerivedData(Object key, Function<Graph, T> compute) {
+        FutureTask<?> task;
+        boolean created = false;
+        synchronized (derivedData) {
+            task = derivedData.get(key);
+            if (task == null) {
+                task = new FutureTask<>(() -> compute.apply(this));
+                derivedData.put(key, task);
+                created = true;
+            }
+        }
+        if (created) {
+            task.run();
+        }
+        try {
+            return (T) task.get();
+        }
+        catch (ExecutionException e) {
+            synchronized (derivedData) {
+                derivedData.remove(key, task);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Create a copy of this graph whose nodes are numbered following the given
+     * mapping: the node with ID <code>i</code> in the new graph is the node with
+     * external ID <code>mapping.getExternalId(i)</code>. The new graph has the
+     * same map ID, arcs and information as this graph, so paths read from files
+     * still refer to the same nodes (see {@link #getByExternalId(int)}).
+     * 
+     * @param mapping Mapping for the new graph, e.g. {@link NodeMapping#hilbert}.
+     * 
+     * @return A new graph with renumbered nodes.
+     * 
+     * @throws IllegalArgumentException if the mapping does not have the same
+     *         number of nodes as this graph.
+     */
+    public Graph renumber(NodeMapping mapping) {
+        if (mapping.size() != nodes.size()) {
+            throw new IllegalArgumentException("The mapping does not match the graph.");
+        }
+        final int[] newIds = new int[nodes.size()];
+        final ArrayList<Node> newNodes = new ArrayList<>(nodes.size());
+        for (int id = 0; id < nodes.size(); ++id) {
+            final Node node = getByExternalId(mapping.getExternalId(id));
+            newIds[node.getId()] = id;
+            newNodes.add(new Node(id, node.getPoint()));
+        }
+
+        // Recreate each road from its forward arc, so that arcs keep their
+        // orientation and geometry.
+        for (int id = 0; id < nodes.size(); ++id) {
+            final Node node = getByExternalId(mapping.getExternalId(id));
+            for (Arc arc: node) {
+                if (arc instanceof ArcForward) {
+                    final Node dest = newNodes.get(newIds[arc.getDestination().getId()]);
+                    final Arc newArc = new ArcForward(newNodes.get(id), dest, arc.getLength(),
+                            arc.getRoadInformation(), arc.getPoints());
+                    newNodes.get(id).addSuccessor(newArc);
+                    if (!arc.getRoadInformation().isOneWay()) {
+                        dest.addSuccessor(new ArcBackward(newArc));
+                    }
+                }
+            }
+        }
+
+        return new Graph(mapId, mapName, newNodes, graphStatistics, null, mapping);
+    }
+
     /**
      * @return Transpose graph of this graph.
      */
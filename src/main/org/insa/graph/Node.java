@@ -3,6 +3,7 @@ package org.insa.graph;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Class representing a Node in a {@link Graph}.
@@ -27,12 +28,13 @@ public final class Node implements Comparable<Node>, Iterable<Arc> {
      * @param destination Destination of the arc.
      * @param length Length of the arc.
      * @param roadInformation Information corresponding to the arc.
-     * @param points Points for the arc.
+     * @param points Points for the arc. Instances of {@link EncodedPoints} are
+     *        kept encoded.
      * 
      * @return The newly created forward arc (origin to destination).
      */
     public static Arc linkNodes(Node origin, Node destination, float length,
-            RoadInformation roadInformation, ArrayList<Point> points) {
+            RoadInformation roadInformation, List<Point> points) {
         Arc arc = null;
         if (roadInformation.isOneWay()) {
             arc = new ArcForward(origin, destination, length, roadInformation, points);
@@ -45,7 +47,12 @@ public final class Node implements Comparable<Node>, Iterable<Arc> {
                 d2o = new ArcBackward(arc);
             }
             else {
-                Collections.reverse(points);
+                if (points instanceof EncodedPoints) {
+                    points = ((EncodedPoints) points).reverse();
+                }
+                else {
+                    Collections.reverse(points);
+                }
                 d2o = new ArcForward(destination, origin, length, roadInformation, points);
                 arc = new ArcBackward(d2o);
             }
@@ -100,6 +107,16 @@ public final class Node implements Comparable<Node>, Iterable<Arc> {
         return this.successors.size();
     }
 
+    /**
+     * @param index Index of the successor, between 0 (inclusive) and
+     *        {@link #getNumberOfSuccessors()} (exclusive).
+     *
+     * @return The successor arc at the given index, in insertion order.
+     */
+    public Arc getSuccessor(int index) {
+        return this.successors.get(index);
+    }
+
     /**
      * @return true if this node has at least one successor.
      */
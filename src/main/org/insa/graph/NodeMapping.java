@@ -0,0 +1,161 @@
+package org.insa.graph;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional mapping between the IDs of the nodes of a renumbered graph and
+ * their external IDs, i.e. their IDs in the map file (also used by path files).
+ *
+ * Node IDs are used as indices by the graph and by most algorithms, so nodes
+ * that are close in the graph should have close IDs. Mappings created by
+ * {@link #hilbert(Graph)} follow a Hilbert curve over the position of the
+ * nodes, and {@link Graph#renumber(NodeMapping)} creates the corresponding
+ * graph.
+ *
+ */
+public final class NodeMapping {
+
+    // Number of bits of each coordinate on the Hilbert curve.
+    private static final int HILBERT_ORDER = 16;
+
+    // Name of the ordering.
+    private final String name;
+
+    // External ID of each node, and ID of each external ID.
+    private final int[] externalIds, ids;
+
+    /**
+     * Create a new mapping from the given external IDs.
+     *
+     * @param name Name of the ordering of this mapping (e.g. "hilbert"), used to
+     *        distinguish data stored for the renumbered graph from data stored for
+     *        the original one.
+     * @param externalIds External ID of each node, which must be a permutation of
+     *        <code>[0, externalIds.length)</code>. The array is not copied and
+     *        must not be modified afterwards.
+     *
+     * @throws IllegalArgumentException if externalIds is not a permutation.
+     */
+    public NodeMapping(String name, int[] externalIds) {
+        this.name = name;
+        this.externalIds = externalIds;
+        this.ids = new int[externalIds.length];
+        Arrays.fill(ids, -1);
+        for (int id = 0; id < externalIds.length; ++id) {
+            final int externalId = externalIds[id];
+            if (externalId < 0 || externalId >= ids.length || ids[externalId] != -1) {
+                throw new IllegalArgumentException("External IDs are not a permutation.");
+            }
+            ids[externalId] = id;
+        }
+    }
+
+    /**
+     * Create a mapping ordering the nodes of the given graph along a Hilbert curve
+     * over their position, so that nodes close to each other get close IDs.
+     * Nodes without position are placed last, and ties are broken by ID.
+     *
+     * Complexity: O(n log n).
+     *
+     * @param graph Graph whose nodes should be ordered (possibly already
+     *        renumbered).
+     *
+     * @return A new mapping from the reordered IDs to the external IDs of the
+     *         nodes of the given graph.
+     */
+    public static NodeMapping hilbert(Graph graph) {
+        final int nbNodes = graph.size();
+        float minLongitude = Float.POSITIVE_INFINITY, minLatitude = Float.POSITIVE_INFINITY;
+        float maxLongitude = Float.NEGATIVE_INFINITY, maxLatitude = Float.NEGATIVE_INFINITY;
+        for (Node node: graph) {
+            Point point = node.getPoint();
+            if (point != null) {
+                minLongitude = Math.min(minLongitude, point.getLongitude());
+                minLatitude = Math.min(minLatitude, point.getLatitude());
+                maxLongitude = Math.max(maxLongitude, point.getLongitude());
+                maxLatitude = Math.max(maxLatitude, point.getLatitude());
+            }
+        }
+        final int side = 1 << HILBERT_ORDER;
+        final double scaleLongitude = (side - 1) / Math.max(maxLongitude - minLongitude, 1e-9);
+        final double scaleLatitude = (side - 1) / Math.max(maxLatitude - minLatitude, 1e-9);
+
+        // Sort nodes by index on the curve (high bits) and ID (low bits).
+        final long[] keys = new long[nbNodes];
+        for (Node node: graph) {
+            Point point = node.getPoint();
+            long index = (1L << (2 * HILBERT_ORDER)) - 1;
+            if (point != null) {
+                index = hilbertIndex(
+                        (int) ((point.getLongitude() - minLongitude) * scaleLongitude),
+                        (int) ((point.getLatitude() - minLatitude) * scaleLatitude));
+            }
+            keys[node.getId()] = (index << 31) | node.getId();
+        }
+        Arrays.sort(keys);
+
+        final int[] externalIds = new int[nbNodes];
+        for (int id = 0; id < nbNodes; ++id) {
+            externalIds[id] = graph.getExternalId((int) (keys[id] & Integer.MAX_VALUE));
+        }
+        return new NodeMapping("hilbert", externalIds);
+    }
+
+    /**
+     * @return Index of the given cell on a Hilbert curve covering a square of
+     *         side <code>2^HILBERT_ORDER</code>.
+     */
+    private static long hilbertIndex(int x, int y) {
+        long index = 0;
+        for (int s = 1 << (HILBERT_ORDER - 1); s > 0; s >>= 1) {
+            final int rx = (x & s) > 0 ? 1 : 0;
+            final int ry = (y & s) > 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+
+            // Rotate the quadrant so that the curve is continuous.
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = (1 << HILBERT_ORDER) - 1 - x;
+                    y = (1 << HILBERT_ORDER) - 1 - y;
+                }
+                final int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return Name of the ordering of this mapping.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Number of nodes in this mapping.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param id ID of a node.
+     *
+     * @return External ID of the given node.
+     */
+    public int getExternalId(int id) {
+        return externalIds[id];
+    }
+
+    /**
+     * @param externalId External ID of a node.
+     *
+     * @return ID of the node with the given external ID.
+     */
+    public int getId(int externalId) {
+        return ids[externalId];
+    }
+
+}
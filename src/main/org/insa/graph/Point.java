@@ -25,7 +25,9 @@ public final class Point {
         double cosLat = Math.cos(Math.toRadians(p1.getLatitude()))
                 * Math.cos(Math.toRadians(p2.getLatitude()));
         double cosLong = Math.cos(Math.toRadians(p2.getLongitude() - p1.getLongitude()));
-        return EARTH_RADIUS * Math.acos(sinLat + cosLat * cosLong);
+        // Rounding errors may lead to values slightly greater than 1 for (almost)
+        // identical points.
+        return EARTH_RADIUS * Math.acos(Math.min(1, sinLat + cosLat * cosLong));
     }
 
     // Longitude and latitude of the point.
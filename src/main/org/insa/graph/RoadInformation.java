@@ -1,10 +1,14 @@
 package org.insa.graph;
 
+import java.util.Objects;
+
 /**
  * Class containing information for road that may be shared by multiple arcs.
  * 
  * Sharing information between arcs reduces memory footprints of the program - A
- * long road is often split into multiple arcs at each intersection.
+ * long road is often split into multiple arcs at each intersection. Attributes
+ * used for routing ({@link RoutingAttributes}) can also be shared between roads
+ * that only differ by their name.
  * 
  */
 public class RoadInformation {
@@ -33,17 +37,94 @@ public class RoadInformation {
         COASTLINE
     }
 
-    // Type of the road (see above).
-    private final RoadType type;
+    /**
+     * Attributes of a road used for routing, i.e. all the attributes of a road
+     * except its name.
+     *
+     * Roads that only differ by their name can share the same instance (see
+     * {@link RoadInformation#RoadInformation(RoutingAttributes, String)}).
+     */
+    public static final class RoutingAttributes {
+
+        // Type of the road (see above).
+        private final RoadType type;
+
+        // Access information
+        private final AccessRestrictions access;
+
+        // One way road?
+        private final boolean oneway;
+
+        // Max speed in kilometers per hour.
+        private final int maxSpeed;
+
+        /**
+         * Create a new RoutingAttributes instance containing the given parameters.
+         *
+         * @param roadType Type of the road (see {@link RoadType}).
+         * @param access Access restrictions for the road (see
+         *        {@link AccessRestrictions}).
+         * @param isOneWay true if this road is a one way road, false otherwise.
+         * @param maxSpeed Maximum speed for the road (in kilometers-per-hour).
+         */
+        public RoutingAttributes(RoadType roadType, AccessRestrictions access,
+                boolean isOneWay, int maxSpeed) {
+            this.type = roadType;
+            this.access = access;
+            this.oneway = isOneWay;
+            this.maxSpeed = maxSpeed;
+        }
+
+        /**
+         * @return Access restrictions for this road.
+         */
+        public AccessRestrictions getAccessRestrictions() {
+            return access;
+        }
+
+        /**
+         * @return Type of the road.
+         */
+        public RoadType getType() {
+            return type;
+        }
+
+        /**
+         * @return true if the road is a one-way road.
+         */
+        public boolean isOneWay() {
+            return oneway;
+        }
 
-    // Access information
-    private final AccessRestrictions access;
+        /**
+         * @return Maximum speed for this road (in kilometers-per-hour).
+         */
+        public int getMaximumSpeed() {
+            return maxSpeed;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, access, oneway, maxSpeed);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof RoutingAttributes)) {
+                return false;
+            }
+            RoutingAttributes that = (RoutingAttributes) other;
+            return type == that.type && oneway == that.oneway && maxSpeed == that.maxSpeed
+                    && Objects.equals(access, that.access);
+        }
 
-    // One way road?
-    private final boolean oneway;
+    }
 
-    // Max speed in kilometers per hour.
-    private final int maxSpeed;
+    // Attributes used for routing (possibly shared with other roads).
+    private final RoutingAttributes attributes;
 
     // Name of the road.
     private final String name;
@@ -60,39 +141,54 @@ public class RoadInformation {
      */
     public RoadInformation(RoadType roadType, AccessRestrictions access, boolean isOneWay,
             int maxSpeed, String name) {
-        this.type = roadType;
-        this.access = access;
-        this.oneway = isOneWay;
-        this.maxSpeed = maxSpeed;
+        this(new RoutingAttributes(roadType, access, isOneWay, maxSpeed), name);
+    }
+
+    /**
+     * Create a new RoadInformation instance with the given routing attributes,
+     * which are not copied.
+     *
+     * @param attributes Attributes of the road used for routing.
+     * @param name Name of the road.
+     */
+    public RoadInformation(RoutingAttributes attributes, String name) {
+        this.attributes = attributes;
         this.name = name;
     }
 
+    /**
+     * @return Attributes of this road used for routing.
+     */
+    public RoutingAttributes getRoutingAttributes() {
+        return attributes;
+    }
+
     /**
      * @return Access restrictions for this road.
      */
     public AccessRestrictions getAccessRestrictions() {
-        return this.access;
+        return attributes.getAccessRestrictions();
     }
 
     /**
      * @return Type of the road.
      */
     public RoadType getType() {
-        return type;
+        return attributes.getType();
     }
 
     /**
      * @return true if the road is a one-way road.
      */
     public boolean isOneWay() {
-        return oneway;
+        return attributes.isOneWay();
     }
 
     /**
      * @return Maximum speed for this road (in kilometers-per-hour).
      */
     public int getMaximumSpeed() {
-        return maxSpeed;
+        return attributes.getMaximumSpeed();
     }
 
     /**
@@ -102,6 +198,27 @@ public class RoadInformation {
         return name;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(attributes, name);
+    }
+
+    /**
+     * Two road information are equal if all their attributes (including their
+     * name) are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RoadInformation)) {
+            return false;
+        }
+        RoadInformation that = (RoadInformation) other;
+        return attributes.equals(that.attributes) && Objects.equals(name, that.name);
+    }
+
     @Override
     public String toString() {
         String typeAsString = "road";
@@ -111,8 +228,8 @@ public class RoadInformation {
         if (getType() == RoadType.MOTORWAY) {
             typeAsString = "highway";
         }
-        return typeAsString + " : " + getName() + " " + (isOneWay() ? " (oneway) " : "") + maxSpeed
-                + " km/h (max.)";
+        return typeAsString + " : " + getName() + " " + (isOneWay() ? " (oneway) " : "")
+                + getMaximumSpeed() + " km/h (max.)";
     }
 
 }
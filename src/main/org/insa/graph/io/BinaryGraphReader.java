@@ -1,15 +1,19 @@
 package org.insa.graph.io;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.EnumMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 import org.insa.graph.AccessRestrictions;
-import org.insa.graph.AccessRestrictions.AccessMode;
-import org.insa.graph.AccessRestrictions.AccessRestriction;
 import org.insa.graph.Arc;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.EncodedPoints;
 import org.insa.graph.Graph;
 import org.insa.graph.GraphStatistics;
 import org.insa.graph.GraphStatistics.BoundingBox;
@@ -25,8 +29,8 @@ import org.insa.graph.RoadInformation.RoadType;
 public class BinaryGraphReader extends BinaryReader implements GraphReader {
 
     // Map version and magic number targeted for this reader.
-    private static final int VERSION = 5;
-    private static final int MAGIC_NUMBER = 0x208BC3B3;
+    protected static final int VERSION = 5;
+    protected static final int MAGIC_NUMBER = 0x208BC3B3;
 
     // Length of the map id field (in bytes)
     protected static final int MAP_ID_FIELD_LENGTH = 32;
@@ -34,6 +38,12 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
     // List of observers
     protected List<GraphReaderObserver> observers = new ArrayList<>();
 
+    // ID and name of the map being read.
+    protected String mapId, mapName;
+
+    // true if the geometry of the arcs should be kept encoded.
+    private boolean lazyGeometry = false;
+
     /**
      * Parse the given long value into a new instance of AccessRestrictions.
      * 
@@ -42,44 +52,9 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
      * @return New instance of access restrictions parsed from the given value.
      */
     protected static AccessRestrictions toAccessInformation(final long access) {
-
-        // See the following for more information:
-        // https://github.com/Holt59/OSM2Graph/blob/master/src/main/org/laas/osm2graph/model/AccessData.java
-
-        // The order of values inside this array is VERY IMPORTANT: For allRestrictions,
-        // the order correspond to the 4 bits value (i.e. FORBIDDEN is 0 or PRIVATE is
-        // 2) - UKNOWN is not included because value above 6 (FORESTRY) are all
-        // considered unknown.
-        final AccessRestriction[] allRestrictions = new AccessRestriction[] {
-                AccessRestriction.FORBIDDEN, AccessRestriction.ALLOWED, AccessRestriction.PRIVATE,
-                AccessRestriction.DESTINATION, AccessRestriction.DELIVERY,
-                AccessRestriction.CUSTOMERS, AccessRestriction.FORESTRY };
-
-        // The order of values inside this array is VERY IMPORTANT: The order is such
-        // that each 4-bits group of the long value is processed in the correct order,
-        // i.e. FOOT is processed first (4 lowest bits), and so on.
-        final AccessMode[] allModes = new AccessMode[] { AccessMode.FOOT, null, AccessMode.BICYCLE,
-                AccessMode.SMALL_MOTORCYCLE, AccessMode.AGRICULTURAL, AccessMode.MOTORCYCLE,
-                AccessMode.MOTORCAR, AccessMode.HEAVY_GOODS, null, AccessMode.PUBLIC_TRANSPORT };
-
-        // fill maps...
-        EnumMap<AccessMode, AccessRestriction> restrictions = new EnumMap<>(AccessMode.class);
-        long copyAccess = access;
-        for (AccessMode mode: allModes) {
-            if (mode == null) {
-                continue; // filling cells
-            }
-            int value = (int) (copyAccess & 0xf);
-            if (value < allRestrictions.length) {
-                restrictions.put(mode, allRestrictions[value]);
-            }
-            else {
-                restrictions.put(mode, AccessRestriction.UNKNOWN);
-            }
-            copyAccess = copyAccess >> 4;
-        }
-
-        return new AccessRestrictions(restrictions);
+        // The restrictions keep the layout of the file, see
+        // AccessRestrictions(long) for more information.
+        return new AccessRestrictions(access);
     }
 
     /**
@@ -133,6 +108,26 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
         return RoadType.UNCLASSIFIED;
     }
 
+    /**
+     * Read the ID of the map stored in the given file, without reading the
+     * graph.
+     * 
+     * @param file Map file to read.
+     * 
+     * @return ID of the map stored in the file.
+     * 
+     * @throws IOException if an error occurs while reading the header of the
+     *         file, or if the file is not a valid graph file.
+     */
+    public static String readMapId(File file) throws IOException {
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), 256))) {
+            BinaryGraphReader reader = new BinaryGraphReader(dis);
+            reader.readHeader();
+            return reader.mapId;
+        }
+    }
+
     /**
      * Create a new BinaryGraphReader that read from the given input stream.
      * 
@@ -147,24 +142,27 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
         observers.add(observer);
     }
 
+    /**
+     * Enable or disable lazy geometry loading. When enabled, the segments of
+     * the arcs are kept in their encoded form and only decoded when
+     * {@link Arc#getPoints()} is called, which reduces loading time and memory
+     * usage when the geometry is not needed (e.g. when no drawing is involved).
+     * 
+     * This is disabled by default.
+     * 
+     * @param lazyGeometry true to enable lazy geometry loading.
+     * 
+     * @see EncodedPoints
+     */
+    public void setLazyGeometry(boolean lazyGeometry) {
+        this.lazyGeometry = lazyGeometry;
+    }
+
     @Override
     public Graph read() throws IOException {
 
-        // Read and check magic number and file version.
-        checkMagicNumberOrThrow(dis.readInt());
-        checkVersionOrThrow(dis.readInt());
-
-        // Read map id.
-        String mapId;
-        String mapName = "";
-
-        if (getCurrentVersion() < 6) {
-            mapId = "0x" + Integer.toHexString(dis.readInt());
-        }
-        else {
-            mapId = readFixedLengthString(MAP_ID_FIELD_LENGTH, "UTF-8");
-            mapName = dis.readUTF();
-        }
+        // Read magic number, version and map id.
+        readHeader();
 
         observers.forEach((observer) -> observer.notifyStartReading(mapId));
 
@@ -212,15 +210,17 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
 
         // Read
         observers.forEach((observer) -> observer.notifyStartReadingDescriptors(nbDesc));
+        final RoadInformationPool pool = new RoadInformationPool();
         int maxSpeed = 0;
         for (int descr = 0; descr < nbDesc; ++descr) {
-            final RoadInformation roadinf = readRoadInformation();
+            final RoadInformation roadinf = readRoadInformation(pool);
             descs[descr] = roadinf;
             observers.forEach((observer) -> observer.notifyNewDescriptorRead(roadinf));
 
             // Update max speed
             maxSpeed = Math.max(roadinf.getMaximumSpeed(), maxSpeed);
         }
+        observers.forEach((observer) -> observer.notifyDescriptorsInterned(pool));
 
         // Check format.
         checkByteOrThrow(254);
@@ -229,6 +229,7 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
         float maxLength = 0;
         final int copyNbTotalSuccesors = nbTotalSuccessors; // Stupid Java...
         int nbOneWayRoad = 0;
+        SegmentStore segments = new SegmentStore();
         observers.forEach((observer) -> observer.notifyStartReadingArcs(copyNbTotalSuccesors));
         for (int node = 0; node < nbNodes; ++node) {
             for (int succ = 0; succ < nbSuccessors[node]; ++succ) {
@@ -240,40 +241,47 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
                 int descrNum = this.read24bits();
 
                 // Length of the arc.
-                float length;
-                if (getCurrentVersion() < 8) {
-                    length = dis.readUnsignedShort();
-                }
-                else {
-                    length = dis.readInt() / 1000.0f;
-                }
+                float length = readArcLength();
                 maxLength = Math.max(length, maxLength);
 
                 // Number of segments.
                 int nbSegments = dis.readUnsignedShort();
 
-                // Chain of points corresponding to the segments.
-                ArrayList<Point> points = new ArrayList<Point>(nbSegments + 2);
-                points.add(nodes.get(node).getPoint());
+                RoadInformation info = descs[descrNum];
+                Node orig = nodes.get(node);
+                Node dest = nodes.get(destNode);
 
-                for (int seg = 0; seg < nbSegments; ++seg) {
-                    Point lastPoint = points.get(points.size() - 1);
+                // Add successor to initial arc.
+                final Arc arc;
+                if (lazyGeometry) {
+                    // Keep the segments encoded.
+                    int offset = segments.reserve(2 * nbSegments);
+                    short[] chunk = segments.getChunk();
+                    for (int i = offset; i < offset + 2 * nbSegments; ++i) {
+                        chunk[i] = dis.readShort();
+                    }
+                    arc = Node.linkNodes(orig, dest, length, info, new EncodedPoints(
+                            orig.getPoint(), dest.getPoint(), chunk, offset, nbSegments));
+                }
+                else {
+                    // Chain of points corresponding to the segments.
+                    ArrayList<Point> points = new ArrayList<Point>(nbSegments + 2);
+                    points.add(orig.getPoint());
 
-                    float dlon = (dis.readShort()) / 2.0e5f;
-                    float dlat = (dis.readShort()) / 2.0e5f;
+                    for (int seg = 0; seg < nbSegments; ++seg) {
+                        Point lastPoint = points.get(points.size() - 1);
 
-                    points.add(new Point(lastPoint.getLongitude() + dlon,
-                            lastPoint.getLatitude() + dlat));
-                }
+                        float dlon = (dis.readShort()) / 2.0e5f;
+                        float dlat = (dis.readShort()) / 2.0e5f;
 
-                points.add(nodes.get(destNode).getPoint());
+                        points.add(new Point(lastPoint.getLongitude() + dlon,
+                                lastPoint.getLatitude() + dlat));
+                    }
 
-                RoadInformation info = descs[descrNum];
-                Node orig = nodes.get(node);
-                Node dest = nodes.get(destNode);
+                    points.add(dest.getPoint());
 
-                // Add successor to initial arc.
-                Arc arc = Node.linkNodes(orig, dest, length, info, points);
+                    arc = Node.linkNodes(orig, dest, length, info, points);
+                }
                 if (info.isOneWay()) {
                     nbOneWayRoad++;
                 }
@@ -295,14 +303,198 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
                         nbOneWayRoad, nbTotalSuccessors - nbOneWayRoad, maxSpeed, maxLength));
     }
 
+    /**
+     * Read the graph as a compressed-sparse-row graph. Contrary to
+     * {@link #read()}, no {@link Node} or {@link Arc} objects are created and
+     * road geometry is skipped, observers are thus not notified about each
+     * individual node and arc read.
+     * 
+     * The arcs of the returned graph are ordered like the successors of the
+     * nodes in the graph returned by {@link #read()}.
+     * 
+     * @return The CSR graph read.
+     * 
+     * @throws IOException When an exception occurs while reading the graph.
+     */
+    public CsrGraph readCsrGraph() throws IOException {
+
+        // Read magic number, version and map id.
+        readHeader();
+
+        observers.forEach((observer) -> observer.notifyStartReading(mapId));
+
+        // Number of descriptors and nodes.
+        int nbDesc = dis.readInt();
+        int nbNodes = dis.readInt();
+
+        // Number of successors for each nodes.
+        int[] nbSuccessors = new int[nbNodes];
+        int nbTotalSuccessors = 0;
+
+        // Read nodes.
+        float[] longitudes = new float[nbNodes], latitudes = new float[nbNodes];
+        float minLongitude = Float.POSITIVE_INFINITY, minLatitude = Float.POSITIVE_INFINITY,
+                maxLongitude = Float.NEGATIVE_INFINITY, maxLatitude = Float.NEGATIVE_INFINITY;
+        observers.forEach((observer) -> observer.notifyStartReadingNodes(nbNodes));
+        for (int node = 0; node < nbNodes; ++node) {
+            longitudes[node] = ((float) dis.readInt()) / 1E6f;
+            latitudes[node] = ((float) dis.readInt()) / 1E6f;
+
+            minLongitude = Math.min(longitudes[node], minLongitude);
+            minLatitude = Math.min(latitudes[node], minLatitude);
+            maxLongitude = Math.max(longitudes[node], maxLongitude);
+            maxLatitude = Math.max(latitudes[node], maxLatitude);
+
+            nbSuccessors[node] = dis.readUnsignedByte();
+            nbTotalSuccessors += nbSuccessors[node];
+        }
+
+        // Check format.
+        checkByteOrThrow(255);
+
+        // Read descriptors. Identical descriptors are stored only once in the CSR
+        // graph, each descriptor of the file being mapped to the index of the
+        // corresponding distinct descriptor.
+        List<RoadInformation> descs = new ArrayList<>();
+        IdentityHashMap<RoadInformation, Integer> descIndices = new IdentityHashMap<>();
+        int[] descIndex = new int[nbDesc];
+        observers.forEach((observer) -> observer.notifyStartReadingDescriptors(nbDesc));
+        final RoadInformationPool pool = new RoadInformationPool();
+        int maxSpeed = 0;
+        for (int descr = 0; descr < nbDesc; ++descr) {
+            final RoadInformation roadinf = readRoadInformation(pool);
+            Integer index = descIndices.get(roadinf);
+            if (index == null) {
+                index = descs.size();
+                descIndices.put(roadinf, index);
+                descs.add(roadinf);
+            }
+            descIndex[descr] = index;
+            observers.forEach((observer) -> observer.notifyNewDescriptorRead(roadinf));
+            maxSpeed = Math.max(roadinf.getMaximumSpeed(), maxSpeed);
+        }
+        observers.forEach((observer) -> observer.notifyDescriptorsInterned(pool));
+
+        // Check format.
+        checkByteOrThrow(254);
+
+        // Read successors into temporary arrays, counting the arcs leaving each
+        // node (two-ways roads also add an arc to their destination).
+        final int copyNbTotalSuccesors = nbTotalSuccessors;
+        observers.forEach((observer) -> observer.notifyStartReadingArcs(copyNbTotalSuccesors));
+        int[] recordHead = new int[nbTotalSuccessors], recordDescr = new int[nbTotalSuccessors];
+        float[] recordLength = new float[nbTotalSuccessors];
+        int[] firstArc = new int[nbNodes + 1];
+        float maxLength = 0;
+        int nbOneWayRoad = 0;
+        int record = 0;
+        for (int node = 0; node < nbNodes; ++node) {
+            for (int succ = 0; succ < nbSuccessors[node]; ++succ, ++record) {
+                recordHead[record] = this.read24bits();
+                recordDescr[record] = descIndex[this.read24bits()];
+                recordLength[record] = readArcLength();
+                maxLength = Math.max(recordLength[record], maxLength);
+
+                // Skip segments.
+                skipFully(4 * dis.readUnsignedShort());
+
+                firstArc[node + 1]++;
+                if (descs.get(recordDescr[record]).isOneWay()) {
+                    nbOneWayRoad++;
+                }
+                else {
+                    firstArc[recordHead[record] + 1]++;
+                }
+            }
+        }
+
+        // Check format.
+        checkByteOrThrow(253);
+
+        // Turn counts into offsets, and fill arcs in the same order as
+        // Node.linkNodes would.
+        for (int node = 0; node < nbNodes; ++node) {
+            firstArc[node + 1] += firstArc[node];
+        }
+        final int nbArcs = firstArc[nbNodes];
+        int[] arcHead = new int[nbArcs], arcDescriptor = new int[nbArcs];
+        float[] arcLength = new float[nbArcs];
+        int[] nextArc = Arrays.copyOf(firstArc, nbNodes);
+        record = 0;
+        for (int node = 0; node < nbNodes; ++node) {
+            for (int succ = 0; succ < nbSuccessors[node]; ++succ, ++record) {
+                int head = recordHead[record], arc = nextArc[node]++;
+                arcHead[arc] = head;
+                arcLength[arc] = recordLength[record];
+                arcDescriptor[arc] = recordDescr[record];
+                if (!descs.get(recordDescr[record]).isOneWay()) {
+                    arc = nextArc[head]++;
+                    arcHead[arc] = node;
+                    arcLength[arc] = recordLength[record];
+                    arcDescriptor[arc] = recordDescr[record];
+                }
+            }
+        }
+
+        observers.forEach((observer) -> observer.notifyEndReading());
+
+        this.dis.close();
+
+        return new CsrGraph(mapId, mapName, longitudes, latitudes, firstArc, arcHead, arcLength,
+                arcDescriptor, descs.toArray(new RoadInformation[descs.size()]),
+                new GraphStatistics(
+                        new BoundingBox(new Point(minLongitude, maxLatitude),
+                                new Point(maxLongitude, minLatitude)),
+                        nbOneWayRoad, nbTotalSuccessors - nbOneWayRoad, maxSpeed, maxLength));
+    }
+
+    /**
+     * Read and check the magic number and the version of the file, and read the
+     * ID and name of the map.
+     * 
+     * @throws IOException if an error occurs while reading from the stream.
+     */
+    protected void readHeader() throws IOException {
+
+        // Read and check magic number and file version.
+        checkMagicNumberOrThrow(dis.readInt());
+        checkVersionOrThrow(dis.readInt());
+
+        // Read map id.
+        if (getCurrentVersion() < 6) {
+            mapId = "0x" + Integer.toHexString(dis.readInt());
+            mapName = "";
+        }
+        else {
+            mapId = readFixedLengthString(MAP_ID_FIELD_LENGTH, "UTF-8");
+            mapName = dis.readUTF();
+        }
+    }
+
+    /**
+     * Read the length of the next arc from the stream.
+     * 
+     * @return Length of the arc, in meters.
+     * 
+     * @throws IOException if an error occurs while reading from the stream.
+     */
+    private float readArcLength() throws IOException {
+        if (getCurrentVersion() < 8) {
+            return dis.readUnsignedShort();
+        }
+        return dis.readInt() / 1000.0f;
+    }
+
     /**
      * Read the next road information from the stream.
      * 
+     * @param pool Pool used to share identical road information.
+     * 
      * @return The next RoadInformation in the stream.
      * 
      * @throws IOException if an error occurs while reading from the stream.
      */
-    private RoadInformation readRoadInformation() throws IOException {
+    private RoadInformation readRoadInformation(RoadInformationPool pool) throws IOException {
         char type = (char) dis.readUnsignedByte();
         int x = dis.readUnsignedByte();
         AccessRestrictions access = new AccessRestrictions();
@@ -313,7 +505,7 @@ public class BinaryGraphReader extends BinaryReader implements GraphReader {
             // TODO: Try to create something...
             dis.readUnsignedShort();
         }
-        return new RoadInformation(toRoadType(type), access, (x & 0x80) > 0, (x & 0x7F) * 5,
+        return pool.intern(toRoadType(type), access, (x & 0x80) > 0, (x & 0x7F) * 5,
                 dis.readUTF());
     }
 
@@ -60,7 +60,8 @@ public class BinaryPathReader extends BinaryReader implements PathReader {
     }
 
     /**
-     * Read a node from the input stream and returns it.
+     * Read a node from the input stream and returns it. Nodes are stored using
+     * their external ID (see {@link Graph#getExternalId(int)}).
      * 
      * @param graph Graph containing the nodes.
      * 
@@ -70,7 +71,7 @@ public class BinaryPathReader extends BinaryReader implements PathReader {
      * @throws IndexOutOfBoundsException if the node is not in the graph.
      */
     protected Node readNode(Graph graph) throws IOException {
-        return graph.get(dis.readInt());
+        return graph.getByExternalId(dis.readInt());
     }
 
 }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.Arrays;
 
 import org.insa.graph.Arc;
+import org.insa.graph.Graph;
 import org.insa.graph.Path;
 
 /**
@@ -37,14 +38,16 @@ public class BinaryPathWriter extends BinaryWriter implements PathWriter {
         // Write number of arcs
         dos.writeInt(path.getArcs().size() + 1);
 
-        // Write origin / destination.
-        dos.writeInt(path.getOrigin().getId());
-        dos.writeInt(path.getDestination().getId());
+        // Write origin / destination (using external IDs, so that the path can be
+        // read on any numbering of the graph).
+        final Graph graph = path.getGraph();
+        dos.writeInt(graph.getExternalId(path.getOrigin().getId()));
+        dos.writeInt(graph.getExternalId(path.getDestination().getId()));
 
         // Write nodes.
-        dos.writeInt(path.getOrigin().getId());
+        dos.writeInt(graph.getExternalId(path.getOrigin().getId()));
         for (Arc arc: path.getArcs()) {
-            dos.writeInt(arc.getDestination().getId());
+            dos.writeInt(graph.getExternalId(arc.getDestination().getId()));
         }
 
         dos.flush();
@@ -100,6 +100,27 @@ public abstract class BinaryReader {
         return new String(bytes, "UTF-8").trim();
     }
 
+    /**
+     * Skip exactly the given number of bytes from the input stream.
+     * 
+     * @param length Number of bytes to skip.
+     * 
+     * @throws IOException if an error occurs while skipping, or if the end of the
+     * stream is reached.
+     */
+    protected void skipFully(int length) throws IOException {
+        while (length > 0) {
+            int skipped = dis.skipBytes(length);
+            if (skipped == 0) {
+                // Either blocked or at end of stream, readByte() throws in the latter
+                // case.
+                dis.readByte();
+                skipped = 1;
+            }
+            length -= skipped;
+        }
+    }
+
     /**
      * Read 24 bits in BigEndian order from the stream and return the corresponding
      * integer value.
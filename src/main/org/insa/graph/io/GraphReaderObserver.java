@@ -52,6 +52,15 @@ public interface GraphReaderObserver {
      */
     public void notifyNewDescriptorRead(RoadInformation desc);
 
+    /**
+     * Notify that all the descriptors have been read, and how many of them were
+     * shared with identical descriptors. This method does nothing by default.
+     * 
+     * @param pool Pool through which descriptors have been created.
+     */
+    public default void notifyDescriptorsInterned(RoadInformationPool pool) {
+    }
+
     /**
      * Notify that the reader is starting to read arcs.
      * 
@@ -0,0 +1,487 @@
+package org.insa.graph.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.AccessRestrictions.AccessRestriction;
+import org.insa.graph.Arc;
+import org.insa.graph.CsrGeometry;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.GraphStatistics;
+import org.insa.graph.GraphStatistics.BoundingBox;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+
+/**
+ * Implementation of {@link GraphReader} that reads graph snapshots written by
+ * {@link GraphSnapshotWriter}.
+ *
+ * A snapshot is a dump of the {@link CsrGraph} and {@link CsrGeometry} of an
+ * already-built graph. Contrary to the <code>.mapgr</code> format, nothing has
+ * to be decoded: the arrays are stored as-is (aligned on
+ * {@link #ALIGNMENT} bytes) in the file, which is memory-mapped and copied in
+ * bulk into the arrays. In particular, {@link #readCsrGraph()} does not
+ * allocate anything per node or per arc.
+ *
+ * Snapshots end with a checksum of their content, and store the size and
+ * checksum of the map file they have been created from. Readers can be bound
+ * to a map ID or to a map file (see {@link #GraphSnapshotReader(File, File)}),
+ * so that corrupted or stale snapshots are rejected.
+ *
+ */
+public class GraphSnapshotReader implements GraphReader {
+
+    // Magic number and version of the snapshot format.
+    protected static final int MAGIC_NUMBER = 0x47534e50;
+    protected static final int VERSION = 2;
+
+    // Size and checksum stored for snapshots not bound to a map file.
+    protected static final long NO_SOURCE = -1;
+
+    // Extension of snapshot files, and of the corresponding map files.
+    private static final String SNAPSHOT_EXTENSION = ".mapsnap", MAP_EXTENSION = ".mapgr";
+
+    /**
+     * @param mapFile Map file.
+     *
+     * @return The snapshot file corresponding to the given map file, i.e. the
+     *         file with the same name in the same directory, with the
+     *         <code>.mapsnap</code> extension.
+     */
+    public static File getSnapshotFile(File mapFile) {
+        return new File(mapFile.getParentFile(),
+                removeExtension(mapFile.getName(), MAP_EXTENSION) + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * @param snapshotFile Snapshot file.
+     *
+     * @return The map file corresponding to the given snapshot file, i.e. the
+     *         file with the same name in the same directory, with the
+     *         <code>.mapgr</code> extension.
+     */
+    public static File getMapFile(File snapshotFile) {
+        return new File(snapshotFile.getParentFile(),
+                removeExtension(snapshotFile.getName(), SNAPSHOT_EXTENSION) + MAP_EXTENSION);
+    }
+
+    /**
+     * @return The given name without the given extension, if present.
+     */
+    private static String removeExtension(String name, String extension) {
+        return name.endsWith(extension) ? name.substring(0, name.length() - extension.length())
+                : name;
+    }
+
+    /**
+     * Compute the checksum of the given file, as stored in snapshots created from
+     * this file.
+     *
+     * @param file File whose checksum should be computed.
+     *
+     * @return CRC-32 of the content of the file.
+     *
+     * @throws IOException if an error occurs while reading the file.
+     */
+    static long computeChecksum(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            CRC32 checksum = new CRC32();
+            checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return checksum.getValue();
+        }
+    }
+
+    // Alignment (in bytes) of the arrays in the file.
+    protected static final int ALIGNMENT = 8;
+
+    // File to read.
+    private final File file;
+
+    // Expected map ID, or null.
+    private String expectedMapId;
+
+    // Map file the snapshot must have been created from, or null.
+    private final File source;
+
+    // List of observers
+    protected List<GraphReaderObserver> observers = new ArrayList<>();
+
+    // Content of the file.
+    private ByteBuffer buffer;
+
+    // Number of points of the geometry.
+    private int nbPoints;
+
+    /**
+     * Create a new GraphSnapshotReader that reads from the given file.
+     *
+     * @param file File to read from.
+     */
+    public GraphSnapshotReader(File file) {
+        this(file, (String) null);
+    }
+
+    /**
+     * Create a new GraphSnapshotReader that reads from the given file, and that
+     * only accepts snapshots of the given map.
+     *
+     * @param file File to read from.
+     * @param expectedMapId Expected map ID of the snapshot.
+     */
+    public GraphSnapshotReader(File file, String expectedMapId) {
+        this.file = file;
+        this.expectedMapId = expectedMapId;
+        this.source = null;
+    }
+
+    /**
+     * Create a new GraphSnapshotReader that reads from the given file, and that
+     * only accepts snapshots created from the given map file in its current
+     * state: the map ID, size and checksum of the map file must match the ones
+     * stored in the snapshot, otherwise a {@link MapMismatchException} or a
+     * {@link StaleSnapshotException} is thrown when reading.
+     *
+     * @param file File to read from.
+     * @param source Map file the snapshot should have been created from.
+     */
+    public GraphSnapshotReader(File file, File source) {
+        this.file = file;
+        this.expectedMapId = null;
+        this.source = source;
+    }
+
+    @Override
+    public void addObserver(GraphReaderObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Read the CSR graph stored in the snapshot.
+     *
+     * @return The CSR graph read.
+     *
+     * @throws IOException if an error occurs while reading the snapshot, or if
+     *         the snapshot is not valid.
+     */
+    public CsrGraph readCsrGraph() throws IOException {
+        try {
+            mapAndCheck();
+            for (GraphReaderObserver observer: observers) {
+                observer.notifyStartReading(readMapId());
+            }
+            CsrGraph csr = readCsrGraphContent();
+            for (GraphReaderObserver observer: observers) {
+                observer.notifyEndReading();
+            }
+            return csr;
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new BadFormatException();
+        }
+        finally {
+            this.buffer = null;
+        }
+    }
+
+    @Override
+    public Graph read() throws IOException {
+        try {
+            mapAndCheck();
+            for (GraphReaderObserver observer: observers) {
+                observer.notifyStartReading(readMapId());
+            }
+            CsrGraph csr = readCsrGraphContent();
+            CsrGeometry geometry = readGeometry(csr.getArcCount());
+            Graph graph = geometry.toGraph(csr);
+            notifyGraphRead(graph, csr);
+            return graph;
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new BadFormatException();
+        }
+        finally {
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * Map the file in memory, check its header and checksum, and position the
+     * buffer right after the magic number and version.
+     *
+     * @throws IOException if an error occurs while mapping the file, or if the
+     *         snapshot is not valid.
+     */
+    private void mapAndCheck() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < 8 + BinaryGraphReader.MAP_ID_FIELD_LENGTH + 8) {
+            throw new BadFormatException();
+        }
+
+        // Read and check magic number and file version.
+        if (buffer.getInt() != MAGIC_NUMBER) {
+            throw new BadMagicNumberException(buffer.getInt(0), MAGIC_NUMBER);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new BadVersionException(version, VERSION);
+        }
+
+        // Check content.
+        final int contentLength = buffer.limit() - 8;
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(contentLength);
+        CRC32 checksum = new CRC32();
+        checksum.update(content);
+        if (buffer.getLong(contentLength) != checksum.getValue()) {
+            throw new BadFormatException();
+        }
+
+        // Check map ID.
+        if (source != null && expectedMapId == null) {
+            expectedMapId = BinaryGraphReader.readMapId(source);
+        }
+        String mapId = readMapId();
+        if (expectedMapId != null && !expectedMapId.equals(mapId)) {
+            throw new MapMismatchException(mapId, expectedMapId);
+        }
+
+        // Check that the map file has not changed since the snapshot was created.
+        buffer.position(8 + BinaryGraphReader.MAP_ID_FIELD_LENGTH);
+        readUTF();
+        final long sourceLength = buffer.getLong(), sourceChecksum = buffer.getLong();
+        if (source != null && (sourceLength == NO_SOURCE || sourceLength != source.length()
+                || sourceChecksum != computeChecksum(source))) {
+            throw new StaleSnapshotException(file, source);
+        }
+    }
+
+    /**
+     * @return Map ID of the snapshot, read from the header.
+     *
+     * @throws IOException if the ID cannot be decoded.
+     */
+    private String readMapId() throws IOException {
+        byte[] bytes = new byte[BinaryGraphReader.MAP_ID_FIELD_LENGTH];
+        ByteBuffer view = buffer.duplicate();
+        view.position(8);
+        view.get(bytes);
+        return new String(bytes, "UTF-8").trim();
+    }
+
+    /**
+     * Read the header and the routing data of the snapshot.
+     *
+     * @return The CSR graph read.
+     *
+     * @throws IOException if the content of the snapshot cannot be decoded.
+     */
+    private CsrGraph readCsrGraphContent() throws IOException {
+        buffer.position(8 + BinaryGraphReader.MAP_ID_FIELD_LENGTH);
+        String mapId = readMapId();
+        String mapName = readUTF();
+
+        // Size and checksum of the map file (checked by mapAndCheck).
+        buffer.position(buffer.position() + 16);
+
+        int nbNodes = buffer.getInt();
+        int nbArcs = buffer.getInt();
+        int nbDesc = buffer.getInt();
+        nbPoints = buffer.getInt();
+
+        GraphStatistics statistics = readGraphStatistics();
+
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReadingDescriptors(nbDesc);
+        }
+        final RoadInformationPool pool = new RoadInformationPool();
+        RoadInformation[] descs = new RoadInformation[nbDesc];
+        for (int descr = 0; descr < nbDesc; ++descr) {
+            descs[descr] = readRoadInformation(pool);
+            for (GraphReaderObserver observer: observers) {
+                observer.notifyNewDescriptorRead(descs[descr]);
+            }
+        }
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyDescriptorsInterned(pool);
+        }
+
+        float[] longitudes = readFloats(nbNodes), latitudes = readFloats(nbNodes);
+        int[] firstArc = readInts(nbNodes + 1);
+        int[] arcHead = readInts(nbArcs);
+        float[] arcLength = readFloats(nbArcs);
+        int[] arcDescriptor = readInts(nbArcs);
+
+        return new CsrGraph(mapId, mapName, longitudes, latitudes, firstArc, arcHead,
+                arcLength, arcDescriptor, descs, statistics);
+    }
+
+    /**
+     * Read the geometry of the snapshot. The buffer must be positioned right
+     * after the routing data.
+     *
+     * @param nbArcs Number of arcs in the snapshot.
+     *
+     * @return The geometry read.
+     */
+    private CsrGeometry readGeometry(int nbArcs) {
+        int[] reverseOf = readInts(nbArcs);
+        int[] firstPoint = readInts(nbArcs + 1);
+        float[] longitudes = readFloats(nbPoints), latitudes = readFloats(nbPoints);
+        return new CsrGeometry(reverseOf, firstPoint, longitudes, latitudes);
+    }
+
+    /**
+     * Notify observers about the nodes and arcs of the given graph.
+     *
+     * @param graph Graph read.
+     * @param csr CSR representation of the graph.
+     */
+    private void notifyGraphRead(Graph graph, CsrGraph csr) {
+        final boolean notify = !observers.isEmpty();
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReadingNodes(graph.size());
+        }
+        if (notify) {
+            for (Node node: graph) {
+                for (GraphReaderObserver observer: observers) {
+                    observer.notifyNewNodeRead(node);
+                }
+            }
+        }
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReadingArcs(csr.getArcCount());
+        }
+        if (notify) {
+            for (Node node: graph) {
+                for (Arc arc: node) {
+                    for (GraphReaderObserver observer: observers) {
+                        observer.notifyNewArcRead(arc);
+                    }
+                }
+            }
+        }
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyEndReading();
+        }
+    }
+
+    /**
+     * @return Graph statistics read from the buffer, or null if the snapshot
+     *         has no statistics.
+     */
+    private GraphStatistics readGraphStatistics() {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        int nbOneWay = buffer.getInt(), nbTwoWays = buffer.getInt(),
+                maxSpeed = buffer.getInt();
+        float maxLength = buffer.getFloat();
+        Point topLeft = new Point(buffer.getFloat(), buffer.getFloat());
+        Point bottomRight = new Point(buffer.getFloat(), buffer.getFloat());
+        return new GraphStatistics(new BoundingBox(topLeft, bottomRight), nbOneWay, nbTwoWays,
+                maxSpeed, maxLength);
+    }
+
+    /**
+     * @param pool Pool used to share routing attributes between descriptors.
+     *
+     * @return Road information read from the buffer.
+     *
+     * @throws IOException if the road information cannot be decoded.
+     */
+    private RoadInformation readRoadInformation(RoadInformationPool pool) throws IOException {
+        RoadType type = RoadType.values()[buffer.get()];
+        boolean oneWay = buffer.get() != 0;
+        int maxSpeed = buffer.getInt();
+
+        AccessRestrictions access = null;
+        if (buffer.get() != 0) {
+            EnumMap<AccessMode, AccessRestriction> restrictions = new EnumMap<>(
+                    AccessMode.class);
+            for (AccessMode mode: AccessMode.values()) {
+                restrictions.put(mode, AccessRestriction.values()[buffer.get()]);
+            }
+            access = new AccessRestrictions(restrictions);
+        }
+
+        String name = null;
+        if (buffer.get() != 0) {
+            name = readUTF();
+        }
+
+        return pool.intern(type, access, oneWay, maxSpeed, name);
+    }
+
+    /**
+     * Skip padding bytes until the position of the buffer is a multiple of
+     * {@link #ALIGNMENT}.
+     */
+    private void align() {
+        buffer.position((buffer.position() + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT);
+    }
+
+    /**
+     * Read an aligned array of integers.
+     *
+     * @param length Length of the array.
+     *
+     * @return The array read.
+     */
+    private int[] readInts(int length) {
+        align();
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + 4 * length);
+        return values;
+    }
+
+    /**
+     * Read an aligned array of floats.
+     *
+     * @param length Length of the array.
+     *
+     * @return The array read.
+     */
+    private float[] readFloats(int length) {
+        align();
+        float[] values = new float[length];
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + 4 * length);
+        return values;
+    }
+
+    /**
+     * Read a string in modified UTF-8 format (see
+     * {@link DataInputStream#readUTF()}).
+     *
+     * @return The string read.
+     *
+     * @throws IOException if the string cannot be decoded.
+     */
+    private String readUTF() throws IOException {
+        byte[] bytes = new byte[2 + (buffer.getShort(buffer.position()) & 0xffff)];
+        buffer.get(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+    }
+
+}
@@ -0,0 +1,225 @@
+package org.insa.graph.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.CsrGeometry;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.GraphStatistics;
+import org.insa.graph.RoadInformation;
+
+/**
+ * Class to write graphs in snapshot format, see {@link GraphSnapshotReader}.
+ *
+ */
+public class GraphSnapshotWriter extends BinaryWriter {
+
+    /**
+     * Create a new GraphSnapshotWriter that writes to the given output stream.
+     *
+     * @param dos Output stream to write to.
+     */
+    public GraphSnapshotWriter(DataOutputStream dos) {
+        super(dos);
+    }
+
+    /**
+     * Write the given graph to the output stream, and close the stream. The
+     * snapshot is not bound to a map file, see
+     * {@link #writeGraph(Graph, File)}.
+     *
+     * @param graph Graph to write.
+     *
+     * @throws IOException if an error occurs while writing the graph.
+     * @throws IllegalArgumentException if the graph has been renumbered, since
+     *         snapshots do not store the mapping to external IDs.
+     */
+    public void writeGraph(Graph graph) throws IOException {
+        writeGraph(graph, null);
+    }
+
+    /**
+     * Write the given graph, read from the given map file, to the output stream,
+     * and close the stream. The size and checksum of the map file are stored in
+     * the snapshot, so that readers can reject the snapshot if the map file
+     * changes (see {@link GraphSnapshotReader#GraphSnapshotReader(File, File)}).
+     *
+     * @param graph Graph to write.
+     * @param source Map file the graph has been read from, or null.
+     *
+     * @throws IOException if an error occurs while reading the map file or
+     *         writing the graph.
+     * @throws IllegalArgumentException if the graph has been renumbered, since
+     *         snapshots do not store the mapping to external IDs.
+     */
+    public void writeGraph(Graph graph, File source) throws IOException {
+        if (graph.getNodeMapping() != null) {
+            throw new IllegalArgumentException(
+                    "Renumbered graphs cannot be stored, store the original graph instead.");
+        }
+        CsrGraph csr = graph.getCsrGraph();
+        CsrGeometry geometry = CsrGeometry.fromGraph(graph);
+
+        // Everything but the trailing checksum goes through the checksum.
+        CRC32 checksum = new CRC32();
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(dos, checksum)));
+
+        // Write magic number and version.
+        out.writeInt(GraphSnapshotReader.MAGIC_NUMBER);
+        out.writeInt(GraphSnapshotReader.VERSION);
+
+        // Write map id and name.
+        out.write(Arrays.copyOf(csr.getMapId().getBytes("UTF-8"),
+                BinaryGraphReader.MAP_ID_FIELD_LENGTH));
+        out.writeUTF(csr.getMapName());
+
+        // Write size and checksum of the map file.
+        out.writeLong(source == null ? GraphSnapshotReader.NO_SOURCE : source.length());
+        out.writeLong(source == null ? GraphSnapshotReader.NO_SOURCE
+                : GraphSnapshotReader.computeChecksum(source));
+
+        // Write sizes.
+        out.writeInt(csr.size());
+        out.writeInt(csr.getArcCount());
+        out.writeInt(csr.getDescriptorCount());
+        out.writeInt(geometry.getPointCount());
+
+        writeGraphStatistics(out, csr.getGraphInformation());
+
+        // Write descriptors.
+        for (int descr = 0; descr < csr.getDescriptorCount(); ++descr) {
+            writeRoadInformation(out, csr.getDescriptor(descr));
+        }
+
+        // Write nodes.
+        align(out);
+        for (int node = 0; node < csr.size(); ++node) {
+            out.writeFloat(csr.getLongitude(node));
+        }
+        align(out);
+        for (int node = 0; node < csr.size(); ++node) {
+            out.writeFloat(csr.getLatitude(node));
+        }
+
+        // Write arcs.
+        align(out);
+        for (int node = 0; node <= csr.size(); ++node) {
+            out.writeInt(csr.getFirstArc(node));
+        }
+        align(out);
+        for (int arc = 0; arc < csr.getArcCount(); ++arc) {
+            out.writeInt(csr.getArcHead(arc));
+        }
+        align(out);
+        for (int arc = 0; arc < csr.getArcCount(); ++arc) {
+            out.writeFloat(csr.getArcLength(arc));
+        }
+        align(out);
+        for (int arc = 0; arc < csr.getArcCount(); ++arc) {
+            out.writeInt(csr.getArcDescriptor(arc));
+        }
+
+        // Write geometry.
+        align(out);
+        for (int arc = 0; arc < csr.getArcCount(); ++arc) {
+            out.writeInt(geometry.getReverseOf(arc));
+        }
+        align(out);
+        for (int arc = 0; arc <= csr.getArcCount(); ++arc) {
+            out.writeInt(geometry.getFirstPoint(arc));
+        }
+        align(out);
+        for (int point = 0; point < geometry.getPointCount(); ++point) {
+            out.writeFloat(geometry.getLongitude(point));
+        }
+        align(out);
+        for (int point = 0; point < geometry.getPointCount(); ++point) {
+            out.writeFloat(geometry.getLatitude(point));
+        }
+
+        // Write checksum.
+        align(out);
+        out.flush();
+        dos.writeLong(checksum.getValue());
+
+        dos.flush();
+        dos.close();
+    }
+
+    /**
+     * Write padding bytes until the number of bytes written is a multiple of
+     * {@link GraphSnapshotReader#ALIGNMENT}.
+     *
+     * @param out Stream to write to.
+     *
+     * @throws IOException if an error occurs while writing to the stream.
+     */
+    private void align(DataOutputStream out) throws IOException {
+        while (out.size() % GraphSnapshotReader.ALIGNMENT != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Write the given graph statistics.
+     *
+     * @param out Stream to write to.
+     * @param statistics Statistics to write, may be null.
+     *
+     * @throws IOException if an error occurs while writing to the stream.
+     */
+    private void writeGraphStatistics(DataOutputStream out, GraphStatistics statistics)
+            throws IOException {
+        out.writeBoolean(statistics != null);
+        if (statistics == null) {
+            return;
+        }
+        out.writeInt(statistics.getOneWayRoadCount());
+        out.writeInt(statistics.getTwoWaysRoadCount());
+        out.writeInt(statistics.getMaximumSpeed());
+        out.writeFloat(statistics.getMaximumLength());
+        out.writeFloat(statistics.getBoundingBox().getTopLeftPoint().getLongitude());
+        out.writeFloat(statistics.getBoundingBox().getTopLeftPoint().getLatitude());
+        out.writeFloat(statistics.getBoundingBox().getBottomRightPoint().getLongitude());
+        out.writeFloat(statistics.getBoundingBox().getBottomRightPoint().getLatitude());
+    }
+
+    /**
+     * Write the given road information.
+     *
+     * @param out Stream to write to.
+     * @param info Road information to write.
+     *
+     * @throws IOException if an error occurs while writing to the stream.
+     */
+    private void writeRoadInformation(DataOutputStream out, RoadInformation info)
+            throws IOException {
+        out.writeByte(info.getType().ordinal());
+        out.writeBoolean(info.isOneWay());
+        out.writeInt(info.getMaximumSpeed());
+
+        // Access restrictions, one byte per mode.
+        AccessRestrictions access = info.getAccessRestrictions();
+        out.writeBoolean(access != null);
+        if (access != null) {
+            for (AccessMode mode: AccessMode.values()) {
+                out.writeByte(access.getRestrictionFor(mode).ordinal());
+            }
+        }
+
+        out.writeBoolean(info.getName() != null);
+        if (info.getName() != null) {
+            out.writeUTF(info.getName());
+        }
+    }
+
+}
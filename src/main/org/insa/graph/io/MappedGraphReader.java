@@ -0,0 +1,519 @@
+package org.insa.graph.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.Arc;
+import org.insa.graph.EncodedPoints;
+import org.insa.graph.Graph;
+import org.insa.graph.GraphStatistics;
+import org.insa.graph.GraphStatistics.BoundingBox;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+
+/**
+ * Implementation of {@link GraphReader} that reads graph in binary format from
+ * a memory-mapped file.
+ *
+ * Contrary to {@link BinaryGraphReader}, this reader does not pull the file
+ * through a stream: the file is mapped in memory, a first pass locates the
+ * sections of the file (nodes, descriptors and arcs), and values are then
+ * decoded using absolute-offset reads. The graph returned is identical to the
+ * one returned by {@link BinaryGraphReader} for the same file.
+ *
+ * Files larger than 2GB cannot be mapped by this reader.
+ *
+ */
+public class MappedGraphReader implements GraphReader {
+
+    // Size (in bytes) of a node record in the file.
+    protected static final int NODE_RECORD_SIZE = 9;
+
+    // File to read.
+    private final File file;
+
+    // List of observers
+    protected List<GraphReaderObserver> observers = new ArrayList<>();
+
+    // Content of the file.
+    protected ByteBuffer buffer;
+
+    // Version of the file being read.
+    protected int version;
+
+    // ID and name of the map being read.
+    protected String mapId, mapName;
+
+    // Number of descriptors and nodes, and offsets of the node and arc sections.
+    protected int nbDesc, nbNodes, nodesOffset, arcsOffset;
+
+    // Descriptors read from the file, and pool used to share identical ones.
+    protected RoadInformation[] descs;
+    protected RoadInformationPool descPool;
+
+    // true if the geometry of the arcs should be kept encoded.
+    protected boolean lazyGeometry = false;
+
+    /**
+     * Create a new MappedGraphReader that reads from the given file.
+     *
+     * @param file File to read from.
+     */
+    public MappedGraphReader(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void addObserver(GraphReaderObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Enable or disable lazy geometry loading, see
+     * {@link BinaryGraphReader#setLazyGeometry(boolean)}.
+     *
+     * @param lazyGeometry true to enable lazy geometry loading.
+     */
+    public void setLazyGeometry(boolean lazyGeometry) {
+        this.lazyGeometry = lazyGeometry;
+    }
+
+    /**
+     * Map the file in memory and locate the sections of the file, reading the
+     * header and the descriptors on the way.
+     *
+     * @throws IOException if an error occurs while mapping the file, or if the
+     *         file is not a valid graph file.
+     */
+    protected void mapAndLocateSections() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // Read and check magic number and file version.
+        if (buffer.getInt(0) != BinaryGraphReader.MAGIC_NUMBER) {
+            throw new BadMagicNumberException(buffer.getInt(0), BinaryGraphReader.MAGIC_NUMBER);
+        }
+        this.version = buffer.getInt(4);
+        if (this.version < BinaryGraphReader.VERSION) {
+            throw new BadVersionException(this.version, BinaryGraphReader.VERSION);
+        }
+
+        // Read map id.
+        int pos = 8;
+        if (version < 6) {
+            mapId = "0x" + Integer.toHexString(buffer.getInt(pos));
+            mapName = "";
+            pos += 4;
+        }
+        else {
+            byte[] bytes = new byte[BinaryGraphReader.MAP_ID_FIELD_LENGTH];
+            getBytes(pos, bytes);
+            mapId = new String(bytes, "UTF-8").trim();
+            pos += BinaryGraphReader.MAP_ID_FIELD_LENGTH;
+            mapName = readUTF(pos);
+            pos += 2 + (buffer.getShort(pos) & 0xffff);
+        }
+
+        // Number of descriptors and nodes.
+        nbDesc = buffer.getInt(pos);
+        nbNodes = buffer.getInt(pos + 4);
+        pos += 8;
+        if (nbDesc < 0 || nbNodes < 0
+                || (long) nbNodes * NODE_RECORD_SIZE > buffer.limit() - pos) {
+            throw new BadFormatException();
+        }
+
+        // Node records have a fixed size, so the node section can be skipped.
+        nodesOffset = pos;
+        pos += nbNodes * NODE_RECORD_SIZE;
+        checkByteOrThrow(pos++, 255);
+
+        // Descriptors have variable length and are read on the way.
+        descs = new RoadInformation[nbDesc];
+        descPool = new RoadInformationPool();
+        for (int descr = 0; descr < nbDesc; ++descr) {
+            pos = readRoadInformation(pos, descr);
+        }
+        checkByteOrThrow(pos++, 254);
+
+        arcsOffset = pos;
+    }
+
+    @Override
+    public Graph read() throws IOException {
+        try {
+            return readGraph();
+        }
+        catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            // The file is shorter than announced by its content.
+            throw new BadFormatException();
+        }
+    }
+
+    /**
+     * Read the graph from the mapped file.
+     *
+     * Records are decoded by {@link #decodeNodes(Node[], int[])} and
+     * {@link #decodeArcs(Node[], ArcRecords)}, which subclasses may override to
+     * change how decoding is scheduled. Arcs are then linked to their nodes
+     * sequentially, in file order.
+     *
+     * @return The graph read.
+     *
+     * @throws IOException When an exception occurs while reading the graph.
+     */
+    private Graph readGraph() throws IOException {
+
+        mapAndLocateSections();
+
+        final boolean notify = !observers.isEmpty();
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReading(mapId);
+        }
+
+        // Decode nodes.
+        final Node[] nodes = new Node[nbNodes];
+        final int[] nbSuccessors = new int[nbNodes];
+        decodeNodes(nodes, nbSuccessors);
+
+        // Index of the first arc record of each node, bounding box and
+        // notifications.
+        final ArcRecords records = new ArcRecords(nbSuccessors);
+        float minLongitude = Float.POSITIVE_INFINITY, minLatitude = Float.POSITIVE_INFINITY,
+                maxLongitude = Float.NEGATIVE_INFINITY, maxLatitude = Float.NEGATIVE_INFINITY;
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReadingNodes(nbNodes);
+        }
+        for (Node node: nodes) {
+            Point point = node.getPoint();
+            minLongitude = Math.min(point.getLongitude(), minLongitude);
+            minLatitude = Math.min(point.getLatitude(), minLatitude);
+            maxLongitude = Math.max(point.getLongitude(), maxLongitude);
+            maxLatitude = Math.max(point.getLatitude(), maxLatitude);
+            if (notify) {
+                for (GraphReaderObserver observer: observers) {
+                    observer.notifyNewNodeRead(node);
+                }
+            }
+        }
+        final int nbTotalSuccessors = records.size();
+
+        // Notify about descriptors (already read when locating sections).
+        int maxSpeed = 0;
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReadingDescriptors(nbDesc);
+        }
+        for (RoadInformation roadinf: descs) {
+            maxSpeed = Math.max(roadinf.getMaximumSpeed(), maxSpeed);
+            if (notify) {
+                for (GraphReaderObserver observer: observers) {
+                    observer.notifyNewDescriptorRead(roadinf);
+                }
+            }
+        }
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyDescriptorsInterned(descPool);
+        }
+
+        // Decode arcs.
+        decodeArcs(nodes, records);
+
+        // Link arcs, in file order.
+        float maxLength = 0;
+        int nbOneWayRoad = 0;
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyStartReadingArcs(nbTotalSuccessors);
+        }
+        for (int node = 0; node < nbNodes; ++node) {
+            for (int record = records.first[node]; record < records.first[node + 1]; ++record) {
+                RoadInformation info = descs[records.descriptor[record]];
+                maxLength = Math.max(records.length[record], maxLength);
+                Arc arc = Node.linkNodes(nodes[node], nodes[records.destination[record]],
+                        records.length[record], info, records.points[record]);
+                if (info.isOneWay()) {
+                    nbOneWayRoad++;
+                }
+                if (notify) {
+                    for (GraphReaderObserver observer: observers) {
+                        observer.notifyNewArcRead(arc);
+                    }
+                }
+            }
+        }
+
+        for (GraphReaderObserver observer: observers) {
+            observer.notifyEndReading();
+        }
+
+        // Release the buffer so that the mapping can be garbage collected.
+        this.buffer = null;
+
+        return new Graph(mapId, mapName, Arrays.asList(nodes),
+                new GraphStatistics(
+                        new BoundingBox(new Point(minLongitude, maxLatitude),
+                                new Point(maxLongitude, minLatitude)),
+                        nbOneWayRoad, nbTotalSuccessors - nbOneWayRoad, maxSpeed, maxLength));
+    }
+
+    /**
+     * Decoded arc records, indexed by their position in the file (the records of
+     * node <code>n</code> are in <code>[first[n], first[n + 1])</code>).
+     */
+    protected static final class ArcRecords {
+
+        // Index of the first record of each node (size is number of nodes + 1).
+        protected final int[] first;
+
+        // Destination, descriptor index, length and points of each record.
+        protected final int[] destination, descriptor;
+        protected final float[] length;
+        protected final List<Point>[] points;
+
+        @SuppressWarnings("unchecked")
+        private ArcRecords(int[] nbSuccessors) {
+            first = new int[nbSuccessors.length + 1];
+            for (int node = 0; node < nbSuccessors.length; ++node) {
+                first[node + 1] = first[node] + nbSuccessors[node];
+            }
+            final int nbRecords = first[nbSuccessors.length];
+            destination = new int[nbRecords];
+            descriptor = new int[nbRecords];
+            length = new float[nbRecords];
+            points = (List<Point>[]) new List<?>[nbRecords];
+        }
+
+        /**
+         * @return Number of records.
+         */
+        protected int size() {
+            return destination.length;
+        }
+
+    }
+
+    /**
+     * Decode all the node records.
+     *
+     * @param nodes Array of nodes to fill.
+     * @param nbSuccessors Array of number of successors to fill.
+     */
+    protected void decodeNodes(Node[] nodes, int[] nbSuccessors) {
+        decodeNodes(0, nbNodes, nodes, nbSuccessors);
+    }
+
+    /**
+     * Decode the records of the nodes in the given range.
+     *
+     * @param firstNode First node to decode.
+     * @param lastNode Node following the last node to decode.
+     * @param nodes Array of nodes to fill.
+     * @param nbSuccessors Array of number of successors to fill.
+     */
+    protected final void decodeNodes(int firstNode, int lastNode, Node[] nodes,
+            int[] nbSuccessors) {
+        for (int node = firstNode, pos = nodesOffset + node * NODE_RECORD_SIZE;
+                node < lastNode; ++node, pos += NODE_RECORD_SIZE) {
+            float longitude = ((float) buffer.getInt(pos)) / 1E6f;
+            float latitude = ((float) buffer.getInt(pos + 4)) / 1E6f;
+            nbSuccessors[node] = buffer.get(pos + 8) & 0xff;
+            nodes[node] = new Node(node, new Point(longitude, latitude));
+        }
+    }
+
+    /**
+     * Decode all the arc records, and check the end of the arc section.
+     *
+     * @param nodes Nodes of the graph.
+     * @param records Records to fill.
+     *
+     * @throws BadFormatException if the arc section is not correctly terminated.
+     */
+    protected void decodeArcs(Node[] nodes, ArcRecords records) throws BadFormatException {
+        int pos = decodeArcs(0, nbNodes, arcsOffset, nodes, records,
+                lazyGeometry ? new SegmentStore() : null);
+        checkByteOrThrow(pos, 253);
+    }
+
+    /**
+     * Decode the arc records of the nodes in the given range.
+     *
+     * @param firstNode First node whose arcs should be decoded.
+     * @param lastNode Node following the last node whose arcs should be decoded.
+     * @param pos Offset of the first arc record of firstNode.
+     * @param nodes Nodes of the graph.
+     * @param records Records to fill.
+     * @param segments Store for encoded segments if the geometry is lazily
+     *        loaded, null otherwise. Stores are not thread-safe.
+     *
+     * @return Offset following the last record decoded.
+     */
+    protected final int decodeArcs(int firstNode, int lastNode, int pos, Node[] nodes,
+            ArcRecords records, SegmentStore segments) {
+        final int lengthSize = getArcLengthSize();
+        for (int node = firstNode; node < lastNode; ++node) {
+            Node orig = nodes[node];
+            for (int record = records.first[node]; record < records.first[node + 1]; ++record) {
+                records.destination[record] = read24bits(pos);
+                records.descriptor[record] = read24bits(pos + 3);
+                records.length[record] = readArcLength(pos + 6);
+                pos += 6 + lengthSize;
+
+                int nbSegments = buffer.getShort(pos) & 0xffff;
+                pos += 2;
+
+                Node dest = nodes[records.destination[record]];
+
+                if (segments != null) {
+                    // Keep the segments encoded.
+                    int offset = segments.reserve(2 * nbSegments);
+                    short[] chunk = segments.getChunk();
+                    for (int i = offset; i < offset + 2 * nbSegments; ++i, pos += 2) {
+                        chunk[i] = buffer.getShort(pos);
+                    }
+                    records.points[record] = new EncodedPoints(orig.getPoint(), dest.getPoint(),
+                            chunk, offset, nbSegments);
+                }
+                else {
+                    // Chain of points corresponding to the segments.
+                    ArrayList<Point> points = new ArrayList<Point>(nbSegments + 2);
+                    Point lastPoint = orig.getPoint();
+                    points.add(lastPoint);
+                    for (int seg = 0; seg < nbSegments; ++seg, pos += 4) {
+                        float dlon = (buffer.getShort(pos)) / 2.0e5f;
+                        float dlat = (buffer.getShort(pos + 2)) / 2.0e5f;
+                        lastPoint = new Point(lastPoint.getLongitude() + dlon,
+                                lastPoint.getLatitude() + dlat);
+                        points.add(lastPoint);
+                    }
+                    points.add(dest.getPoint());
+                    records.points[record] = points;
+                }
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Read the road information starting at the given position, and store it in
+     * the descriptors array.
+     *
+     * @param pos Position of the road information in the file.
+     * @param descr Index of the road information.
+     *
+     * @return Position following the road information.
+     *
+     * @throws IOException if the road information cannot be decoded.
+     */
+    protected int readRoadInformation(int pos, int descr) throws IOException {
+        char type = (char) (buffer.get(pos) & 0xff);
+        int x = buffer.get(pos + 1) & 0xff;
+        pos += 2;
+        AccessRestrictions access = new AccessRestrictions();
+        if (version >= 7) {
+            access = BinaryGraphReader.toAccessInformation(buffer.getLong(pos));
+            pos += 8;
+        }
+        else if (version >= 6) {
+            pos += 2;
+        }
+        String name = readUTF(pos);
+        pos += 2 + (buffer.getShort(pos) & 0xffff);
+        descs[descr] = descPool.intern(BinaryGraphReader.toRoadType(type), access,
+                (x & 0x80) > 0, (x & 0x7F) * 5, name);
+        return pos;
+    }
+
+    /**
+     * @return Size (in bytes) of the length field of an arc record.
+     */
+    protected int getArcLengthSize() {
+        return version < 8 ? 2 : 4;
+    }
+
+    /**
+     * Read the length of an arc at the given position.
+     *
+     * @param pos Position of the length field.
+     *
+     * @return Length of the arc, in meters.
+     */
+    protected float readArcLength(int pos) {
+        if (version < 8) {
+            return buffer.getShort(pos) & 0xffff;
+        }
+        return buffer.getInt(pos) / 1000.0f;
+    }
+
+    /**
+     * Read 24 bits in BigEndian order at the given position.
+     *
+     * @param pos Position of the first byte.
+     *
+     * @return Integer value read from the 24 bits.
+     */
+    protected int read24bits(int pos) {
+        return ((buffer.getShort(pos) & 0xffff) << 8) | (buffer.get(pos + 2) & 0xff);
+    }
+
+    /**
+     * Check that the byte at the given position corresponds to the given byte.
+     *
+     * @param pos Position of the byte to check.
+     * @param b Expected value.
+     *
+     * @throws BadFormatException if the byte is not the expected one.
+     */
+    protected void checkByteOrThrow(int pos, int b) throws BadFormatException {
+        if (pos >= buffer.limit() || (buffer.get(pos) & 0xff) != b) {
+            throw new BadFormatException();
+        }
+    }
+
+    /**
+     * Copy bytes starting at the given position into the given array.
+     *
+     * @param pos Position of the first byte.
+     * @param bytes Destination array, filled entirely.
+     *
+     * @throws BufferUnderflowException if the buffer does not contain enough
+     *         bytes after the given position.
+     */
+    private void getBytes(int pos, byte[] bytes) {
+        if (pos < 0 || pos > buffer.limit() - bytes.length) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.position(pos);
+        view.get(bytes);
+    }
+
+    /**
+     * Read a string in modified UTF-8 format (see
+     * {@link DataInputStream#readUTF()}) at the given position.
+     *
+     * @param pos Position of the string (including its 2-bytes length).
+     *
+     * @return The string read.
+     *
+     * @throws IOException if the string cannot be decoded.
+     */
+    private String readUTF(int pos) throws IOException {
+        byte[] bytes = new byte[2 + (buffer.getShort(pos) & 0xffff)];
+        getBytes(pos, bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+    }
+
+}
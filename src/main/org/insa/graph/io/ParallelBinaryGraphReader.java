@@ -0,0 +1,134 @@
+package org.insa.graph.io;
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import org.insa.graph.Node;
+
+/**
+ * Implementation of {@link GraphReader} that reads graph in binary format from
+ * a memory-mapped file using multiple threads.
+ *
+ * Records are decoded by the same methods as {@link MappedGraphReader}, but
+ * on ranges of nodes in parallel:
+ * <ol>
+ * <li>nodes are decoded in parallel;</li>
+ * <li>a sequential scan of the arc section finds the offset of the arcs of each
+ * range of nodes, using the number of successors of each node and the number
+ * of segments of each arc (the only variable-length part of arc records);</li>
+ * <li>the arcs of each range of nodes are decoded in parallel (this is where
+ * most of the time is spent, mainly to decode segments);</li>
+ * <li>decoded arcs are linked to their nodes sequentially, in file order, so
+ * that the graph returned is identical to the one returned by
+ * {@link BinaryGraphReader} for the same file.</li>
+ * </ol>
+ *
+ * Observers are notified about each node and arc during the last step, once
+ * the corresponding objects have been created.
+ *
+ */
+public class ParallelBinaryGraphReader extends MappedGraphReader {
+
+    // Number of nodes decoded by a single task.
+    private static final int CHUNK_SIZE = 4096;
+
+    // Pool used to run the decoding tasks.
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new ParallelBinaryGraphReader that reads from the given file using
+     * the common fork-join pool.
+     *
+     * @param file File to read from.
+     */
+    public ParallelBinaryGraphReader(File file) {
+        this(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new ParallelBinaryGraphReader that reads from the given file using
+     * the given pool.
+     *
+     * @param file File to read from.
+     * @param pool Pool to use to run decoding tasks.
+     */
+    public ParallelBinaryGraphReader(File file, ForkJoinPool pool) {
+        super(file);
+        this.pool = pool;
+    }
+
+    /**
+     * Task that runs an action on each chunk of a range of chunks, splitting
+     * the range in halves until a single chunk remains.
+     */
+    private static class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        // Range of chunks [first, last).
+        private final int first, last;
+
+        // Action to run for each chunk.
+        private final IntConsumer action;
+
+        public ChunkTask(int first, int last, IntConsumer action) {
+            this.first = first;
+            this.last = last;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= 1) {
+                if (first < last) {
+                    action.accept(first);
+                }
+            }
+            else {
+                int middle = (first + last) >>> 1;
+                invokeAll(new ChunkTask(first, middle, action),
+                        new ChunkTask(middle, last, action));
+            }
+        }
+
+    }
+
+    @Override
+    protected void decodeNodes(Node[] nodes, int[] nbSuccessors) {
+        final int nbChunks = (nbNodes + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        pool.invoke(new ChunkTask(0, nbChunks, chunk -> decodeNodes(chunk * CHUNK_SIZE,
+                Math.min(nbNodes, (chunk + 1) * CHUNK_SIZE), nodes, nbSuccessors)));
+    }
+
+    @Override
+    protected void decodeArcs(Node[] nodes, ArcRecords records) throws BadFormatException {
+        final int nbChunks = (nbNodes + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        // Find the offset of the first arc record of each chunk.
+        final int recordHeaderSize = 6 + getArcLengthSize();
+        final int[] chunkOffsets = new int[nbChunks + 1];
+        int pos = arcsOffset;
+        for (int node = 0; node < nbNodes; ++node) {
+            if (node % CHUNK_SIZE == 0) {
+                chunkOffsets[node / CHUNK_SIZE] = pos;
+            }
+            for (int record = records.first[node]; record < records.first[node + 1]; ++record) {
+                pos += recordHeaderSize;
+                pos += 2 + 4 * (buffer.getShort(pos) & 0xffff);
+            }
+        }
+        chunkOffsets[nbChunks] = pos;
+
+        // Check format.
+        checkByteOrThrow(pos, 253);
+
+        // Each task has its own store since stores are not thread-safe.
+        pool.invoke(new ChunkTask(0, nbChunks,
+                chunk -> decodeArcs(chunk * CHUNK_SIZE, Math.min(nbNodes, (chunk + 1) * CHUNK_SIZE),
+                        chunkOffsets[chunk], nodes, records,
+                        lazyGeometry ? new SegmentStore() : null)));
+    }
+
+}
@@ -0,0 +1,193 @@
+package org.insa.graph.io;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.insa.graph.RoadInformation.RoutingAttributes;
+
+/**
+ * Pool used by graph readers to share identical descriptors.
+ *
+ * Map files often contain many descriptors that only differ by the name of the
+ * road, and sometimes identical descriptors. Readers create descriptors
+ * through {@link #intern(RoadType, AccessRestrictions, boolean, int, String)},
+ * which returns a single instance for identical descriptors, and shares
+ * {@link RoutingAttributes}, access restrictions and names between
+ * descriptors. Duplicate descriptors are found without allocating any object.
+ * The number of distinct values is reported to observers (see
+ * {@link GraphReaderObserver#notifyDescriptorsInterned(RoadInformationPool)}).
+ *
+ */
+public class RoadInformationPool {
+
+    /**
+     * Mutable routing attributes, used to look up shared attributes without
+     * allocating a new instance for each descriptor read.
+     */
+    private static final class AttributesKey {
+
+        private RoadType type;
+        private AccessRestrictions access;
+        private boolean oneway;
+        private int maxSpeed;
+
+        /**
+         * @return This key, after setting its attributes.
+         */
+        AttributesKey set(RoadType type, AccessRestrictions access, boolean oneway,
+                int maxSpeed) {
+            this.type = type;
+            this.access = access;
+            this.oneway = oneway;
+            this.maxSpeed = maxSpeed;
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            // Not using Objects.hash, which allocates an array.
+            int hash = Objects.hashCode(type);
+            hash = 31 * hash + Objects.hashCode(access);
+            hash = 31 * hash + (oneway ? 1 : 0);
+            return 31 * hash + maxSpeed;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof AttributesKey)) {
+                return false;
+            }
+            AttributesKey that = (AttributesKey) other;
+            return type == that.type && oneway == that.oneway && maxSpeed == that.maxSpeed
+                    && Objects.equals(access, that.access);
+        }
+
+    }
+
+    // Distinct access restrictions and names read.
+    private final Map<AccessRestrictions, AccessRestrictions> restrictions = new HashMap<>();
+    private final Map<String, String> names = new HashMap<>();
+
+    // Distinct routing attributes read, and distinct descriptors for each of
+    // them (indexed by name).
+    private final Map<AttributesKey, RoutingAttributes> attributes = new HashMap<>();
+    private final Map<RoutingAttributes, Map<String, RoadInformation>> descriptors = new IdentityHashMap<>();
+
+    // Key used to look up routing attributes.
+    private final AttributesKey lookup = new AttributesKey();
+
+    // Number of descriptors created through this pool, and number of distinct
+    // descriptors.
+    private int nbDescriptors = 0;
+    private int nbDistinctDescriptors = 0;
+
+    RoadInformationPool() {
+    }
+
+    /**
+     * Retrieve the descriptor with the given attributes, creating it if no such
+     * descriptor has been created by this pool yet.
+     *
+     * @param roadType Type of the road.
+     * @param access Access restrictions for the road.
+     * @param isOneWay true if this road is a one way road.
+     * @param maxSpeed Maximum speed for the road (in kilometers-per-hour).
+     * @param name Name of the road.
+     *
+     * @return A descriptor with the given attributes, shared with previous
+     *         identical descriptors.
+     */
+    RoadInformation intern(RoadType roadType, AccessRestrictions access, boolean isOneWay,
+            int maxSpeed, String name) {
+        ++nbDescriptors;
+        access = intern(restrictions, access);
+
+        RoutingAttributes shared = attributes.get(lookup.set(roadType, access, isOneWay,
+                maxSpeed));
+        if (shared == null) {
+            shared = new RoutingAttributes(roadType, access, isOneWay, maxSpeed);
+            attributes.put(new AttributesKey().set(roadType, access, isOneWay, maxSpeed),
+                    shared);
+            descriptors.put(shared, new HashMap<>());
+        }
+
+        final Map<String, RoadInformation> named = descriptors.get(shared);
+        RoadInformation descriptor = named.get(name);
+        if (descriptor == null) {
+            descriptor = new RoadInformation(shared, intern(names, name));
+            named.put(descriptor.getName(), descriptor);
+            ++nbDistinctDescriptors;
+        }
+        return descriptor;
+    }
+
+    /**
+     * @return The value in the given map equal to the given value, after adding
+     *         it if there is none.
+     */
+    private static <T> T intern(Map<T, T> values, T value) {
+        if (value == null) {
+            return null;
+        }
+        T existing = values.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * @return Number of descriptors created through this pool.
+     */
+    public int getDescriptorCount() {
+        return nbDescriptors;
+    }
+
+    /**
+     * @return Number of distinct descriptors, i.e. number of descriptor instances
+     *         kept in memory.
+     */
+    public int getDistinctDescriptorCount() {
+        return nbDistinctDescriptors;
+    }
+
+    /**
+     * @return Number of distinct descriptors when names are ignored, i.e. number
+     *         of {@link RoutingAttributes} instances kept in memory.
+     */
+    public int getDistinctRoutingAttributesCount() {
+        return attributes.size();
+    }
+
+    /**
+     * @return Number of distinct access restrictions.
+     */
+    public int getDistinctAccessRestrictionsCount() {
+        return restrictions.size();
+    }
+
+    /**
+     * @return Number of distinct road names.
+     */
+    public int getDistinctNameCount() {
+        return names.size();
+    }
+
+    /**
+     * @return Ratio between the number of descriptors created and the number of
+     *         distinct descriptors (1 if there are no duplicates).
+     */
+    public double getDeduplicationRatio() {
+        return nbDistinctDescriptors == 0 ? 1 : nbDescriptors / (double) nbDistinctDescriptors;
+    }
+
+    @Override
+    public String toString() {
+        return nbDescriptors + " descriptors, " + nbDistinctDescriptors + " distinct ("
+                + attributes.size() + " without names), " + restrictions.size()
+                + " distinct access restrictions, " + names.size() + " distinct names";
+    }
+
+}
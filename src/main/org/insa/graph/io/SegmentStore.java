@@ -0,0 +1,48 @@
+package org.insa.graph.io;
+
+import org.insa.graph.EncodedPoints;
+
+/**
+ * Storage for the encoded segments of arcs read with lazy geometry (see
+ * {@link EncodedPoints}).
+ *
+ * Segments are stored in fixed-size chunks shared by many arcs, so that the
+ * storage never has to be reallocated (which would leave arcs pointing to
+ * stale arrays).
+ *
+ */
+class SegmentStore {
+
+    // Length of the chunks (in number of values).
+    private static final int CHUNK_LENGTH = 1 << 16;
+
+    // Current chunk and number of values used in it.
+    private short[] chunk = new short[0];
+    private int used = 0;
+
+    /**
+     * Reserve space for the given number of values in the current chunk,
+     * creating a new chunk if required.
+     *
+     * @param length Number of values to reserve.
+     *
+     * @return Offset of the reserved space in {@link #getChunk()}.
+     */
+    public int reserve(int length) {
+        if (used + length > chunk.length) {
+            chunk = new short[Math.max(CHUNK_LENGTH, length)];
+            used = 0;
+        }
+        int offset = used;
+        used += length;
+        return offset;
+    }
+
+    /**
+     * @return The current chunk, i.e. the chunk of the last reserved space.
+     */
+    public short[] getChunk() {
+        return chunk;
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.insa.graph.io;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Exception thrown when a graph snapshot has not been created from the
+ * expected map file, or when the map file has changed since the snapshot was
+ * created.
+ *
+ */
+public class StaleSnapshotException extends IOException {
+
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+
+    // Snapshot and map files.
+    private final File snapshotFile, mapFile;
+
+    /**
+     * Create a new StaleSnapshotException for the given files.
+     * 
+     * @param snapshotFile Snapshot file being read.
+     * @param mapFile Map file the snapshot should have been created from.
+     */
+    public StaleSnapshotException(File snapshotFile, File mapFile) {
+        super("Snapshot " + snapshotFile + " does not match map file " + mapFile + ".");
+        this.snapshotFile = snapshotFile;
+        this.mapFile = mapFile;
+    }
+
+    /**
+     * @return The snapshot file being read.
+     */
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * @return The map file the snapshot should have been created from.
+     */
+    public File getMapFile() {
+        return mapFile;
+    }
+
+}
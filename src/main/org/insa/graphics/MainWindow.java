@@ -12,9 +12,12 @@ import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
@@ -47,6 +50,8 @@ import org.insa.algo.AbstractSolution;
 import org.insa.algo.AlgorithmFactory;
 import org.insa.algo.carpooling.CarPoolingAlgorithm;
 import org.insa.algo.packageswitch.PackageSwitchAlgorithm;
+import org.insa.algo.shortestpath.ContractionHierarchy;
+import org.insa.algo.shortestpath.Landmarks;
 import org.insa.algo.shortestpath.ShortestPathAlgorithm;
 import org.insa.algo.shortestpath.ShortestPathData;
 import org.insa.algo.shortestpath.ShortestPathGraphicObserver;
@@ -58,9 +63,12 @@ import org.insa.algo.weakconnectivity.WeaklyConnectedComponentsAlgorithm;
 import org.insa.algo.weakconnectivity.WeaklyConnectedComponentsData;
 import org.insa.graph.Graph;
 import org.insa.graph.Path;
-import org.insa.graph.io.BinaryGraphReader;
 import org.insa.graph.io.BinaryPathReader;
 import org.insa.graph.io.GraphReader;
+import org.insa.graph.io.GraphReaderObserver;
+import org.insa.graph.io.GraphSnapshotReader;
+import org.insa.graph.io.GraphSnapshotWriter;
+import org.insa.graph.io.ParallelBinaryGraphReader;
 import org.insa.graph.io.MapMismatchException;
 import org.insa.graphics.AlgorithmPanel.StartActionEvent;
 import org.insa.graphics.drawing.BasicGraphPalette;
@@ -226,6 +234,10 @@ public class MainWindow extends JFrame {
 
                 spPanel.setEnabled(false);
 
+                // Answer queries between nodes that cannot be connected without
+                // searching.
+                spAlgorithm.setFeasibilityCheck(true);
+
                 if (evt.isGraphicVisualizationEnabled()) {
                     spAlgorithm.addObserver(new ShortestPathGraphicObserver(drawing));
                 }
@@ -296,17 +308,16 @@ public class MainWindow extends JFrame {
                 JFileChooser chooser = FileUtils.createFileChooser(FolderType.Map);
                 if (chooser.showOpenDialog(MainWindow.this) == JFileChooser.APPROVE_OPTION) {
                     graphFilePath = chooser.getSelectedFile().getAbsolutePath();
-                    DataInputStream stream;
-                    try {
-                        stream = new DataInputStream(new BufferedInputStream(
-                                new FileInputStream(chooser.getSelectedFile())));
-                    }
-                    catch (IOException e1) {
+                    if (!chooser.getSelectedFile().canRead()) {
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Cannot open the selected file.");
                         return;
                     }
-                    loadGraph(new BinaryGraphReader(stream));
+                    // Preprocessing data is stored next to the map file.
+                    Landmarks.setStorageDirectory(chooser.getSelectedFile().getParentFile());
+                    ContractionHierarchy.setStorageDirectory(
+                            chooser.getSelectedFile().getParentFile());
+                    loadGraph(chooser.getSelectedFile());
                 }
             }
         };
@@ -570,15 +581,95 @@ public class MainWindow extends JFrame {
         drawGraph(null, this.currentPalette);
     }
 
-    private void loadGraph(GraphReader reader) {
+    /**
+     * Read the graph stored in the given file.
+     * 
+     * Map files are read from the snapshot stored next to them if it is up to
+     * date, and the snapshot is (re)created otherwise (see
+     * {@link #writeSnapshot(Graph, File)}). Snapshots opened directly are
+     * checked against the map file stored next to them, if any.
+     * 
+     * @param file Map or snapshot file to read.
+     * @param observer Observer to add to the readers.
+     * 
+     * @return The graph read.
+     * 
+     * @throws IOException if the graph cannot be read.
+     */
+    private Graph readGraph(File file, GraphReaderObserver observer) throws IOException {
+        if (file.getName().endsWith(".mapsnap")) {
+            File mapFile = GraphSnapshotReader.getMapFile(file);
+            GraphSnapshotReader reader = mapFile.exists() ? new GraphSnapshotReader(file, mapFile)
+                    : new GraphSnapshotReader(file);
+            reader.addObserver(observer);
+            return reader.read();
+        }
+
+        File snapshotFile = GraphSnapshotReader.getSnapshotFile(file);
+        if (snapshotFile.exists()) {
+            GraphSnapshotReader reader = new GraphSnapshotReader(snapshotFile, file);
+            reader.addObserver(observer);
+            try {
+                return reader.read();
+            }
+            catch (IOException exception) {
+                // Stale or corrupted snapshot, it is replaced below.
+                System.out.println("Ignoring snapshot " + snapshotFile + ": " + exception);
+            }
+        }
+
+        GraphReader reader = new ParallelBinaryGraphReader(file);
+        reader.addObserver(observer);
+        Graph graph = reader.read();
+        writeSnapshot(graph, file);
+        return graph;
+    }
+
+    /**
+     * Write a snapshot of the given graph next to the given map file, in a
+     * background thread, so that the map loads faster the next time it is
+     * opened. Failures (e.g. read-only directory) are only reported on the
+     * console.
+     * 
+     * @param graph Graph read from the map file.
+     * @param mapFile Map file.
+     */
+    private void writeSnapshot(Graph graph, File mapFile) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                File snapshotFile = GraphSnapshotReader.getSnapshotFile(mapFile);
+                File tmpFile = new File(snapshotFile.getPath() + ".tmp");
+                try {
+                    new GraphSnapshotWriter(new DataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(tmpFile))))
+                                    .writeGraph(graph, mapFile);
+                    if (!tmpFile.renameTo(snapshotFile)) {
+                        snapshotFile.delete();
+                        if (!tmpFile.renameTo(snapshotFile)) {
+                            throw new IOException("Cannot rename " + tmpFile + ".");
+                        }
+                    }
+                }
+                catch (IOException exception) {
+                    tmpFile.delete();
+                    System.out.println("Unable to write snapshot " + snapshotFile + ": "
+                            + exception);
+                }
+            }
+        }, "snapshot-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void loadGraph(File file) {
         launchThread(new Runnable() {
             @Override
             public void run() {
                 GraphReaderProgressBar progressBar = new GraphReaderProgressBar(MainWindow.this);
                 progressBar.setLocationRelativeTo(mainPanel.getLeftComponent());
-                reader.addObserver(progressBar);
                 try {
-                    graph = reader.read();
+                    graph = readGraph(file, progressBar);
                 }
                 catch (Exception exception) {
                     progressBar.setVisible(false);
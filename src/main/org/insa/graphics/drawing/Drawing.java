@@ -1,6 +1,7 @@
 package org.insa.graphics.drawing;
 
 import java.awt.Color;
+import java.util.List;
 
 import org.insa.graph.Graph;
 import org.insa.graph.Path;
@@ -8,6 +9,7 @@ import org.insa.graph.Point;
 import org.insa.graphics.drawing.overlays.MarkerOverlay;
 import org.insa.graphics.drawing.overlays.PathOverlay;
 import org.insa.graphics.drawing.overlays.PointSetOverlay;
+import org.insa.graphics.drawing.overlays.PolygonOverlay;
 
 public interface Drawing {
 
@@ -154,4 +156,16 @@ public interface Drawing {
      */
     public PathOverlay drawPath(Path path);
 
+    /**
+     * Draw a polygon using the given color for its border, and a translucent
+     * version of the given color for its interior.
+     * 
+     * @param points Vertices of the polygon (the last vertex is connected to the
+     *        first one).
+     * @param color Color of the polygon to draw.
+     * 
+     * @return A PolygonOverlay instance representing the newly drawn polygon.
+     */
+    public PolygonOverlay drawPolygon(List<Point> points, Color color);
+
 }
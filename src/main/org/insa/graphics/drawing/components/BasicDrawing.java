@@ -38,6 +38,7 @@ import org.insa.graphics.drawing.overlays.MarkerUtils;
 import org.insa.graphics.drawing.overlays.Overlay;
 import org.insa.graphics.drawing.overlays.PathOverlay;
 import org.insa.graphics.drawing.overlays.PointSetOverlay;
+import org.insa.graphics.drawing.overlays.PolygonOverlay;
 
 /**
  * Cette implementation de la classe Dessin produit vraiment un affichage (au
@@ -307,6 +308,41 @@ public class BasicDrawing extends JPanel implements Drawing {
 
     }
 
+    private class BasicPolygonOverlay extends BasicOverlay implements PolygonOverlay {
+
+        // Alpha of the interior of the polygon.
+        private static final int FILL_ALPHA = 64;
+
+        // List of vertices
+        private final List<Point> points;
+
+        public BasicPolygonOverlay(List<Point> points, Color color) {
+            super(color);
+            this.points = points;
+        }
+
+        public int getZLevel() {
+            return 1;
+        }
+
+        @Override
+        public void drawImpl(Graphics2D graphics) {
+            int[] xs = new int[points.size()], ys = new int[points.size()];
+            for (int i = 0; i < points.size(); ++i) {
+                xs[i] = projection.longitudeToPixelX(points.get(i).getLongitude());
+                ys[i] = projection.latitudeToPixelY(points.get(i).getLatitude());
+            }
+            Color color = getColor();
+            graphics.setColor(
+                    new Color(color.getRed(), color.getGreen(), color.getBlue(), FILL_ALPHA));
+            graphics.fillPolygon(xs, ys, xs.length);
+            graphics.setStroke(new BasicStroke(2));
+            graphics.setColor(color);
+            graphics.drawPolygon(xs, ys, xs.length);
+        }
+
+    }
+
     /**
      * Class encapsulating a set of overlays.
      *
@@ -746,4 +782,10 @@ public class BasicDrawing extends JPanel implements Drawing {
         return drawPath(path, DEFAULT_PATH_COLOR, markers);
     }
 
+    @Override
+    public PolygonOverlay drawPolygon(List<Point> points, Color color) {
+        return (PolygonOverlay) this.overlays
+                .add(new BasicPolygonOverlay(new ArrayList<>(points), color));
+    }
+
 }
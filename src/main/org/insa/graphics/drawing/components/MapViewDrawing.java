@@ -9,6 +9,7 @@ import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.insa.graph.Arc;
@@ -22,10 +23,14 @@ import org.insa.graphics.drawing.overlays.MarkerAutoScaling;
 import org.insa.graphics.drawing.overlays.MarkerOverlay;
 import org.insa.graphics.drawing.overlays.MarkerUtils;
 import org.insa.graphics.drawing.overlays.Overlay;
+import org.insa.graphics.drawing.overlays.PaintUtils;
 import org.insa.graphics.drawing.overlays.PathOverlay;
 import org.insa.graphics.drawing.overlays.PointSetOverlay;
+import org.insa.graphics.drawing.overlays.PolygonOverlay;
 import org.insa.graphics.drawing.overlays.PolylineAutoScaling;
 import org.mapsforge.core.graphics.GraphicFactory;
+import org.mapsforge.core.graphics.Paint;
+import org.mapsforge.core.graphics.Style;
 import org.mapsforge.core.model.BoundingBox;
 import org.mapsforge.core.model.LatLong;
 import org.mapsforge.core.model.MapPosition;
@@ -40,6 +45,7 @@ import org.mapsforge.map.layer.Layers;
 import org.mapsforge.map.layer.cache.TileCache;
 import org.mapsforge.map.layer.hills.HillsRenderConfig;
 import org.mapsforge.map.layer.overlay.Marker;
+import org.mapsforge.map.layer.overlay.Polygon;
 import org.mapsforge.map.layer.renderer.TileRendererLayer;
 import org.mapsforge.map.model.DisplayModel;
 import org.mapsforge.map.model.MapViewPosition;
@@ -182,6 +188,26 @@ public class MapViewDrawing extends MapView implements Drawing {
 
     }
 
+    /**
+     * PolygonOverlay for MapViewDrawing.
+     *
+     */
+    private class MapViewPolygonOverlay extends MapViewOverlay implements PolygonOverlay {
+
+        public MapViewPolygonOverlay(Polygon polygon, Color color) {
+            super(new Layer[] { polygon }, color);
+        }
+
+        @Override
+        public void setColor(Color color) {
+            super.setColor(color);
+            Polygon polygon = (Polygon) this.layers[0];
+            polygon.getPaintFill().setColor(PaintUtils.convertColor(getFillColor(color)));
+            polygon.getPaintStroke().setColor(PaintUtils.convertColor(color));
+        }
+
+    }
+
     /**
      * PointSetOverlay for MapViewDrawing - Not currently implemented.
      *
@@ -236,6 +262,9 @@ public class MapViewDrawing extends MapView implements Drawing {
     // Default tile size.
     private static final int DEFAULT_TILE_SIZE = 512;
 
+    // Alpha of the interior of polygons.
+    private static final int POLYGON_FILL_ALPHA = 64;
+
     // List of listeners.
     private ArrayList<DrawingClickListener> drawingClickListeners = new ArrayList<>();
 
@@ -459,4 +488,26 @@ public class MapViewDrawing extends MapView implements Drawing {
         return drawPath(path, DEFAULT_PATH_COLOR, markers);
     }
 
+    @Override
+    public PolygonOverlay drawPolygon(List<Point> points, Color color) {
+        Paint fill = GRAPHIC_FACTORY.createPaint(), stroke = GRAPHIC_FACTORY.createPaint();
+        fill.setColor(PaintUtils.convertColor(getFillColor(color)));
+        fill.setStyle(Style.FILL);
+        stroke.setColor(PaintUtils.convertColor(color));
+        stroke.setStyle(Style.STROKE);
+        stroke.setStrokeWidth(2);
+        Polygon polygon = new Polygon(fill, stroke, GRAPHIC_FACTORY);
+        for (Point point: points) {
+            polygon.getLatLongs().add(convertPoint(point));
+        }
+        return new MapViewPolygonOverlay(polygon, color);
+    }
+
+    /**
+     * @return Translucent version of the given color, used to fill polygons.
+     */
+    private static Color getFillColor(Color color) {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), POLYGON_FILL_ALPHA);
+    }
+
 }
@@ -0,0 +1,5 @@
+package org.insa.graphics.drawing.overlays;
+
+public interface PolygonOverlay extends Overlay {
+
+}
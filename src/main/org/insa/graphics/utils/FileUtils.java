@@ -23,7 +23,7 @@ public class FileUtils {
     public enum FolderType {
 
         /**
-         * Folder type for graph files input (*.mapgr).
+         * Folder type for graph files input (*.mapgr, *.mapsnap).
          */
         Map,
 
@@ -66,7 +66,8 @@ public class FileUtils {
                 new PreferencesEntry("DefaultPathOutputsFolder", "paths"));
 
         // Populate folderToFilter
-        folderToFilter.put(FolderType.Map, new FileNameExtensionFilter("Graph files", "mapgr"));
+        folderToFilter.put(FolderType.Map, new FileNameExtensionFilter("Graph files", "mapgr",
+                "mapsnap"));
         folderToFilter.put(FolderType.PathInput, new FileNameExtensionFilter("Path files", "path"));
         folderToFilter.put(FolderType.PathOutput,
                 new FileNameExtensionFilter("Path files", "path"));
@@ -0,0 +1,84 @@
+package org.insa.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Random;
+
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.AccessRestrictions.AccessRestriction;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CompiledArcInspectorTest {
+
+    // Number of nodes and roads of the graph used for tests.
+    private static final int NB_NODES = 200, NB_ROADS = 600;
+
+    // Random graph used for tests.
+    private static Graph graph;
+
+    @BeforeClass
+    public static void initAll() {
+        final Random random = new Random(42);
+        Node[] nodes = new Node[NB_NODES];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(random.nextFloat(), random.nextFloat()));
+        }
+        for (int i = 0; i < NB_ROADS; ++i) {
+            EnumMap<AccessMode, AccessRestriction> restrictions = new EnumMap<>(
+                    AccessMode.class);
+            for (AccessMode mode: AccessMode.values()) {
+                restrictions.put(mode, AccessRestriction.values()[random
+                        .nextInt(AccessRestriction.values().length)]);
+            }
+            Node.linkNodes(nodes[random.nextInt(NB_NODES)], nodes[random.nextInt(NB_NODES)],
+                    1 + random.nextInt(1000),
+                    new RoadInformation(RoadType.UNCLASSIFIED,
+                            new AccessRestrictions(restrictions), random.nextBoolean(),
+                            1 + random.nextInt(130), null),
+                    new ArrayList<>());
+        }
+        graph = new Graph("ID", "", Arrays.asList(nodes), null);
+    }
+
+    @Test
+    public void testSameAsInspector() {
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView(graph);
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            CompiledArcInspector compiled = CompiledArcInspector.compile(graph, inspector);
+            assertSame(inspector, compiled.getArcInspector());
+            for (int arcId = 0; arcId < csr.getArcCount(); ++arcId) {
+                arc.moveTo(arcId);
+                assertEquals(inspector.isAllowed(arc), compiled.isAllowed(arcId));
+                if (compiled.isAllowed(arcId)) {
+                    assertEquals(inspector.getCost(arc), compiled.getCost(arcId), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCache() {
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(1);
+        CompiledArcInspector compiled = CompiledArcInspector.get(graph, inspector);
+        assertSame(compiled, CompiledArcInspector.get(graph, inspector));
+        assertSame(compiled, CompiledArcInspector.get(graph,
+                ArcInspectorFactory.getAllFilters().get(1)));
+        assertNotSame(compiled, CompiledArcInspector.get(graph,
+                ArcInspectorFactory.getAllFilters().get(0)));
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.insa.algo.isochrone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.shortestpath.DijkstraAlgorithm;
+import org.insa.algo.shortestpath.RandomRoadGraphs;
+import org.insa.algo.shortestpath.ShortestPathData;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IsochroneAlgorithmTest {
+
+    // Random road graph used for tests, and origin of the isochrones (in the
+    // middle of the graph).
+    private static Graph graph;
+    private static Node origin;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 23);
+        origin = graph.get(10 * 25 + 12);
+        for (int id = origin.getId(); !origin.hasSuccessors(); ++id) {
+            origin = graph.get(id);
+        }
+    }
+
+    /**
+     * @return Cost of the shortest path from the origin to each node computed by
+     *         Dijkstra (infinity for unreachable nodes).
+     */
+    private static double[] getExpectedCosts(ArcInspector inspector) {
+        double[] costs = new double[graph.size()];
+        for (Node node: graph) {
+            costs[node.getId()] = node == origin ? 0
+                    : RandomRoadGraphs.getCost(new DijkstraAlgorithm(
+                            new ShortestPathData(graph, origin, node, inspector)).run(),
+                            inspector);
+        }
+        return costs;
+    }
+
+    @Test
+    public void testSameCostsAsDijkstra() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            final double[] expected = getExpectedCosts(inspector);
+
+            // Budget reaching about a third of the reachable nodes, halfway
+            // between two costs to avoid rounding issues.
+            double[] sorted = expected.clone();
+            Arrays.sort(sorted);
+            int nbReachable = 0;
+            while (nbReachable < sorted.length && !Double.isInfinite(sorted[nbReachable])) {
+                ++nbReachable;
+            }
+            int index = nbReachable / 3;
+            while (sorted[index] == sorted[index + 1]) {
+                ++index;
+            }
+            final double budget = (sorted[index] + sorted[index + 1]) / 2;
+
+            IsochroneSolution solution = new IsochroneAlgorithm(
+                    new IsochroneData(graph, origin, budget, inspector)).run();
+            BitSet reached = solution.getReachedNodes();
+            assertEquals(solution.size(), reached.cardinality());
+            for (Node node: graph) {
+                assertEquals(inspector + ", " + node.getId(),
+                        expected[node.getId()] <= budget, reached.get(node.getId()));
+            }
+            assertEquals(origin.getId(), solution.getNodes()[0]);
+            for (int i = 0; i < solution.size(); ++i) {
+                double cost = expected[solution.getNodes()[i]];
+                assertEquals(cost, solution.getCosts()[i], 1e-6 * cost);
+                assertTrue(i == 0 || solution.getCosts()[i - 1] <= solution.getCosts()[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testZeroBudget() {
+        IsochroneSolution solution = new IsochroneAlgorithm(new IsochroneData(graph, origin, 0,
+                ArcInspectorFactory.getAllFilters().get(0))).run();
+        assertEquals(1, solution.size());
+        assertEquals(origin.getId(), solution.getNodes()[0]);
+        assertEquals(0, solution.getCosts()[0], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeBudget() {
+        new IsochroneData(graph, origin, -1, ArcInspectorFactory.getAllFilters().get(0));
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.insa.algo.isochrone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.shortestpath.RandomRoadGraphs;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IsochroneHullTest {
+
+    // Random road graph used for tests.
+    private static Graph graph;
+
+    // Arc inspector used for isochrones (length, all roads allowed).
+    private static ArcInspector inspector;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 29);
+        inspector = ArcInspectorFactory.getAllFilters().get(0);
+    }
+
+    /**
+     * @return Isochrone from the first node with roads at or after the given
+     *         node, within the given budget.
+     */
+    private static IsochroneSolution isochrone(int id, double budget) {
+        while (!graph.get(id).hasSuccessors()) {
+            ++id;
+        }
+        return new IsochroneAlgorithm(new IsochroneData(graph, graph.get(id), budget, inspector))
+                .run();
+    }
+
+    /**
+     * @return Angle of the given point around the origin of the given isochrone,
+     *         with the scaling used by the hull.
+     */
+    private static double getAngle(IsochroneSolution solution, Point point) {
+        final Point origin = solution.getInputData().getOrigin().getPoint();
+        final double scale = Math.cos(Math.toRadians(origin.getLatitude()));
+        return Math.atan2(point.getLatitude() - origin.getLatitude(),
+                (point.getLongitude() - origin.getLongitude()) * scale);
+    }
+
+    /**
+     * Check that the given hull is a closed polygon around the origin of the
+     * given isochrone: its vertices are reached nodes (or the origin), at most
+     * one per sector, and they go around the origin once in angular order, so
+     * that the polygon does not intersect itself.
+     *
+     * @return true if the origin is a vertex of the hull.
+     */
+    private static boolean assertClosedHull(IsochroneSolution solution, List<Point> hull,
+            int nbSectors) {
+        final Point origin = solution.getInputData().getOrigin().getPoint();
+        boolean hasOrigin = false;
+        int nbDescents = 0;
+        double previous = Double.NaN, first = Double.NaN;
+        for (Point point: hull) {
+            if (point == origin) {
+                assertTrue(!hasOrigin);
+                hasOrigin = true;
+                continue;
+            }
+            boolean found = false;
+            for (int node: solution.getNodes()) {
+                found |= graph.get(node).getPoint() == point;
+            }
+            assertTrue(found);
+            double angle = getAngle(solution, point);
+            if (Double.isNaN(first)) {
+                first = angle;
+            }
+            else if (angle <= previous) {
+                ++nbDescents;
+            }
+            previous = angle;
+        }
+        if (!Double.isNaN(first) && first <= previous) {
+            ++nbDescents;
+        }
+        assertTrue(nbDescents <= 1);
+        assertTrue(hull.size() <= nbSectors + (hasOrigin ? 1 : 0));
+        return hasOrigin;
+    }
+
+    @Test
+    public void testSurroundedOrigin() {
+        // Origin in the middle of the graph, all the sectors contain a node.
+        IsochroneSolution solution = isochrone(10 * 25 + 12, 800);
+        for (int nbSectors: new int[] { 8, 16 }) {
+            List<Point> hull = IsochroneHull.compute(solution, nbSectors);
+            assertTrue(!assertClosedHull(solution, hull, nbSectors));
+            assertEquals(nbSectors, hull.size());
+        }
+        List<Point> hull = IsochroneHull.compute(solution);
+        assertTrue(hull.size() > 8);
+        assertClosedHull(solution, hull, IsochroneHull.DEFAULT_SECTOR_COUNT);
+    }
+
+    @Test
+    public void testOriginOnBorder() {
+        // Origin in a corner of the graph, the reached nodes are in a quarter of
+        // the plane around the origin.
+        IsochroneSolution solution = isochrone(0, 1000);
+        assertTrue(solution.size() > 1);
+        List<Point> hull = IsochroneHull.compute(solution);
+        assertTrue(assertClosedHull(solution, hull, IsochroneHull.DEFAULT_SECTOR_COUNT));
+        assertTrue(hull.size() > 2);
+    }
+
+    @Test
+    public void testSingleNode() {
+        IsochroneSolution solution = isochrone(0, 0);
+        List<Point> hull = IsochroneHull.compute(solution);
+        assertEquals(1, hull.size());
+        assertTrue(hull.get(0) == solution.getInputData().getOrigin().getPoint());
+    }
+
+    @Test
+    public void testAllReachedNodesHaveVertexInSector() {
+        // Each sector containing a reached node has a vertex at least as far
+        // from the origin as this node.
+        final int nbSectors = 24;
+        IsochroneSolution solution = isochrone(10 * 25 + 12, 600);
+        List<Point> hull = IsochroneHull.compute(solution, nbSectors);
+        Point origin = solution.getInputData().getOrigin().getPoint();
+        for (int id: solution.getNodes()) {
+            Node node = graph.get(id);
+            if (node.getPoint() == origin) {
+                continue;
+            }
+            int sector = getSector(solution, node.getPoint(), nbSectors);
+            boolean covered = false;
+            for (Point vertex: hull) {
+                covered |= vertex != origin && getSector(solution, vertex, nbSectors) == sector
+                        && Point.distance(origin, vertex) >= Point.distance(origin,
+                                node.getPoint()) - 1e-6;
+            }
+            assertTrue("Node " + id, covered);
+        }
+    }
+
+    /**
+     * @return Sector of the given point around the origin of the given isochrone.
+     */
+    private static int getSector(IsochroneSolution solution, Point point, int nbSectors) {
+        int sector = (int) ((getAngle(solution, point) + Math.PI) / (2 * Math.PI) * nbSectors);
+        return Math.min(sector, nbSectors - 1);
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.insa.algo.shortestpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.graph.Graph;
+import org.insa.graph.NodePair;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BidirectionalDijkstraAlgorithmTest {
+
+    // Random road graph used for tests, and queries.
+    private static Graph graph;
+    private static List<NodePair> pairs;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 11);
+
+        final Random random = new Random(11);
+        pairs = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            pairs.add(new NodePair(graph.get(random.nextInt(graph.size())),
+                    graph.get(random.nextInt(graph.size()))));
+        }
+        for (int i = 0; i < 10; ++i) {
+            pairs.add(new NodePair(graph.get(i * 7), graph.get(i * 7)));
+        }
+    }
+
+    @Test
+    public void testSameCostsAsDijkstra() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            int nbFeasible = 0, nbInfeasible = 0;
+            for (NodePair pair: pairs) {
+                ShortestPathData data = new ShortestPathData(graph, pair.getStartNode(),
+                        pair.getEndNode(), inspector);
+                ShortestPathSolution expected = new DijkstraAlgorithm(data).run();
+                ShortestPathSolution actual = new BidirectionalDijkstraAlgorithm(data).run();
+                String message = inspector + ", " + pair.getStartNode().getId() + " -> "
+                        + pair.getEndNode().getId();
+                assertEquals(message, expected.getStatus(), actual.getStatus());
+
+                double cost = RandomRoadGraphs.getCost(expected, inspector);
+                assertEquals(message, cost,
+                        RandomRoadGraphs.getCost(actual, inspector), 1e-6 * cost);
+                if (actual.isFeasible()) {
+                    assertTrue(message, RandomRoadGraphs.isValidPath(actual));
+                    nbFeasible += 1;
+                }
+                else {
+                    nbInfeasible += 1;
+                }
+            }
+            assertTrue(inspector.toString(), nbFeasible > 0);
+            assertTrue(inspector.toString(), nbInfeasible > 10);
+        }
+    }
+
+    @Test
+    public void testSameOriginAndDestination() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            ShortestPathData data = new ShortestPathData(graph, graph.get(3), graph.get(3),
+                    inspector);
+            assertEquals(new DijkstraAlgorithm(data).run().getStatus(),
+                    new BidirectionalDijkstraAlgorithm(data).run().getStatus());
+            assertEquals(Status.INFEASIBLE,
+                    new BidirectionalDijkstraAlgorithm(data).run().getStatus());
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.insa.algo.shortestpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.graph.Graph;
+import org.insa.graph.NodePair;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CRPAlgorithmTest {
+
+    // Random road graph used for tests, partition with small cells (so that
+    // queries use several levels), and queries.
+    private static Graph graph;
+    private static GraphPartition partition;
+    private static List<NodePair> pairs;
+
+    // Pool used to customize metrics.
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 17);
+        partition = GraphPartition.compute(graph, 8);
+        pool = new ForkJoinPool(4);
+
+        final Random random = new Random(17);
+        pairs = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            pairs.add(new NodePair(graph.get(random.nextInt(graph.size())),
+                    graph.get(random.nextInt(graph.size()))));
+        }
+        for (int i = 0; i < 10; ++i) {
+            pairs.add(new NodePair(graph.get(i * 7), graph.get(i * 7)));
+        }
+    }
+
+    @AfterClass
+    public static void tearDownAll() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testPartitionLevels() {
+        assertTrue(partition.getLevelCount() >= 2);
+        for (int level = 1; level <= partition.getLevelCount(); ++level) {
+            int nbCells = partition.getCellCount(level);
+            assertTrue(nbCells > 0);
+            for (int node = 0; node < graph.size(); ++node) {
+                assertTrue(partition.getCell(level, node) < nbCells);
+            }
+        }
+    }
+
+    @Test
+    public void testSameCostsAsDijkstra() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            OverlayMetric metric = OverlayMetric.customize(partition, inspector, pool);
+            SearchWorkspace workspace = new SearchWorkspace(graph);
+            int nbInfeasible = 0;
+            for (NodePair pair: pairs) {
+                ShortestPathData data = new ShortestPathData(graph, pair.getStartNode(),
+                        pair.getEndNode(), inspector);
+                ShortestPathSolution expected = new DijkstraAlgorithm(data).run();
+                ShortestPathSolution actual = new CRPAlgorithm(data, metric, workspace).run();
+                String message = inspector + ", " + pair.getStartNode().getId() + " -> "
+                        + pair.getEndNode().getId();
+                assertEquals(message, expected.getStatus(), actual.getStatus());
+
+                double cost = RandomRoadGraphs.getCost(expected, inspector);
+                assertEquals(message, cost, RandomRoadGraphs.getCost(actual, inspector),
+                        1e-6 * cost);
+                if (actual.isFeasible()) {
+                    assertTrue(message, RandomRoadGraphs.isValidPath(actual));
+                }
+                else {
+                    nbInfeasible += 1;
+                }
+            }
+            assertTrue(inspector.toString(), nbInfeasible > 10);
+        }
+    }
+
+    @Test
+    public void testDefaultMetric() {
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(1);
+        assertSame(OverlayMetric.get(graph, inspector), OverlayMetric.get(graph, inspector));
+        assertSame(GraphPartition.get(graph), OverlayMetric.get(graph, inspector).getPartition());
+        for (NodePair pair: pairs.subList(0, 20)) {
+            ShortestPathData data = new ShortestPathData(graph, pair.getStartNode(),
+                    pair.getEndNode(), inspector);
+            assertEquals(RandomRoadGraphs.getCost(new DijkstraAlgorithm(data).run(), inspector),
+                    RandomRoadGraphs.getCost(new CRPAlgorithm(data).run(), inspector), 1e-6);
+        }
+    }
+
+}
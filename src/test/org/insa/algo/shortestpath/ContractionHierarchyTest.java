@@ -0,0 +1,161 @@
+package org.insa.algo.shortestpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.graph.Graph;
+import org.insa.graph.NodeMapping;
+import org.insa.graph.NodePair;
+import org.insa.graph.io.MapMismatchException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ContractionHierarchyTest {
+
+    // Random road graph used for tests, and queries.
+    private static Graph graph;
+    private static List<NodePair> pairs;
+
+    // Pool used to build hierarchies.
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 13);
+        pool = new ForkJoinPool(4);
+
+        final Random random = new Random(13);
+        pairs = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            pairs.add(new NodePair(graph.get(random.nextInt(graph.size())),
+                    graph.get(random.nextInt(graph.size()))));
+        }
+        for (int i = 0; i < 10; ++i) {
+            pairs.add(new NodePair(graph.get(i * 7), graph.get(i * 7)));
+        }
+    }
+
+    @AfterClass
+    public static void tearDownAll() {
+        pool.shutdown();
+    }
+
+    /**
+     * Check that the given hierarchy finds the same shortest paths as Dijkstra,
+     * and that unpacked paths are valid paths of the graph.
+     */
+    private static void assertSameCostsAsDijkstra(ContractionHierarchy hierarchy,
+            ArcInspector inspector) {
+        int nbInfeasible = 0;
+        SearchWorkspace forward = new SearchWorkspace(graph),
+                backward = new SearchWorkspace(graph);
+        for (NodePair pair: pairs) {
+            ShortestPathData data = new ShortestPathData(graph, pair.getStartNode(),
+                    pair.getEndNode(), inspector);
+            ShortestPathSolution expected = new DijkstraAlgorithm(data).run();
+            ShortestPathSolution actual = new ContractionHierarchyAlgorithm(data, hierarchy,
+                    forward, backward).run();
+            String message = inspector + ", " + pair.getStartNode().getId() + " -> "
+                    + pair.getEndNode().getId();
+            assertEquals(message, expected.getStatus(), actual.getStatus());
+
+            double cost = RandomRoadGraphs.getCost(expected, inspector);
+            assertEquals(message, cost, RandomRoadGraphs.getCost(actual, inspector), 1e-6 * cost);
+            if (actual.isFeasible()) {
+                assertTrue(message, RandomRoadGraphs.isValidPath(actual));
+            }
+            else {
+                nbInfeasible += 1;
+            }
+        }
+        assertTrue(inspector.toString(), nbInfeasible > 10);
+    }
+
+    /**
+     * @return Temporary file containing the given hierarchy.
+     */
+    private static File write(ContractionHierarchy hierarchy) throws IOException {
+        File file = File.createTempFile("insa-", ".ch");
+        file.deleteOnExit();
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            new ContractionHierarchyWriter(dos).writeHierarchy(hierarchy);
+        }
+        return file;
+    }
+
+    /**
+     * @return Hierarchy read from the given file for the given graph.
+     */
+    private static ContractionHierarchy read(File file, Graph graph) throws IOException {
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            return new ContractionHierarchyReader(dis).readHierarchy(graph);
+        }
+    }
+
+    @Test
+    public void testSameCostsAsDijkstra() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            assertSameCostsAsDijkstra(ContractionHierarchy.build(graph, inspector, pool),
+                    inspector);
+        }
+    }
+
+    @Test
+    public void testDefaultHierarchy() {
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(2);
+        for (NodePair pair: pairs.subList(0, 20)) {
+            ShortestPathData data = new ShortestPathData(graph, pair.getStartNode(),
+                    pair.getEndNode(), inspector);
+            assertEquals(RandomRoadGraphs.getCost(new DijkstraAlgorithm(data).run(), inspector),
+                    RandomRoadGraphs.getCost(new ContractionHierarchyAlgorithm(data).run(),
+                            inspector),
+                    1e-6);
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(3);
+        ContractionHierarchy expected = ContractionHierarchy.build(graph, inspector, pool);
+        ContractionHierarchy actual = read(write(expected), graph);
+        assertEquals(expected.getInspectorDescription(), actual.getInspectorDescription());
+        for (int node = 0; node < graph.size(); ++node) {
+            assertEquals(expected.getRank(node), actual.getRank(node));
+        }
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int edge = 0; edge < expected.getEdgeCount(); ++edge) {
+            assertEquals(expected.getEdgeTail(edge), actual.getEdgeTail(edge));
+            assertEquals(expected.getEdgeHead(edge), actual.getEdgeHead(edge));
+            assertEquals(expected.getEdgeWeight(edge), actual.getEdgeWeight(edge), 0);
+            assertEquals(expected.getEdgeFirst(edge), actual.getEdgeFirst(edge));
+            assertEquals(expected.getEdgeSecond(edge), actual.getEdgeSecond(edge));
+        }
+        assertSameCostsAsDijkstra(actual, inspector);
+    }
+
+    @Test(expected = MapMismatchException.class)
+    public void testReadRenumberedGraph() throws IOException {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph,
+                ArcInspectorFactory.getAllFilters().get(0), pool);
+        read(write(hierarchy), graph.renumber(NodeMapping.hilbert(graph)));
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.insa.algo.shortestpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.utils.PairingHeap;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Path;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DistanceMatrixAlgorithmTest {
+
+    // Random road graph used for tests, sources and targets of the matrices.
+    private static Graph graph;
+    private static List<Node> sources, targets;
+
+    // Pool used to compute matrices and build hierarchies.
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 19);
+        pool = new ForkJoinPool(4);
+
+        final Random random = new Random(19);
+        sources = new ArrayList<>();
+        targets = new ArrayList<>();
+        for (int i = 0; i < 15; ++i) {
+            sources.add(graph.get(random.nextInt(graph.size())));
+        }
+        for (int i = 0; i < 20; ++i) {
+            targets.add(graph.get(random.nextInt(graph.size())));
+        }
+
+        // Duplicate nodes, sources that are also targets, and a node without
+        // any road.
+        sources.add(sources.get(0));
+        targets.add(targets.get(0));
+        targets.add(sources.get(1));
+        targets.add(sources.get(2));
+        for (Node node: graph) {
+            if (!node.hasSuccessors()) {
+                sources.add(node);
+                targets.add(node);
+                break;
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDownAll() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return Cost of the shortest path from origin to destination computed by
+     *         Dijkstra (0 if origin is destination, infinity if there is none).
+     */
+    private static double getExpectedCost(Node origin, Node destination,
+            ArcInspector inspector) {
+        if (origin == destination) {
+            return 0;
+        }
+        return RandomRoadGraphs.getCost(new DijkstraAlgorithm(
+                new ShortestPathData(graph, origin, destination, inspector)).run(), inspector);
+    }
+
+    /**
+     * Check the costs and paths of the given solution against Dijkstra.
+     */
+    private static void assertSameAsDijkstra(DistanceMatrixSolution solution,
+            ArcInspector inspector, boolean withPaths) {
+        int nbInfinite = 0;
+        for (int row = 0; row < sources.size(); ++row) {
+            for (int column = 0; column < targets.size(); ++column) {
+                final Node source = sources.get(row), target = targets.get(column);
+                final String message = inspector + ", " + source.getId() + " -> "
+                        + target.getId();
+                final double expected = getExpectedCost(source, target, inspector);
+                assertEquals(message, expected, solution.getCost(row, column), 1e-6 * expected);
+
+                final Path path = solution.getPath(row, column);
+                if (!withPaths || Double.isInfinite(expected)) {
+                    assertNull(message, path);
+                    nbInfinite += Double.isInfinite(expected) ? 1 : 0;
+                    continue;
+                }
+                assertTrue(message, path.isValid());
+                assertSame(message, source, path.getOrigin());
+                if (source == target) {
+                    assertEquals(message, 1, path.size());
+                    continue;
+                }
+                assertSame(message, target, path.getDestination());
+                double cost = 0;
+                for (Arc arc: path.getArcs()) {
+                    assertTrue(message, inspector.isAllowed(arc));
+                    cost += inspector.getCost(arc);
+                }
+                assertEquals(message, expected, cost, 1e-6 * expected);
+            }
+        }
+        assertTrue(inspector.toString(), !withPaths || nbInfinite > 0);
+    }
+
+    /**
+     * @return Solution of the given algorithm, checking that each row has been
+     *         notified once.
+     */
+    private static DistanceMatrixSolution run(DistanceMatrixAlgorithm algorithm) {
+        final int[] nbNotifications = new int[sources.size()];
+        algorithm.addObserver((row, source) -> {
+            assertSame(sources.get(row), source);
+            nbNotifications[row] += 1;
+        });
+        DistanceMatrixSolution solution = algorithm.run();
+        for (int count: nbNotifications) {
+            assertEquals(1, count);
+        }
+        return solution;
+    }
+
+    @Test
+    public void testDijkstra() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            for (boolean withPaths: new boolean[] { false, true }) {
+                assertSameAsDijkstra(run(new DistanceMatrixAlgorithm(
+                        new DistanceMatrixData(graph, sources, targets, inspector, withPaths),
+                        null, pool)), inspector, withPaths);
+            }
+        }
+    }
+
+    @Test
+    public void testBuckets() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(graph, inspector, pool);
+            for (boolean withPaths: new boolean[] { false, true }) {
+                assertSameAsDijkstra(run(new DistanceMatrixAlgorithm(
+                        new DistanceMatrixData(graph, sources, targets, inspector, withPaths),
+                        hierarchy, pool)), inspector, withPaths);
+            }
+        }
+    }
+
+    @Test
+    public void testQueueFactory() {
+        final ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(1);
+        final ContractionHierarchy hierarchy = ContractionHierarchy.build(graph, inspector, pool);
+        for (ContractionHierarchy value: new ContractionHierarchy[] { null, hierarchy }) {
+            final boolean[] used = { false };
+            assertSameAsDijkstra(run(new DistanceMatrixAlgorithm(
+                    new DistanceMatrixData(graph, sources, targets, inspector, true), value, pool,
+                    capacity -> {
+                        used[0] = true;
+                        return new PairingHeap(capacity);
+                    })), inspector, true);
+            assertTrue(used[0]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHierarchyOfOtherInspector() {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph,
+                ArcInspectorFactory.getAllFilters().get(0), pool);
+        new DistanceMatrixAlgorithm(new DistanceMatrixData(graph, sources, targets,
+                ArcInspectorFactory.getAllFilters().get(2)), hierarchy, pool);
+    }
+
+}
@@ -0,0 +1,200 @@
+package org.insa.algo.shortestpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.shortestpath.Landmarks.Selection;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.NodeMapping;
+import org.insa.graph.io.MapMismatchException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class LandmarksTest {
+
+    // Number of landmarks computed by tests.
+    private static final int NB_LANDMARKS = 8;
+
+    // Random road graph used for tests.
+    private static Graph graph;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = RandomRoadGraphs.create(25, 20, 5);
+    }
+
+    /**
+     * @return Temporary file containing the given landmarks.
+     */
+    private static File write(Landmarks landmarks) throws IOException {
+        File file = File.createTempFile("insa-", ".landmarks");
+        file.deleteOnExit();
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            new LandmarksWriter(dos).writeLandmarks(landmarks);
+        }
+        return file;
+    }
+
+    /**
+     * @return Landmarks read from the given file for the given graph.
+     */
+    private static Landmarks read(File file, Graph graph) throws IOException {
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            return new LandmarksReader(dis).readLandmarks(graph);
+        }
+    }
+
+    /**
+     * Check that the given landmarks have the same landmarks and distances.
+     */
+    private static void assertSameLandmarks(Landmarks expected, Landmarks actual) {
+        assertEquals(expected.getInspectorDescription(), actual.getInspectorDescription());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.getLandmark(i), actual.getLandmark(i));
+            for (int node = 0; node < expected.getGraph().size(); ++node) {
+                assertEquals(expected.getDistanceFromLandmark(i, node),
+                        actual.getDistanceFromLandmark(i, node), 0);
+                assertEquals(expected.getDistanceToLandmark(i, node),
+                        actual.getDistanceToLandmark(i, node), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testAdmissibleBounds() {
+        final Random random = new Random(5);
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            for (Selection selection: Selection.values()) {
+                Landmarks landmarks = Landmarks.compute(graph, inspector, NB_LANDMARKS,
+                        selection);
+                assertEquals(NB_LANDMARKS, landmarks.size());
+                for (int i = 0; i < 50; ++i) {
+                    int origin = random.nextInt(graph.size()),
+                            destination = random.nextInt(graph.size());
+                    double cost = origin == destination ? 0
+                            : RandomRoadGraphs.getCost(new DijkstraAlgorithm(
+                                    new ShortestPathData(graph, graph.get(origin),
+                                            graph.get(destination), inspector)).run(),
+                                    inspector);
+                    assertTrue(inspector + ", " + selection + ", " + origin + " -> "
+                            + destination, landmarks.getLowerBound(origin, destination) <= cost);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAvoidDiffersFromFarthest() {
+        // Each landmark selected by the farthest strategy maximizes the round
+        // trip to the closest previous landmark: check that the avoid strategy
+        // does not always make the same choice.
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(0);
+        Landmarks avoid = Landmarks.compute(graph, inspector, NB_LANDMARKS, Selection.AVOID);
+        Landmarks farthest = Landmarks.compute(graph, inspector, NB_LANDMARKS,
+                Selection.FARTHEST);
+        int nbFarthest = 0;
+        for (int i = 1; i < avoid.size(); ++i) {
+            int best = -1;
+            double bestDistance = 0;
+            for (int node = 0; node < graph.size(); ++node) {
+                double distance = Double.POSITIVE_INFINITY;
+                for (int j = 0; j < i; ++j) {
+                    distance = Math.min(distance, avoid.getDistanceFromLandmark(j, node)
+                            + (double) avoid.getDistanceToLandmark(j, node));
+                }
+                if (distance > bestDistance && distance != Double.POSITIVE_INFINITY) {
+                    best = node;
+                    bestDistance = distance;
+                }
+            }
+            if (avoid.getLandmark(i) == best) {
+                nbFarthest += 1;
+            }
+        }
+        assertTrue(nbFarthest < avoid.size() - 1);
+
+        boolean same = true;
+        for (int i = 0; i < avoid.size(); ++i) {
+            same &= avoid.getLandmark(i) == farthest.getLandmark(i);
+        }
+        assertFalse(same);
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        Landmarks expected = Landmarks.compute(graph, ArcInspectorFactory.getAllFilters().get(3),
+                NB_LANDMARKS, Selection.AVOID);
+        Landmarks actual = read(write(expected), graph);
+        assertSame(graph, actual.getGraph());
+        assertSameLandmarks(expected, actual);
+
+        // Same map and content, but another graph instance.
+        assertSameLandmarks(expected, read(write(expected), RandomRoadGraphs.create(25, 20, 5)));
+    }
+
+    @Test(expected = MapMismatchException.class)
+    public void testReadRenumberedGraph() throws IOException {
+        Landmarks landmarks = Landmarks.compute(graph, ArcInspectorFactory.getAllFilters().get(0),
+                NB_LANDMARKS, Selection.AVOID);
+        read(write(landmarks), graph.renumber(NodeMapping.hilbert(graph)));
+    }
+
+    @Test(expected = MapMismatchException.class)
+    public void testReadModifiedGraph() throws IOException {
+        // Same map ID and number of nodes, different arcs.
+        List<Node> nodes = new ArrayList<>();
+        for (Node node: RandomRoadGraphs.create(25, 20, 6)) {
+            nodes.add(node);
+        }
+        Landmarks landmarks = Landmarks.compute(graph, ArcInspectorFactory.getAllFilters().get(0),
+                NB_LANDMARKS, Selection.AVOID);
+        read(write(landmarks), new Graph(graph.getMapId(), "", nodes, null));
+    }
+
+    @Test
+    public void testStorage() throws IOException {
+        File directory = Files.createTempDirectory("insa-").toFile();
+        directory.deleteOnExit();
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(4);
+        Graph graph = RandomRoadGraphs.create(20, 20, 8);
+        Landmarks.setStorageDirectory(directory);
+        try {
+            Landmarks landmarks = Landmarks.get(graph, inspector);
+            assertSame(landmarks, Landmarks.get(graph, inspector));
+            File[] files = directory.listFiles();
+            assertEquals(1, files.length);
+            files[0].deleteOnExit();
+
+            // Another graph for the same map reads the stored landmarks.
+            Graph other = RandomRoadGraphs.create(20, 20, 8);
+            Landmarks stored = Landmarks.get(other, inspector);
+            assertSame(other, stored.getGraph());
+            assertSameLandmarks(landmarks, stored);
+        }
+        finally {
+            Landmarks.setStorageDirectory(null);
+        }
+    }
+
+}
@@ -15,6 +15,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import org.insa.algo.AbstractInputData.Mode;
 import org.insa.algo.ArcInspector;
 import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.strongconnectivity.ConnectivityIndex;
 import org.insa.graph.Arc;
 import org.insa.graph.Graph;
 import org.insa.graph.Node;
@@ -87,6 +88,9 @@ public class PerformanceTests {
         	PrintWriter dos = new PrintWriter(fos);
         	
         	
+        	// Index used to skip pairs that cannot be connected without searching
+        	ConnectivityIndex index = ConnectivityIndex.get(graph, ArcInspectorFactory.getAllFilters().get(0));
+        	
         	 for (int i = 0; i < size; ++i) {
              	
                  Node startNode;
@@ -99,7 +103,7 @@ public class PerformanceTests {
                      endNode = graph.get(ThreadLocalRandom.current().nextInt(0, graph.size()));
                      testAStar = new AStarAlgorithm(new ShortestPathData(graph, startNode, endNode, ArcInspectorFactory.getAllFilters().get(0)));
                      
-                 } while (!testAStar.doRun().isFeasible());
+                 } while (!index.mayReach(startNode, endNode) || !testAStar.doRun().isFeasible());
                  testBatch[i] = new NodePair(startNode, endNode);
                  
                  dos.print(startNode.getId() + ";");
@@ -0,0 +1,252 @@
+package org.insa.algo.shortestpath;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.utils.BinaryHeap;
+import org.insa.algo.utils.BinarySearchTree;
+import org.insa.algo.utils.BucketQueue;
+import org.insa.algo.utils.DaryHeap;
+import org.insa.algo.utils.IndexedBinaryHeap;
+import org.insa.algo.utils.IntDoubleHeap;
+import org.insa.algo.utils.PairingHeap;
+import org.insa.algo.utils.PriorityQueue;
+import org.insa.algo.utils.RadixHeap;
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.insa.graph.io.BinaryGraphReader;
+
+/**
+ * Benchmark comparing the priority queues available for Dijkstra's algorithm
+ * on a real graph: the primitive {@link IntDoubleHeap}, {@link DaryHeap} and
+ * {@link PairingHeap}, the monotone {@link RadixHeap} and {@link BucketQueue},
+ * the generic {@link BinaryHeap} and {@link BinarySearchTree} (used with lazy
+ * deletion since they have no decrease-key operation), and the generic
+ * {@link IndexedBinaryHeap} (used with decrease-key, as in label-based
+ * implementations).
+ *
+ * Usage: <code>QueueBenchmark map.mapgr [nbQueries] [inspectorIndex]</code>.
+ *
+ */
+public class QueueBenchmark {
+
+    // Fixed-point scale of the integer queues (millimeters or milliseconds).
+    private static final double SCALE = 1000;
+
+    /**
+     * Entry of the generic queues (the key is only modified by searches using
+     * decrease-key).
+     */
+    private static class Entry implements Comparable<Entry> {
+
+        private final int node;
+        private double key;
+
+        public Entry(int node, double key) {
+            this.node = node;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int cmp = Double.compare(key, other.key);
+            return cmp != 0 ? cmp : Integer.compare(node, other.node);
+        }
+
+    }
+
+    /**
+     * Run a Dijkstra search using a generic queue, with lazy deletion.
+     *
+     * @return Cost of the shortest path, or positive infinity.
+     */
+    private static double runGeneric(Graph graph, ArcInspector inspector, int origin,
+            int destination, PriorityQueue<Entry> queue) {
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView();
+        final double[] dist = new double[graph.size()];
+        final boolean[] settled = new boolean[graph.size()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+
+        dist[origin] = 0;
+        queue.insert(new Entry(origin, 0));
+        while (!queue.isEmpty()) {
+            final Entry entry = queue.deleteMin();
+            final int node = entry.node;
+            if (settled[node]) {
+                continue;
+            }
+            settled[node] = true;
+            if (node == destination) {
+                break;
+            }
+            for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                final int next = csr.getArcHead(arcId);
+                if (settled[next] || !inspector.isAllowed(arc.moveTo(arcId))) {
+                    continue;
+                }
+                final double newCost = dist[node] + inspector.getCost(arc);
+                if (newCost < dist[next]) {
+                    dist[next] = newCost;
+                    queue.insert(new Entry(next, newCost));
+                }
+            }
+        }
+        return dist[destination];
+    }
+
+    /**
+     * Run a Dijkstra search using an indexed generic queue, with one entry per
+     * node whose key is decreased.
+     *
+     * @return Cost of the shortest path, or positive infinity.
+     */
+    private static double runIndexed(Graph graph, ArcInspector inspector, int origin,
+            int destination, IndexedBinaryHeap<Entry> queue) {
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView();
+        final Entry[] entries = new Entry[graph.size()];
+        final boolean[] settled = new boolean[graph.size()];
+
+        entries[origin] = new Entry(origin, 0);
+        queue.insert(entries[origin]);
+        while (!queue.isEmpty()) {
+            final int node = queue.deleteMin().node;
+            settled[node] = true;
+            if (node == destination) {
+                break;
+            }
+            for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                final int next = csr.getArcHead(arcId);
+                if (settled[next] || !inspector.isAllowed(arc.moveTo(arcId))) {
+                    continue;
+                }
+                final double newCost = entries[node].key + inspector.getCost(arc);
+                if (entries[next] == null) {
+                    entries[next] = new Entry(next, newCost);
+                    queue.insert(entries[next]);
+                }
+                else if (newCost < entries[next].key) {
+                    entries[next].key = newCost;
+                    queue.decreaseKey(entries[next]);
+                }
+            }
+        }
+        return entries[destination] == null ? Double.POSITIVE_INFINITY : entries[destination].key;
+    }
+
+    /**
+     * Run a Dijkstra search using the given workspace.
+     *
+     * @return Cost of the shortest path, or positive infinity.
+     */
+    private static double runWorkspace(ArcInspector inspector, int origin, int destination,
+            SearchWorkspace workspace) {
+        final CsrGraph csr = workspace.getGraph().getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView();
+
+        workspace.reset();
+        workspace.update(origin, 0, SearchWorkspace.NO_ARC, 0);
+        while (!workspace.isQueueEmpty() && !workspace.isSettled(destination)) {
+            final int node = workspace.settleMin();
+            final double cost = workspace.getDistance(node);
+            for (int arcId = csr.getFirstArc(node); arcId < csr.getFirstArc(node + 1); ++arcId) {
+                final int next = csr.getArcHead(arcId);
+                if (workspace.isSettled(next) || !inspector.isAllowed(arc.moveTo(arcId))) {
+                    continue;
+                }
+                final double newCost = cost + inspector.getCost(arc);
+                if (workspace.getDistance(next) > newCost) {
+                    workspace.update(next, newCost, arcId, newCost);
+                }
+            }
+        }
+        return workspace.getDistance(destination);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: QueueBenchmark map.mapgr [nbQueries] [inspectorIndex]");
+            return;
+        }
+        final Graph graph = new BinaryGraphReader(
+                new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))).read();
+        final int nbQueries = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        final ArcInspector inspector = ArcInspectorFactory.getAllFilters()
+                .get(args.length > 2 ? Integer.parseInt(args[2]) : 0);
+
+        // The bucket queue needs more buckets than the largest cost of an arc.
+        final CsrGraph csr = graph.getCsrGraph();
+        final CsrGraph.ArcView arc = csr.createArcView();
+        double maxCost = 0;
+        for (int arcId = 0; arcId < csr.getFirstArc(graph.size()); ++arcId) {
+            if (inspector.isAllowed(arc.moveTo(arcId))) {
+                maxCost = Math.max(maxCost, inspector.getCost(arc));
+            }
+        }
+        final int nbBuckets = (int) Math.ceil(maxCost * SCALE) + 2;
+
+        final String[] names = { "IntDoubleHeap", "DaryHeap (4)", "DaryHeap (8)", "PairingHeap",
+                "RadixHeap", "BucketQueue", "BinaryHeap", "BinarySearchTree",
+                "IndexedBinaryHeap" };
+        final SearchWorkspace[] workspaces = { new SearchWorkspace(graph, IntDoubleHeap::new),
+                new SearchWorkspace(graph, capacity -> new DaryHeap(capacity, 4)),
+                new SearchWorkspace(graph, capacity -> new DaryHeap(capacity, 8)),
+                new SearchWorkspace(graph, PairingHeap::new),
+                new SearchWorkspace(graph, new RadixHeap(graph.size(), SCALE)),
+                new SearchWorkspace(graph, new BucketQueue(graph.size(), SCALE, nbBuckets)) };
+
+        final Random random = new Random(0x5eed);
+        final int[] origins = new int[nbQueries], destinations = new int[nbQueries];
+        for (int i = 0; i < nbQueries; ++i) {
+            origins[i] = random.nextInt(graph.size());
+            destinations[i] = random.nextInt(graph.size());
+        }
+
+        System.out.println(graph.getMapName() + " (" + graph.size() + " nodes), " + inspector
+                + ", " + nbQueries + " queries, " + nbBuckets + " buckets");
+        final double[] reference = new double[nbQueries];
+        for (int q = 0; q < names.length; ++q) {
+            // Warm-up with the first queries, then measure.
+            for (int pass = 0; pass < 2; ++pass) {
+                int nbMismatches = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < nbQueries; ++i) {
+                    final double cost;
+                    if (q < workspaces.length) {
+                        cost = runWorkspace(inspector, origins[i], destinations[i],
+                                workspaces[q]);
+                    }
+                    else if (q < names.length - 1) {
+                        cost = runGeneric(graph, inspector, origins[i], destinations[i],
+                                q == workspaces.length ? new BinaryHeap<>()
+                                        : new BinarySearchTree<>());
+                    }
+                    else {
+                        cost = runIndexed(graph, inspector, origins[i], destinations[i],
+                                new IndexedBinaryHeap<>());
+                    }
+                    if (q == 0) {
+                        reference[i] = cost;
+                    }
+                    else if (Math.abs(cost - reference[i]) > 1e-6 * Math.max(1, cost)
+                            && cost != reference[i]) {
+                        ++nbMismatches;
+                    }
+                }
+                if (pass == 1) {
+                    System.out.println(String.format("%-30s %10.3f ms/query, %d mismatches",
+                            names[q], (System.nanoTime() - start) / 1e6 / nbQueries,
+                            nbMismatches));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.insa.algo.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Random;
+
+import org.insa.algo.ArcInspector;
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.AccessRestrictions.AccessRestriction;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+
+/**
+ * Utilities for tests of shortest-path algorithms: creation of random road
+ * graphs and cost of solutions.
+ *
+ */
+public class RandomRoadGraphs {
+
+    // Restrictions used for cars and pedestrians, with their weight.
+    private static final AccessRestriction[] RESTRICTIONS = { AccessRestriction.ALLOWED,
+            AccessRestriction.ALLOWED, AccessRestriction.ALLOWED, AccessRestriction.ALLOWED,
+            AccessRestriction.ALLOWED, AccessRestriction.DESTINATION, AccessRestriction.PRIVATE,
+            AccessRestriction.FORBIDDEN };
+
+    /**
+     * Create a random road graph: nodes are placed on a perturbed grid (about
+     * 100 meters between neighbours), and roads link neighbouring nodes. Roads
+     * have random one-way flags, speeds and access restrictions for cars and
+     * pedestrians, and their length is never less than the distance between
+     * their extremities. About 2% of the nodes have no roads at all, so that
+     * some queries are infeasible whatever the arc inspector.
+     *
+     * @param width Number of columns of the grid.
+     * @param height Number of rows of the grid.
+     * @param seed Seed used to generate the graph.
+     *
+     * @return A new random graph.
+     */
+    public static Graph create(int width, int height, long seed) {
+        final Random random = new Random(seed);
+        final Node[] nodes = new Node[width * height];
+        final boolean[] isolated = new boolean[nodes.length];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(1.4f + (i % width + random.nextFloat() * 0.3f) * 0.001f,
+                    43.6f + (i / width + random.nextFloat() * 0.3f) * 0.001f));
+            isolated[i] = random.nextInt(50) == 0;
+        }
+        for (int i = 0; i < nodes.length; ++i) {
+            final int x = i % width, y = i / width;
+            for (int[] neighbour: new int[][] { { x + 1, y }, { x, y + 1 }, { x + 1, y + 1 } }) {
+                final int j = neighbour[1] * width + neighbour[0];
+                if (neighbour[0] >= width || neighbour[1] >= height || isolated[i] || isolated[j]
+                        || random.nextInt(6) == 0) {
+                    continue;
+                }
+                final boolean reverse = random.nextBoolean();
+                final Node origin = nodes[reverse ? j : i], destination = nodes[reverse ? i : j];
+                final EnumMap<AccessMode, AccessRestriction> restrictions = new EnumMap<>(
+                        AccessMode.class);
+                for (AccessMode mode: AccessMode.values()) {
+                    restrictions.put(mode, RESTRICTIONS[random.nextInt(RESTRICTIONS.length)]);
+                }
+                final float length = (float) Math.ceil(
+                        Point.distance(origin.getPoint(), destination.getPoint())
+                                * (1 + random.nextDouble()));
+                Node.linkNodes(origin, destination, length,
+                        new RoadInformation(RoadType.UNCLASSIFIED,
+                                new AccessRestrictions(restrictions), random.nextInt(4) == 0,
+                                10 + 10 * random.nextInt(12), null),
+                        new ArrayList<>(Arrays.asList(origin.getPoint(), destination.getPoint())));
+            }
+        }
+        return new Graph("random-" + seed, "", Arrays.asList(nodes), null);
+    }
+
+    /**
+     * @param solution Solution of a shortest-path algorithm.
+     * @param inspector Arc inspector used to compute the solution.
+     *
+     * @return Cost of the path of the solution for the given inspector, or
+     *         infinity if the solution is not feasible.
+     */
+    public static double getCost(ShortestPathSolution solution, ArcInspector inspector) {
+        if (!solution.isFeasible()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double cost = 0;
+        for (Arc arc: solution.getPath().getArcs()) {
+            cost += inspector.getCost(arc);
+        }
+        return cost;
+    }
+
+    /**
+     * Check that the path of the given solution is a valid path from the origin
+     * to the destination of the solution, that only uses allowed arcs.
+     *
+     * @param solution Feasible solution to check.
+     *
+     * @return true if the path is valid.
+     */
+    public static boolean isValidPath(ShortestPathSolution solution) {
+        final ShortestPathData data = solution.getInputData();
+        final List<Arc> arcs = solution.getPath().getArcs();
+        if (!solution.getPath().isValid() || arcs.isEmpty()
+                || arcs.get(0).getOrigin() != data.getOrigin()
+                || arcs.get(arcs.size() - 1).getDestination() != data.getDestination()) {
+            return false;
+        }
+        for (Arc arc: arcs) {
+            if (!data.isAllowed(arc) || !isSuccessor(arc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the given arc is one of the successors of its origin.
+     */
+    private static boolean isSuccessor(Arc arc) {
+        for (Arc successor: arc.getOrigin()) {
+            if (successor == arc) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
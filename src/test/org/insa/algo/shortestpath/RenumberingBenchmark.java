@@ -0,0 +1,111 @@
+package org.insa.algo.shortestpath;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.graph.Graph;
+import org.insa.graph.NodeMapping;
+import org.insa.graph.io.BinaryGraphReader;
+
+/**
+ * Benchmark comparing the query throughput of Dijkstra's algorithm and
+ * bidirectional Dijkstra's algorithm on the same graph with different node
+ * numberings: the order of the map file, a random order (worst case for
+ * memory locality), and the order of a Hilbert curve (see
+ * {@link NodeMapping#hilbert(Graph)}). Queries are identical for all
+ * numberings (they are drawn using external IDs).
+ *
+ * Usage: <code>RenumberingBenchmark map.mapgr [nbQueries] [inspectorIndex]</code>.
+ *
+ */
+public class RenumberingBenchmark {
+
+    /**
+     * @return A mapping with nodes in a random order.
+     */
+    private static NodeMapping randomMapping(Graph graph, Random random) {
+        final int[] externalIds = new int[graph.size()];
+        for (int i = 0; i < externalIds.length; ++i) {
+            externalIds[i] = i;
+        }
+        for (int i = externalIds.length - 1; i > 0; --i) {
+            final int j = random.nextInt(i + 1), tmp = externalIds[i];
+            externalIds[i] = externalIds[j];
+            externalIds[j] = tmp;
+        }
+        return new NodeMapping("random", externalIds);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println(
+                    "Usage: RenumberingBenchmark map.mapgr [nbQueries] [inspectorIndex]");
+            return;
+        }
+        final Graph graph = new BinaryGraphReader(
+                new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))).read();
+        final int nbQueries = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        final ArcInspector inspector = ArcInspectorFactory.getAllFilters()
+                .get(args.length > 2 ? Integer.parseInt(args[2]) : 0);
+
+        final Random random = new Random(0x5eed);
+        final int[] origins = new int[nbQueries], destinations = new int[nbQueries];
+        for (int i = 0; i < nbQueries; ++i) {
+            origins[i] = random.nextInt(graph.size());
+            destinations[i] = random.nextInt(graph.size());
+        }
+
+        long start = System.nanoTime();
+        final Graph hilbert = graph.renumber(NodeMapping.hilbert(graph));
+        final double renumberingTime = (System.nanoTime() - start) / 1e6;
+        final String[] names = { "File order", "Random order", "Hilbert order" };
+        final Graph[] graphs = { graph, graph.renumber(randomMapping(graph, random)), hilbert };
+
+        System.out.println(graph.getMapName() + " (" + graph.size() + " nodes), " + inspector
+                + ", " + nbQueries + " queries, Hilbert renumbering in "
+                + String.format("%.1f", renumberingTime) + " ms");
+        final double[] reference = new double[nbQueries];
+        for (int g = 0; g < graphs.length; ++g) {
+            final Graph current = graphs[g];
+            final SearchWorkspace workspace = new SearchWorkspace(current);
+            final SearchWorkspace forward = new SearchWorkspace(current),
+                    backward = new SearchWorkspace(current);
+            for (int algorithm = 0; algorithm < 2; ++algorithm) {
+                // Warm-up with the queries, then measure.
+                for (int pass = 0; pass < 2; ++pass) {
+                    int nbMismatches = 0;
+                    start = System.nanoTime();
+                    for (int i = 0; i < nbQueries; ++i) {
+                        final ShortestPathData data = new ShortestPathData(current,
+                                current.getByExternalId(origins[i]),
+                                current.getByExternalId(destinations[i]), inspector);
+                        final ShortestPathSolution solution = algorithm == 0
+                                ? new DijkstraAlgorithm(data, workspace).run()
+                                : new BidirectionalDijkstraAlgorithm(data, forward, backward)
+                                        .run();
+                        final double cost = solution.isFeasible()
+                                ? solution.getPath().getLength() : Double.POSITIVE_INFINITY;
+                        if (g == 0 && algorithm == 0) {
+                            reference[i] = cost;
+                        }
+                        else if (Math.abs(cost - reference[i]) > 1e-3 * Math.max(1, cost)
+                                && cost != reference[i]) {
+                            ++nbMismatches;
+                        }
+                    }
+                    if (pass == 1) {
+                        System.out.println(String.format("%-15s %-25s %10.3f ms/query, %d mismatches",
+                                names[g], algorithm == 0 ? "Dijkstra" : "Bidirectional Dijkstra",
+                                (System.nanoTime() - start) / 1e6 / nbQueries, nbMismatches));
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.insa.algo.shortestpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.utils.DaryHeap;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.NodePair;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ShortestPathBatchExecutorTest {
+
+    // Size of the grid used for tests.
+    private static final int GRID_SIZE = 30;
+
+    // Grid graph used for tests, and queries.
+    private static Graph graph;
+    private static List<NodePair> pairs;
+
+    // Arc inspector (length, all arcs allowed).
+    private static ArcInspector inspector;
+
+    @BeforeClass
+    public static void initAll() {
+        final Random random = new Random(42);
+
+        Node[] nodes = new Node[GRID_SIZE * GRID_SIZE];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(i % GRID_SIZE * 0.001f, i / GRID_SIZE * 0.001f));
+        }
+        for (int i = 0; i < nodes.length; ++i) {
+            for (int j: new int[] { i + 1, i + GRID_SIZE }) {
+                if ((j == i + 1 && j % GRID_SIZE == 0) || j >= nodes.length) {
+                    continue;
+                }
+                Node.linkNodes(nodes[i], nodes[j], 50 + random.nextInt(100),
+                        new RoadInformation(RoadType.UNCLASSIFIED, null, random.nextInt(4) == 0,
+                                50, null),
+                        new ArrayList<>());
+            }
+        }
+        graph = new Graph("ID", "", Arrays.asList(nodes), null);
+
+        pairs = new ArrayList<>();
+        for (int i = 0; i < 300; ++i) {
+            pairs.add(new NodePair(nodes[random.nextInt(nodes.length)],
+                    nodes[random.nextInt(nodes.length)]));
+        }
+
+        inspector = ArcInspectorFactory.getAllFilters().get(0);
+    }
+
+    /**
+     * @return Length of the path of the given solution, or -1 if infeasible.
+     */
+    private static double getLength(ShortestPathSolution solution) {
+        return solution.isFeasible() ? solution.getPath().getLength() : -1;
+    }
+
+    @Test
+    public void testSameSolutionsAsSequentialRuns() throws InterruptedException {
+        List<ShortestPathSolution> solutions = new ShortestPathBatchExecutor(graph, inspector, 4,
+                null).execute(pairs);
+        assertEquals(pairs.size(), solutions.size());
+        for (int i = 0; i < pairs.size(); ++i) {
+            ShortestPathSolution expected = new DijkstraAlgorithm(new ShortestPathData(graph,
+                    pairs.get(i).getStartNode(), pairs.get(i).getEndNode(), inspector)).run();
+            assertEquals(expected.getStatus(), solutions.get(i).getStatus());
+            assertEquals(getLength(expected), getLength(solutions.get(i)), 1e-3);
+            assertEquals(pairs.get(i).getStartNode(),
+                    solutions.get(i).getInputData().getOrigin());
+        }
+    }
+
+    @Test
+    public void testOrderedCallback() throws InterruptedException {
+        final List<Integer> indices = new ArrayList<>();
+        List<ShortestPathSolution> solutions = new ShortestPathBatchExecutor(graph, inspector, 3,
+                AStarAlgorithm::new).execute(pairs, (index, pair, solution) -> {
+                    assertEquals(pairs.get(index), pair);
+                    indices.add(index);
+                }, true);
+        assertEquals(pairs.size(), indices.size());
+        for (int i = 0; i < indices.size(); ++i) {
+            assertEquals(i, (int) indices.get(i));
+            assertTrue(solutions.get(i) != null);
+        }
+    }
+
+    @Test
+    public void testUnorderedCallback() throws InterruptedException {
+        final boolean[] seen = new boolean[pairs.size()];
+        new ShortestPathBatchExecutor(graph, inspector, 4, null).execute(pairs,
+                (index, pair, solution) -> {
+                    assertTrue(!seen[index]);
+                    seen[index] = true;
+                }, false);
+        for (boolean value: seen) {
+            assertTrue(value);
+        }
+    }
+
+    @Test
+    public void testQueueFactory() throws InterruptedException {
+        final AtomicInteger nbQueues = new AtomicInteger();
+        List<ShortestPathSolution> solutions = new ShortestPathBatchExecutor(graph, inspector, 4,
+                null, capacity -> {
+                    nbQueues.incrementAndGet();
+                    return new DaryHeap(capacity, 4);
+                }).execute(pairs);
+        assertEquals(4, nbQueues.get());
+        for (int i = 0; i < pairs.size(); ++i) {
+            ShortestPathSolution expected = new DijkstraAlgorithm(new ShortestPathData(graph,
+                    pairs.get(i).getStartNode(), pairs.get(i).getEndNode(), inspector)).run();
+            assertEquals(expected.getStatus(), solutions.get(i).getStatus());
+            assertEquals(getLength(expected), getLength(solutions.get(i)), 1e-3);
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.insa.algo.strongconnectivity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Random;
+
+import org.insa.algo.AbstractSolution.Status;
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.algo.shortestpath.DijkstraAlgorithm;
+import org.insa.algo.shortestpath.ShortestPathAlgorithm;
+import org.insa.algo.shortestpath.ShortestPathData;
+import org.insa.algo.shortestpath.ShortestPathSolution;
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.AccessRestrictions.AccessRestriction;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ConnectivityIndexTest {
+
+    // Number of nodes and roads of the graph used for tests.
+    private static final int NB_NODES = 300, NB_ROADS = 400;
+
+    // Random graph used for tests, with mostly one-way roads.
+    private static Graph graph;
+
+    @BeforeClass
+    public static void initAll() {
+        final Random random = new Random(23);
+        Node[] nodes = new Node[NB_NODES];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(random.nextFloat(), random.nextFloat()));
+        }
+        for (int i = 0; i < NB_ROADS; ++i) {
+            EnumMap<AccessMode, AccessRestriction> restrictions = new EnumMap<>(
+                    AccessMode.class);
+            for (AccessMode mode: AccessMode.values()) {
+                restrictions.put(mode, random.nextInt(5) == 0 ? AccessRestriction.FORBIDDEN
+                        : AccessRestriction.ALLOWED);
+            }
+            Node.linkNodes(nodes[random.nextInt(NB_NODES)], nodes[random.nextInt(NB_NODES)],
+                    1 + random.nextInt(100),
+                    new RoadInformation(RoadType.UNCLASSIFIED,
+                            new AccessRestrictions(restrictions), random.nextInt(4) != 0, 50,
+                            null),
+                    new ArrayList<>());
+        }
+        graph = new Graph("ID", "", Arrays.asList(nodes), null);
+    }
+
+    /**
+     * @return Nodes reachable from the given node using arcs allowed by the given
+     *         inspector.
+     */
+    private static BitSet reachable(ArcInspector inspector, Node origin) {
+        BitSet reached = new BitSet();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        reached.set(origin.getId());
+        queue.add(origin);
+        while (!queue.isEmpty()) {
+            for (Arc arc: queue.remove()) {
+                if (inspector.isAllowed(arc) && !reached.get(arc.getDestination().getId())) {
+                    reached.set(arc.getDestination().getId());
+                    queue.add(arc.getDestination());
+                }
+            }
+        }
+        return reached;
+    }
+
+    @Test
+    public void testSoundness() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            ConnectivityIndex index = ConnectivityIndex.build(graph, inspector);
+            int nbUnreachable = 0, nbPruned = 0;
+            for (Node origin: graph) {
+                BitSet reached = reachable(inspector, origin);
+                for (Node destination: graph) {
+                    boolean reachable = reached.get(destination.getId());
+                    if (!index.mayReach(origin, destination)) {
+                        assertFalse(reachable);
+                        ++nbPruned;
+                    }
+                    if (index.isStronglyConnected(origin.getId(), destination.getId())) {
+                        assertTrue(reachable);
+                    }
+                    if (!reachable) {
+                        ++nbUnreachable;
+                    }
+                }
+            }
+            // Most infeasible queries are detected.
+            assertTrue(nbPruned >= 0.9 * nbUnreachable);
+        }
+    }
+
+    @Test
+    public void testCache() {
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(0);
+        ConnectivityIndex index = ConnectivityIndex.get(graph, inspector);
+        assertSame(index, ConnectivityIndex.get(graph, inspector));
+        assertEquals(inspector.toString(), index.getInspectorDescription());
+    }
+
+    @Test
+    public void testFeasibilityCheck() {
+        ArcInspector inspector = ArcInspectorFactory.getAllFilters().get(0);
+        ConnectivityIndex index = ConnectivityIndex.get(graph, inspector);
+        for (Node origin: graph) {
+            for (int i = 0; i < NB_NODES; i += 7) {
+                ShortestPathData data = new ShortestPathData(graph, origin, graph.get(i),
+                        inspector);
+                ShortestPathSolution expected = new DijkstraAlgorithm(data).run();
+                ShortestPathAlgorithm algorithm = new DijkstraAlgorithm(data);
+                assertFalse(algorithm.isFeasibilityCheckEnabled());
+                algorithm.setFeasibilityCheck(true);
+                ShortestPathSolution actual = algorithm.run();
+                assertEquals(expected.getStatus(), actual.getStatus());
+                if (!index.mayReach(origin, graph.get(i))) {
+                    assertEquals(Status.INFEASIBLE, actual.getStatus());
+                    assertNull(actual.getPath());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.insa.algo.strongconnectivity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Random;
+
+import org.insa.algo.ArcInspector;
+import org.insa.algo.ArcInspectorFactory;
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.AccessRestrictions.AccessRestriction;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class StronglyConnectedComponentsTest {
+
+    // Number of nodes and roads of the graph used for tests.
+    private static final int NB_NODES = 300, NB_ROADS = 450;
+
+    // Random graph used for tests, with mostly one-way roads.
+    private static Graph graph;
+
+    @BeforeClass
+    public static void initAll() {
+        graph = createRandomGraph(new Random(11), NB_NODES, NB_ROADS);
+    }
+
+    /**
+     * @return A random graph with the given number of nodes and roads, some of
+     *         them being forbidden for some access modes.
+     */
+    private static Graph createRandomGraph(Random random, int nbNodes, int nbRoads) {
+        Node[] nodes = new Node[nbNodes];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(random.nextFloat(), random.nextFloat()));
+        }
+        for (int i = 0; i < nbRoads; ++i) {
+            EnumMap<AccessMode, AccessRestriction> restrictions = new EnumMap<>(
+                    AccessMode.class);
+            for (AccessMode mode: AccessMode.values()) {
+                restrictions.put(mode, random.nextInt(5) == 0 ? AccessRestriction.FORBIDDEN
+                        : AccessRestriction.ALLOWED);
+            }
+            Node.linkNodes(nodes[random.nextInt(nbNodes)], nodes[random.nextInt(nbNodes)],
+                    1 + random.nextInt(100),
+                    new RoadInformation(RoadType.UNCLASSIFIED,
+                            new AccessRestrictions(restrictions), random.nextInt(4) != 0, 50,
+                            null),
+                    new ArrayList<>());
+        }
+        return new Graph("ID", "", Arrays.asList(nodes), null);
+    }
+
+    /**
+     * @return Nodes reachable from the given node using arcs allowed by the given
+     *         data.
+     */
+    private static BitSet reachable(StronglyConnectedComponentsData data, Node origin) {
+        BitSet reached = new BitSet();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        reached.set(origin.getId());
+        queue.add(origin);
+        while (!queue.isEmpty()) {
+            for (Arc arc: queue.remove()) {
+                if (data.isAllowed(arc) && !reached.get(arc.getDestination().getId())) {
+                    reached.set(arc.getDestination().getId());
+                    queue.add(arc.getDestination());
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Check the components of the given data against mutual reachability.
+     */
+    private static void checkComponents(StronglyConnectedComponentsData data) {
+        StronglyConnectedComponentsSolution solution = new StronglyConnectedComponentsAlgorithm(
+                data).run();
+        Graph graph = data.getGraph();
+        BitSet[] reached = new BitSet[graph.size()];
+        for (Node node: graph) {
+            reached[node.getId()] = reachable(data, node);
+        }
+        for (int i = 0; i < graph.size(); ++i) {
+            for (int j = 0; j < graph.size(); ++j) {
+                assertEquals(reached[i].get(j) && reached[j].get(i),
+                        solution.getComponent(i) == solution.getComponent(j));
+            }
+        }
+
+        // Components are in reverse topological order.
+        int total = 0;
+        for (Node node: graph) {
+            for (Arc arc: node) {
+                if (data.isAllowed(arc)) {
+                    assertTrue(solution.getComponent(node) >= solution
+                            .getComponent(arc.getDestination()));
+                }
+            }
+        }
+        for (int c = 0; c < solution.getComponentCount(); ++c) {
+            assertEquals(solution.getComponentSize(c), solution.getComponentNodes(c).size());
+            total += solution.getComponentSize(c);
+        }
+        assertEquals(graph.size(), total);
+    }
+
+    @Test
+    public void testAllArcs() {
+        checkComponents(new StronglyConnectedComponentsData(graph));
+    }
+
+    @Test
+    public void testWithInspector() {
+        for (ArcInspector inspector: ArcInspectorFactory.getAllFilters()) {
+            checkComponents(new StronglyConnectedComponentsData(graph, inspector));
+        }
+    }
+
+    @Test
+    public void testLongCycle() {
+        // A single cycle, deep enough to overflow the stack of a recursive
+        // version.
+        final int nbNodes = 200000;
+        Node[] nodes = new Node[nbNodes];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(0, 0));
+        }
+        RoadInformation info = new RoadInformation(RoadType.UNCLASSIFIED, null, true, 50, null);
+        for (int i = 0; i < nodes.length; ++i) {
+            Node.linkNodes(nodes[i], nodes[(i + 1) % nbNodes], 1, info, new ArrayList<>());
+        }
+        StronglyConnectedComponentsSolution solution = new StronglyConnectedComponentsAlgorithm(
+                new StronglyConnectedComponentsData(
+                        new Graph("ID", "", Arrays.asList(nodes), null))).run();
+        assertEquals(1, solution.getComponentCount());
+        assertEquals(nbNodes, solution.getComponentSize(0));
+    }
+
+    @Test
+    public void testExtractLargestComponent() {
+        StronglyConnectedComponentsSolution solution = new StronglyConnectedComponentsAlgorithm(
+                new StronglyConnectedComponentsData(graph)).run();
+        int largest = solution.getLargestComponent();
+        ArrayList<Node> originalNodes = solution.getComponentNodes(largest);
+        Graph core = solution.extractLargestComponent();
+
+        assertTrue(core.size() > 10);
+        assertEquals(originalNodes.size(), core.size());
+        int nbArcs = 0;
+        for (int i = 0; i < core.size(); ++i) {
+            Node original = originalNodes.get(i), node = core.get(i);
+            assertEquals(i, node.getId());
+            assertEquals(original.getPoint(), node.getPoint());
+
+            // Same arcs, apart from those leaving the component.
+            int expected = 0;
+            for (Arc arc: original) {
+                if (solution.getComponent(arc.getDestination()) == largest) {
+                    ++expected;
+                }
+            }
+            assertEquals(expected, node.getNumberOfSuccessors());
+            for (Arc arc: node) {
+                assertEquals(originalNodes.get(arc.getDestination().getId()).getPoint(),
+                        arc.getDestination().getPoint());
+            }
+            nbArcs += node.getNumberOfSuccessors();
+        }
+        assertEquals(nbArcs, core.getGraphInformation().getArcCount());
+
+        // The extracted graph is strongly connected.
+        assertEquals(1, new StronglyConnectedComponentsAlgorithm(
+                new StronglyConnectedComponentsData(core)).run().getComponentCount());
+    }
+
+}
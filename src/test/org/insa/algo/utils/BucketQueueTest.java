@@ -0,0 +1,10 @@
+package org.insa.algo.utils;
+
+public class BucketQueueTest extends IntPriorityQueueTest {
+
+    @Override
+    public IntPriorityQueue createQueue(int capacity) {
+        return new BucketQueue(capacity, 1, MAX_KEY_SPAN + 1);
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.insa.algo.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class DaryHeapTest extends IntPriorityQueueTest {
+
+    @Parameters
+    public static Collection<Object> data() {
+        return Arrays.asList(new Object[] { 2, 3, 4, 8 });
+    }
+
+    @Parameter
+    public int arity;
+
+    @Override
+    public IntPriorityQueue createQueue(int capacity) {
+        return new DaryHeap(capacity, arity);
+    }
+
+    @Test
+    public void testGetArity() {
+        assertEquals(arity, new DaryHeap(CAPACITY, arity).getArity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidArity() {
+        new DaryHeap(CAPACITY, 1);
+    }
+
+}
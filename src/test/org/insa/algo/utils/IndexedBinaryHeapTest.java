@@ -0,0 +1,15 @@
+package org.insa.algo.utils;
+
+public class IndexedBinaryHeapTest extends PriorityQueueTest {
+
+    @Override
+    public PriorityQueue<MutableInteger> createQueue() {
+        return new IndexedBinaryHeap<>();
+    }
+
+    @Override
+    public PriorityQueue<MutableInteger> createQueue(PriorityQueue<MutableInteger> queue) {
+        return new IndexedBinaryHeap<>((IndexedBinaryHeap<MutableInteger>) queue);
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.insa.algo.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class IntDoubleHeapTest extends IntPriorityQueueTest {
+
+    @Override
+    public IntPriorityQueue createQueue(int capacity) {
+        return new IntDoubleHeap(capacity);
+    }
+
+    @Test
+    public void testNonMonotoneKeys() {
+        IntDoubleHeap heap = new IntDoubleHeap(CAPACITY);
+        heap.insert(0, 10.5);
+        heap.insert(1, 3.25);
+        assertEquals(1, heap.deleteMin());
+
+        // Keys lower than the last removed key are ordered exactly.
+        heap.insert(2, -7.0);
+        heap.insert(3, 1.0);
+        heap.decreaseKey(0, 0.5);
+        assertEquals(0.5, heap.getKey(0), 0);
+        assertEquals(2, heap.deleteMin());
+        assertEquals(0, heap.deleteMin());
+        assertEquals(3, heap.deleteMin());
+    }
+
+    @Test(expected = ElementNotFoundException.class)
+    public void testGetKeyNotFound() {
+        IntDoubleHeap heap = new IntDoubleHeap(CAPACITY);
+        heap.insert(4, 1);
+        heap.getKey(5);
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.insa.algo.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public abstract class IntPriorityQueueTest {
+
+    // Capacity of the queues used for tests.
+    protected static final int CAPACITY = 200;
+
+    // Maximum difference between the keys of the elements in a queue (keys are
+    // integers).
+    protected static final int MAX_KEY_SPAN = 500;
+
+    /**
+     * Needs to be implemented by child class to actually provide priority queue
+     * implementation.
+     * 
+     * @param capacity Capacity of the queue.
+     * 
+     * @return A new instance of an IntPriorityQueue implementation, that accepts
+     *         monotone integer keys spanning up to {@link #MAX_KEY_SPAN}.
+     */
+    public abstract IntPriorityQueue createQueue(int capacity);
+
+    @Test
+    public void testIsEmpty() {
+        IntPriorityQueue queue = createQueue(CAPACITY);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(CAPACITY, queue.getCapacity());
+        queue.insert(3, 1);
+        assertFalse(queue.isEmpty());
+        assertEquals(1, queue.size());
+    }
+
+    @Test(expected = EmptyPriorityQueueException.class)
+    public void testDeleteMinEmpty() {
+        createQueue(CAPACITY).deleteMin();
+    }
+
+    @Test
+    public void testInsertAndDeleteMin() {
+        IntPriorityQueue queue = createQueue(CAPACITY);
+        Random random = new Random(1);
+        for (int x = 0; x < CAPACITY; ++x) {
+            queue.insert(x, random.nextInt(MAX_KEY_SPAN));
+            assertTrue(queue.contains(x));
+        }
+        double previous = Double.NEGATIVE_INFINITY;
+        boolean[] removed = new boolean[CAPACITY];
+        while (!queue.isEmpty()) {
+            double key = queue.getMinKey();
+            int x = queue.deleteMin();
+            assertTrue(key >= previous);
+            assertFalse(removed[x]);
+            assertFalse(queue.contains(x));
+            removed[x] = true;
+            previous = key;
+        }
+        for (boolean value: removed) {
+            assertTrue(value);
+        }
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        IntPriorityQueue queue = createQueue(CAPACITY);
+        for (int x = 0; x < 10; ++x) {
+            queue.insert(x, 100 + x);
+        }
+        queue.decreaseKey(7, 50);
+        queue.decreaseKey(3, 60);
+        queue.decreaseKey(7, 40);
+        assertEquals(7, queue.findMin());
+        assertEquals(40, queue.getMinKey(), 1e-9);
+        assertEquals(7, queue.deleteMin());
+        assertEquals(3, queue.deleteMin());
+        assertEquals(0, queue.deleteMin());
+        assertEquals(7, queue.size());
+    }
+
+    @Test(expected = ElementNotFoundException.class)
+    public void testDecreaseKeyNotFound() {
+        IntPriorityQueue queue = createQueue(CAPACITY);
+        queue.insert(1, 10);
+        queue.decreaseKey(2, 5);
+    }
+
+    @Test
+    public void testClear() {
+        IntPriorityQueue queue = createQueue(CAPACITY);
+        for (int x = 0; x < CAPACITY; x += 3) {
+            queue.insert(x, x);
+        }
+        queue.deleteMin();
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        for (int x = 0; x < CAPACITY; ++x) {
+            assertFalse(queue.contains(x));
+        }
+        queue.insert(5, 2);
+        queue.insert(6, 1);
+        assertEquals(6, queue.deleteMin());
+        assertEquals(5, queue.deleteMin());
+    }
+
+    @Test
+    public void testMonotoneSequence() {
+        // Same operations as a Dijkstra search: inserted and decreased keys are
+        // never lower than the last removed key.
+        IntPriorityQueue queue = createQueue(CAPACITY);
+        TreeSet<Long> expected = new TreeSet<>();
+        long[] keys = new long[CAPACITY];
+        boolean[] done = new boolean[CAPACITY];
+        Random random = new Random(7);
+        long last = 0;
+        queue.insert(0, 0);
+        keys[0] = 0;
+        expected.add(0L * CAPACITY);
+        while (!queue.isEmpty()) {
+            long min = expected.pollFirst() / CAPACITY;
+            assertEquals(min, queue.getMinKey(), 1e-9);
+            int x = queue.deleteMin();
+            assertEquals(min, keys[x]);
+            done[x] = true;
+            last = min;
+            for (int i = 0; i < 5; ++i) {
+                int y = random.nextInt(CAPACITY);
+                long key = last + random.nextInt(MAX_KEY_SPAN / 2);
+                if (done[y] || (queue.contains(y) && keys[y] <= key)) {
+                    continue;
+                }
+                if (queue.contains(y)) {
+                    expected.remove(keys[y] * CAPACITY + y);
+                    queue.decreaseKey(y, key);
+                }
+                else {
+                    queue.insert(y, key);
+                }
+                keys[y] = key;
+                expected.add(key * CAPACITY + y);
+            }
+        }
+        assertTrue(expected.isEmpty());
+    }
+
+}
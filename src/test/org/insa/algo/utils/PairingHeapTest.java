@@ -0,0 +1,10 @@
+package org.insa.algo.utils;
+
+public class PairingHeapTest extends IntPriorityQueueTest {
+
+    @Override
+    public IntPriorityQueue createQueue(int capacity) {
+        return new PairingHeap(capacity);
+    }
+
+}
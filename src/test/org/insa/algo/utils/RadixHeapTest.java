@@ -0,0 +1,10 @@
+package org.insa.algo.utils;
+
+public class RadixHeapTest extends IntPriorityQueueTest {
+
+    @Override
+    public IntPriorityQueue createQueue(int capacity) {
+        return new RadixHeap(capacity, 1);
+    }
+
+}
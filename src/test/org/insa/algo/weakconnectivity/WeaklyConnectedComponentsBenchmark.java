@@ -0,0 +1,89 @@
+package org.insa.algo.weakconnectivity;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.io.BinaryGraphReader;
+
+/**
+ * Scaling benchmark of {@link ParallelWeaklyConnectedComponentsAlgorithm},
+ * compared to the sequential {@link UnionFindWeaklyConnectedComponentsAlgorithm}
+ * and {@link WeaklyConnectedComponentsAlgorithm}, on a real graph.
+ *
+ * The parallel algorithm is run with 1, 2, 4, ... threads up to the given
+ * maximum, and its components are checked against the sequential ones.
+ *
+ * Usage:
+ * <code>WeaklyConnectedComponentsBenchmark map.mapgr [maxThreads] [nbRuns]</code>.
+ *
+ */
+public class WeaklyConnectedComponentsBenchmark {
+
+    /**
+     * Run the given algorithm several times, after a warm-up run.
+     *
+     * @return Average time of a run, in milliseconds.
+     */
+    private static double measure(WeaklyConnectedComponentsAlgorithm algorithm, int nbRuns) {
+        algorithm.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < nbRuns; ++i) {
+            algorithm.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / nbRuns;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println(
+                    "Usage: WeaklyConnectedComponentsBenchmark map.mapgr [maxThreads] [nbRuns]");
+            return;
+        }
+        final Graph graph = new BinaryGraphReader(
+                new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))).read();
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        final int nbRuns = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        final WeaklyConnectedComponentsData data = new WeaklyConnectedComponentsData(graph);
+
+        System.out.println(graph.getMapName() + " (" + graph.size() + " nodes), " + nbRuns
+                + " runs");
+
+        System.out.println(String.format("%-20s %10.1f ms", "BFS",
+                measure(new WeaklyConnectedComponentsAlgorithm(data), nbRuns)));
+
+        final WeaklyConnectedComponentsAlgorithm unionFind =
+                new UnionFindWeaklyConnectedComponentsAlgorithm(data);
+        final ArrayList<ArrayList<Node>> expected = unionFind.run().getComponents();
+        final double sequential = measure(unionFind, nbRuns);
+        System.out.println(String.format("%-20s %10.1f ms, %d components", "Union-find",
+                sequential, expected.size()));
+
+        // 1, 2, 4, ... threads, and the maximum number of threads.
+        for (int nbThreads = 1;; nbThreads = Math.min(2 * nbThreads, maxThreads)) {
+            final ForkJoinPool pool = new ForkJoinPool(nbThreads);
+            try {
+                final WeaklyConnectedComponentsAlgorithm parallel =
+                        new ParallelWeaklyConnectedComponentsAlgorithm(data, pool);
+                final boolean same = parallel.run().getComponents().equals(expected);
+                final double time = measure(parallel, nbRuns);
+                System.out.println(String.format("%-20s %10.1f ms, speedup %.2f%s",
+                        "Parallel (" + nbThreads + ")", time, sequential / time,
+                        same ? "" : ", DIFFERENT COMPONENTS"));
+            }
+            finally {
+                pool.shutdown();
+            }
+            if (nbThreads >= maxThreads) {
+                break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.insa.algo.weakconnectivity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.graph.Graph;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WeaklyConnectedComponentsTest {
+
+    // Number of nodes and arcs of the graph used for tests.
+    private static final int NB_NODES = 5000, NB_ARCS = 4000;
+
+    // Random graph used for tests, with many small components, one-way arcs and
+    // isolated nodes.
+    private static Graph graph;
+
+    @BeforeClass
+    public static void initAll() {
+        final Random random = new Random(7);
+
+        Node[] nodes = new Node[NB_NODES];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(random.nextFloat(), random.nextFloat()));
+        }
+        for (int i = 0; i < NB_ARCS; ++i) {
+            Node.linkNodes(nodes[random.nextInt(NB_NODES)], nodes[random.nextInt(NB_NODES)], 10,
+                    new RoadInformation(RoadType.UNCLASSIFIED, null, random.nextBoolean(), 50,
+                            null),
+                    new ArrayList<>());
+        }
+        graph = new Graph("ID", "", Arrays.asList(nodes), null);
+    }
+
+    /**
+     * @return IDs of the nodes of each of the given components, sorted.
+     */
+    private static List<List<Integer>> getSortedIds(ArrayList<ArrayList<Node>> components) {
+        List<List<Integer>> result = new ArrayList<>();
+        for (ArrayList<Node> component: components) {
+            List<Integer> ids = new ArrayList<>();
+            for (Node node: component) {
+                ids.add(node.getId());
+            }
+            ids.sort(null);
+            result.add(ids);
+        }
+        return result;
+    }
+
+    @Test
+    public void testUnionFindSameAsBasic() {
+        WeaklyConnectedComponentsData data = new WeaklyConnectedComponentsData(graph);
+        WeaklyConnectedComponentsSolution expected = new WeaklyConnectedComponentsAlgorithm(
+                data).run();
+        WeaklyConnectedComponentsSolution actual = new UnionFindWeaklyConnectedComponentsAlgorithm(
+                data).run();
+        assertEquals(getSortedIds(expected.getComponents()),
+                getSortedIds(actual.getComponents()));
+    }
+
+    @Test
+    public void testParallelSameAsUnionFind() {
+        WeaklyConnectedComponentsData data = new WeaklyConnectedComponentsData(graph);
+        ArrayList<ArrayList<Node>> expected = new UnionFindWeaklyConnectedComponentsAlgorithm(
+                data).run().getComponents();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 10; ++i) {
+                assertEquals(expected, new ParallelWeaklyConnectedComponentsAlgorithm(data, pool)
+                        .run().getComponents());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnionFindOrder() {
+        ArrayList<ArrayList<Node>> components = new UnionFindWeaklyConnectedComponentsAlgorithm(
+                new WeaklyConnectedComponentsData(graph)).run().getComponents();
+        int nbNodes = 0, previous = -1;
+        for (ArrayList<Node> component: components) {
+            // Components are sorted by lowest ID, nodes are sorted by ID.
+            int first = component.get(0).getId();
+            assertTrue(first > previous);
+            for (int i = 1; i < component.size(); ++i) {
+                assertTrue(component.get(i - 1).getId() < component.get(i).getId());
+            }
+            previous = first;
+            nbNodes += component.size();
+        }
+        assertEquals(NB_NODES, nbNodes);
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.insa.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Random;
+
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.AccessRestrictions.AccessRestriction;
+import org.junit.Test;
+
+public class AccessRestrictionsTest {
+
+    // Modes in the order of the 4-bit groups of binary map files.
+    private static final AccessMode[] FILE_MODES = new AccessMode[] { AccessMode.FOOT,
+            AccessMode.BICYCLE, AccessMode.SMALL_MOTORCYCLE, AccessMode.AGRICULTURAL,
+            AccessMode.MOTORCYCLE, AccessMode.MOTORCAR, AccessMode.HEAVY_GOODS,
+            AccessMode.PUBLIC_TRANSPORT };
+
+    // Restrictions in the order of the codes of binary map files.
+    private static final AccessRestriction[] FILE_RESTRICTIONS = new AccessRestriction[] {
+            AccessRestriction.FORBIDDEN, AccessRestriction.ALLOWED, AccessRestriction.PRIVATE,
+            AccessRestriction.DESTINATION, AccessRestriction.DELIVERY,
+            AccessRestriction.CUSTOMERS, AccessRestriction.FORESTRY };
+
+    /**
+     * Check that the given access restrictions match the given map.
+     */
+    private static void checkRestrictions(EnumMap<AccessMode, AccessRestriction> expected,
+            AccessRestrictions actual) {
+        for (AccessMode mode: AccessMode.values()) {
+            AccessRestriction restriction = expected.getOrDefault(mode,
+                    AccessRestriction.UNKNOWN);
+            assertEquals(restriction, actual.getRestrictionFor(mode));
+            for (AccessRestriction other: AccessRestriction.values()) {
+                assertEquals(restriction == other, actual.isAllowedFor(mode, other));
+                assertEquals(restriction != other, actual.isAllowedForAny(mode,
+                        EnumSet.complementOf(EnumSet.of(other))));
+            }
+        }
+    }
+
+    @Test
+    public void testDefault() {
+        AccessRestrictions restrictions = new AccessRestrictions();
+        for (AccessMode mode: AccessMode.values()) {
+            assertEquals(AccessRestriction.UNKNOWN, restrictions.getRestrictionFor(mode));
+        }
+        assertTrue(restrictions.areAllAllowedForAny(AccessMode.ALL,
+                EnumSet.of(AccessRestriction.UNKNOWN)));
+    }
+
+    @Test
+    public void testFromMap() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; ++i) {
+            EnumMap<AccessMode, AccessRestriction> map = new EnumMap<>(AccessMode.class);
+            for (AccessMode mode: AccessMode.values()) {
+                if (random.nextInt(8) != 0) {
+                    map.put(mode, AccessRestriction.values()[random
+                            .nextInt(AccessRestriction.values().length)]);
+                }
+            }
+            checkRestrictions(map, new AccessRestrictions(map));
+        }
+    }
+
+    @Test
+    public void testFromPackedValue() {
+        Random random = new Random(13);
+        for (int i = 0; i < 1000; ++i) {
+            long access = random.nextLong();
+            EnumMap<AccessMode, AccessRestriction> map = new EnumMap<>(AccessMode.class);
+            for (int group = 0; group < FILE_MODES.length; ++group) {
+                int code = (int) (access >>> (4 * group)) & 0xf;
+                map.put(FILE_MODES[group], code < FILE_RESTRICTIONS.length
+                        ? FILE_RESTRICTIONS[code] : AccessRestriction.UNKNOWN);
+            }
+            checkRestrictions(map, new AccessRestrictions(access));
+        }
+    }
+
+    @Test
+    public void testAreAllAllowedForAny() {
+        EnumMap<AccessMode, AccessRestriction> map = new EnumMap<>(AccessMode.class);
+        for (AccessMode mode: AccessMode.values()) {
+            map.put(mode, AccessRestriction.ALLOWED);
+        }
+        map.put(AccessMode.HEAVY_GOODS, AccessRestriction.DELIVERY);
+        AccessRestrictions restrictions = new AccessRestrictions(map);
+        assertTrue(restrictions.areAllAllowedForAny(AccessMode.ALL,
+                AccessRestriction.ALLOWED_FOR_SOMETHING));
+        assertFalse(restrictions.areAllAllowedForAny(AccessMode.MOTOR_VEHICLE,
+                EnumSet.of(AccessRestriction.ALLOWED)));
+        assertTrue(restrictions.areAllAllowedForAny(
+                EnumSet.of(AccessMode.FOOT, AccessMode.BICYCLE),
+                EnumSet.of(AccessRestriction.ALLOWED)));
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.insa.graph;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -105,4 +106,52 @@ public class GraphTest {
         assertEquals(getArcsBetween(transpose.get(4), transpose.get(3)).size(), 1);
 
     }
+
+    @Test
+    public void testCsrGraph() {
+        CsrGraph csr = graph.getCsrGraph();
+
+        assertEquals(graph.getMapId(), csr.getMapId());
+        assertEquals(graph.size(), csr.size());
+
+        int nbArcs = 0;
+        for (Node node: graph) {
+            int arcId = csr.getFirstArc(node.getId());
+            assertEquals(node.getNumberOfSuccessors(), csr.getNumberOfSuccessors(node.getId()));
+            for (Arc arc: node) {
+                assertEquals(node.getId(), csr.getArcTail(arcId));
+                assertEquals(arc.getDestination().getId(), csr.getArcHead(arcId));
+                assertEquals(arc.getLength(), csr.getArcLength(arcId), 1e-6);
+                assertSame(arc.getRoadInformation(), csr.getRoadInformation(arcId));
+                ++arcId;
+                ++nbArcs;
+            }
+        }
+        assertEquals(nbArcs, csr.getArcCount());
+
+        // The CSR graph is created once.
+        assertSame(csr, graph.getCsrGraph());
+    }
+
+    @Test
+    public void testArcView() {
+        CsrGraph csr = graph.getCsrGraph();
+        CsrGraph.ArcView view = csr.createArcView(graph);
+        for (Node node: graph) {
+            int arcId = csr.getFirstArc(node.getId());
+            for (Arc arc: node) {
+                view.moveTo(arcId++);
+                assertSame(node, view.getOrigin());
+                assertSame(arc.getDestination(), view.getDestination());
+                assertEquals(arc.getDestination().getNumberOfSuccessors(),
+                        view.getDestination().getNumberOfSuccessors());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArcViewOtherGraph() {
+        graph.getCsrGraph().createArcView(
+                new Graph("ID", "", Arrays.asList(new Node(0, null)), null));
+    }
 }
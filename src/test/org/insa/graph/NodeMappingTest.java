@@ -0,0 +1,147 @@
+package org.insa.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.insa.graph.RoadInformation.RoadType;
+import org.insa.graph.io.BinaryPathReader;
+import org.insa.graph.io.BinaryPathWriter;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class NodeMappingTest {
+
+    // Number of nodes and roads of the graph used for tests.
+    private static final int NB_NODES = 500, NB_ROADS = 1500;
+
+    // Random graph used for tests, and the same graph renumbered.
+    private static Graph graph, renumbered;
+
+    @BeforeClass
+    public static void initAll() {
+        final Random random = new Random(5);
+        Node[] nodes = new Node[NB_NODES];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node(i, new Point(random.nextFloat(), random.nextFloat()));
+        }
+        for (int i = 0; i < NB_ROADS; ++i) {
+            Node origin = nodes[random.nextInt(NB_NODES)];
+            Node destination = nodes[random.nextInt(NB_NODES)];
+            Node.linkNodes(origin, destination, 1 + random.nextInt(100),
+                    new RoadInformation(RoadType.UNCLASSIFIED, null, random.nextBoolean(), 50,
+                            null),
+                    new ArrayList<>(Arrays.asList(origin.getPoint(),
+                            new Point(random.nextFloat(), random.nextFloat()),
+                            destination.getPoint())));
+        }
+        graph = new Graph("ID", "", Arrays.asList(nodes), null);
+        renumbered = graph.renumber(NodeMapping.hilbert(graph));
+    }
+
+    @Test
+    public void testMapping() {
+        NodeMapping mapping = renumbered.getNodeMapping();
+        assertNull(graph.getNodeMapping());
+        assertEquals("hilbert", mapping.getName());
+        assertEquals(NB_NODES, mapping.size());
+        for (int id = 0; id < NB_NODES; ++id) {
+            assertEquals(id, mapping.getId(mapping.getExternalId(id)));
+            assertEquals(id, graph.getExternalId(id));
+            assertSame(graph.get(id), graph.getByExternalId(id));
+            assertEquals(id, renumbered.getByExternalId(renumbered.getExternalId(id)).getId());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMapping() {
+        new NodeMapping("invalid", new int[] { 0, 2, 2 });
+    }
+
+    @Test
+    public void testRenumber() {
+        assertEquals(graph.getMapId(), renumbered.getMapId());
+        assertEquals(graph.size(), renumbered.size());
+        for (Node node: renumbered) {
+            Node original = graph.getByExternalId(renumbered.getExternalId(node.getId()));
+            assertEquals(original.getPoint(), node.getPoint());
+            assertEquals(original.getNumberOfSuccessors(), node.getNumberOfSuccessors());
+
+            // Same arcs, in any order.
+            List<String> expected = new ArrayList<>(), actual = new ArrayList<>();
+            for (Arc arc: original) {
+                expected.add(arc.getDestination().getId() + " " + arc.getLength() + " "
+                        + arc.getPoints());
+            }
+            for (Arc arc: node) {
+                assertSame(node, arc.getOrigin());
+                actual.add(graph.getExternalId(renumbered.getExternalId(arc.getDestination()
+                        .getId())) + " " + arc.getLength() + " " + arc.getPoints());
+            }
+            expected.sort(null);
+            actual.sort(null);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testLocality() {
+        // Nodes with consecutive IDs are much closer after renumbering.
+        double before = 0, after = 0;
+        for (int id = 1; id < NB_NODES; ++id) {
+            before += Point.distance(graph.get(id - 1).getPoint(), graph.get(id).getPoint());
+            after += Point.distance(renumbered.get(id - 1).getPoint(),
+                    renumbered.get(id).getPoint());
+        }
+        assertTrue(after < before / 4);
+    }
+
+    @Test
+    public void testPathFiles() throws IOException {
+        // Find a path with a few arcs in the original graph.
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(graph.get(0));
+        for (int i = 0; i < 10; ++i) {
+            Node last = nodes.get(nodes.size() - 1);
+            if (!last.hasSuccessors() || last.getSuccessor(0).getDestination() == last) {
+                break;
+            }
+            nodes.add(last.getSuccessor(0).getDestination());
+        }
+        assertTrue(nodes.size() > 2);
+        Path path = Path.createShortestPathFromNodes(graph, nodes);
+
+        // Write it from the original graph, and read it on the renumbered one.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BinaryPathWriter(new DataOutputStream(bytes)).writePath(path);
+        Path read = new BinaryPathReader(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+                        .readPath(renumbered);
+        assertEquals(path.size(), read.size());
+        assertEquals(path.getLength(), read.getLength(), 1e-6);
+        assertEquals(renumbered.getNodeMapping().getId(path.getOrigin().getId()),
+                read.getOrigin().getId());
+
+        // And back.
+        bytes = new ByteArrayOutputStream();
+        new BinaryPathWriter(new DataOutputStream(bytes)).writePath(read);
+        Path back = new BinaryPathReader(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+                        .readPath(graph);
+        assertEquals(path.getOrigin(), back.getOrigin());
+        assertEquals(path.getDestination(), back.getDestination());
+        assertEquals(path.getLength(), back.getLength(), 1e-6);
+    }
+
+}
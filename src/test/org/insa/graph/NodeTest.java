@@ -86,4 +86,34 @@ public class NodeTest {
                 getFirstArcBetween(nodes[1], nodes[0]).getRoadInformation());
     }
 
+    @Test
+    public void testLinkNodesWithEncodedPoints() {
+        Node a = new Node(1, new Point(1.0f, 43.0f)), b = new Node(0, new Point(1.1f, 43.1f));
+        short[] deltas = { 1000, -2000, 3000, 4000 };
+
+        ArrayList<Point> points = new ArrayList<>();
+        points.add(a.getPoint());
+        points.add(new Point(1.0f + 1000 / 2.0e5f, 43.0f + -2000 / 2.0e5f));
+        points.add(new Point(points.get(1).getLongitude() + 3000 / 2.0e5f,
+                points.get(1).getLatitude() + 4000 / 2.0e5f));
+        points.add(b.getPoint());
+
+        // Two-way road from the node with the highest ID, so the points are
+        // reversed.
+        RoadInformation info = new RoadInformation(RoadType.UNCLASSIFIED, null, false, 1, null);
+        Arc arc = Node.linkNodes(a, b, 0, info, new EncodedPoints(a.getPoint(), b.getPoint(),
+                deltas, 0, 2));
+        Arc reverse = getFirstArcBetween(b, a);
+
+        assertEquals(points.size(), arc.getPoints().size());
+        for (int i = 0; i < points.size(); ++i) {
+            Point expected = points.get(i), actual = arc.getPoints().get(i),
+                    actualReverse = reverse.getPoints().get(points.size() - i - 1);
+            assertEquals(expected.getLongitude(), actual.getLongitude(), 0);
+            assertEquals(expected.getLatitude(), actual.getLatitude(), 0);
+            assertEquals(expected.getLongitude(), actualReverse.getLongitude(), 0);
+            assertEquals(expected.getLatitude(), actualReverse.getLatitude(), 0);
+        }
+    }
+
 }
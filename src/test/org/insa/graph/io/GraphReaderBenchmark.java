@@ -0,0 +1,91 @@
+package org.insa.graph.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Benchmark comparing the loading time of the graph readers on a map file,
+ * and of the snapshot reader on a snapshot of this map (written in a temporary
+ * file). Each reader is run a few times (after a warm-up run), with a garbage
+ * collection before each run, and the minimum and median times are reported.
+ *
+ * Usage: <code>GraphReaderBenchmark map.mapgr [nbRuns]</code>.
+ *
+ */
+public class GraphReaderBenchmark {
+
+    /**
+     * Loading operation to benchmark.
+     */
+    private interface Loader {
+        Object load(File file) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: GraphReaderBenchmark map.mapgr [nbRuns]");
+            return;
+        }
+        final File file = new File(args[0]);
+        final int nbRuns = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        final File snapshot = File.createTempFile("benchmark-", ".mapsnap");
+        snapshot.deleteOnExit();
+        new GraphSnapshotWriter(
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(snapshot))))
+                        .writeGraph(new MappedGraphReader(file).read(), file);
+
+        final Map<String, Loader> readers = new LinkedHashMap<>();
+        readers.put("BinaryGraphReader", f -> {
+            try (DataInputStream dis = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(f)))) {
+                return new BinaryGraphReader(dis).read();
+            }
+        });
+        readers.put("BinaryGraphReader (lazy)", f -> {
+            try (DataInputStream dis = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(f)))) {
+                BinaryGraphReader reader = new BinaryGraphReader(dis);
+                reader.setLazyGeometry(true);
+                return reader.read();
+            }
+        });
+        readers.put("MappedGraphReader", f -> new MappedGraphReader(f).read());
+        readers.put("MappedGraphReader (lazy)", f -> {
+            MappedGraphReader reader = new MappedGraphReader(f);
+            reader.setLazyGeometry(true);
+            return reader.read();
+        });
+        readers.put("ParallelBinaryGraphReader", f -> new ParallelBinaryGraphReader(f).read());
+        readers.put("GraphSnapshotReader", f -> new GraphSnapshotReader(snapshot, f).read());
+        readers.put("GraphSnapshotReader (CSR)",
+                f -> new GraphSnapshotReader(snapshot, f).readCsrGraph());
+
+        System.out.println(file.getName() + " (" + file.length() / 1024 + " KiB), " + nbRuns
+                + " runs");
+        for (Map.Entry<String, Loader> entry: readers.entrySet()) {
+            final double[] times = new double[nbRuns];
+            for (int run = -1; run < nbRuns; ++run) {
+                System.gc();
+                final long start = System.nanoTime();
+                entry.getValue().load(file);
+                if (run >= 0) {
+                    times[run] = (System.nanoTime() - start) / 1e6;
+                }
+            }
+            Arrays.sort(times);
+            System.out.println(String.format("%-30s %10.1f ms (min), %10.1f ms (median)",
+                    entry.getKey(), times[0], times[nbRuns / 2]));
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package org.insa.graph.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.insa.graph.CsrGraph;
+import org.insa.graph.Graph;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GraphSnapshotTest {
+
+    // Map file used for tests, graph read using BinaryGraphReader, and snapshot
+    // of this graph.
+    private static File mapFile, snapshotFile;
+    private static Graph expected;
+
+    @BeforeClass
+    public static void initAll() throws IOException {
+        mapFile = MapFiles.createMapFile("snapshot", 30, 30, 7);
+        expected = read(mapFile);
+        snapshotFile = write(expected, mapFile);
+    }
+
+    /**
+     * @return Graph read from the given map file using BinaryGraphReader.
+     */
+    private static Graph read(File file) throws IOException {
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            return new BinaryGraphReader(dis).read();
+        }
+    }
+
+    /**
+     * @return A new temporary snapshot of the given graph, read from the given
+     *         map file.
+     */
+    private static File write(Graph graph, File source) throws IOException {
+        File file = File.createTempFile("insa-", ".mapsnap");
+        file.deleteOnExit();
+        new GraphSnapshotWriter(
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+                        .writeGraph(graph, source);
+        return file;
+    }
+
+    /**
+     * @return A temporary copy of the given file, with the byte at the given
+     *         position inverted.
+     */
+    private static File corrupt(File file, long position) throws IOException {
+        File copy = File.createTempFile("insa-", file.getName());
+        copy.deleteOnExit();
+        Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        try (RandomAccessFile raf = new RandomAccessFile(copy, "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(~value);
+        }
+        return copy;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        MapFiles.assertSameGraph(expected, new GraphSnapshotReader(snapshotFile, mapFile).read());
+        MapFiles.assertSameGraph(expected,
+                new GraphSnapshotReader(snapshotFile, expected.getMapId()).read());
+    }
+
+    @Test
+    public void testReadCsrGraph() throws IOException {
+        CsrGraph csr = new GraphSnapshotReader(snapshotFile, mapFile).readCsrGraph();
+        CsrGraph reference = expected.getCsrGraph();
+        assertEquals(reference.size(), csr.size());
+        assertEquals(reference.getArcCount(), csr.getArcCount());
+        for (int node = 0; node <= reference.size(); ++node) {
+            assertEquals(reference.getFirstArc(node), csr.getFirstArc(node));
+        }
+        for (int arc = 0; arc < reference.getArcCount(); ++arc) {
+            assertEquals(reference.getArcHead(arc), csr.getArcHead(arc));
+            assertEquals(reference.getArcLength(arc), csr.getArcLength(arc), 0);
+            assertEquals(reference.getRoadInformation(arc), csr.getRoadInformation(arc));
+        }
+    }
+
+    @Test(expected = BadFormatException.class)
+    public void testCorruptedSnapshot() throws IOException {
+        new GraphSnapshotReader(corrupt(snapshotFile, snapshotFile.length() / 2)).read();
+    }
+
+    @Test(expected = BadFormatException.class)
+    public void testTruncatedSnapshot() throws IOException {
+        new GraphSnapshotReader(MapFiles.truncate(snapshotFile, snapshotFile.length() - 12))
+                .readCsrGraph();
+    }
+
+    @Test(expected = MapMismatchException.class)
+    public void testMapMismatch() throws IOException {
+        new GraphSnapshotReader(snapshotFile, "other").read();
+    }
+
+    @Test(expected = MapMismatchException.class)
+    public void testOtherMapFile() throws IOException {
+        new GraphSnapshotReader(snapshotFile, MapFiles.createMapFile("other", 30, 30, 7))
+                .read();
+    }
+
+    @Test(expected = StaleSnapshotException.class)
+    public void testModifiedMapFile() throws IOException {
+        // Same map ID and size, different content (last arc length).
+        new GraphSnapshotReader(snapshotFile, corrupt(mapFile, mapFile.length() - 8)).read();
+    }
+
+    @Test(expected = StaleSnapshotException.class)
+    public void testUnboundSnapshot() throws IOException {
+        File unbound = write(expected, null);
+        MapFiles.assertSameGraph(expected, new GraphSnapshotReader(unbound).read());
+        new GraphSnapshotReader(unbound, mapFile).read();
+    }
+
+    @Test
+    public void testFileNames() {
+        File map = new File("maps", "insa.mapgr");
+        assertEquals(new File("maps", "insa.mapsnap"), GraphSnapshotReader.getSnapshotFile(map));
+        assertEquals(map, GraphSnapshotReader.getMapFile(GraphSnapshotReader.getSnapshotFile(map)));
+    }
+
+}
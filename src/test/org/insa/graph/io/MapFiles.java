@@ -0,0 +1,221 @@
+package org.insa.graph.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.insa.graph.AccessRestrictions.AccessMode;
+import org.insa.graph.Arc;
+import org.insa.graph.Graph;
+import org.insa.graph.GraphStatistics;
+import org.insa.graph.Node;
+import org.insa.graph.Point;
+import org.insa.graph.RoadInformation;
+
+/**
+ * Utilities for graph reader tests: creation of random map files and
+ * comparison of graphs.
+ *
+ */
+public class MapFiles {
+
+    // Number of descriptors of the generated maps.
+    private static final int NB_DESCRIPTORS = 20;
+
+    /**
+     * Create a temporary map file (in the current binary format) containing a
+     * perturbed grid of nodes with random roads between neighbours, including
+     * one-way roads, parallel arcs and arcs with segments.
+     *
+     * @param mapId ID of the map.
+     * @param width Number of columns of the grid.
+     * @param height Number of rows of the grid.
+     * @param seed Seed used to generate the map.
+     *
+     * @return The created file, deleted when the virtual machine exits.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public static File createMapFile(String mapId, int width, int height, long seed)
+            throws IOException {
+        final Random random = new Random(seed);
+        final int nbNodes = width * height;
+        final int[] longitudes = new int[nbNodes], latitudes = new int[nbNodes];
+        final List<List<int[]>> successors = new ArrayList<>();
+        for (int i = 0; i < nbNodes; ++i) {
+            longitudes[i] = 1000000 + (i % width) * 1000 + random.nextInt(300);
+            latitudes[i] = 43000000 + (i / width) * 1000 + random.nextInt(300);
+            successors.add(new ArrayList<>());
+        }
+        for (int i = 0; i < nbNodes; ++i) {
+            final int x = i % width, y = i / width;
+            for (int[] neighbour: new int[][] { { x + 1, y }, { x, y + 1 }, { x + 1, y + 1 } }) {
+                if (neighbour[0] >= width || neighbour[1] >= height || random.nextInt(5) == 0) {
+                    continue;
+                }
+                final int j = neighbour[1] * width + neighbour[0];
+                final int descriptor = random.nextInt(NB_DESCRIPTORS);
+                final boolean reverse = random.nextBoolean();
+                successors.get(reverse ? j : i).add(new int[] { reverse ? i : j, descriptor });
+                if (random.nextInt(20) == 0) {
+                    successors.get(reverse ? j : i).add(new int[] { reverse ? i : j,
+                            (descriptor + 1) % NB_DESCRIPTORS });
+                }
+            }
+        }
+
+        final File file = File.createTempFile("insa-", ".mapgr");
+        file.deleteOnExit();
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            dos.writeInt(BinaryGraphReader.MAGIC_NUMBER);
+            dos.writeInt(8);
+            dos.write(Arrays.copyOf(mapId.getBytes("UTF-8"),
+                    BinaryGraphReader.MAP_ID_FIELD_LENGTH));
+            dos.writeUTF("Map " + mapId);
+            dos.writeInt(NB_DESCRIPTORS);
+            dos.writeInt(nbNodes);
+            for (int i = 0; i < nbNodes; ++i) {
+                dos.writeInt(longitudes[i]);
+                dos.writeInt(latitudes[i]);
+                dos.writeByte(successors.get(i).size());
+            }
+            dos.writeByte(255);
+            final String types = "abcdefghijklmnoprsz";
+            for (int d = 0; d < NB_DESCRIPTORS; ++d) {
+                dos.writeByte(types.charAt(d % types.length()));
+                dos.writeByte((d % 4 == 0 ? 0x80 : 0) | (1 + (d * 7) % 26));
+                long access = 0;
+                for (int k = 0; k < 10; ++k) {
+                    access |= ((long) ((d + k * 3) % 9)) << (4 * k);
+                }
+                dos.writeLong(access);
+                dos.writeUTF("Road " + (d % 7));
+            }
+            dos.writeByte(254);
+            for (int i = 0; i < nbNodes; ++i) {
+                for (int[] successor: successors.get(i)) {
+                    final int j = successor[0];
+                    dos.writeShort(j >> 8);
+                    dos.writeByte(j & 0xff);
+                    dos.writeShort(successor[1] >> 8);
+                    dos.writeByte(successor[1] & 0xff);
+                    final double dx = (longitudes[j] - longitudes[i]) * 0.09,
+                            dy = (latitudes[j] - latitudes[i]) * 0.12;
+                    dos.writeInt((int) Math.round(Math.sqrt(dx * dx + dy * dy) * 1000) + 1
+                            + random.nextInt(2000));
+                    final int nbSegments = random.nextInt(4);
+                    dos.writeShort(nbSegments);
+                    for (int k = 0; k < nbSegments; ++k) {
+                        dos.writeShort(random.nextInt(200) - 100);
+                        dos.writeShort(random.nextInt(200) - 100);
+                    }
+                }
+            }
+            dos.writeByte(253);
+        }
+        return file;
+    }
+
+    /**
+     * Create a copy of the given file truncated to the given size.
+     *
+     * @param file File to copy.
+     * @param size Size of the copy, in bytes.
+     *
+     * @return The created file, deleted when the virtual machine exits.
+     *
+     * @throws IOException if the file cannot be copied.
+     */
+    public static File truncate(File file, long size) throws IOException {
+        final File truncated = File.createTempFile("insa-", ".mapgr");
+        truncated.deleteOnExit();
+        try (RandomAccessFile in = new RandomAccessFile(file, "r");
+                RandomAccessFile out = new RandomAccessFile(truncated, "rw")) {
+            final byte[] bytes = new byte[(int) size];
+            in.readFully(bytes);
+            out.write(bytes);
+        }
+        return truncated;
+    }
+
+    /**
+     * Check that the given graphs are identical: same nodes, same arcs in the
+     * same order, with the same lengths, descriptors and geometry.
+     *
+     * @param expected Expected graph.
+     * @param actual Graph to check.
+     */
+    public static void assertSameGraph(Graph expected, Graph actual) {
+        assertEquals(expected.getMapId(), actual.getMapId());
+        assertEquals(expected.getMapName(), actual.getMapName());
+        assertEquals(expected.size(), actual.size());
+
+        final GraphStatistics expectedStats = expected.getGraphInformation(),
+                actualStats = actual.getGraphInformation();
+        assertEquals(expectedStats.getArcCount(), actualStats.getArcCount());
+        assertEquals(expectedStats.getOneWayRoadCount(), actualStats.getOneWayRoadCount());
+        assertEquals(expectedStats.getMaximumSpeed(), actualStats.getMaximumSpeed());
+        assertEquals(expectedStats.getMaximumLength(), actualStats.getMaximumLength(), 0);
+        assertSamePoint(expectedStats.getBoundingBox().getTopLeftPoint(),
+                actualStats.getBoundingBox().getTopLeftPoint());
+        assertSamePoint(expectedStats.getBoundingBox().getBottomRightPoint(),
+                actualStats.getBoundingBox().getBottomRightPoint());
+
+        for (Node node: expected) {
+            final Node other = actual.get(node.getId());
+            assertSamePoint(node.getPoint(), other.getPoint());
+            assertEquals(node.getNumberOfSuccessors(), other.getNumberOfSuccessors());
+            final Iterator<Arc> arcs = other.iterator();
+            for (Arc arc: node) {
+                final Arc otherArc = arcs.next();
+                assertSame(other, otherArc.getOrigin());
+                assertEquals(arc.getDestination().getId(), otherArc.getDestination().getId());
+                assertEquals(arc.getLength(), otherArc.getLength(), 0);
+                assertSameRoadInformation(arc.getRoadInformation(),
+                        otherArc.getRoadInformation());
+
+                final List<Point> points = arc.getPoints(), otherPoints = otherArc.getPoints();
+                assertEquals(points.size(), otherPoints.size());
+                for (int i = 0; i < points.size(); ++i) {
+                    assertSamePoint(points.get(i), otherPoints.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that the given points have the same coordinates.
+     */
+    private static void assertSamePoint(Point expected, Point actual) {
+        assertEquals(expected.getLongitude(), actual.getLongitude(), 0);
+        assertEquals(expected.getLatitude(), actual.getLatitude(), 0);
+    }
+
+    /**
+     * Check that the given descriptors have the same attributes.
+     */
+    private static void assertSameRoadInformation(RoadInformation expected,
+            RoadInformation actual) {
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.isOneWay(), actual.isOneWay());
+        assertEquals(expected.getMaximumSpeed(), actual.getMaximumSpeed());
+        assertEquals(expected.getName(), actual.getName());
+        for (AccessMode mode: AccessMode.values()) {
+            assertEquals(expected.getAccessRestrictions().getRestrictionFor(mode),
+                    actual.getAccessRestrictions().getRestrictionFor(mode));
+        }
+    }
+
+}
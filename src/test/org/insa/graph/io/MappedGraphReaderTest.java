@@ -0,0 +1,58 @@
+package org.insa.graph.io;
+
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.insa.graph.Graph;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class MappedGraphReaderTest {
+
+    // Map file used for tests, and graph read using BinaryGraphReader.
+    private static File file;
+    private static Graph expected;
+
+    @BeforeClass
+    public static void initAll() throws IOException {
+        file = MapFiles.createMapFile("mapped", 40, 30, 3);
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            expected = new BinaryGraphReader(dis).read();
+        }
+    }
+
+    @Test
+    public void testSameAsBinaryGraphReader() throws IOException {
+        MapFiles.assertSameGraph(expected, new MappedGraphReader(file).read());
+    }
+
+    @Test
+    public void testLazyGeometry() throws IOException {
+        MappedGraphReader reader = new MappedGraphReader(file);
+        reader.setLazyGeometry(true);
+        MapFiles.assertSameGraph(expected, reader.read());
+    }
+
+    @Test
+    public void testTruncatedFile() throws IOException {
+        // Truncate in the header, the map name, the nodes, the descriptors and
+        // the arcs.
+        final long length = file.length();
+        for (long size: new long[] { 6, 45, 100, 11000, length / 2, length - 3, length - 1 }) {
+            try {
+                new MappedGraphReader(MapFiles.truncate(file, size)).read();
+                fail("Truncated file (" + size + " bytes) read without error.");
+            }
+            catch (BadFormatException e) {
+                // Expected.
+            }
+        }
+    }
+
+}
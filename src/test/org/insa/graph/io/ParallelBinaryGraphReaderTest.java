@@ -0,0 +1,77 @@
+package org.insa.graph.io;
+
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.insa.graph.Graph;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelBinaryGraphReaderTest {
+
+    // Map file used for tests (large enough to be split in multiple chunks),
+    // and graph read using BinaryGraphReader.
+    private static File file;
+    private static Graph expected;
+
+    // Pools used for tests.
+    private static ForkJoinPool singlePool, multiPool;
+
+    @BeforeClass
+    public static void initAll() throws IOException {
+        file = MapFiles.createMapFile("parallel", 120, 100, 11);
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            expected = new BinaryGraphReader(dis).read();
+        }
+        singlePool = new ForkJoinPool(1);
+        multiPool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void finalizeAll() {
+        singlePool.shutdown();
+        multiPool.shutdown();
+    }
+
+    @Test
+    public void testSingleWorker() throws IOException {
+        MapFiles.assertSameGraph(expected, new ParallelBinaryGraphReader(file, singlePool).read());
+    }
+
+    @Test
+    public void testMultipleWorkers() throws IOException {
+        MapFiles.assertSameGraph(expected, new ParallelBinaryGraphReader(file, multiPool).read());
+    }
+
+    @Test
+    public void testLazyGeometry() throws IOException {
+        for (ForkJoinPool pool: new ForkJoinPool[] { singlePool, multiPool }) {
+            ParallelBinaryGraphReader reader = new ParallelBinaryGraphReader(file, pool);
+            reader.setLazyGeometry(true);
+            MapFiles.assertSameGraph(expected, reader.read());
+        }
+    }
+
+    @Test
+    public void testTruncatedFile() throws IOException {
+        final long length = file.length();
+        for (long size: new long[] { 100, length / 2, length - 1 }) {
+            try {
+                new ParallelBinaryGraphReader(MapFiles.truncate(file, size), multiPool).read();
+                fail("Truncated file (" + size + " bytes) read without error.");
+            }
+            catch (BadFormatException e) {
+                // Expected.
+            }
+        }
+    }
+
+}
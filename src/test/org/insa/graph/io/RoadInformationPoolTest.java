@@ -0,0 +1,55 @@
+package org.insa.graph.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.insa.graph.AccessRestrictions;
+import org.insa.graph.RoadInformation;
+import org.insa.graph.RoadInformation.RoadType;
+import org.junit.Test;
+
+public class RoadInformationPoolTest {
+
+    @Test
+    public void testIntern() {
+        RoadInformationPool pool = new RoadInformationPool();
+        RoadInformation a = pool.intern(RoadType.RESIDENTIAL, new AccessRestrictions(0x11111111L),
+                false, 50, new String("Rue A"));
+        RoadInformation b = pool.intern(RoadType.RESIDENTIAL, new AccessRestrictions(0x11111111L),
+                false, 50, new String("Rue A"));
+        RoadInformation c = pool.intern(RoadType.RESIDENTIAL, new AccessRestrictions(0x11111111L),
+                false, 50, "Rue B");
+        RoadInformation d = pool.intern(RoadType.RESIDENTIAL, new AccessRestrictions(0x11111111L),
+                true, 50, new String("Rue B"));
+        RoadInformation e = pool.intern(RoadType.MOTORWAY, new AccessRestrictions(0x11110000L),
+                true, 130, null);
+
+        // Identical descriptors are shared, other ones share their attributes.
+        assertSame(a, b);
+        assertNotSame(a, c);
+        assertSame(a.getRoutingAttributes(), c.getRoutingAttributes());
+        assertNotSame(c.getRoutingAttributes(), d.getRoutingAttributes());
+        assertSame(a.getAccessRestrictions(), d.getAccessRestrictions());
+        assertEquals(new RoadInformation(RoadType.RESIDENTIAL,
+                new AccessRestrictions(0x11111111L), false, 50, "Rue B"), c);
+        assertSame(c.getName(), d.getName());
+        assertNull(e.getName());
+
+        assertEquals(5, pool.getDescriptorCount());
+        assertEquals(4, pool.getDistinctDescriptorCount());
+        assertEquals(3, pool.getDistinctRoutingAttributesCount());
+        assertEquals(2, pool.getDistinctAccessRestrictionsCount());
+        assertEquals(2, pool.getDistinctNameCount());
+        assertEquals(1.25, pool.getDeduplicationRatio(), 1e-9);
+    }
+
+    @Test
+    public void testEmpty() {
+        RoadInformationPool pool = new RoadInformationPool();
+        assertEquals(0, pool.getDescriptorCount());
+        assertEquals(1, pool.getDeduplicationRatio(), 0);
+    }
+
+}